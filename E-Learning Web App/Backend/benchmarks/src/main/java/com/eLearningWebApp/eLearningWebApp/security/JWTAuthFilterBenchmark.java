@@ -0,0 +1,102 @@
+package com.eLearningWebApp.eLearningWebApp.security;
+
+import com.eLearningWebApp.eLearningWebApp.entity.User;
+import com.eLearningWebApp.eLearningWebApp.repository.UserRepository;
+import com.eLearningWebApp.eLearningWebApp.service.CustomUserDetailsService;
+import com.eLearningWebApp.eLearningWebApp.utilities.JWTUtilities;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Microbenchmark of one authenticated request passing through JWTAuthFilter, comparing the database
+ * principal mode with the stateless claims mode.
+ * The user lookup is served by a stub repository that parks for the given time to stand in for a JDBC round trip,
+ * and the user details cache is disabled so database mode pays that lookup on every request.
+ * Run with: java -jar target/benchmarks.jar JWTAuthFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JWTAuthFilterBenchmark {
+
+    @Param({"database", "claims"})
+    private String principalSource;
+
+    @Param({"0", "300"})
+    private long simulatedLookupMicros;
+
+    private JWTAuthFilter filter;
+    private String authorizationHeader;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        User user = new User();
+        user.setId(42);
+        user.setName("Benchmark User");
+        user.setEmail("benchmark@elearning.test");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3Kk0x8nQdQYQx6Rz8n0bJ2y");
+        user.setRole("USER");
+
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findByEmail(user.getEmail())).thenAnswer(invocation -> {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(simulatedLookupMicros));  // Stands in for the JDBC round trip
+            return Optional.of(user);
+        });
+
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService();
+        ReflectionTestUtils.setField(userDetailsService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userDetailsService, "ttlSeconds", 0L);  // Every request goes to the repository
+        ReflectionTestUtils.setField(userDetailsService, "maxEntries", 10000);
+
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(verifiedTokenCache, "maxEntries", 10000);
+
+        JWTUtilities jwtUtils = new JWTUtilities();
+        filter = new JWTAuthFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "customUserDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "verifiedTokenCache", verifiedTokenCache);
+        ReflectionTestUtils.setField(filter, "statelessPrincipal", "claims".equals(principalSource));
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+        filter.registerMetrics();
+
+        authorizationHeader = "Bearer " + jwtUtils.generateToken(user);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/quiz-questions/getAllQuizzes");
+        request.addHeader("Authorization", authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();  // Every request starts unauthenticated
+        }
+        return response;
+    }
+}
@@ -0,0 +1,60 @@
+package com.eLearningWebApp.eLearningWebApp.security;
+
+import com.eLearningWebApp.eLearningWebApp.entity.User;
+import com.eLearningWebApp.eLearningWebApp.utilities.JWTUtilities;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmarks of JWT handling: signing a token for a user, and parsing/verifying it again.
+ * Run with: java -jar target/benchmarks.jar JWTUtilitiesBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JWTUtilitiesBenchmark {
+
+    private JWTUtilities jwtUtilities;
+    private User user;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtilities = new JWTUtilities();
+        user = new User();
+        user.setId(42);
+        user.setName("Benchmark User");
+        user.setEmail("benchmark@elearning.test");
+        user.setRole("USER");
+        token = jwtUtilities.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtilities.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtilities.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isValidToken() {
+        return jwtUtilities.isValidToken(token, user);
+    }
+}
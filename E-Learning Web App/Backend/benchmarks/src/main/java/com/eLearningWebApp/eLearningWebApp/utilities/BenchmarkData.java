@@ -0,0 +1,54 @@
+package com.eLearningWebApp.eLearningWebApp.utilities;
+
+import com.eLearningWebApp.eLearningWebApp.entity.QuizQuestion;
+import com.eLearningWebApp.eLearningWebApp.entity.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic test data of realistic size for the benchmarks.
+ */
+public class BenchmarkData {
+
+    /**
+     * Builds quiz questions with texts of typical length.
+     * @param count The number of questions.
+     * @return The questions, with IDs from 1 to count.
+     */
+    public static List<QuizQuestion> quizQuestions(int count) {
+        List<QuizQuestion> quizQuestions = new ArrayList<>(count);
+        for (int index = 1; index <= count; index++) {
+            QuizQuestion quizQuestion = new QuizQuestion();
+            quizQuestion.setId((long) index);
+            quizQuestion.setQuestionText("Question " + index + ": which of the following statements about topic " + (index % 97) + " is correct?");
+            quizQuestion.setAnswerOption1("The first possible answer to question " + index);
+            quizQuestion.setAnswerOption2("The second possible answer to question " + index);
+            quizQuestion.setAnswerOption3("The third possible answer to question " + index);
+            quizQuestion.setAnswerOption4("The fourth possible answer to question " + index);
+            quizQuestion.setCorrectAnswer(index % 4 + 1);
+            quizQuestions.add(quizQuestion);
+        }
+        return quizQuestions;
+    }
+
+    /**
+     * Builds users with a BCrypt-length password hash.
+     * @param count The number of users.
+     * @return The users, with IDs from 1 to count.
+     */
+    public static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int index = 1; index <= count; index++) {
+            User user = new User();
+            user.setId(index);
+            user.setName("Student " + index);
+            user.setEmail("student" + index + "@elearning.test");
+            user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3Kk0x8nQdQYQx6Rz8n0bJ2y");
+            user.setRole("USER");
+            user.setUserScore(index * 37 % 1000);
+            users.add(user);
+        }
+        return users;
+    }
+}
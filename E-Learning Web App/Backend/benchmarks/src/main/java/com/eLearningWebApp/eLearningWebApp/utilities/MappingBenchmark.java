@@ -0,0 +1,56 @@
+package com.eLearningWebApp.eLearningWebApp.utilities;
+
+import com.eLearningWebApp.eLearningWebApp.dto.QuizQuestionDTO;
+import com.eLearningWebApp.eLearningWebApp.dto.UserDTO;
+import com.eLearningWebApp.eLearningWebApp.entity.QuizQuestion;
+import com.eLearningWebApp.eLearningWebApp.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping of whole lists, as done for the quiz catalog and the user list.
+ * Run with: java -jar target/benchmarks.jar MappingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private List<QuizQuestion> quizQuestions;
+    private List<User> users;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        quizQuestions = BenchmarkData.quizQuestions(size);
+        users = BenchmarkData.users(size);
+    }
+
+    @Benchmark
+    public List<QuizQuestionDTO> mapQuizQuestionList() {
+        return Utilities.mapQuizQuestionListEntityToDTO(quizQuestions);
+    }
+
+    @Benchmark
+    public List<UserDTO> mapUserList() {
+        return Utilities.mapUserListEntityToUserListDTO(users);
+    }
+}
@@ -0,0 +1,87 @@
+package com.eLearningWebApp.eLearningWebApp.utilities;
+
+import com.eLearningWebApp.eLearningWebApp.dto.QuizQuestionListResponse;
+import com.eLearningWebApp.eLearningWebApp.dto.Response;
+import com.eLearningWebApp.eLearningWebApp.dto.UserListResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of large quiz question and user lists, i.e. the "getAllQuizzes" and "users/all" payloads,
+ * as the former catch-all Response through a plain ObjectMapper ("response") and as the slim list bodies through
+ * the reused writers of ResponseWriters ("json", "smile"). The payload sizes are printed during setup.
+ * Run with: java -jar target/benchmarks.jar ResponseSerializationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({"response", "json", "smile"})
+    private String format;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ResponseWriters responseWriters = new ResponseWriters(objectMapper);
+    private Object quizQuestionBody;
+    private Object userBody;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        if (format.equals("response")) {
+            Response quizQuestionResponse = new Response();
+            quizQuestionResponse.setStatusCode(200);
+            quizQuestionResponse.setMessage("All quiz questions retrieved successfully.");
+            quizQuestionResponse.setQuizQuestionList(Utilities.mapQuizQuestionListEntityToDTO(BenchmarkData.quizQuestions(size)));
+            quizQuestionBody = quizQuestionResponse;
+
+            Response userResponse = new Response();
+            userResponse.setStatusCode(200);
+            userResponse.setMessage("successful");
+            userResponse.setUserList(Utilities.mapUserListEntityToUserListDTO(BenchmarkData.users(size)));
+            userBody = userResponse;
+        } else {
+            QuizQuestionListResponse quizQuestionResponse = new QuizQuestionListResponse();
+            quizQuestionResponse.setQuizQuestionList(Utilities.mapQuizQuestionListEntityToDTO(BenchmarkData.quizQuestions(size)));
+            quizQuestionBody = quizQuestionResponse;
+
+            UserListResponse userResponse = new UserListResponse();
+            userResponse.setUserList(Utilities.mapUserListEntityToUserListDTO(BenchmarkData.users(size)));
+            userBody = userResponse;
+        }
+        System.out.printf("%n%s, %d elements: quiz questions %d bytes, users %d bytes%n", format, size,
+                serializeQuizQuestionList().length, serializeUserList().length);
+    }
+
+    @Benchmark
+    public byte[] serializeQuizQuestionList() throws Exception {
+        return serialize(quizQuestionBody);
+    }
+
+    @Benchmark
+    public byte[] serializeUserList() throws Exception {
+        return serialize(userBody);
+    }
+
+    private byte[] serialize(Object body) throws Exception {
+        return format.equals("response") ? objectMapper.writeValueAsBytes(body) : responseWriters.write(body, format.equals("smile"));
+    }
+}
@@ -0,0 +1,58 @@
+package com.eLearningWebApp.eLearningWebApp.utilities;
+
+import com.eLearningWebApp.eLearningWebApp.entity.QuizQuestion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of the admin question search: a word prefix, a selective substring and a substring that every question
+ * contains, which is the worst case because each candidate has to be checked.
+ * Run with: java -jar target/benchmarks.jar TrigramIndexBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrigramIndexBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({"th", "topic 42 ", "fourth possible answer"})
+    private String query;
+
+    private TrigramIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<Long, List<String>> documents = new HashMap<>();
+        for (QuizQuestion quizQuestion : BenchmarkData.quizQuestions(size)) {
+            documents.put(quizQuestion.getId(), List.of(quizQuestion.getQuestionText(), quizQuestion.getAnswerOption1(),
+                    quizQuestion.getAnswerOption2(), quizQuestion.getAnswerOption3(), quizQuestion.getAnswerOption4()));
+        }
+        index = new TrigramIndex();
+        index.replaceAll(documents);
+    }
+
+    @Benchmark
+    public List<Long> searchFirstPage() {
+        return index.search(query, Long.MIN_VALUE, 51);
+    }
+}
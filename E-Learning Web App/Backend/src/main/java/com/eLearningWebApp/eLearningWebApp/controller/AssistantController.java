@@ -0,0 +1,148 @@
+package com.eLearningWebApp.eLearningWebApp.controller;
+
+import com.eLearningWebApp.eLearningWebApp.dto.AssistantAnswerResponse;
+import com.eLearningWebApp.eLearningWebApp.dto.AssistantQuestionRequest;
+import com.eLearningWebApp.eLearningWebApp.dto.FaqEntryDTO;
+import com.eLearningWebApp.eLearningWebApp.dto.FaqEntryListResponse;
+import com.eLearningWebApp.eLearningWebApp.dto.FaqEntryResponse;
+import com.eLearningWebApp.eLearningWebApp.dto.Response;
+import com.eLearningWebApp.eLearningWebApp.exception.ExceptionsMessages;
+import com.eLearningWebApp.eLearningWebApp.exception.TooManyRequestsException;
+import com.eLearningWebApp.eLearningWebApp.service.interfac.IAssistantService;
+import com.eLearningWebApp.eLearningWebApp.service.interfac.IAssistantStreamService;
+import com.eLearningWebApp.eLearningWebApp.utilities.ResponseWriters;
+import com.eLearningWebApp.eLearningWebApp.utilities.Utilities;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * AssistantController serves the built-in digital assistant and the FAQ entries it answers from.
+ */
+@RestController
+@RequestMapping("/api/assistant")  // Base URL for all assistant endpoints
+public class AssistantController {
+
+    @Autowired
+    private IAssistantService assistantService;  // Injects the IAssistantService interface to answer questions
+
+    @Autowired
+    private IAssistantStreamService assistantStreamService;  // Streams the answers as Server-Sent Events
+
+    @Autowired
+    private ResponseWriters responseWriters;  // Writes the typed bodies as JSON or Smile
+
+    /**
+     * Answers a question from the quiz questions and FAQ entries.
+     * This endpoint is available to any authenticated user.
+     * @param request The question asked.
+     * @param accept The media types the client accepts; application/x-jackson-smile selects Smile.
+     * @return ResponseEntity containing the answer, or a custom Response object with the error.
+     */
+    @PostMapping("/ask")
+    public ResponseEntity<?> ask(@RequestBody AssistantQuestionRequest request,
+                                 @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Long userId = Utilities.getUserId(SecurityContextHolder.getContext().getAuthentication());  // Gets the ID of the logged-in user
+        // Calls the service layer to search the in-memory index
+        AssistantAnswerResponse response = assistantService.ask(userId, request.getQuestion());
+        return responseWriters.respond(response, accept);
+    }
+
+    /**
+     * Answers a question and streams the reply as Server-Sent Events: "chunk" events carry pieces of the reply text,
+     * a final "done" event carries the whole answer with its sources. The request thread is released as soon as the
+     * events are queued. Each user may hold only a few streams open at the same time.
+     * @param request The question asked.
+     * @return ResponseEntity streaming the events, or a custom Response object if the stream could not be opened.
+     * @throws IOException If the error response cannot be written.
+     */
+    @PostMapping(value = "/ask/stream", produces = {MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ResponseBodyEmitter> askStreaming(@RequestBody AssistantQuestionRequest request) throws IOException {
+        Long userId = Utilities.getUserId(SecurityContextHolder.getContext().getAuthentication());  // Gets the ID of the logged-in user
+        Response response = new Response();
+        try {
+            if (userId == null) {
+                throw new IllegalStateException("The logged-in user has no ID");
+            }
+            SseEmitter emitter = assistantStreamService.streamAnswer(userId, request.getQuestion());
+            return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(emitter);
+        } catch (TooManyRequestsException e) {
+            response.setStatusCode(429);
+            response.setMessage(e.getMessage());
+        } catch (ExceptionsMessages e) {
+            response.setStatusCode(400);
+            response.setMessage(e.getMessage());
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error answering the question: " + e.getMessage());
+        }
+        // The return type must name the emitter for Spring MVC to stream it, so the error is written through one too
+        ResponseBodyEmitter errorBody = new ResponseBodyEmitter();
+        errorBody.send(response, MediaType.APPLICATION_JSON);
+        errorBody.complete();
+        return ResponseEntity.status(response.getStatusCode()).contentType(MediaType.APPLICATION_JSON).body(errorBody);
+    }
+
+    /**
+     * Fetches all FAQ entries.
+     * @param accept The media types the client accepts; application/x-jackson-smile selects Smile.
+     * @return ResponseEntity containing the FAQ entries, or a custom Response object with the error.
+     */
+    @GetMapping("/faq")
+    public ResponseEntity<?> getAllFaqEntries(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        FaqEntryListResponse response = assistantService.getAllFaqEntries();
+        return responseWriters.respond(response, accept);
+    }
+
+    /**
+     * Adds a FAQ entry.
+     * This endpoint is restricted to users with 'ADMIN' authority.
+     * @param faqEntry The question and answer to add.
+     * @param accept The media types the client accepts; application/x-jackson-smile selects Smile.
+     * @return ResponseEntity containing the saved FAQ entry, or a custom Response object with the error.
+     */
+    @PostMapping("/faq")
+    @PreAuthorize("hasAuthority('ADMIN')")  // Only ADMINs are allowed to add FAQ entries
+    public ResponseEntity<?> addFaqEntry(@RequestBody FaqEntryDTO faqEntry,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        FaqEntryResponse response = assistantService.addFaqEntry(faqEntry);
+        return responseWriters.respond(response, accept);
+    }
+
+    /**
+     * Updates a FAQ entry.
+     * This endpoint is restricted to users with 'ADMIN' authority.
+     * @param id The ID of the FAQ entry to update.
+     * @param faqEntry The new question and answer.
+     * @param accept The media types the client accepts; application/x-jackson-smile selects Smile.
+     * @return ResponseEntity containing the updated FAQ entry, or a custom Response object with the error.
+     */
+    @PutMapping("/faq/{id}")
+    @PreAuthorize("hasAuthority('ADMIN')")  // Only ADMINs are allowed to update FAQ entries
+    public ResponseEntity<?> updateFaqEntry(@PathVariable Long id, @RequestBody FaqEntryDTO faqEntry,
+                                            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        FaqEntryResponse response = assistantService.updateFaqEntry(id, faqEntry);
+        return responseWriters.respond(response, accept);
+    }
+
+    /**
+     * Deletes a FAQ entry.
+     * This endpoint is restricted to users with 'ADMIN' authority.
+     * @param id The ID of the FAQ entry to delete.
+     * @return ResponseEntity containing a custom Response object and appropriate HTTP status.
+     */
+    @DeleteMapping("/faq/{id}")
+    @PreAuthorize("hasAuthority('ADMIN')")  // Only ADMINs are allowed to delete FAQ entries
+    public ResponseEntity<Response> deleteFaqEntry(@PathVariable Long id) {
+        Response response = assistantService.deleteFaqEntry(id);
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+}
@@ -1,10 +1,14 @@
 package com.eLearningWebApp.eLearningWebApp.controller;
 
 import com.eLearningWebApp.eLearningWebApp.dto.LoginRequest;
+import com.eLearningWebApp.eLearningWebApp.dto.LoginResponse;
 import com.eLearningWebApp.eLearningWebApp.dto.Response;
 import com.eLearningWebApp.eLearningWebApp.entity.User;
 import com.eLearningWebApp.eLearningWebApp.service.interfac.IUserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -22,6 +26,9 @@ public class Auth {
     @Autowired
     private IUserService userService;  // Injects the IUserService implementation to handle user services
 
+    @Value("${security.password-hashing.retry-after-seconds:2}")
+    private int loginRetryAfterSeconds;  // Sent as Retry-After when logins are rejected because the hashing pool is full
+
     /**
      * Registers a new user.
      * @param user The user object containing registration details.
@@ -38,12 +45,25 @@ public class Auth {
     /**
      * Authenticates a user based on login credentials.
      * @param loginRequest The login request containing username and password.
-     * @return ResponseEntity containing the custom response object and HTTP status.
+     * @return ResponseEntity containing the token and role, or the custom response object with the error.
      */
     @PostMapping("/login")
-    public ResponseEntity<Response> login(@RequestBody LoginRequest loginRequest){
+    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest){
         // Calling the service layer to authenticate the user and retrieves a response
         Response response = userService.userLogin(loginRequest);
+        if (response.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+            // Tells the client when to retry while logins are being shed
+            return ResponseEntity.status(response.getStatusCode())
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(loginRetryAfterSeconds))
+                    .body(response);
+        }
+        if (response.getStatusCode() == HttpStatus.OK.value()) {
+            // Only the token and role; the status is already the HTTP status
+            LoginResponse loginResponse = new LoginResponse();
+            loginResponse.setToken(response.getToken());
+            loginResponse.setRole(response.getRole());
+            return ResponseEntity.ok(loginResponse);
+        }
         // Returning the response wrapped in a ResponseEntity with the appropriate status code
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
@@ -0,0 +1,73 @@
+package com.eLearningWebApp.eLearningWebApp.controller;
+
+import com.eLearningWebApp.eLearningWebApp.dto.LeaderboardResponse;
+import com.eLearningWebApp.eLearningWebApp.service.interfac.ILeaderboardService;
+import com.eLearningWebApp.eLearningWebApp.utilities.ResponseWriters;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * LeaderboardController serves the scoreboard: the top players, the logged-in user's rank and the users ranked around them.
+ */
+@RestController
+@RequestMapping("/leaderboard")  // Base URL for all leaderboard endpoints
+public class LeaderboardController {
+
+    @Autowired
+    private ILeaderboardService leaderboardService;  // Injects the ILeaderboardService interface to handle ranking queries
+
+    @Autowired
+    private ResponseWriters responseWriters;  // Writes the typed bodies as JSON or Smile
+
+    /**
+     * Fetches a page of the leaderboard, ordered by score from highest to lowest.
+     * This endpoint is available to any authenticated user.
+     * @param offset The zero-based position of the first entry to return.
+     * @param limit The maximum number of entries to return.
+     * @param accept The media types the client accepts; application/x-jackson-smile selects Smile.
+     * @return ResponseEntity containing the leaderboard page, or a custom Response object with the error.
+     */
+    @GetMapping("/top")
+    public ResponseEntity<?> getTopPlayers(@RequestParam(defaultValue = "0") int offset,
+                                           @RequestParam(defaultValue = "20") int limit,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        LeaderboardResponse response = leaderboardService.getTopPlayers(offset, limit);
+        return responseWriters.respond(response, accept);
+    }
+
+    /**
+     * Fetches the leaderboard position of the currently logged-in user.
+     * @param accept The media types the client accepts; application/x-jackson-smile selects Smile.
+     * @return ResponseEntity containing the user's rank, or a custom Response object with the error.
+     */
+    @GetMapping("/my-rank")
+    public ResponseEntity<?> getMyRank(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = authentication.getName();  // Gets the email of the logged-in user
+        LeaderboardResponse response = leaderboardService.getUserRank(email);
+        return responseWriters.respond(response, accept);
+    }
+
+    /**
+     * Fetches the users ranked directly above and below the currently logged-in user.
+     * @param radius How many places above and below the user to include.
+     * @param accept The media types the client accepts; application/x-jackson-smile selects Smile.
+     * @return ResponseEntity containing the neighbouring entries, or a custom Response object with the error.
+     */
+    @GetMapping("/around-me")
+    public ResponseEntity<?> getAroundMe(@RequestParam(defaultValue = "5") int radius,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = authentication.getName();  // Gets the email of the logged-in user
+        LeaderboardResponse response = leaderboardService.getNeighbours(email, radius);
+        return responseWriters.respond(response, accept);
+    }
+}
@@ -0,0 +1,74 @@
+package com.eLearningWebApp.eLearningWebApp.controller;
+
+import com.eLearningWebApp.eLearningWebApp.dto.QuizAnswerRequest;
+import com.eLearningWebApp.eLearningWebApp.dto.QuizAttemptResponse;
+import com.eLearningWebApp.eLearningWebApp.service.interfac.IQuizAttemptService;
+import com.eLearningWebApp.eLearningWebApp.utilities.ResponseWriters;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * QuizAttemptController handles server-graded quiz attempts of the logged-in user: starting an attempt,
+ * answering its questions one by one and finishing it.
+ */
+@RestController
+@RequestMapping("/api/quiz-attempts")  // Base URL for all quiz attempt endpoints
+public class QuizAttemptController {
+
+    @Autowired
+    private IQuizAttemptService quizAttemptService;  // Injects the IQuizAttemptService interface to grade attempts
+
+    @Autowired
+    private ResponseWriters responseWriters;  // Writes the typed bodies as JSON or Smile
+
+    /**
+     * Starts a new quiz attempt for the logged-in user.
+     * @param count The number of questions in the attempt.
+     * @param accept The media types the client accepts; application/x-jackson-smile selects Smile.
+     * @return ResponseEntity containing the attempt with its questions, or a custom Response object with the error.
+     */
+    @PostMapping("/start")
+    public ResponseEntity<?> startAttempt(@RequestParam(defaultValue = "10") int count,
+                                          @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = authentication.getName();  // Gets the email of the logged-in user
+        QuizAttemptResponse response = quizAttemptService.startAttempt(email, count);
+        return responseWriters.respond(response, accept);
+    }
+
+    /**
+     * Submits the answer to one question of the logged-in user's attempt.
+     * @param attemptId The ID of the attempt.
+     * @param answerRequest The answered question and the selected option.
+     * @param accept The media types the client accepts; application/x-jackson-smile selects Smile.
+     * @return ResponseEntity containing the progress of the attempt, or a custom Response object with the error.
+     */
+    @PostMapping("/{attemptId}/answer")
+    public ResponseEntity<?> answerQuestion(@PathVariable String attemptId,
+                                            @RequestBody QuizAnswerRequest answerRequest,
+                                            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = authentication.getName();  // Gets the email of the logged-in user
+        QuizAttemptResponse response = quizAttemptService.answerQuestion(email, attemptId, answerRequest);
+        return responseWriters.respond(response, accept);
+    }
+
+    /**
+     * Finishes the logged-in user's attempt and saves the earned score.
+     * @param attemptId The ID of the attempt.
+     * @param accept The media types the client accepts; application/x-jackson-smile selects Smile.
+     * @return ResponseEntity containing the final result, or a custom Response object with the error.
+     */
+    @PostMapping("/{attemptId}/finish")
+    public ResponseEntity<?> finishAttempt(@PathVariable String attemptId,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = authentication.getName();  // Gets the email of the logged-in user
+        QuizAttemptResponse response = quizAttemptService.finishAttempt(email, attemptId);
+        return responseWriters.respond(response, accept);
+    }
+}
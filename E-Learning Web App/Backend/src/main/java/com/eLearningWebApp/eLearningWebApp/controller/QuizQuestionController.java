@@ -1,13 +1,27 @@
 package com.eLearningWebApp.eLearningWebApp.controller;
 
 
+import com.eLearningWebApp.eLearningWebApp.dto.DuplicateClusterListResponse;
+import com.eLearningWebApp.eLearningWebApp.dto.QuizImportReportResponse;
+import com.eLearningWebApp.eLearningWebApp.dto.QuizQuestionListResponse;
+import com.eLearningWebApp.eLearningWebApp.dto.QuizSampleResponse;
 import com.eLearningWebApp.eLearningWebApp.dto.Response;
 import com.eLearningWebApp.eLearningWebApp.entity.QuizQuestion;
 import com.eLearningWebApp.eLearningWebApp.service.interfac.IQuizQuestionService;
+import com.eLearningWebApp.eLearningWebApp.utilities.QuizCatalogSnapshot;
+import com.eLearningWebApp.eLearningWebApp.utilities.ResponseWriters;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
 
 /**
  * QuizQuestionController manages quiz-related operations such as fetching, adding, updating, and deleting questions.
@@ -19,15 +33,114 @@ public class QuizQuestionController {
     @Autowired
     private IQuizQuestionService quizQuestionService;  // Injects the QuizQuestionService
 
+    @Autowired
+    private ObjectMapper objectMapper;  // Writes the error response of the streamed export
+
+    @Autowired
+    private ResponseWriters responseWriters;  // Writes the question lists and the other typed bodies as JSON or Smile
+
     /**
-     * Fetches a list of all quiz questions.
-     * @return ResponseEntity containing a custom Response object and appropriate HTTP status.
+     * Fetches a list of all quiz questions, including their correct answers. Only accessible by ADMIN users;
+     * students get questions without the answer key through /random and quiz attempts.
+     * The already serialized catalog snapshot is written as is (as Smile when the client asks for
+     * application/x-jackson-smile, otherwise as JSON, gzip-compressed when the client accepts it),
+     * and a client that still holds the current version gets an empty 304 Not Modified.
+     * @param ifNoneMatch The ETag of the catalog version the client already holds, if any.
+     * @param acceptEncoding The encodings the client accepts.
+     * @param accept The media types the client accepts.
+     * @return ResponseEntity containing the serialized catalog, or a custom Response object if it could not be loaded.
      */
     @GetMapping("/getAllQuizzes")
-    public ResponseEntity<Response> getAllQuestions() {
-        // Calls the service layer to fetch all quiz questions and wraps the result in a ResponseEntity
-        Response response = quizQuestionService.getAllQuestions();
-        return ResponseEntity.status(response.getStatusCode()).body(response);
+    @PreAuthorize("hasAuthority('ADMIN')")  // Only ADMINs are allowed to see the answer key
+    public ResponseEntity<?> getAllQuestions(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                             @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                             @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        QuizCatalogSnapshot snapshot;
+        try {
+            snapshot = quizQuestionService.getCatalogSnapshot();  // Current immutable version of the catalog
+        } catch (Exception e) {
+            // Calls the service layer to build the usual error response
+            Response response = quizQuestionService.getAllQuestions();
+            return ResponseEntity.status(response.getStatusCode()).body(response);
+        }
+
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();  // Clients must revalidate with the ETag before reuse
+        boolean smile = ResponseWriters.prefersSmile(accept);
+        boolean gzip = !smile && ResponseWriters.acceptsGzip(acceptEncoding);  // Smile is already compact; not compressed again
+        if (snapshot.matches(ifNoneMatch, smile)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.getETag(smile, gzip)).cacheControl(cacheControl).build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(snapshot.getETag(smile, gzip))
+                .cacheControl(cacheControl)
+                .contentType(smile ? ResponseWriters.SMILE : MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING + ", " + HttpHeaders.ACCEPT);
+        if (smile) {
+            return builder.body(snapshot.getSmile());
+        }
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.getGzippedJson());
+        }
+        return builder.body(snapshot.getJson());
+    }
+
+    /**
+     * Fetches randomly picked quiz questions with shuffled answer options and without their correct answers.
+     * @param count The number of questions to pick.
+     * @param seed The seed of a previous sample to reproduce it; omit it to start a new sample.
+     * @param accept The media types the client accepts; application/x-jackson-smile selects Smile.
+     * @return ResponseEntity containing the picked questions and their seed, or a custom Response object with the error.
+     */
+    @GetMapping("/random")
+    public ResponseEntity<?> getRandomQuestions(@RequestParam(defaultValue = "10") int count,
+                                                @RequestParam(required = false) Long seed,
+                                                @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        // Calls the service layer to pick the questions from the in-memory catalog
+        QuizSampleResponse response = quizQuestionService.getRandomQuestions(count, seed);
+        return responseWriters.respond(response, accept);
+    }
+
+    /**
+     * Searches the question bank by a substring of the question text or answer options, one page at a time.
+     * Two-character queries match the start of a word. Only accessible by ADMIN users.
+     * @param q The text to find, at least two characters.
+     * @param cursor The cursor returned with the previous page; omit it for the first page.
+     * @param limit The maximum number of questions to return.
+     * @param accept The media types the client accepts; application/x-jackson-smile selects Smile.
+     * @return ResponseEntity containing the page and the next cursor, or a custom Response object with the error.
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasAuthority('ADMIN')")  // Only ADMINs are allowed to search the question bank
+    public ResponseEntity<?> searchQuestions(@RequestParam String q,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(defaultValue = "50") int limit,
+                                             @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        // Calls the service layer to search the in-memory index
+        Response response = quizQuestionService.searchQuestions(q, cursor, limit);
+        if (response.getStatusCode() != HttpStatus.OK.value()) {
+            return ResponseEntity.status(response.getStatusCode()).body(response);
+        }
+        QuizQuestionListResponse page = new QuizQuestionListResponse();
+        page.setQuizQuestionList(response.getQuizQuestionList());
+        page.setNextCursor(response.getNextCursor());
+        return responseWriters.ok(page, accept);
+    }
+
+    /**
+     * Lists the clusters of near-duplicate questions in the bank, largest first.
+     * Only accessible by ADMIN users.
+     * @param limit The maximum number of clusters to list.
+     * @param accept The media types the client accepts; application/x-jackson-smile selects Smile.
+     * @return ResponseEntity containing the clusters, or a custom Response object with the error.
+     */
+    @GetMapping("/duplicates")
+    @PreAuthorize("hasAuthority('ADMIN')")  // Only ADMINs are allowed to see the duplicate report
+    public ResponseEntity<?> getDuplicateClusters(@RequestParam(defaultValue = "100") int limit,
+                                                  @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        // Calls the service layer to cluster the in-memory MinHash index
+        DuplicateClusterListResponse response = quizQuestionService.getDuplicateClusters(limit);
+        return responseWriters.respond(response, accept);
     }
 
     /**
@@ -44,31 +157,94 @@ public class QuizQuestionController {
     }
 
     /**
-     * Adds a new quiz question.
+     * Adds a new quiz question. A near-duplicate of an existing question is refused with 409 Conflict,
+     * listing the similar questions, unless allowDuplicate is set.
      * This endpoint is restricted to users with 'ADMIN' authority.
      * @param quizQuestion The quiz question to be added.
+     * @param allowDuplicate Whether to add the question even if it is a near-duplicate.
      * @return ResponseEntity containing a custom Response object and appropriate HTTP status.
      */
     @PostMapping("/addQuiz")
     @PreAuthorize("hasAuthority('ADMIN')")  // Only ADMINs are allowed to add quiz
-    public ResponseEntity<Response> addQuestion(@RequestBody QuizQuestion quizQuestion) {
+    public ResponseEntity<Response> addQuestion(@RequestBody QuizQuestion quizQuestion,
+                                                @RequestParam(defaultValue = "false") boolean allowDuplicate) {
         // Calls the service layer to add a new question
-        Response response = quizQuestionService.addQuestion(quizQuestion);
+        Response response = quizQuestionService.addQuestion(quizQuestion, allowDuplicate);
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
 
     /**
-     * Updates an existing quiz question by its ID.
+     * Imports quiz questions in bulk from the request body, streaming it row by row.
+     * Only accessible by ADMIN users.
+     * @param format "csv" or "jsonl"; if omitted it is taken from the Content-Type (text/csv or application/x-ndjson).
+     * @param allowDuplicates Whether to import rows that are near-duplicates of existing questions or earlier rows.
+     * @param contentType The Content-Type of the uploaded file.
+     * @param body The uploaded file.
+     * @param accept The media types the client accepts; application/x-jackson-smile selects Smile.
+     * @return ResponseEntity containing the import report, or a custom Response object with the error.
+     */
+    @PostMapping("/import")
+    @PreAuthorize("hasAuthority('ADMIN')")  // Only ADMINs are allowed to import quizzes
+    public ResponseEntity<?> importQuizzes(@RequestParam(required = false) String format,
+                                           @RequestParam(defaultValue = "false") boolean allowDuplicates,
+                                           @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                                           InputStream body,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (format == null) {
+            format = contentType != null && contentType.contains("csv") ? "csv" : "jsonl";
+        }
+        // Calls the service layer to validate and insert the rows in batches
+        QuizImportReportResponse response = quizQuestionService.importQuestions(body, format, allowDuplicates);
+        return responseWriters.respond(response, accept);
+    }
+
+    /**
+     * Exports all quiz questions as CSV or JSON Lines, streamed while the rows are read from the database.
+     * The rows are written on an async worker thread, so a long export does not hold a request thread.
+     * Only accessible by ADMIN users.
+     * @param format "csv" or "jsonl".
+     * @param gzip Whether to gzip-compress the file.
+     * @return ResponseEntity streaming the questions, or a custom Response object if the format is unknown.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority('ADMIN')")  // Only ADMINs are allowed to export quizzes
+    public ResponseEntity<StreamingResponseBody> exportQuizzes(@RequestParam(defaultValue = "jsonl") String format,
+                                                               @RequestParam(defaultValue = "false") boolean gzip) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"jsonl".equalsIgnoreCase(format)) {
+            Response response = new Response();
+            response.setStatusCode(400);
+            response.setMessage("Export format must be csv or jsonl");
+            // The return type must name StreamingResponseBody for Spring MVC to stream it, so the error is written through one too
+            return ResponseEntity.status(response.getStatusCode())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(outputStream -> objectMapper.writeValue(outputStream, response));
+        }
+        String fileName = "quiz-questions." + (csv ? "csv" : "jsonl") + (gzip ? ".gz" : "");
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+                : MediaType.parseMediaType(csv ? "text/csv;charset=UTF-8" : "application/x-ndjson");
+        StreamingResponseBody body = outputStream -> quizQuestionService.exportQuestions(outputStream, format, gzip);  // Runs after the handler returns
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(contentType)
+                .body(body);
+    }
+
+    /**
+     * Updates an existing quiz question by its ID. A change that makes it a near-duplicate of another question is
+     * refused with 409 Conflict, listing the similar questions, unless allowDuplicate is set.
      * This endpoint is restricted to users with 'ADMIN' authority.
      * @param id The ID of the quiz question to be updated.
      * @param quizQuestion The updated quiz question details.
+     * @param allowDuplicate Whether to save the question even if it is a near-duplicate.
      * @return ResponseEntity containing a custom Response object and appropriate HTTP status.
      */
     @PutMapping("/updateQuiz/{id}")
     @PreAuthorize("hasAuthority('ADMIN')")  // Only ADMINs are allowed to update questions
-    public ResponseEntity<Response> updateQuestion(@PathVariable Long id, @RequestBody QuizQuestion quizQuestion) {
+    public ResponseEntity<Response> updateQuestion(@PathVariable Long id, @RequestBody QuizQuestion quizQuestion,
+                                                   @RequestParam(defaultValue = "false") boolean allowDuplicate) {
         // Calls the service layer to update the question
-        Response response = quizQuestionService.updateQuestion(id, quizQuestion);
+        Response response = quizQuestionService.updateQuestion(id, quizQuestion, allowDuplicate);
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
 
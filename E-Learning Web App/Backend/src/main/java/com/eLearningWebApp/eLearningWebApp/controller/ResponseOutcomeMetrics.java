@@ -0,0 +1,54 @@
+package com.eLearningWebApp.eLearningWebApp.controller;
+
+import com.eLearningWebApp.eLearningWebApp.dto.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Counts the failed outcomes that the services report through Response.statusCode (the 4xx and 5xx answers of
+ * their catch blocks), per controller method and status code. The message is not used as a tag, since it often
+ * contains user input or exception details.
+ */
+@ControllerAdvice
+public class ResponseOutcomeMetrics implements ResponseBodyAdvice<Object> {
+
+    @Autowired
+    private MeterRegistry meterRegistry;  // Receives the outcome counters.
+
+    /**
+     * Applies to every controller method; bodies that are not a Response are passed through.
+     */
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    /**
+     * Counts the response if its status code is a client or server error.
+     * @return The unchanged body.
+     */
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof Response serviceResponse && serviceResponse.getStatusCode() >= 400) {
+            int statusCode = serviceResponse.getStatusCode();
+            Counter.builder("api.response.failures")
+                    .description("Failed service outcomes returned as Response, by controller method and status code")
+                    .tag("handler", returnType.getContainingClass().getSimpleName() + "." + returnType.getExecutable().getName())
+                    .tag("status", String.valueOf(statusCode))
+                    .tag("outcome", statusCode >= 500 ? "SERVER_ERROR" : "CLIENT_ERROR")
+                    .register(meterRegistry)
+                    .increment();
+        }
+        return body;
+    }
+}
@@ -1,14 +1,20 @@
 package com.eLearningWebApp.eLearningWebApp.controller;
 
 import com.eLearningWebApp.eLearningWebApp.dto.Response;
+import com.eLearningWebApp.eLearningWebApp.dto.UserListResponse;
 import com.eLearningWebApp.eLearningWebApp.entity.User;
 import com.eLearningWebApp.eLearningWebApp.service.interfac.IUserService;
+import com.eLearningWebApp.eLearningWebApp.utilities.ResponseWriters;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Map;
 
@@ -22,17 +28,55 @@ public class UserController {
     @Autowired
     private IUserService userService;  // Injects the IUserService interface to handle user operations
 
+    @Autowired
+    private ResponseWriters responseWriters;  // Writes the user lists as JSON or Smile
+
     /**
      * Fetches a list of all users.
      * This endpoint is restricted to users with 'ADMIN' authority.
-     * @return ResponseEntity containing a custom Response object and appropriate HTTP status.
+     * @param accept The media types the client accepts; application/x-jackson-smile selects Smile.
+     * @return ResponseEntity containing the users, or a custom Response object with the error.
      */
     @GetMapping("/all")
 //    @PreAuthorize("hasAuthority('ADMIN')")  // Only ADMINs are allowed to access this method
-    public ResponseEntity<Response> getAllUsers() {
+    public ResponseEntity<?> getAllUsers(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         // Calls the service layer to fetch all users and wraps the result in a ResponseEntity
         Response response = userService.getAllUsers();
-        return ResponseEntity.status(response.getStatusCode()).body(response);
+        return userList(response, accept);
+    }
+
+    /**
+     * Fetches one page of users using cursor-based (keyset) pagination.
+     * This endpoint is restricted to users with 'ADMIN' authority.
+     * @param sort The sort order: "id", "name" or "score".
+     * @param cursor The cursor returned with the previous page; omit it for the first page.
+     * @param limit The maximum number of users to return.
+     * @param accept The media types the client accepts; application/x-jackson-smile selects Smile.
+     * @return ResponseEntity containing the page and the next cursor, or a custom Response object with the error.
+     */
+    @GetMapping("/page")
+    @PreAuthorize("hasAuthority('ADMIN')")  // Only ADMINs are allowed to page through users
+    public ResponseEntity<?> getUsersPage(@RequestParam(defaultValue = "id") String sort,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "50") int limit,
+                                          @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Response response = userService.getUsersPage(sort, cursor, limit);
+        return userList(response, accept);
+    }
+
+    /**
+     * Exports all users as newline-delimited JSON, streamed while the rows are read from the database.
+     * This endpoint is restricted to users with 'ADMIN' authority.
+     * @return ResponseEntity streaming one JSON user per line.
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @PreAuthorize("hasAuthority('ADMIN')")  // Only ADMINs are allowed to export users
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        StreamingResponseBody body = outputStream -> userService.exportUsers(outputStream);  // Runs after the handler returns
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.ndjson\"")
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
     }
 
     /**
@@ -96,17 +140,32 @@ public class UserController {
     }
 
     /**
-     * Allows the logged-in user to update their score.
-     * @param scoreData A map containing the updated score.
+     * Corrects the score of a specific student by their user ID, e.g. after a question with a wrong answer key.
+     * Students otherwise earn their score through server-graded quiz attempts.
+     * This endpoint is restricted to users with 'ADMIN' authority.
+     * @param userId The ID of the student whose score is corrected.
+     * @param scoreData A map containing the corrected score under "user_score".
      * @return ResponseEntity containing a custom Response object and appropriate HTTP status.
      */
-    @PutMapping("/save-score")
-    @PreAuthorize("isAuthenticated()")  // Ensure that the user is logged in
-    public ResponseEntity<Response> updateUserScore(@RequestBody Map<String, Integer> scoreData) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();  // Get logged-in user's email
-        int score = scoreData.get("user_score");  // Retrieve score from the request body
-        Response response = userService.updateUserScore(email, score);  // Call the service method
+    @PutMapping("/update-score-by-id/{userId}")
+    @PreAuthorize("hasAuthority('ADMIN')")  // Scores are not taken from students, only ADMINs may correct them
+    public ResponseEntity<Response> updateUserScore(@PathVariable("userId") String userId,
+                                                    @RequestBody Map<String, Integer> scoreData) {
+        Integer score = scoreData.get("user_score");  // Retrieve score from the request body, null if missing
+        Response response = userService.updateUserScore(userId, score);  // Call the service method
         return ResponseEntity.status(response.getStatusCode()).body(response);  // Return the response
     }
+
+    /**
+     * Sends the users of a successful service response in the slim list body, or the failed response as it is.
+     */
+    private ResponseEntity<?> userList(Response response, String accept) {
+        if (response.getStatusCode() != HttpStatus.OK.value()) {
+            return ResponseEntity.status(response.getStatusCode()).body(response);
+        }
+        UserListResponse users = new UserListResponse();
+        users.setUserList(response.getUserList());
+        users.setNextCursor(response.getNextCursor());
+        return responseWriters.ok(users, accept);
+    }
 }
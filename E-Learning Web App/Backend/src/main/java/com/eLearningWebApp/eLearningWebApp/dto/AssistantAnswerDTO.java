@@ -0,0 +1,19 @@
+package com.eLearningWebApp.eLearningWebApp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * AssistantAnswerDTO is the digital assistant's reply to a student question, with the content it was built from.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AssistantAnswerDTO {
+
+    private String question;                  // The question as asked
+    private String contextQuestion;           // The student's previous question, if this one was read as a follow-up
+    private String reply;                     // The reply text shown to the student
+    private List<AssistantSourceDTO> sources; // Matching FAQ entries and quiz questions, best first
+}
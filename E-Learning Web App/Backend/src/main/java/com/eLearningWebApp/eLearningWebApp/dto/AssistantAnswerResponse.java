@@ -0,0 +1,16 @@
+package com.eLearningWebApp.eLearningWebApp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Body of an answer of the digital assistant. Failures are answered with the generic Response.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AssistantAnswerResponse extends ServiceResponse {
+
+    private AssistantAnswerDTO assistantAnswer;
+}
@@ -0,0 +1,13 @@
+package com.eLearningWebApp.eLearningWebApp.dto;
+
+import lombok.Data;
+
+/**
+ * AssistantQuestionRequest DTO (Data Transfer Object) represents a question a student asks the digital assistant.
+ */
+@Data  // Automatically generate getters, setters, and other utility methods like equals, hashCode, etc.
+public class AssistantQuestionRequest {
+
+    private String question;  // The free-text question, at most 500 characters
+
+}
@@ -0,0 +1,19 @@
+package com.eLearningWebApp.eLearningWebApp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+/**
+ * AssistantSourceDTO is one piece of course content an assistant answer is based on.
+ * For quiz questions only the question is returned, never which option is correct.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AssistantSourceDTO {
+
+    private String type;    // "FAQ" or "QUIZ_QUESTION"
+    private Long id;        // ID of the FAQ entry or quiz question
+    private String title;   // The FAQ question or the quiz question text
+    private String answer;  // The FAQ answer; absent for quiz questions
+    private double score;   // BM25 relevance of the source for the asked question
+}
@@ -0,0 +1,23 @@
+package com.eLearningWebApp.eLearningWebApp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * AttemptStatsDTO (Data Transfer Object) summarizes the finished quiz attempts of a user for their profile.
+ * The values are kept up to date as attempts are saved, so no attempt history is read to build them.
+ */
+@Data  // Automatically generate getters, setters, equals, hashCode, and toString methods.
+@JsonInclude(JsonInclude.Include.NON_NULL)  // Ensures that null fields are not included in the JSON response.
+public class AttemptStatsDTO {
+
+    private long attempts;              // The number of finished attempts
+    private Integer bestScore;          // The highest score of an attempt
+    private Integer lastScore;          // The score of the latest attempt
+    private Double averageScore;        // The mean score over all attempts
+    private Long averageDurationMillis; // The mean time taken for an attempt
+    private Instant lastAttemptAt;      // When the latest attempt was finished
+
+}
@@ -0,0 +1,18 @@
+package com.eLearningWebApp.eLearningWebApp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DuplicateClusterDTO is a group of quiz questions that are near-duplicates of each other.
+ * The similarity of each question is measured against the first question of the cluster.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DuplicateClusterDTO {
+
+    private int size;                              // Number of questions in the cluster
+    private List<DuplicateQuestionDTO> questions;  // The questions, ordered by ID; the first 100 of large clusters
+}
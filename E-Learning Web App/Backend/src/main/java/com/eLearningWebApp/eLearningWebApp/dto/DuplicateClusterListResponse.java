@@ -0,0 +1,18 @@
+package com.eLearningWebApp.eLearningWebApp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+/**
+ * Body of the report of near-duplicate questions in the bank. Failures are answered with the generic Response.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DuplicateClusterListResponse extends ServiceResponse {
+
+    private List<DuplicateClusterDTO> duplicateClusters;  // Groups of near-duplicate questions, largest first
+}
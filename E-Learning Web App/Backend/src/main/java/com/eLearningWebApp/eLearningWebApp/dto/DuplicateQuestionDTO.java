@@ -0,0 +1,16 @@
+package com.eLearningWebApp.eLearningWebApp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+/**
+ * DuplicateQuestionDTO is a quiz question that is a near-duplicate of another question.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DuplicateQuestionDTO {
+
+    private Long id;              // ID of the similar quiz question
+    private String questionText;  // Its question text
+    private double similarity;    // Estimated similarity of the question text and options, between 0 and 1
+}
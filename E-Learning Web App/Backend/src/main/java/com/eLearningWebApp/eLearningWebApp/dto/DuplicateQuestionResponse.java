@@ -0,0 +1,19 @@
+package com.eLearningWebApp.eLearningWebApp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+/**
+ * Failure body of a quiz question refused with 409 Conflict as a near-duplicate: the generic Response and the
+ * similar questions already in the bank.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DuplicateQuestionResponse extends Response {
+
+    private List<DuplicateQuestionDTO> duplicateQuestions;  // Existing questions similar to the refused one, most similar first
+}
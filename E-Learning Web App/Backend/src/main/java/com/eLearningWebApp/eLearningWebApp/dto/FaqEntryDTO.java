@@ -0,0 +1,16 @@
+package com.eLearningWebApp.eLearningWebApp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+/**
+ * FaqEntryDTO represents a question and answer of the digital assistant's FAQ.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FaqEntryDTO {
+
+    private Long id;
+    private String question;
+    private String answer;
+}
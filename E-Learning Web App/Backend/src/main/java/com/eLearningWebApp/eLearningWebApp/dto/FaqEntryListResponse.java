@@ -0,0 +1,18 @@
+package com.eLearningWebApp.eLearningWebApp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+/**
+ * Body of all FAQ entries. Failures are answered with the generic Response.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FaqEntryListResponse extends ServiceResponse {
+
+    private List<FaqEntryDTO> faqEntryList;  // Ordered by ID
+}
@@ -0,0 +1,23 @@
+package com.eLearningWebApp.eLearningWebApp.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+/**
+ * LeaderboardEntryDTO (Data Transfer Object) represents one ranked user on the scoreboard.
+ * It contains only what the scoreboard shows, so the leaderboard never exposes passwords, emails or roles.
+ */
+@Data  // Automatically generate getters, setters, equals, hashCode, and toString methods.
+@JsonInclude(JsonInclude.Include.NON_NULL)  // Ensures that null fields are not included in the JSON response.
+public class LeaderboardEntryDTO {
+
+    private int rank;           // The 1-based position of the user on the leaderboard
+    private Long id;            // The unique identifier for the user
+    private String name;        // The name of the user
+    private Integer userScore;  // The user's score
+
+    @JsonIgnore
+    private String email;       // Used internally for "my rank" lookups, never sent to the client
+
+}
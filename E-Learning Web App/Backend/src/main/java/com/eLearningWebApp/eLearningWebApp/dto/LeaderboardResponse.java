@@ -0,0 +1,20 @@
+package com.eLearningWebApp.eLearningWebApp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+/**
+ * Body of a leaderboard page, the users around a user or a user's rank. Failures are answered with the generic Response.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LeaderboardResponse extends ServiceResponse {
+
+    private List<LeaderboardEntryDTO> leaderboard;  // Ranked users, absent when a single rank is asked for
+    private LeaderboardEntryDTO leaderboardEntry;  // Rank of a single user, absent for lists
+    private Integer totalRankedUsers;  // Number of users on the scoreboard
+}
@@ -0,0 +1,15 @@
+package com.eLearningWebApp.eLearningWebApp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+/**
+ * Body of a successful login. Failed logins are answered with the generic Response.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LoginResponse {
+
+    private String token;  // JWT token to send as bearer token
+    private String role;   // Role of the logged-in user (e.g., ADMIN, USER)
+}
@@ -0,0 +1,19 @@
+package com.eLearningWebApp.eLearningWebApp.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * QuizAnswerRequest DTO (Data Transfer Object) represents the payload for answering one question of a quiz attempt.
+ * The selected option refers to the shuffled order in which the options were shown, from 1 to 4.
+ */
+@Data  // Automatically generate getters, setters, and other utility methods like equals, hashCode, etc.
+public class QuizAnswerRequest {
+
+    @NotNull(message = "Question ID is empty")  // Ensures that the question ID is provided
+    private Long questionId;
+
+    @NotNull(message = "Selected option is empty")  // Ensures that an option was selected
+    private Integer selectedOption;
+
+}
@@ -0,0 +1,25 @@
+package com.eLearningWebApp.eLearningWebApp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * QuizAttemptDTO (Data Transfer Object) represents the progress of a server-graded quiz attempt.
+ * The questions are only sent when the attempt starts; later responses carry the progress only.
+ */
+@Data  // Automatically generate getters, setters, equals, hashCode, and toString methods.
+@JsonInclude(JsonInclude.Include.NON_NULL)  // Ensures that null fields are not included in the JSON response.
+public class QuizAttemptDTO {
+
+    private String attemptId;                       // The unique identifier of the attempt
+    private List<QuizSampleQuestionDTO> questions;  // The questions of the attempt, without their answers
+    private Integer totalQuestions;                 // The number of questions in the attempt
+    private Integer answeredQuestions;              // The number of questions answered so far
+    private Integer correctAnswers;                 // The number of correct answers so far
+    private Integer score;                          // The score earned so far
+    private Boolean answerCorrect;                  // Whether the last submitted answer was correct
+    private Boolean finished;                       // Whether the attempt has been finished
+
+}
@@ -0,0 +1,16 @@
+package com.eLearningWebApp.eLearningWebApp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Body of a started, answered or finished quiz attempt. Failures are answered with the generic Response.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class QuizAttemptResponse extends ServiceResponse {
+
+    private QuizAttemptDTO quizAttempt;  // Progress of the server-graded attempt
+}
@@ -0,0 +1,33 @@
+package com.eLearningWebApp.eLearningWebApp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * QuizImportReportDTO (Data Transfer Object) summarizes a bulk import of quiz questions.
+ * Invalid rows are skipped and reported; all valid rows are imported.
+ */
+@Data  // Automatically generate getters, setters, equals, hashCode, and toString methods.
+@JsonInclude(JsonInclude.Include.NON_NULL)  // Ensures that null fields are not included in the JSON response.
+public class QuizImportReportDTO {
+
+    /**
+     * A rejected row of the import.
+     * @param row The 1-based row (line) number in the uploaded file.
+     * @param message Why the row was rejected.
+     */
+    public record RowError(int row, String message) {
+    }
+
+    private int totalRows;                              // The number of data rows read from the file
+    private int importedRows;                           // The number of rows saved as quiz questions
+    private int failedRows;                             // The number of rows rejected
+    private int chunks;                                 // The number of batches written to the database
+    private long elapsedMillis;                         // How long the import took
+    private List<RowError> errors = new ArrayList<>();  // The rejected rows, capped to keep the report small
+    private Boolean errorsTruncated;                    // Set when more rows failed than are listed
+
+}
@@ -0,0 +1,16 @@
+package com.eLearningWebApp.eLearningWebApp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Body of a completed bulk import of quiz questions. Failures are answered with the generic Response.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class QuizImportReportResponse extends ServiceResponse {
+
+    private QuizImportReportDTO quizImportReport;  // Imported and skipped rows, with the errors of the skipped ones
+}
@@ -0,0 +1,17 @@
+package com.eLearningWebApp.eLearningWebApp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Body of the quiz catalog or a page of question search results. Failures are answered with the generic Response.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class QuizQuestionListResponse {
+
+    private List<QuizQuestionDTO> quizQuestionList;
+    private String nextCursor;  // Cursor of the next page of search results, absent on the last page and for the catalog
+}
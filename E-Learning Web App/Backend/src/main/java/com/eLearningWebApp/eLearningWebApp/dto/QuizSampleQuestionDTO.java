@@ -0,0 +1,19 @@
+package com.eLearningWebApp.eLearningWebApp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * QuizSampleQuestionDTO represents a quiz question as it is handed to a student.
+ * The answer options are already shuffled and the correct answer is never included.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class QuizSampleQuestionDTO {
+
+    private Long id;
+    private String questionText;
+    private List<String> answerOptions;  // Answer options in the shuffled order shown to the student
+}
@@ -0,0 +1,19 @@
+package com.eLearningWebApp.eLearningWebApp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+/**
+ * Body of randomly picked quiz questions. Failures are answered with the generic Response.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class QuizSampleResponse extends ServiceResponse {
+
+    private List<QuizSampleQuestionDTO> quizSample;  // Randomly picked questions without their answer keys
+    private Long sampleSeed;  // Seed that reproduces the picked questions and their option order
+}
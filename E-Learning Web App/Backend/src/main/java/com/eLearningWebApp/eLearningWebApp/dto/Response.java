@@ -19,11 +19,11 @@ public class Response {
     // Auth-related fields
     private String token;
     private String role;
-    private String expirationTime;
 
     // Data for User and Quiz-related operations (only one will be populated per response)
     private UserDTO user;
     private List<UserDTO> userList;
+    private String nextCursor;  // Cursor of the next page for paginated lists, absent on the last page
     private QuizQuestionDTO quizQuestion;
     private List<QuizQuestionDTO> quizQuestionList;
 }
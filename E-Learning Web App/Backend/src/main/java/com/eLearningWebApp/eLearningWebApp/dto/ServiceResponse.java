@@ -0,0 +1,21 @@
+package com.eLearningWebApp.eLearningWebApp.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Base of the typed bodies that services return instead of the generic Response. The status code and message of
+ * the outcome are not part of the body: a successful outcome is sent as the typed body alone, a failed one as a
+ * Response with just the status code and message (see ResponseWriters.respond).
+ */
+@Getter
+@Setter
+public abstract class ServiceResponse {
+
+    @JsonIgnore
+    private int statusCode;   // HTTP status code of the outcome (e.g., 200, 400)
+
+    @JsonIgnore
+    private String message;   // Describes a failed outcome; sent to the client only on failure
+}
@@ -17,5 +17,6 @@ public class UserDTO {
     private String email;   // The email of the user
     private String role;    // The role of the user (e.g., ADMIN, USER)
     private Integer userScore;  // The user's score
+    private AttemptStatsDTO attemptStats;  // Summary of the user's finished quiz attempts, on their own profile only
 
 }
@@ -0,0 +1,17 @@
+package com.eLearningWebApp.eLearningWebApp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Body of a successful user list or page of users. Failures are answered with the generic Response.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserListResponse {
+
+    private List<UserDTO> userList;
+    private String nextCursor;  // Cursor of the next page, absent on the last page and for the full list
+}
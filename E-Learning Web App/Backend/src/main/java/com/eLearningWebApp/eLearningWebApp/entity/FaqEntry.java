@@ -0,0 +1,32 @@
+package com.eLearningWebApp.eLearningWebApp.entity;
+
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A question and answer written by an admin, which the digital assistant can answer students with.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "faq_entries")
+public class FaqEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "question", length = 500)
+    @NotBlank(message = "Question is required")
+    @Size(max = 500, message = "Question must be at most 500 characters")
+    private String question;
+
+    @Column(name = "answer", length = 4000)
+    @NotBlank(message = "Answer is required")
+    @Size(max = 4000, message = "Answer must be at most 4000 characters")
+    private String answer;
+
+}
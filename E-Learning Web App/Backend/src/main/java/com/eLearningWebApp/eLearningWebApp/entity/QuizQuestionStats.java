@@ -0,0 +1,30 @@
+package com.eLearningWebApp.eLearningWebApp.entity;
+
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * How students have answered a quiz question so far. The row is only maintained by the batched
+ * flush of the answer statistics, never per answer; this entity exists to create the table.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "quiz_question_stats")
+public class QuizQuestionStats {
+    @Id
+    @Column(name = "question_id")
+    private Long questionId;
+
+    @Column(name = "answers", nullable = false)
+    private long answers;  // Number of graded answers.
+
+    @Column(name = "correct_answers", nullable = false)
+    private long correctAnswers;  // Number of correct answers.
+
+    @Column(name = "answer_millis", nullable = false)
+    private long answerMillis;  // Total time taken to answer, in milliseconds.
+
+}
@@ -0,0 +1,39 @@
+package com.eLearningWebApp.eLearningWebApp.entity;
+
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * How a student has answered quiz questions so far, used to pick questions of a suitable difficulty.
+ * The row is only maintained by the batched flush of the answer statistics; this entity exists to create the table.
+ * It is keyed by the user's ID, which survives a change of email, and deleted with the user by the database.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "user_answer_stats")
+public class StudentAnswerStats {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)  // Deleting a user needs no extra statement for their statistics
+    private User user;
+
+    @Column(name = "answers", nullable = false)
+    private long answers;  // Number of graded answers.
+
+    @Column(name = "correct_answers", nullable = false)
+    private long correctAnswers;  // Number of correct answers.
+
+    @Column(name = "answer_millis", nullable = false)
+    private long answerMillis;  // Total time taken to answer, in milliseconds.
+
+}
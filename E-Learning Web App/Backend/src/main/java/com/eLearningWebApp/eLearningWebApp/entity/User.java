@@ -19,7 +19,10 @@ import java.util.List;
 
 @Data  // Automatically generate getters, setters, equals, hashCode, and toString methods.
 @Entity  // Marks this class as a JPA entity for ORM (Object-Relational Mapping).
-@Table(name="users")  // Specifies that the table in the database is named "users".
+@Table(name="users", indexes = {  // Specifies that the table in the database is named "users".
+        @Index(name = "idx_users_name_id", columnList = "name, id"),  // Supports keyset pagination by name.
+        @Index(name = "idx_users_score_id", columnList = "user_score desc, id")  // Supports keyset pagination by score.
+})
 public class User implements UserDetails {
 
     @Id
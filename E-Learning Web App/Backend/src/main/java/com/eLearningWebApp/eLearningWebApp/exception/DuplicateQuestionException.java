@@ -0,0 +1,28 @@
+package com.eLearningWebApp.eLearningWebApp.exception;
+
+import com.eLearningWebApp.eLearningWebApp.dto.DuplicateQuestionDTO;
+
+import java.util.List;
+
+/**
+ * Custom exception for a quiz question that is a near-duplicate of questions already in the bank.
+ * Controllers answer it with 409 Conflict and list the similar questions.
+ */
+public class DuplicateQuestionException extends ExceptionsMessages {
+
+    private final List<DuplicateQuestionDTO> duplicates;  // The similar questions, most similar first.
+
+    /**
+     * Constructor that accepts a custom error message and the similar questions.
+     * @param message The custom error message to be passed to the exception.
+     * @param duplicates The similar questions.
+     */
+    public DuplicateQuestionException(String message, List<DuplicateQuestionDTO> duplicates) {
+        super(message);  // Calls the constructor of ExceptionsMessages with the provided message.
+        this.duplicates = duplicates;
+    }
+
+    public List<DuplicateQuestionDTO> getDuplicates() {
+        return duplicates;
+    }
+}
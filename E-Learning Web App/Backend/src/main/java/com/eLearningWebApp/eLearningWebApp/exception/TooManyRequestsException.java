@@ -0,0 +1,16 @@
+package com.eLearningWebApp.eLearningWebApp.exception;
+
+/**
+ * Custom exception for requests that are refused because the caller already uses its share of a limited resource.
+ * Controllers answer it with 429 Too Many Requests.
+ */
+public class TooManyRequestsException extends ExceptionsMessages {
+
+    /**
+     * Constructor that accepts a custom error message.
+     * @param message The custom error message to be passed to the exception.
+     */
+    public TooManyRequestsException(String message) {
+        super(message);  // Calls the constructor of ExceptionsMessages with the provided message.
+    }
+}
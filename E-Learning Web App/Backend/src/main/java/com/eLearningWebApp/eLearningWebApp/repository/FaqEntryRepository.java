@@ -0,0 +1,10 @@
+package com.eLearningWebApp.eLearningWebApp.repository;
+
+import com.eLearningWebApp.eLearningWebApp.entity.FaqEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * FaqEntryRepository performs database operations on the FAQ entries of the digital assistant.
+ */
+public interface FaqEntryRepository extends JpaRepository<FaqEntry, Long> {
+}
@@ -0,0 +1,34 @@
+package com.eLearningWebApp.eLearningWebApp.repository;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's DataSource in a proxy that reports every executed statement to the QueryInspector.
+ * The proxy forwards unwrap() to the pool, so the connection pool metrics keep working.
+ */
+@Component
+public class QueryInspectingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<QueryInspector> queryInspector;  // Resolved when the DataSource is created.
+
+    public QueryInspectingDataSourcePostProcessor(ObjectProvider<QueryInspector> queryInspector) {
+        this.queryInspector = queryInspector;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(queryInspector.getObject())
+                    .build();
+        }
+        return bean;
+    }
+}
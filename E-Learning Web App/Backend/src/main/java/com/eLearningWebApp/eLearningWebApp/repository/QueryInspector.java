@@ -0,0 +1,183 @@
+package com.eLearningWebApp.eLearningWebApp.repository;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Inspects every SQL statement sent through the application's DataSource (JPA and JdbcTemplate alike).
+ * Statements slower than a threshold are logged as they complete. Statements executed while a request is open on
+ * the current thread (see QueryBudgetFilter) are counted, and requests that exceed the query budget are logged
+ * together with their SQL. A JDBC batch counts as one statement, since it is one round trip.
+ * Tests can use startCapture() to assert the exact number of statements each endpoint executes.
+ */
+@Component
+public class QueryInspector implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryInspector.class);
+    private static final int MAX_RECORDED_STATEMENTS = 50;  // Statements kept per request for the budget log.
+    private static final int MAX_SQL_LENGTH = 500;  // Logged SQL is cut after this many characters.
+
+    /**
+     * The statements executed while handling one request.
+     * @param description The HTTP method and path of the request, e.g. "DELETE /users/delete-user-by-id/3".
+     * @param queryCount The number of statements (JDBC round trips).
+     * @param statements The SQL of the first statements, in execution order.
+     */
+    public record RequestQueries(String description, int queryCount, List<String> statements) {
+    }
+
+    /**
+     * Accounting of the request running on the current thread.
+     */
+    private static final class OpenRequest {
+
+        private final String description;
+        private final List<String> statements = new ArrayList<>();
+        private int queryCount;
+
+        private OpenRequest(String description) {
+            this.description = description;
+        }
+    }
+
+    private final ThreadLocal<OpenRequest> currentRequest = new ThreadLocal<>();  // Request handled by this thread, if any.
+    private final List<Capture> captures = new CopyOnWriteArrayList<>();  // Open test captures.
+
+    @Value("${db.query-budget.max-queries:10}")
+    private int maxQueries;  // Requests with more statements than this are logged.
+
+    @Value("${db.query-budget.slow-query-ms:200}")
+    private long slowQueryMillis;  // Statements running longer than this are logged.
+
+    /**
+     * Starts counting the statements executed on the current thread.
+     * @param description The HTTP method and path of the request.
+     */
+    public void beginRequest(String description) {
+        currentRequest.set(new OpenRequest(description));
+    }
+
+    /**
+     * Stops counting for the current thread, logs the request if it exceeded the budget and hands it to open captures.
+     * @return The statements of the request, or null if no request was open.
+     */
+    public RequestQueries endRequest() {
+        OpenRequest request = currentRequest.get();
+        if (request == null) {
+            return null;
+        }
+        currentRequest.remove();
+        RequestQueries queries = new RequestQueries(request.description, request.queryCount, List.copyOf(request.statements));
+        if (queries.queryCount() > maxQueries) {
+            logger.warn("{} executed {} SQL statements (budget {}):\n  {}", queries.description(), queries.queryCount(), maxQueries,
+                    String.join("\n  ", queries.statements()));
+        }
+        for (Capture capture : captures) {
+            capture.requests.add(queries);
+        }
+        return queries;
+    }
+
+    /**
+     * Starts recording the statements of every request that completes from now on, on any thread.
+     * Meant for integration tests; close the capture when done.
+     * @return The open capture.
+     */
+    public Capture startCapture() {
+        Capture capture = new Capture();
+        captures.add(capture);
+        return capture;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // Only completed statements are of interest
+    }
+
+    /**
+     * Counts a completed statement for the current request and logs it if it was slow.
+     */
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        OpenRequest request = currentRequest.get();
+        String sql = null;
+        if (request != null) {
+            request.queryCount++;
+            if (request.statements.size() < MAX_RECORDED_STATEMENTS) {
+                sql = describe(execInfo, queryInfoList);
+                request.statements.add(sql);
+            }
+        }
+        if (execInfo.getElapsedTime() > slowQueryMillis) {
+            logger.warn("Slow SQL statement ({} ms{}): {}", execInfo.getElapsedTime(),
+                    request == null ? "" : ", " + request.description, sql != null ? sql : describe(execInfo, queryInfoList));
+        }
+    }
+
+    /**
+     * Formats the SQL of a statement, marking batches with their size.
+     */
+    private static String describe(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.stream().map(QueryInfo::getQuery).distinct().collect(Collectors.joining("; "));
+        if (sql.length() > MAX_SQL_LENGTH) {
+            sql = sql.substring(0, MAX_SQL_LENGTH) + "...";
+        }
+        return execInfo.isBatch() ? "[batch of " + execInfo.getBatchSize() + "] " + sql : sql;
+    }
+
+    /**
+     * The requests completed while a capture was open. Thread-safe.
+     */
+    public final class Capture implements AutoCloseable {
+
+        private final List<RequestQueries> requests = new CopyOnWriteArrayList<>();
+
+        private Capture() {
+        }
+
+        /**
+         * Returns the captured requests in completion order.
+         */
+        public List<RequestQueries> requests() {
+            return Collections.unmodifiableList(requests);
+        }
+
+        /**
+         * Returns the number of statements of the last captured request with the given description.
+         * @param description The HTTP method and path, e.g. "GET /users/all".
+         * @return The number of statements.
+         * @throws IllegalStateException If no such request was captured.
+         */
+        public int queryCount(String description) {
+            for (int index = requests.size() - 1; index >= 0; index--) {
+                if (requests.get(index).description().equals(description)) {
+                    return requests.get(index).queryCount();
+                }
+            }
+            throw new IllegalStateException("No captured request " + description + " among " + requests);
+        }
+
+        /**
+         * Forgets the requests captured so far.
+         */
+        public void clear() {
+            requests.clear();
+        }
+
+        @Override
+        public void close() {
+            captures.remove(this);
+        }
+    }
+}
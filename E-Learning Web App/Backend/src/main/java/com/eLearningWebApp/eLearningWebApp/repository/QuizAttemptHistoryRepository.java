@@ -0,0 +1,228 @@
+package com.eLearningWebApp.eLearningWebApp.repository;
+
+import com.eLearningWebApp.eLearningWebApp.dto.AttemptStatsDTO;
+import com.eLearningWebApp.eLearningWebApp.utilities.AttemptResult;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only history of finished quiz attempts and the per-user aggregates kept next to it.
+ * On PostgreSQL the quiz_attempts table is partitioned by month of finished_at, so the history can grow without
+ * slowing down recent reads, and old months can be detached or dropped as a whole. Neither table is a JPA entity,
+ * since Hibernate cannot create a partitioned table; both are created here, after Hibernate has created users
+ * (the entity manager factory runs the schema update, so this bean depends on it).
+ * The aggregates (count, best, last, total score and duration) are added to with every batch of new attempts,
+ * so a profile reads them with one primary key lookup instead of scanning the history.
+ */
+@Repository
+@DependsOn("entityManagerFactory")  // The tables reference users, which only exists once Hibernate has updated the schema
+public class QuizAttemptHistoryRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuizAttemptHistoryRepository.class);
+    private static final String CREATE_ATTEMPTS_SQL = "CREATE TABLE IF NOT EXISTS quiz_attempts ("
+            + "id BIGSERIAL, "
+            + "user_id BIGINT NOT NULL REFERENCES users (id) ON DELETE CASCADE, "
+            + "score INTEGER NOT NULL, "
+            + "correct_answers INTEGER NOT NULL, "
+            + "question_count INTEGER NOT NULL, "
+            + "duration_millis BIGINT NOT NULL, "
+            + "finished_at TIMESTAMP WITH TIME ZONE NOT NULL, "
+            + "PRIMARY KEY (id, finished_at))";  // A partitioned table's key must include the partition column
+    private static final String CREATE_ATTEMPTS_INDEX_SQL =
+            "CREATE INDEX IF NOT EXISTS idx_quiz_attempts_user_finished ON quiz_attempts (user_id, finished_at)";
+    private static final String CREATE_STATS_SQL = "CREATE TABLE IF NOT EXISTS user_attempt_stats ("
+            + "user_id BIGINT PRIMARY KEY REFERENCES users (id) ON DELETE CASCADE, "
+            + "attempts BIGINT NOT NULL, "
+            + "total_score BIGINT NOT NULL, "
+            + "total_duration_millis BIGINT NOT NULL, "
+            + "best_score INTEGER NOT NULL, "
+            + "last_score INTEGER NOT NULL, "
+            + "last_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL)";
+    private static final String INSERT_ATTEMPT_SQL = "INSERT INTO quiz_attempts (user_id, score, correct_answers, question_count, "
+            + "duration_millis, finished_at) SELECT id, ?, ?, ?, ?, ? FROM users WHERE id = ?";  // Nothing if the user was deleted
+    private static final String UPDATE_STATS_SQL = "UPDATE user_attempt_stats SET attempts = attempts + ?, "
+            + "total_score = total_score + ?, total_duration_millis = total_duration_millis + ?, best_score = GREATEST(best_score, ?), "
+            + "last_score = CASE WHEN last_attempt_at <= ? THEN ? ELSE last_score END, last_attempt_at = GREATEST(last_attempt_at, ?) "
+            + "WHERE user_id = ?";
+    private static final String INSERT_STATS_SQL = "INSERT INTO user_attempt_stats (user_id, attempts, total_score, "
+            + "total_duration_millis, best_score, last_score, last_attempt_at) SELECT id, ?, ?, ?, ?, ?, ? FROM users WHERE id = ?";
+    private static final String SELECT_STATS_SQL = "SELECT attempts, total_score, total_duration_millis, best_score, last_score, "
+            + "last_attempt_at FROM user_attempt_stats WHERE user_id = ?";
+    private static final int BATCH_SIZE = 500;  // Number of rows sent to the database in one round trip.
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${quiz.history.partitions-ahead:3}")
+    private int partitionsAhead;  // Number of future months whose partitions are created in advance.
+
+    private boolean partitioned;  // Whether quiz_attempts is partitioned, i.e. the database is PostgreSQL.
+
+    /**
+     * The attempts of one user within a batch, merged into the change of their aggregates.
+     */
+    private record StatsChange(long attempts, long totalScore, long totalDurationMillis, int bestScore,
+                               int lastScore, long lastAttemptAtMillis) {
+
+        StatsChange plus(AttemptResult result) {
+            boolean later = result.finishedAtMillis() >= lastAttemptAtMillis;
+            return new StatsChange(attempts + 1, totalScore + result.score(), totalDurationMillis + result.durationMillis(),
+                    Math.max(bestScore, result.score()), later ? result.score() : lastScore,
+                    Math.max(lastAttemptAtMillis, result.finishedAtMillis()));
+        }
+    }
+
+    /**
+     * Creates the history tables if they do not exist yet, and the partitions of the coming months.
+     * Runs after the entity manager factory has created users, before the score buffer replays its log.
+     */
+    @PostConstruct
+    public void createSchema() {
+        partitioned = jdbcTemplate.execute((Connection connection) ->
+                "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+        jdbcTemplate.execute(partitioned ? CREATE_ATTEMPTS_SQL + " PARTITION BY RANGE (finished_at)" : CREATE_ATTEMPTS_SQL);
+        jdbcTemplate.execute(CREATE_ATTEMPTS_INDEX_SQL);  // Created on every partition by PostgreSQL
+        jdbcTemplate.execute(CREATE_STATS_SQL);
+        createPartitions();
+    }
+
+    /**
+     * Creates the monthly partitions from the current month up to the configured number of months ahead.
+     * Attempts outside of them land in the default partition, so a missed run never makes a flush fail.
+     * Runs on startup and daily.
+     */
+    @Scheduled(cron = "${quiz.history.partition-cron:0 0 3 * * *}", zone = "UTC")
+    public void createPartitions() {
+        if (!partitioned) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS quiz_attempts_default PARTITION OF quiz_attempts DEFAULT");
+        YearMonth month = YearMonth.now(ZoneOffset.UTC);
+        for (int ahead = 0; ahead <= partitionsAhead; ahead++, month = month.plusMonths(1)) {
+            String partition = String.format("quiz_attempts_y%04dm%02d", month.getYear(), month.getMonthValue());
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF quiz_attempts FOR VALUES FROM ('"
+                        + month.atDay(1) + " 00:00:00+00') TO ('" + month.plusMonths(1).atDay(1) + " 00:00:00+00')");
+            } catch (RuntimeException e) {
+                // E.g. the default partition already holds attempts of that month; they stay readable there
+                logger.error("Could not create the attempt history partition {}", partition, e);
+            }
+        }
+    }
+
+    /**
+     * Appends finished attempts to the history and adds them to the users' aggregates.
+     * Must be called within a transaction, so a retried batch is never counted twice.
+     * Attempts of users that no longer exist are skipped.
+     * @param attemptsByUserId The new attempts, grouped by the ID of their user.
+     */
+    public void append(Map<Long, List<AttemptResult>> attemptsByUserId) {
+        List<Map.Entry<Long, AttemptResult>> attempts = new ArrayList<>();
+        List<Map.Entry<Long, StatsChange>> changes = new ArrayList<>(attemptsByUserId.size());
+        attemptsByUserId.forEach((userId, results) -> {
+            StatsChange change = new StatsChange(0, 0, 0, Integer.MIN_VALUE, 0, Long.MIN_VALUE);
+            for (AttemptResult result : results) {
+                attempts.add(Map.entry(userId, result));
+                change = change.plus(result);
+            }
+            changes.add(Map.entry(userId, change));
+        });
+        if (attempts.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_ATTEMPT_SQL, attempts, BATCH_SIZE, (statement, entry) -> {
+            AttemptResult result = entry.getValue();
+            statement.setInt(1, result.score());
+            statement.setInt(2, result.correctAnswers());
+            statement.setInt(3, result.questionCount());
+            statement.setLong(4, result.durationMillis());
+            statement.setObject(5, timestamp(result.finishedAtMillis()));
+            statement.setLong(6, entry.getKey());
+        });
+
+        int[][] updated = jdbcTemplate.batchUpdate(UPDATE_STATS_SQL, changes, BATCH_SIZE, (statement, entry) -> {
+            StatsChange change = entry.getValue();
+            statement.setLong(1, change.attempts());
+            statement.setLong(2, change.totalScore());
+            statement.setLong(3, change.totalDurationMillis());
+            statement.setInt(4, change.bestScore());
+            statement.setObject(5, timestamp(change.lastAttemptAtMillis()));
+            statement.setInt(6, change.lastScore());
+            statement.setObject(7, timestamp(change.lastAttemptAtMillis()));
+            statement.setLong(8, entry.getKey());
+        });
+        List<Map.Entry<Long, StatsChange>> missing = new ArrayList<>();
+        int position = 0;
+        for (int[] counts : updated) {
+            for (int count : counts) {
+                if (count == 0) {
+                    missing.add(changes.get(position));  // First attempt of this user
+                }
+                position++;
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_STATS_SQL, missing, BATCH_SIZE, (statement, entry) -> {
+                StatsChange change = entry.getValue();
+                statement.setLong(1, change.attempts());
+                statement.setLong(2, change.totalScore());
+                statement.setLong(3, change.totalDurationMillis());
+                statement.setInt(4, change.bestScore());
+                statement.setInt(5, change.lastScore());
+                statement.setObject(6, timestamp(change.lastAttemptAtMillis()));
+                statement.setLong(7, entry.getKey());
+            });
+        }
+    }
+
+    /**
+     * Reads the attempt aggregates of a user.
+     * @param userId The ID of the user.
+     * @param pending Attempts of the user that are not saved yet, included in the result.
+     * @return The aggregates, or null if the user has not finished any attempt.
+     */
+    public AttemptStatsDTO findStats(long userId, List<AttemptResult> pending) {
+        List<StatsChange> saved = jdbcTemplate.query(SELECT_STATS_SQL, (row, rowNumber) -> new StatsChange(row.getLong(1),
+                row.getLong(2), row.getLong(3), row.getInt(4), row.getInt(5),
+                row.getObject(6, OffsetDateTime.class).toInstant().toEpochMilli()), userId);
+        StatsChange stats = saved.isEmpty() ? new StatsChange(0, 0, 0, Integer.MIN_VALUE, 0, Long.MIN_VALUE) : saved.get(0);
+        for (AttemptResult result : pending) {
+            stats = stats.plus(result);
+        }
+        if (stats.attempts() == 0) {
+            return null;
+        }
+        AttemptStatsDTO statsDTO = new AttemptStatsDTO();
+        statsDTO.setAttempts(stats.attempts());
+        statsDTO.setBestScore(stats.bestScore());
+        statsDTO.setLastScore(stats.lastScore());
+        statsDTO.setAverageScore((double) stats.totalScore() / stats.attempts());
+        statsDTO.setAverageDurationMillis(stats.totalDurationMillis() / stats.attempts());
+        statsDTO.setLastAttemptAt(Instant.ofEpochMilli(stats.lastAttemptAtMillis()));
+        return statsDTO;
+    }
+
+    /**
+     * Converts epoch milliseconds to a value for a TIMESTAMP WITH TIME ZONE column.
+     */
+    private static OffsetDateTime timestamp(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis).atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,79 @@
+package com.eLearningWebApp.eLearningWebApp.repository;
+
+import com.eLearningWebApp.eLearningWebApp.entity.QuizQuestion;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batched JDBC writes of quiz questions. The entity uses IDENTITY generation, which keeps Hibernate from batching
+ * inserts, so bulk imports allocate the IDs from the column's sequence in one round trip and send the rows as a
+ * single JDBC batch instead.
+ * Calls are timed under the same metric as the Spring Data repositories (spring.data.repository.invocations).
+ */
+@Repository
+public class QuizQuestionBatchRepository {
+
+    private static final String ALLOCATE_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('quiz_questions', 'id')) FROM generate_series(1, ?)";
+    private static final String INSERT_SQL = "INSERT INTO quiz_questions (id, question_text, answer_option_1, answer_option_2, "
+            + "answer_option_3, answer_option_4, correct_answer) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;  // Times the batch inserts like the Spring Data repository calls.
+
+    /**
+     * Inserts the given questions in one transaction and sets their generated IDs.
+     * @param quizQuestions The validated questions to insert.
+     */
+    @Transactional
+    public void insertAll(List<QuizQuestion> quizQuestions) {
+        if (quizQuestions.isEmpty()) {
+            return;
+        }
+        long started = System.nanoTime();
+        String exception = "None";
+        try {
+            insertBatch(quizQuestions);
+        } catch (RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Timer.builder("spring.data.repository.invocations")
+                    .tag("repository", QuizQuestionBatchRepository.class.getSimpleName())
+                    .tag("method", "insertAll")
+                    .tag("state", exception.equals("None") ? "SUCCESS" : "ERROR")
+                    .tag("exception", exception)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Allocates the IDs of the questions and sends them as one JDBC batch.
+     */
+    private void insertBatch(List<QuizQuestion> quizQuestions) {
+        List<Long> ids = jdbcTemplate.queryForList(ALLOCATE_IDS_SQL, Long.class, quizQuestions.size());
+        for (int index = 0; index < quizQuestions.size(); index++) {
+            quizQuestions.get(index).setId(ids.get(index));
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, quizQuestions, quizQuestions.size(), (statement, quizQuestion) -> {
+            statement.setLong(1, quizQuestion.getId());
+            statement.setString(2, quizQuestion.getQuestionText());
+            statement.setString(3, quizQuestion.getAnswerOption1());
+            statement.setString(4, quizQuestion.getAnswerOption2());
+            statement.setString(5, quizQuestion.getAnswerOption3());
+            statement.setString(6, quizQuestion.getAnswerOption4());
+            statement.setInt(7, quizQuestion.getCorrectAnswer());
+        });
+    }
+}
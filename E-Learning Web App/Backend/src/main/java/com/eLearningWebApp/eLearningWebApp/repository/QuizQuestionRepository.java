@@ -1,7 +1,27 @@
 package com.eLearningWebApp.eLearningWebApp.repository;
 
 import com.eLearningWebApp.eLearningWebApp.entity.QuizQuestion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.stream.Stream;
 
 public interface QuizQuestionRepository extends JpaRepository<QuizQuestion, Long> {
-}
\ No newline at end of file
+
+    /**
+     * Streams all quiz questions ordered by ID straight from a forward-only JDBC cursor.
+     * Must be consumed inside a transaction, and the stream must be closed afterwards.
+     * @return A stream of quiz question projections.
+     */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select q.id as id, q.questionText as questionText, q.answerOption1 as answerOption1, " +
+            "q.answerOption2 as answerOption2, q.answerOption3 as answerOption3, q.answerOption4 as answerOption4, " +
+            "q.correctAnswer as correctAnswer from QuizQuestion q order by q.id")
+    Stream<QuizQuestionView> streamAllViews();
+}
@@ -0,0 +1,22 @@
+package com.eLearningWebApp.eLearningWebApp.repository;
+
+/**
+ * QuizQuestionView is a column projection of the "quiz_questions" table.
+ * Projections are not managed entities, so streaming them does not fill the persistence context.
+ */
+public interface QuizQuestionView {
+
+    Long getId();
+
+    String getQuestionText();
+
+    String getAnswerOption1();
+
+    String getAnswerOption2();
+
+    String getAnswerOption3();
+
+    String getAnswerOption4();
+
+    int getCorrectAnswer();
+}
@@ -1,9 +1,19 @@
 package com.eLearningWebApp.eLearningWebApp.repository;
 
 import com.eLearningWebApp.eLearningWebApp.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * UserRepository interface for performing database operations on the User entity.
@@ -24,4 +34,76 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return An Optional containing the User if found, or empty if not found.
      */
     Optional<User> findByEmail(String email);
+
+    /**
+     * Replaces the password hash of a user without loading and saving the whole entity.
+     * @param id The ID of the user.
+     * @param password The new password hash.
+     * @return The number of updated rows.
+     */
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") long id, @Param("password") String password);
+
+    /**
+     * Finds all users whose role is different from the given one, without loading their passwords.
+     * @param role The role to exclude (e.g., ADMIN).
+     * @return A list of user projections that do not have the given role.
+     */
+    @Query("select u.id as id, u.name as name, u.email as email, u.role as role, u.userScore as userScore " +
+            "from User u where u.role <> :role")
+    List<UserView> findViewsByRoleNot(@Param("role") String role);
+
+    /**
+     * Finds all users without loading their passwords.
+     * @return A list of user projections ordered by ID.
+     */
+    @Query("select u.id as id, u.name as name, u.email as email, u.role as role, u.userScore as userScore " +
+            "from User u order by u.id")
+    List<UserView> findAllViews();
+
+    /**
+     * Finds the next page of users ordered by ID, starting after the given ID (keyset pagination).
+     * @param afterId The ID of the last user of the previous page.
+     * @param pageable The page size; only the first page of the result is ever requested.
+     * @return A list of user projections.
+     */
+    @Query("select u.id as id, u.name as name, u.email as email, u.role as role, u.userScore as userScore " +
+            "from User u where u.id > :afterId order by u.id asc")
+    List<UserView> findPageOrderById(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Finds the next page of users ordered by name, starting after the given name and ID (keyset pagination).
+     * @param afterName The name of the last user of the previous page.
+     * @param afterId The ID of the last user of the previous page, used to break ties between equal names.
+     * @param pageable The page size; only the first page of the result is ever requested.
+     * @return A list of user projections.
+     */
+    @Query("select u.id as id, u.name as name, u.email as email, u.role as role, u.userScore as userScore " +
+            "from User u where u.name > :afterName or (u.name = :afterName and u.id > :afterId) " +
+            "order by u.name asc, u.id asc")
+    List<UserView> findPageOrderByName(@Param("afterName") String afterName, @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Finds the next page of users ordered by score from highest to lowest, starting after the given score and ID (keyset pagination).
+     * @param afterScore The score of the last user of the previous page.
+     * @param afterId The ID of the last user of the previous page, used to break ties between equal scores.
+     * @param pageable The page size; only the first page of the result is ever requested.
+     * @return A list of user projections.
+     */
+    @Query("select u.id as id, u.name as name, u.email as email, u.role as role, u.userScore as userScore " +
+            "from User u where u.userScore < :afterScore or (u.userScore = :afterScore and u.id > :afterId) " +
+            "order by u.userScore desc, u.id asc")
+    List<UserView> findPageOrderByScore(@Param("afterScore") int afterScore, @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Streams all users ordered by ID straight from a forward-only JDBC cursor, without loading their passwords.
+     * Must be consumed inside a transaction, and the stream must be closed afterwards.
+     * @return A stream of user projections.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select u.id as id, u.name as name, u.email as email, u.role as role, u.userScore as userScore " +
+            "from User u order by u.id")
+    Stream<UserView> streamAllViews();
 }
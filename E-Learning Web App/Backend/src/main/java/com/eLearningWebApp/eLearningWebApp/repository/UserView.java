@@ -0,0 +1,18 @@
+package com.eLearningWebApp.eLearningWebApp.repository;
+
+/**
+ * UserView is a column projection of the "users" table.
+ * Queries returning it select only these columns, so the password hash is never loaded.
+ */
+public interface UserView {
+
+    Long getId();
+
+    String getName();
+
+    String getEmail();
+
+    String getRole();
+
+    Integer getUserScore();
+}
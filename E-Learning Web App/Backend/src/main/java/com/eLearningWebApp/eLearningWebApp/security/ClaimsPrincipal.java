@@ -0,0 +1,36 @@
+package com.eLearningWebApp.eLearningWebApp.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal built purely from the signed claims of a JWT token, used when the JWT filter runs in stateless mode.
+ * It carries only what authorization needs, so the user row (and its password hash) is never loaded.
+ * @param id The ID of the user.
+ * @param email The email of the user, which is also the token subject.
+ * @param role The role of the user (e.g., ADMIN, USER).
+ */
+public record ClaimsPrincipal(Long id, String email, String role) implements AuthenticatedPrincipal, Serializable {
+
+    /**
+     * Returns the name of the principal, which is the user's email just like User.getUsername().
+     * @return The user's email.
+     */
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    /**
+     * Returns the authorities granted to the user based on the role claim.
+     * @return A collection containing the role as a SimpleGrantedAuthority.
+     */
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role));
+    }
+}
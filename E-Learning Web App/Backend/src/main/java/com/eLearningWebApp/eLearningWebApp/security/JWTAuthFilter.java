@@ -2,11 +2,16 @@ package com.eLearningWebApp.eLearningWebApp.security;
 
 import com.eLearningWebApp.eLearningWebApp.service.CustomUserDetailsService;
 import com.eLearningWebApp.eLearningWebApp.utilities.JWTUtilities;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,6 +21,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWTAuthFilter is a custom filter that intercepts each HTTP request once per request
@@ -30,6 +36,29 @@ public class JWTAuthFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;  // Service to load user details from the database.
 
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;  // Cache of tokens whose signature has already been verified.
+
+    @Autowired
+    private MeterRegistry meterRegistry;  // Publishes the time spent in each phase of the filter.
+
+    @Value("${security.jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;  // When true, the principal is built from the token claims instead of the database.
+
+    private Timer parseTimer;  // Token lookup in the cache and, on a miss, signature verification.
+    private Timer lookupTimer;  // Building the principal, from the claims or the (cached) user row.
+    private Timer validateTimer;  // Expiry, revocation and subject checks.
+
+    /**
+     * Registers the timers of the filter phases.
+     */
+    @PostConstruct
+    public void registerMetrics() {
+        parseTimer = phaseTimer("parse");
+        lookupTimer = phaseTimer("lookup");
+        validateTimer = phaseTimer("validate");
+    }
+
     /**
      * Filters incoming requests to check if there is a valid JWT token in the Authorization header.
      * If a valid token is found, it authenticates the user and sets the authentication in the security context.
@@ -45,7 +74,7 @@ public class JWTAuthFilter extends OncePerRequestFilter {
         // Extracts the Authorization header from the request
         final String authHeader = request.getHeader("Authorization");
         final String jwtToken;
-        final String userEmail;
+        VerifiedTokenCache.VerifiedToken verifiedToken;
 
         // If the Authorization header is missing or empty, pass the request to the next filter in the chain
         if (authHeader == null || authHeader.isBlank()) {
@@ -55,27 +84,85 @@ public class JWTAuthFilter extends OncePerRequestFilter {
 
         // Extracts the JWT token from the Authorization header (assumes the token starts after "Bearer ")
         jwtToken = authHeader.substring(7);
-        userEmail = jwtUtils.extractUsername(jwtToken);  // Extracts the username (email) from the token
+        long phaseStarted = System.nanoTime();
+        try {
+            verifiedToken = verifiedTokenCache.get(jwtToken);  // Reuses an earlier verification of the same token, if any
+            if (verifiedToken == null) {
+                // Verifies the signature once and remembers the subject and expiration until the token expires
+                Claims claims = jwtUtils.extractAllClaims(jwtToken);
+                verifiedToken = verifiedTokenCache.put(jwtToken, claims);
+            }
+        } finally {
+            phaseStarted = recordPhase(parseTimer, phaseStarted);
+        }
 
         // If a user email was extracted and there is no authentication in the security context, proceed with validation
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            // Loads user details from the database using the extracted email
-            UserDetails userDetails = customUserDetailsService.loadUserByUsername(userEmail);
-
-            // If the token is valid for the user, set up authentication
-            if (jwtUtils.isValidToken(jwtToken, userDetails)) {
-                // Creates a new security context and an authentication token for the user
-                SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
-                UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());  // Create an authentication token
-
-                // Sets additional details for the authentication token (like remote address, session ID)
-                token.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                securityContext.setAuthentication(token);  // Sets the authenticated user in the security context
-                SecurityContextHolder.setContext(securityContext);  // Stores the security context
+        boolean valid = verifiedToken.username() != null && SecurityContextHolder.getContext().getAuthentication() == null
+                && !verifiedToken.isExpired(System.currentTimeMillis()) && !verifiedTokenCache.isRevoked(verifiedToken);
+        phaseStarted = recordPhase(validateTimer, phaseStarted);
+        if (valid) {
+            UsernamePasswordAuthenticationToken token;
+            if (statelessPrincipal && verifiedToken.role() != null && verifiedToken.userId() != null) {
+                // Builds the principal purely from the signed claims, the user row is never loaded
+                ClaimsPrincipal principal = new ClaimsPrincipal(verifiedToken.userId(), verifiedToken.username(), verifiedToken.role());
+                token = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+                recordPhase(lookupTimer, phaseStarted);
+            } else {
+                // Loads user details using the extracted email, recently loaded users are served from memory
+                UserDetails userDetails;
+                try {
+                    userDetails = customUserDetailsService.loadUserByUsernameCached(verifiedToken.username());
+                } finally {
+                    phaseStarted = recordPhase(lookupTimer, phaseStarted);
+                }
+                boolean sameUser = verifiedToken.username().equals(userDetails.getUsername());
+                recordPhase(validateTimer, phaseStarted);
+                if (!sameUser) {
+                    filterChain.doFilter(request, response);  // The token does not belong to the loaded user
+                    return;
+                }
+                token = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
             }
+            setAuthentication(request, token);
         }
         // Passes the request/response to the next filter in the chain
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Stores an authenticated token in a new security context for the current request.
+     * @param request The HTTP request, used for the authentication details.
+     * @param token The authenticated token of the user.
+     */
+    private void setAuthentication(HttpServletRequest request, UsernamePasswordAuthenticationToken token) {
+        // Creates a new security context for the user
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+
+        // Sets additional details for the authentication token (like remote address, session ID)
+        token.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        securityContext.setAuthentication(token);  // Sets the authenticated user in the security context
+        SecurityContextHolder.setContext(securityContext);  // Stores the security context
+    }
+
+    /**
+     * Records the time since the start of a phase.
+     * @param timer The timer of the phase.
+     * @param phaseStarted The System.nanoTime() at which the phase started.
+     * @return The current System.nanoTime(), i.e. the start of the next phase.
+     */
+    private static long recordPhase(Timer timer, long phaseStarted) {
+        long now = System.nanoTime();
+        timer.record(now - phaseStarted, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    /**
+     * Builds the timer of one filter phase.
+     */
+    private Timer phaseTimer(String phase) {
+        return Timer.builder("security.jwt.filter")
+                .description("Time spent authenticating a request from its JWT token, per phase")
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,142 @@
+package com.eLearningWebApp.eLearningWebApp.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing (BCrypt) for logins on a small dedicated thread pool with a bounded queue.
+ * Hashing is deliberately slow, so a login storm would otherwise occupy every request thread; here at most
+ * "threads" hashes run at once, up to "queue-capacity" logins wait, and any further login is rejected
+ * immediately with a RejectedExecutionException so the caller can answer 503.
+ */
+@Component  // Marks this class as a Spring-managed component (bean).
+public class PasswordVerifier {
+
+    /**
+     * The outcome of a password check.
+     * @param matches Whether the password matches the stored hash.
+     * @param upgradedHash A new hash of the password if the stored one uses an outdated cost factor, otherwise null.
+     */
+    public record Result(boolean matches, String upgradedHash) {
+    }
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;  // BCrypt encoder with the configured cost factor.
+
+    @Autowired
+    private MeterRegistry meterRegistry;  // Publishes the hashing and queueing times.
+
+    @Value("${security.password-hashing.threads:0}")
+    private int threads;  // Number of hashing threads; 0 means one per CPU core.
+
+    @Value("${security.password-hashing.queue-capacity:64}")
+    private int queueCapacity;  // Number of logins allowed to wait for a hashing thread.
+
+    private ThreadPoolExecutor executor;
+    private String dummyHash;  // Hash checked for unknown emails, so they take as long as wrong passwords.
+    private Timer hashingTimer;  // Time a hashing task runs on a pool thread.
+    private Timer queueTimer;  // Time a login waits for a free hashing thread.
+
+    /**
+     * Starts the hashing pool.
+     */
+    @PostConstruct
+    public void start() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());  // Reject instead of queueing without bound
+        dummyHash = passwordEncoder.encode("not-a-real-password");
+        hashingTimer = Timer.builder("security.password.hashing")
+                .description("Time taken to check a login password with BCrypt")
+                .register(meterRegistry);
+        queueTimer = Timer.builder("security.password.hashing.queue")
+                .description("Time a login waits for a free password hashing thread")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks a password against a stored hash and, if it matches and the hash uses an outdated cost factor,
+     * computes a new hash in the same task.
+     * @param rawPassword The password entered by the user.
+     * @param encodedPassword The stored hash.
+     * @return The result of the check.
+     * @throws RejectedExecutionException If the hashing pool and its queue are full.
+     */
+    public Result verify(String rawPassword, String encodedPassword) {
+        return run(() -> {
+            if (!passwordEncoder.matches(rawPassword, encodedPassword)) {
+                return new Result(false, null);
+            }
+            String upgradedHash = passwordEncoder.upgradeEncoding(encodedPassword) ? passwordEncoder.encode(rawPassword) : null;
+            return new Result(true, upgradedHash);
+        });
+    }
+
+    /**
+     * Spends the same time as a real check for an email that does not exist, so response times do not reveal
+     * which emails are registered.
+     * @param rawPassword The password entered by the user.
+     * @throws RejectedExecutionException If the hashing pool and its queue are full.
+     */
+    public void verifyUnknownUser(String rawPassword) {
+        run(() -> passwordEncoder.matches(rawPassword, dummyHash));
+    }
+
+    /**
+     * Stops the hashing pool.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Runs a hashing task on the pool and waits for its result.
+     */
+    private <T> T run(Callable<T> task) {
+        long submitted = System.nanoTime();
+        Future<T> future = executor.submit(() -> {
+            long started = System.nanoTime();
+            queueTimer.record(started - submitted, TimeUnit.NANOSECONDS);
+            try {
+                return task.call();
+            } finally {
+                hashingTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        });  // Throws RejectedExecutionException when saturated
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while checking the password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
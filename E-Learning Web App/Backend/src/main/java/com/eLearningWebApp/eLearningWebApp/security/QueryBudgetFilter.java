@@ -0,0 +1,37 @@
+package com.eLearningWebApp.eLearningWebApp.security;
+
+import com.eLearningWebApp.eLearningWebApp.repository.QueryInspector;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements of every HTTP request, including those of the security filters, and lets the
+ * QueryInspector log requests over the budget. Runs before every other filter.
+ * Statements of a streamed response body run on another thread after this filter and are not counted.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private QueryInspector queryInspector;  // Counts the statements of the current thread.
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        queryInspector.beginRequest(request.getMethod() + " " + request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            queryInspector.endRequest();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.eLearningWebApp.eLearningWebApp.security;
+
+import com.eLearningWebApp.eLearningWebApp.dto.Response;
+import com.eLearningWebApp.eLearningWebApp.utilities.TokenBucketLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Rate limits requests with token buckets before the JWT filter runs, so a flooding client is refused before it costs
+ * a token verification, a user lookup or a BCrypt check. Requests with a token that was already verified are counted
+ * per user, so students behind one NAT do not share a bucket; all other requests are counted per client IP.
+ * Login and registration are always counted per IP. Each endpoint group has its own limits.
+ * Refused requests get 429 Too Many Requests with a Retry-After header.
+ */
+@Component  // Marks this class as a Spring-managed component (bean).
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Endpoint groups with their own limits.
+     */
+    private enum EndpointGroup { AUTH, ASSISTANT, API }
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;  // Tells whether a token was already verified, without verifying it.
+
+    @Autowired
+    private ObjectMapper objectMapper;  // Writes the 429 response.
+
+    @Autowired
+    private MeterRegistry meterRegistry;  // Publishes the refused requests and the number of buckets.
+
+    @Value("${security.rate-limit.enabled:true}")
+    private boolean enabled;  // Whether requests are rate limited at all.
+
+    @Value("${security.rate-limit.max-keys:100000}")
+    private int maxKeys;  // Upper bound on the number of buckets per endpoint group.
+
+    @Value("${security.rate-limit.auth.capacity:30}")
+    private int authCapacity;  // Login and registration requests one IP may send in a burst.
+
+    @Value("${security.rate-limit.auth.refill-per-second:1}")
+    private double authRefillPerSecond;  // Sustained login and registration requests per second and IP.
+
+    @Value("${security.rate-limit.assistant.capacity:20}")
+    private int assistantCapacity;  // Assistant requests one user or IP may send in a burst.
+
+    @Value("${security.rate-limit.assistant.refill-per-second:1}")
+    private double assistantRefillPerSecond;  // Sustained assistant requests per second and user or IP.
+
+    @Value("${security.rate-limit.api.capacity:200}")
+    private int apiCapacity;  // Other API requests one user or IP may send in a burst.
+
+    @Value("${security.rate-limit.api.refill-per-second:50}")
+    private double apiRefillPerSecond;  // Sustained other API requests per second and user or IP.
+
+    private final Map<EndpointGroup, TokenBucketLimiter> limiters = new EnumMap<>(EndpointGroup.class);
+    private final Map<EndpointGroup, Counter> rejectedCounters = new EnumMap<>(EndpointGroup.class);
+
+    /**
+     * Creates the buckets of every endpoint group and registers the metrics.
+     */
+    @PostConstruct
+    public void createLimiters() {
+        limiters.put(EndpointGroup.AUTH, new TokenBucketLimiter(authCapacity, authRefillPerSecond, maxKeys));
+        limiters.put(EndpointGroup.ASSISTANT, new TokenBucketLimiter(assistantCapacity, assistantRefillPerSecond, maxKeys));
+        limiters.put(EndpointGroup.API, new TokenBucketLimiter(apiCapacity, apiRefillPerSecond, maxKeys));
+        limiters.forEach((group, limiter) -> {
+            String tag = group.name().toLowerCase();
+            rejectedCounters.put(group, Counter.builder("security.rate_limit.rejected")
+                    .description("Requests refused with 429 because their token bucket was empty")
+                    .tag("group", tag)
+                    .register(meterRegistry));
+            Gauge.builder("security.rate_limit.buckets", limiter, TokenBucketLimiter::size)
+                    .description("Number of clients with a partly used token bucket")
+                    .tag("group", tag)
+                    .register(meterRegistry);
+        });
+    }
+
+    /**
+     * Takes a token from the bucket of the request's client, or refuses the request if the bucket is empty.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        EndpointGroup group = endpointGroup(request.getRequestURI());
+        if (!enabled || group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String key = group == EndpointGroup.AUTH ? null : verifiedUser(request);
+        if (key == null) {
+            key = "ip:" + request.getRemoteAddr();  // Behind a proxy, set server.forward-headers-strategy so this is the client
+        }
+        long waitNanos = limiters.get(group).tryAcquire(key, System.nanoTime());
+        if (waitNanos > 0) {
+            rejectedCounters.get(group).increment();
+            long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+            Response body = new Response();
+            body.setStatusCode(HttpStatus.TOO_MANY_REQUESTS.value());
+            body.setMessage("Too many requests, retry in " + retryAfterSeconds + " seconds");
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), body);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Drops the buckets of clients that have been idle long enough for their bucket to be full again.
+     */
+    @Scheduled(fixedDelayString = "${security.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        limiters.values().forEach(limiter -> limiter.evictIdle(now));
+    }
+
+    /**
+     * Returns the user of an already verified, unexpired token, or null. An unverified token is not trusted,
+     * as anyone could put another user's email into it; it is counted per IP until the JWT filter has verified it.
+     */
+    private String verifiedUser(HttpServletRequest request) {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || authHeader.length() <= 7) {
+            return null;
+        }
+        VerifiedTokenCache.VerifiedToken verifiedToken = verifiedTokenCache.get(authHeader.substring(7));
+        return verifiedToken == null || verifiedToken.username() == null ? null : "user:" + verifiedToken.username();
+    }
+
+    /**
+     * Maps a request path to its endpoint group, or null for endpoints that are not rate limited (health checks
+     * and metric scrapes).
+     */
+    private static EndpointGroup endpointGroup(String path) {
+        if (path.startsWith("/actuator/")) {
+            return null;
+        }
+        if (path.startsWith("/auth/")) {
+            return EndpointGroup.AUTH;
+        }
+        if (path.startsWith("/api/assistant/")) {
+            return EndpointGroup.ASSISTANT;
+        }
+        return EndpointGroup.API;
+    }
+}
@@ -2,7 +2,9 @@ package com.eLearningWebApp.eLearningWebApp.security;
 
 
 import com.eLearningWebApp.eLearningWebApp.service.CustomUserDetailsService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -35,6 +37,12 @@ public class SecurityConfiguration {
     @Autowired
     private JWTAuthFilter jwtAuthFilter;  // Filter for JWT-based authentication.
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;  // Filter that refuses clients sending too many requests.
+
+    @Value("${security.bcrypt.strength:10}")
+    private int bcryptStrength;  // BCrypt cost factor for new hashes; older hashes are upgraded on login.
+
     /**
      * Configures the security filter chain, including which endpoints are accessible without authentication,
      * session management policy (stateless for JWT), and the use of a custom JWT authentication filter.
@@ -48,12 +56,15 @@ public class SecurityConfiguration {
         httpSecurity.csrf(AbstractHttpConfigurer::disable)  // Disables CSRF protection (usually not needed for stateless APIs).
                 .cors(Customizer.withDefaults())  // Enables CORS with default settings.
                 .authorizeHttpRequests(request -> request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()  // Streaming responses resume on an async dispatch of an already authorized request.
                         .requestMatchers("/auth/**").permitAll()  // Permits all requests to authentication endpoints (e.g., login, registration).
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()  // Probes and metric scrapes carry no token; restrict them on the network instead.
                         .requestMatchers("/api/quiz-questions/**").authenticated()
                         .anyRequest().authenticated())  // Requires authentication for all other requests.
                 .sessionManagement(manager -> manager.sessionCreationPolicy(SessionCreationPolicy.STATELESS))  // Configures stateless session management (no sessions for JWT-based authentication).
                 .authenticationProvider(authenticationProvider())  // Sets the custom authentication provider for user authentication.
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);  // Adds the JWT authentication filter before the UsernamePasswordAuthenticationFilter.
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)  // Adds the JWT authentication filter before the UsernamePasswordAuthenticationFilter.
+                .addFilterBefore(rateLimitFilter, JWTAuthFilter.class);  // Rate limits requests before their token is verified or their password hashed.
         return httpSecurity.build();
     }
 
@@ -76,11 +87,11 @@ public class SecurityConfiguration {
      * Configures the password encoder used to hash passwords.
      * BCrypt is a strong hashing algorithm for securing passwords.
      *
-     * @return A BCryptPasswordEncoder instance.
+     * @return A BCryptPasswordEncoder instance with the configured cost factor.
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();  // Returns a BCrypt password encoder for encoding and verifying passwords.
+        return new BCryptPasswordEncoder(bcryptStrength);  // Returns a BCrypt password encoder for encoding and verifying passwords.
     }
 
     /**
@@ -0,0 +1,127 @@
+package com.eLearningWebApp.eLearningWebApp.security;
+
+import com.eLearningWebApp.eLearningWebApp.utilities.JWTUtilities;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of JWT tokens whose signature has already been verified.
+ * Each entry remembers the token's claims, so a token is only parsed and verified once and is dropped
+ * as soon as it expires. It also remembers users whose existing tokens were revoked (deleted users or
+ * changed emails), which matters when the principal is built from claims without checking the database.
+ */
+@Component  // Marks this class as a Spring-managed component (bean).
+public class VerifiedTokenCache {
+
+    /**
+     * The verified claims of a token.
+     * @param username The subject (email) of the token.
+     * @param userId The user ID claim, or null for tokens issued without it.
+     * @param role The role claim, or null for tokens issued without it.
+     * @param issuedAtMillis The issue time of the token in epoch milliseconds.
+     * @param expiresAtMillis The expiration time of the token in epoch milliseconds.
+     */
+    public record VerifiedToken(String username, Long userId, String role, long issuedAtMillis, long expiresAtMillis) {
+
+        /**
+         * Checks if the token has expired at the given time.
+         * @param nowMillis The current time in epoch milliseconds.
+         * @return True if the token is no longer valid, false otherwise.
+         */
+        public boolean isExpired(long nowMillis) {
+            return expiresAtMillis <= nowMillis;
+        }
+    }
+
+    private final ConcurrentHashMap<String, VerifiedToken> tokens = new ConcurrentHashMap<>();  // Token string -> verified claims.
+    private final ConcurrentHashMap<String, Long> revokedUsers = new ConcurrentHashMap<>();  // Email -> time its tokens were revoked.
+
+    @Value("${security.token-cache.max-entries:10000}")
+    private int maxEntries;  // Upper bound on the number of cached tokens.
+
+    /**
+     * Returns the verified claims of a token if it was verified before and has not expired yet.
+     * Expired entries are removed on access.
+     * @param token The raw JWT token.
+     * @return The verified token, or null if the token has to be verified again.
+     */
+    public VerifiedToken get(String token) {
+        VerifiedToken verified = tokens.get(token);
+        if (verified != null && verified.isExpired(System.currentTimeMillis())) {
+            tokens.remove(token, verified);  // Evicts the entry once the token has expired
+            return null;
+        }
+        return verified;
+    }
+
+    /**
+     * Stores the verified claims of a token. When the cache is full, expired entries are purged first and
+     * then arbitrary entries are dropped; a dropped token is simply verified again on its next use.
+     * @param token The raw JWT token.
+     * @param claims The verified claims of the token.
+     * @return The cached entry.
+     */
+    public VerifiedToken put(String token, Claims claims) {
+        Date issuedAt = claims.getIssuedAt();
+        VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(),
+                claims.get(JWTUtilities.USER_ID_CLAIM, Long.class),
+                claims.get(JWTUtilities.ROLE_CLAIM, String.class),
+                issuedAt == null ? 0 : issuedAt.getTime(),
+                claims.getExpiration().getTime());
+        if (tokens.size() >= maxEntries) {
+            makeRoom();
+        }
+        tokens.put(token, verified);
+        return verified;
+    }
+
+    /**
+     * Removes every cached token issued to a user, so profile changes and deletions take effect immediately.
+     * @param username The subject (email) whose tokens should be verified again.
+     */
+    public void evictUser(String username) {
+        tokens.values().removeIf(verified -> verified.username().equals(username));
+    }
+
+    /**
+     * Rejects every token issued to a user up to now, e.g. after the user was deleted or changed their email.
+     * The revocation is forgotten once all tokens issued before it have expired on their own.
+     * @param username The subject (email) whose existing tokens should be rejected.
+     */
+    public void revokeUser(String username) {
+        long now = System.currentTimeMillis();
+        revokedUsers.values().removeIf(revokedAt -> now - revokedAt > JWTUtilities.getExpirationTime());
+        revokedUsers.put(username, now);
+        evictUser(username);
+    }
+
+    /**
+     * Checks if a token was issued before its user's tokens were revoked.
+     * @param verified The verified token to check.
+     * @return True if the token must be rejected, false otherwise.
+     */
+    public boolean isRevoked(VerifiedToken verified) {
+        Long revokedAt = revokedUsers.get(verified.username());
+        return revokedAt != null && verified.issuedAtMillis() <= revokedAt;
+    }
+
+    /**
+     * Purges expired entries and, if that is not enough, drops entries until the cache is below 90% of its capacity.
+     */
+    private void makeRoom() {
+        long now = System.currentTimeMillis();
+        tokens.values().removeIf(verified -> verified.isExpired(now));
+        Iterator<String> iterator = tokens.keySet().iterator();
+        int target = (int) (maxEntries * 0.9);
+        while (tokens.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
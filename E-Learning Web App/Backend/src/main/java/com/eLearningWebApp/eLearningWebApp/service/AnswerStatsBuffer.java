@@ -0,0 +1,307 @@
+package com.eLearningWebApp.eLearningWebApp.service;
+
+import com.eLearningWebApp.eLearningWebApp.dto.QuizQuestionDTO;
+import com.eLearningWebApp.eLearningWebApp.utilities.AnswerCounters;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Answer statistics of every quiz question and every student. Each graded answer only adds to the striped counters
+ * of its question and student in memory, so exam-time bursts on the same questions do not contend for a lock or a
+ * database row. The counts recorded since the previous flush are added to the database in one transaction of
+ * batched statements when the flush interval elapses, and always before the application shuts down.
+ * The statistics estimate how hard a question is and how well a student does, which is used to pick quiz questions
+ * of a suitable difficulty.
+ */
+@Service  // Marks this class as a Spring service component, making it available for dependency injection.
+public class AnswerStatsBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnswerStatsBuffer.class);
+    private static final String SELECT_QUESTIONS_SQL = "SELECT question_id, answers, correct_answers, answer_millis FROM quiz_question_stats";
+    private static final String UPDATE_QUESTION_SQL = "UPDATE quiz_question_stats SET answers = answers + ?, correct_answers = correct_answers + ?, answer_millis = answer_millis + ? WHERE question_id = ?";
+    // Rows are only inserted for questions and users that still exist, so a late answer cannot bring back a deleted one
+    private static final String INSERT_QUESTION_SQL = "INSERT INTO quiz_question_stats (answers, correct_answers, answer_millis, question_id) SELECT ?, ?, ?, id FROM quiz_questions WHERE id = ?";
+    private static final String DELETE_QUESTION_SQL = "DELETE FROM quiz_question_stats WHERE question_id = ?";
+    private static final String SELECT_STUDENTS_SQL = "SELECT user_id, answers, correct_answers, answer_millis FROM user_answer_stats";
+    private static final String UPDATE_STUDENT_SQL = "UPDATE user_answer_stats SET answers = answers + ?, correct_answers = correct_answers + ?, answer_millis = answer_millis + ? WHERE user_id = ?";
+    private static final String INSERT_STUDENT_SQL = "INSERT INTO user_answer_stats (answers, correct_answers, answer_millis, user_id) SELECT ?, ?, ?, id FROM users WHERE id = ?";
+    private static final int BATCH_SIZE = 500;  // Number of rows sent to the database in one round trip.
+    private static final long MAX_ANSWER_MILLIS = 300_000;  // Longer answer times are counted as this, so idle students do not skew the mean.
+    private static final double PRIOR_ANSWERS = 5;  // Number of answers the prior correct rate is worth while there are only a few.
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;  // Runs the batched upserts.
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;  // Writes the statements of one flush together or not at all.
+
+    @Autowired
+    private MeterRegistry meterRegistry;  // Publishes the flush latency.
+
+    @Value("${quiz.answer-stats.target-success-rate:0.7}")
+    private double targetSuccessRate;  // Expected share of correct answers a student should get on picked questions.
+
+    private final ConcurrentHashMap<Long, AnswerCounters> questionCounters = new ConcurrentHashMap<>();  // Question ID -> counters.
+    private final ConcurrentHashMap<Long, AnswerCounters> studentCounters = new ConcurrentHashMap<>();  // User ID -> counters.
+    private final AnswerCounters allAnswers = new AnswerCounters();  // Counters over every answer, never flushed.
+    private final ReentrantLock flushLock = new ReentrantLock();  // Only one flush or load runs at a time.
+    private Timer flushTimer;
+
+    /**
+     * Registers the flush timer.
+     */
+    @PostConstruct
+    public void registerMetrics() {
+        flushTimer = Timer.builder("quiz.answer_stats.flush")
+                .description("Time taken to write the buffered answer statistics to the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the saved statistics once the application has started and the tables exist.
+     * Answers recorded before that are kept, as the saved counts are added to the counters.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        flushLock.lock();
+        try {
+            jdbcTemplate.query(SELECT_QUESTIONS_SQL, row -> {
+                AnswerCounters.Delta saved = new AnswerCounters.Delta(row.getLong(2), row.getLong(3), row.getLong(4));
+                counters(questionCounters, row.getLong(1)).addFlushed(saved);
+                allAnswers.addFlushed(saved);
+            });
+            jdbcTemplate.query(SELECT_STUDENTS_SQL, row -> {
+                counters(studentCounters, row.getLong(1))
+                        .addFlushed(new AnswerCounters.Delta(row.getLong(2), row.getLong(3), row.getLong(4)));
+            });
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Records one graded answer. The counts are written to the database by the next flush.
+     * @param userId The ID of the student who answered.
+     * @param questionId The ID of the answered question.
+     * @param correct Whether the answer was correct.
+     * @param answerMillis The time taken to answer, in milliseconds.
+     */
+    public void recordAnswer(Long userId, Long questionId, boolean correct, long answerMillis) {
+        long millis = Math.max(0, Math.min(answerMillis, MAX_ANSWER_MILLIS));
+        counters(questionCounters, questionId).record(correct, millis);
+        counters(studentCounters, userId).record(correct, millis);
+        allAnswers.record(correct, millis);
+    }
+
+    /**
+     * Estimates the rate of correct answers to a question. Questions with only a few answers are assumed to be
+     * close to the average question.
+     * @param questionId The ID of the question.
+     * @return The estimated rate of correct answers, from 0 to 1.
+     */
+    public double getQuestionCorrectRate(Long questionId) {
+        return questionCorrectRate(questionId, getOverallCorrectRate());
+    }
+
+    /**
+     * Estimates the rate of correct answers to a question, given the overall rate.
+     */
+    private double questionCorrectRate(Long questionId, double overall) {
+        AnswerCounters counters = questionCounters.get(questionId);
+        return counters == null ? overall : counters.correctRate(overall, PRIOR_ANSWERS);
+    }
+
+    /**
+     * Estimates the rate of correct answers of a student. Students with only a few answers are assumed to be
+     * close to the average student.
+     * @param userId The ID of the student.
+     * @return The estimated rate of correct answers, from 0 to 1.
+     */
+    public double getStudentCorrectRate(Long userId) {
+        double overall = getOverallCorrectRate();
+        AnswerCounters counters = studentCounters.get(userId);
+        return counters == null ? overall : counters.correctRate(overall, PRIOR_ANSWERS);
+    }
+
+    /**
+     * Returns the rate of correct answers over all questions and students.
+     */
+    public double getOverallCorrectRate() {
+        return allAnswers.correctRate(0.5, PRIOR_ANSWERS);
+    }
+
+    /**
+     * Builds the distance of a question from the difficulty that suits a student, for QuizSampler.sampleNear.
+     * Rates are compared on the log-odds scale: the target is the question that an average student answers
+     * correctly at the target success rate, made harder by as much as the student is better than average
+     * (or easier by as much as the student is worse).
+     * @param userId The ID of the student.
+     * @return The distance function, 0 for a question of exactly the suitable difficulty.
+     */
+    public ToDoubleFunction<QuizQuestionDTO> difficultyDistance(Long userId) {
+        double overall = getOverallCorrectRate();
+        double target = logit(targetSuccessRate) - (logit(getStudentCorrectRate(userId)) - logit(overall));
+        return question -> Math.abs(logit(questionCorrectRate(question.getId(), overall)) - target);
+    }
+
+    /**
+     * Drops the in-memory statistics of a deleted student. The database deletes their row together with the user.
+     * @param userId The ID of the student.
+     */
+    public void forgetStudent(Long userId) {
+        studentCounters.remove(userId);
+    }
+
+    /**
+     * Drops the statistics of a deleted question, in memory and in the database.
+     * @param questionId The ID of the question.
+     */
+    public void forgetQuestion(Long questionId) {
+        flushLock.lock();  // A running flush must not write the row back
+        try {
+            if (questionCounters.remove(questionId) != null) {  // Every saved row is loaded, so a question without counters has none
+                jdbcTemplate.update(DELETE_QUESTION_SQL, questionId);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Writes the counts recorded since the previous flush to the database. Runs periodically and on shutdown.
+     */
+    @Scheduled(fixedDelayString = "${quiz.answer-stats.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Writes the remaining counts before the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Takes the unsaved counts and adds them to the database in one transaction. Must hold the flush lock.
+     * If the transaction fails, the counts are given back to the counters and retried by the next flush.
+     */
+    private void flushPending() {
+        List<Map.Entry<Long, AnswerCounters.Delta>> questionBatch = takeUnflushed(questionCounters);
+        List<Map.Entry<Long, AnswerCounters.Delta>> studentBatch = takeUnflushed(studentCounters);
+        if (questionBatch.isEmpty() && studentBatch.isEmpty()) {
+            return;
+        }
+        try {
+            flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+                upsert(UPDATE_QUESTION_SQL, INSERT_QUESTION_SQL, questionBatch);
+                upsert(UPDATE_STUDENT_SQL, INSERT_STUDENT_SQL, studentBatch);
+            }));
+        } catch (RuntimeException e) {
+            logger.error("Could not save the answer statistics of {} questions, retrying on the next flush", questionBatch.size(), e);
+            questionBatch.forEach(entry -> restoreUnflushed(questionCounters, entry));
+            studentBatch.forEach(entry -> restoreUnflushed(studentCounters, entry));
+        }
+    }
+
+    /**
+     * Adds the counts to the existing rows with one batch of updates and inserts the rows that did not exist yet
+     * with a second batch. Unlike INSERT ... ON CONFLICT this also runs on databases other than PostgreSQL.
+     * Counts of a key whose question or user has been deleted in the meantime are dropped, as neither batch writes them.
+     * If another instance inserts the same row first, the insert fails and the whole flush is retried.
+     */
+    private <K> void upsert(String updateSql, String insertSql, List<Map.Entry<K, AnswerCounters.Delta>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        int[][] updated = jdbcTemplate.batchUpdate(updateSql, batch, BATCH_SIZE, (statement, entry) -> {
+            statement.setLong(1, entry.getValue().answers());
+            statement.setLong(2, entry.getValue().correctAnswers());
+            statement.setLong(3, entry.getValue().answerMillis());
+            statement.setObject(4, entry.getKey());
+        });
+        List<Map.Entry<K, AnswerCounters.Delta>> missing = new ArrayList<>();
+        int position = 0;
+        for (int[] counts : updated) {
+            for (int count : counts) {
+                if (count == 0) {
+                    missing.add(batch.get(position));  // No row yet for this key
+                }
+                position++;
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(insertSql, missing, BATCH_SIZE, (statement, entry) -> {
+                statement.setLong(1, entry.getValue().answers());
+                statement.setLong(2, entry.getValue().correctAnswers());
+                statement.setLong(3, entry.getValue().answerMillis());
+                statement.setObject(4, entry.getKey());
+            });
+        }
+    }
+
+    /**
+     * Takes the unsaved counts of every key that has any.
+     */
+    private static <K> List<Map.Entry<K, AnswerCounters.Delta>> takeUnflushed(ConcurrentHashMap<K, AnswerCounters> countersByKey) {
+        List<Map.Entry<K, AnswerCounters.Delta>> batch = new ArrayList<>();
+        countersByKey.forEach((key, counters) -> {
+            AnswerCounters.Delta delta = counters.takeUnflushed();
+            if (!delta.isEmpty()) {
+                batch.add(Map.entry(key, delta));
+            }
+        });
+        return batch;
+    }
+
+    /**
+     * Gives unsaved counts back to the counters of their key.
+     */
+    private static <K> void restoreUnflushed(ConcurrentHashMap<K, AnswerCounters> countersByKey, Map.Entry<K, AnswerCounters.Delta> entry) {
+        AnswerCounters counters = countersByKey.get(entry.getKey());
+        if (counters != null) {
+            counters.restoreUnflushed(entry.getValue());
+        }
+    }
+
+    /**
+     * Returns the counters of a key, creating them on its first answer.
+     */
+    private static <K> AnswerCounters counters(ConcurrentHashMap<K, AnswerCounters> countersByKey, K key) {
+        AnswerCounters counters = countersByKey.get(key);  // Lock-free for every answer but the first
+        return counters != null ? counters : countersByKey.computeIfAbsent(key, ignored -> new AnswerCounters());
+    }
+
+    /**
+     * Converts a rate to log-odds, keeping it away from 0 and 1.
+     */
+    private static double logit(double rate) {
+        double clamped = Math.max(0.02, Math.min(0.98, rate));
+        return Math.log(clamped / (1 - clamped));
+    }
+}
@@ -0,0 +1,321 @@
+package com.eLearningWebApp.eLearningWebApp.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded store of the recent assistant exchanges of each user, keyed by the user ID.
+ * A conversation is kept as one byte array of encoded turns instead of an object graph, and is capped both in
+ * turns and in bytes; the oldest turns are dropped first. Conversations that have been idle for a while, and the
+ * least recently used ones once too many users are held in memory, are spilled to one small file per user and
+ * loaded back on the next question. Spilled conversations older than the retention time are deleted.
+ */
+@Service  // Marks this class as a Spring service component, making it available for dependency injection.
+public class ConversationStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConversationStore.class);
+    private static final int ENTRY_OVERHEAD_BYTES = 96;  // Estimated heap cost of one map entry, key and array header.
+    private static final String SPILL_SUFFIX = ".turns";
+
+    /**
+     * One exchange between a user and the assistant.
+     * @param askedAtSeconds When the question was asked, in epoch seconds.
+     * @param question The question asked.
+     * @param reply The assistant's reply.
+     */
+    public record Turn(long askedAtSeconds, String question, String reply) {
+    }
+
+    /**
+     * The encoded turns of one user, oldest first. Replaced as a whole on every change, never modified.
+     */
+    private record Conversation(byte[] turns, int turnCount, long lastAccessMillis) {
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;  // Publishes the memory footprint of the store.
+
+    @Value("${assistant.conversations.max-turns:8}")
+    private int maxTurns;  // Turns kept per user.
+
+    @Value("${assistant.conversations.max-bytes:8192}")
+    private int maxBytes;  // Encoded bytes kept per user.
+
+    @Value("${assistant.conversations.max-users:10000}")
+    private int maxUsers;  // Conversations kept in memory before the least recently used are spilled.
+
+    @Value("${assistant.conversations.idle-minutes:30}")
+    private long idleMinutes;  // Idle time after which a conversation is spilled.
+
+    @Value("${assistant.conversations.retention-hours:168}")
+    private long retentionHours;  // Age after which a spilled conversation is deleted.
+
+    @Value("${assistant.conversations.spill-dir:conversations}")
+    private String spillDir;  // Directory of the spilled conversations, one file per user.
+
+    private final ConcurrentHashMap<Long, Conversation> conversations = new ConcurrentHashMap<>();  // User ID -> turns.
+    private final AtomicLong encodedBytes = new AtomicLong();  // Sum of the encoded turns held in memory.
+    private Path spillPath;
+
+    /**
+     * Creates the spill directory and registers the store metrics.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        spillPath = Path.of(spillDir).toAbsolutePath();
+        Files.createDirectories(spillPath);
+        Gauge.builder("assistant.conversations.memory", this, ConversationStore::memoryBytes)
+                .description("Estimated heap used by the conversations held in memory")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("assistant.conversations.active", conversations, Map::size)
+                .description("Conversations held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Spills all conversations, so they survive a restart.
+     */
+    @PreDestroy
+    public void shutdown() {
+        for (Long userId : new ArrayList<>(conversations.keySet())) {
+            spill(userId);
+        }
+    }
+
+    /**
+     * Returns the recent turns of a user, oldest first, loading a spilled conversation back into memory.
+     * @param userId The ID of the user.
+     * @return The turns, or an empty list if the user has no conversation.
+     */
+    public List<Turn> recentTurns(long userId) {
+        Conversation conversation = conversations.computeIfPresent(userId, (key, current) ->
+                new Conversation(current.turns(), current.turnCount(), System.currentTimeMillis()));
+        if (conversation == null) {
+            conversation = loadSpilled(userId);
+        }
+        return conversation == null ? List.of() : decode(conversation.turns());
+    }
+
+    /**
+     * Appends a turn to a user's conversation, dropping the oldest turns beyond the turn and byte caps.
+     * @param userId The ID of the user.
+     * @param question The question asked.
+     * @param reply The assistant's reply.
+     */
+    public void append(long userId, String question, String reply) {
+        if (!conversations.containsKey(userId)) {
+            loadSpilled(userId);
+        }
+        byte[] turn = encode(new Turn(System.currentTimeMillis() / 1000, question, reply));
+        conversations.compute(userId, (key, current) -> {
+            byte[] turns = current == null ? turn : concat(current.turns(), turn);
+            int turnCount = current == null ? 1 : current.turnCount() + 1;
+            while (turnCount > 1 && (turnCount > maxTurns || turns.length > maxBytes)) {
+                turns = Arrays.copyOfRange(turns, encodedLength(turns, 0), turns.length);  // Drops the oldest turn
+                turnCount--;
+            }
+            if (turns.length > maxBytes) {
+                return current;  // A single turn larger than the cap is not kept
+            }
+            encodedBytes.addAndGet(turns.length - (current == null ? 0 : current.turns().length));
+            return new Conversation(turns, turnCount, System.currentTimeMillis());
+        });
+    }
+
+    /**
+     * Deletes a user's conversation from memory and disk, e.g. because the user was deleted.
+     * @param userId The ID of the user.
+     */
+    public void forget(long userId) {
+        Conversation removed = conversations.remove(userId);
+        if (removed != null) {
+            encodedBytes.addAndGet(-removed.turns().length);
+        }
+        try {
+            Files.deleteIfExists(spillFile(userId));
+        } catch (IOException e) {
+            logger.warn("Could not delete the spilled conversation of user {}", userId, e);
+        }
+    }
+
+    /**
+     * Returns the estimated heap used by the conversations held in memory.
+     * @return The encoded turns plus a fixed overhead per conversation, in bytes.
+     */
+    public long memoryBytes() {
+        return encodedBytes.get() + (long) conversations.size() * ENTRY_OVERHEAD_BYTES;
+    }
+
+    /**
+     * Spills idle conversations and, if too many are held, the least recently used ones; deletes expired spill files.
+     */
+    @Scheduled(fixedDelayString = "${assistant.conversations.sweep-interval-ms:60000}")
+    public void sweep() {
+        long idleBefore = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(idleMinutes);
+        List<Map.Entry<Long, Conversation>> byLastAccess = new ArrayList<>(conversations.entrySet());
+        int excess = byLastAccess.size() - maxUsers;
+        byLastAccess.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccessMillis()));
+        for (Map.Entry<Long, Conversation> entry : byLastAccess) {
+            if (excess > 0 || entry.getValue().lastAccessMillis() < idleBefore) {
+                spill(entry.getKey());
+                excess--;
+            } else {
+                break;  // Sorted, so the remaining conversations are more recent
+            }
+        }
+        deleteExpiredSpillFiles();
+    }
+
+    /**
+     * Writes a conversation to its spill file and removes it from memory. A conversation that changes while it is
+     * written stays in memory.
+     */
+    private void spill(long userId) {
+        Conversation conversation = conversations.get(userId);
+        if (conversation == null) {
+            return;
+        }
+        try {
+            Path temporary = Files.createTempFile(spillPath, "conversation", ".tmp");
+            Files.write(temporary, conversation.turns());
+            Files.move(temporary, spillFile(userId), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not spill the conversation of user {}, keeping it in memory", userId, e);
+            return;
+        }
+        if (conversations.remove(userId, conversation)) {
+            encodedBytes.addAndGet(-conversation.turns().length);
+        }
+    }
+
+    /**
+     * Moves a spilled conversation back into memory.
+     * @return The loaded conversation, or null if the user has none.
+     */
+    private Conversation loadSpilled(long userId) {
+        Path file = spillFile(userId);
+        byte[] turns;
+        try {
+            turns = Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the spilled conversation of user " + userId, e);
+        }
+        Conversation loaded = new Conversation(turns, decode(turns).size(), System.currentTimeMillis());
+        Conversation current = conversations.putIfAbsent(userId, loaded);
+        if (current != null) {
+            return current;  // Another request loaded it first
+        }
+        encodedBytes.addAndGet(turns.length);
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete the spilled conversation of user {}", userId, e);
+        }
+        return loaded;
+    }
+
+    /**
+     * Deletes spill files that have not been touched within the retention time.
+     */
+    private void deleteExpiredSpillFiles() {
+        FileTime expiredBefore = FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(retentionHours));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spillPath, "*" + SPILL_SUFFIX)) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).compareTo(expiredBefore) < 0) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not delete expired conversations in {}", spillPath, e);
+        }
+    }
+
+    private Path spillFile(long userId) {
+        return spillPath.resolve(userId + SPILL_SUFFIX);
+    }
+
+    /**
+     * Encodes a turn as: asked-at epoch seconds (4 bytes), question length (2 bytes), question (UTF-8),
+     * reply length (2 bytes), reply (UTF-8). Texts longer than 65535 bytes are cut.
+     */
+    static byte[] encode(Turn turn) {
+        byte[] question = truncate(turn.question().getBytes(StandardCharsets.UTF_8));
+        byte[] reply = truncate(turn.reply().getBytes(StandardCharsets.UTF_8));
+        return ByteBuffer.allocate(8 + question.length + reply.length)
+                .putInt((int) turn.askedAtSeconds())
+                .putShort((short) question.length).put(question)
+                .putShort((short) reply.length).put(reply)
+                .array();
+    }
+
+    /**
+     * Decodes a sequence of encoded turns.
+     */
+    static List<Turn> decode(byte[] turns) {
+        List<Turn> decoded = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.wrap(turns);
+        while (buffer.hasRemaining()) {
+            long askedAtSeconds = Integer.toUnsignedLong(buffer.getInt());
+            String question = readText(buffer);
+            String reply = readText(buffer);
+            decoded.add(new Turn(askedAtSeconds, question, reply));
+        }
+        return decoded;
+    }
+
+    /**
+     * Returns the length of the encoded turn that starts at the given offset.
+     */
+    private static int encodedLength(byte[] turns, int offset) {
+        ByteBuffer buffer = ByteBuffer.wrap(turns);
+        int questionLength = Short.toUnsignedInt(buffer.getShort(offset + 4));
+        int replyLength = Short.toUnsignedInt(buffer.getShort(offset + 6 + questionLength));
+        return 8 + questionLength + replyLength;
+    }
+
+    private static String readText(ByteBuffer buffer) {
+        byte[] text = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(text);
+        return new String(text, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] truncate(byte[] text) {
+        return text.length <= 0xFFFF ? text : Arrays.copyOf(text, 0xFFFF);
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] joined = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, joined, first.length, second.length);
+        return joined;
+    }
+}
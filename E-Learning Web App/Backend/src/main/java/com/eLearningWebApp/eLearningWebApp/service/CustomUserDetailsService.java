@@ -2,11 +2,14 @@ package com.eLearningWebApp.eLearningWebApp.service;
 
 import com.eLearningWebApp.eLearningWebApp.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * CustomUserDetailsService is a custom implementation of the UserDetailsService interface.
  * It is used by Spring Security to load user-specific data during authentication.
@@ -14,9 +17,23 @@ import org.springframework.stereotype.Service;
 @Service  // Marks this class as a Spring service component, making it available for dependency injection.
 public class CustomUserDetailsService implements UserDetailsService {
 
+    /**
+     * A loaded user together with the time it was loaded, used to expire cache entries.
+     */
+    private record CachedUser(UserDetails userDetails, long loadedAtMillis) {
+    }
+
     @Autowired
     private UserRepository userRepository;  // Injects the UserRepository to interact with the database.
 
+    @Value("${security.user-details-cache.ttl-seconds:60}")
+    private long ttlSeconds;  // How long a loaded user is served from memory before it is loaded again.
+
+    @Value("${security.user-details-cache.max-entries:10000}")
+    private int maxEntries;  // Upper bound on the number of cached users.
+
+    private final ConcurrentHashMap<String, CachedUser> cache = new ConcurrentHashMap<>();  // Email -> recently loaded user.
+
     /**
      * Loads the user from the database by their email (used as the username).
      * If the user is not found, it throws a UsernameNotFoundException.
@@ -31,4 +48,37 @@ public class CustomUserDetailsService implements UserDetailsService {
         return userRepository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("Username doesn't exist"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Loads the user by their email, serving recently loaded users from a short-lived in-memory cache.
+     * Used by the JWT filter so that repeated requests of the same user do not hit the database.
+     *
+     * @param username The username (email) of the user to load.
+     * @return UserDetails containing user-specific data for authentication.
+     * @throws UsernameNotFoundException If no user with the given username is found.
+     */
+    public UserDetails loadUserByUsernameCached(String username) throws UsernameNotFoundException {
+        long now = System.currentTimeMillis();
+        CachedUser cached = cache.get(username);
+        if (cached != null && now - cached.loadedAtMillis() < ttlSeconds * 1000) {
+            return cached.userDetails();
+        }
+        UserDetails userDetails = loadUserByUsername(username);
+        if (cache.size() >= maxEntries) {
+            cache.values().removeIf(entry -> now - entry.loadedAtMillis() >= ttlSeconds * 1000);  // Purge expired users first
+            if (cache.size() >= maxEntries) {
+                cache.clear();  // Still full of fresh entries, start over rather than grow without bound
+            }
+        }
+        cache.put(username, new CachedUser(userDetails, now));
+        return userDetails;
+    }
+
+    /**
+     * Removes a user from the cache so that changes to their account take effect on the next request.
+     * @param username The username (email) of the user to evict.
+     */
+    public void evictUser(String username) {
+        cache.remove(username);
+    }
+}
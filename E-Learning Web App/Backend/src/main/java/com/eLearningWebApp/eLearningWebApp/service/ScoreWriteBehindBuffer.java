@@ -0,0 +1,361 @@
+package com.eLearningWebApp.eLearningWebApp.service;
+
+import com.eLearningWebApp.eLearningWebApp.repository.QuizAttemptHistoryRepository;
+import com.eLearningWebApp.eLearningWebApp.utilities.AttemptResult;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for user scores. Score updates only replace the user's pending score in memory, so a burst of
+ * updates for the same user costs a single database write. Pending scores are written as one JDBC batch when the
+ * flush interval elapses or the buffer reaches its size threshold, and always before the application shuts down.
+ * Every update is also appended to a local log file first, so pending scores survive a crash and are replayed on
+ * the next start. The log is rewritten with the remaining pending scores after every successful flush.
+ * Users are identified by their ID, which, unlike their email, cannot change while a score is pending.
+ * Finished quiz attempts are buffered the same way and appended to the attempt history, together with the
+ * aggregates of their users, in the same transaction as the score updates.
+ */
+@Service  // Marks this class as a Spring service component, making it available for dependency injection.
+public class ScoreWriteBehindBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScoreWriteBehindBuffer.class);
+    private static final String ATTEMPT_LOG_MARKER = "attempt";  // Second field of a logged attempt line.
+    private static final String UPDATE_SCORE_SQL = "UPDATE users SET user_score = ? WHERE id = ?";
+    private static final int BATCH_SIZE = 500;  // Number of updates sent to the database in one round trip.
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;  // Runs the batched score updates.
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;  // Saves the scores and attempts of one flush together or not at all.
+
+    @Autowired
+    private QuizAttemptHistoryRepository quizAttemptHistoryRepository;  // Appends finished attempts; creates its tables before the replay below.
+
+    @Autowired
+    private MeterRegistry meterRegistry;  // Publishes the buffer depth and flush latency.
+
+    @Value("${scores.write-behind.max-pending:1000}")
+    private int maxPending;  // Number of pending users that triggers an immediate flush.
+
+    @Value("${scores.write-behind.log-file:score-buffer.log}")
+    private String logFile;  // Append-only log of pending scores, used for crash recovery.
+
+    private final ConcurrentHashMap<Long, Integer> pendingScores = new ConcurrentHashMap<>();  // User ID -> latest unsaved score.
+    private final Map<Long, List<AttemptResult>> pendingAttempts = new HashMap<>();  // User ID -> unsaved attempts, oldest first; guarded by the log lock.
+    private final ReentrantLock logLock = new ReentrantLock();  // Keeps the log and the pending scores in the same order.
+    private final ReentrantLock flushLock = new ReentrantLock();  // Only one flush runs at a time.
+    private Path logPath;
+    private BufferedWriter logWriter;
+    private Timer flushTimer;
+
+    /**
+     * Opens the log, replays the scores a previous run could not save and registers the buffer metrics.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        logPath = Path.of(logFile).toAbsolutePath();
+        if (logPath.getParent() != null) {
+            Files.createDirectories(logPath.getParent());
+        }
+        if (Files.exists(logPath)) {
+            for (String line : Files.readAllLines(logPath, StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t");
+                try {
+                    if (fields.length != 2 && !(fields.length == 7 && ATTEMPT_LOG_MARKER.equals(fields[1]))) {
+                        if (!line.isEmpty()) {
+                            logger.warn("Skipping corrupt score log line: {}", line);
+                        }
+                        continue;
+                    }
+                    Long userId = Long.parseLong(fields[0]);  // Writes of a deleted user match no row and are dropped
+                    if (fields.length == 2) {
+                        pendingScores.put(userId, Integer.parseInt(fields[1]));  // Later lines win
+                    } else {
+                        AttemptResult result = new AttemptResult(Integer.parseInt(fields[2]), Integer.parseInt(fields[3]),
+                                Integer.parseInt(fields[4]), Long.parseLong(fields[5]), Long.parseLong(fields[6]));
+                        pendingScores.put(userId, result.score());
+                        pendingAttempts.computeIfAbsent(userId, key -> new ArrayList<>()).add(result);
+                    }
+                } catch (NumberFormatException e) {
+                    logger.warn("Skipping corrupt score log line: {}", line);  // E.g. a line torn by a crash
+                }
+            }
+        }
+        logWriter = Files.newBufferedWriter(logPath, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        Gauge.builder("scores.write_behind.pending", pendingScores, Map::size)
+                .description("Number of users whose latest score is not saved yet")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("scores.write_behind.flush")
+                .description("Time taken to write the pending scores to the database")
+                .register(meterRegistry);
+
+        if (!pendingScores.isEmpty() || !pendingAttempts.isEmpty()) {
+            logger.info("Replaying {} unsaved scores and the attempts of {} users from {}", pendingScores.size(), pendingAttempts.size(), logPath);
+            flush();
+        }
+    }
+
+    /**
+     * Records the new score of a user. The score is written to the database by the next flush.
+     * @param userId The ID of the user.
+     * @param score The new score.
+     */
+    public void recordScore(Long userId, int score) {
+        logLock.lock();
+        try {
+            appendToLog(userId, score);  // Log first, so an acknowledged score is never lost
+            pendingScores.put(userId, score);
+        } finally {
+            logLock.unlock();
+        }
+        flushIfFull();
+    }
+
+    /**
+     * Records a finished quiz attempt and the user's resulting score. Both are written by the next flush.
+     * @param userId The ID of the user.
+     * @param result The result of the attempt; its score becomes the user's score.
+     */
+    public void recordAttempt(Long userId, AttemptResult result) {
+        logLock.lock();
+        try {
+            appendToLog(userId, result);
+            pendingScores.put(userId, result.score());
+            pendingAttempts.computeIfAbsent(userId, key -> new ArrayList<>()).add(result);
+        } finally {
+            logLock.unlock();
+        }
+        flushIfFull();
+    }
+
+    /**
+     * Returns the finished attempts of a user that are not saved yet.
+     * @param userId The ID of the user.
+     * @return The unsaved attempts, oldest first; empty if the database is up to date.
+     */
+    public List<AttemptResult> getPendingAttempts(Long userId) {
+        logLock.lock();
+        try {
+            List<AttemptResult> attempts = pendingAttempts.get(userId);
+            return attempts == null ? List.of() : List.copyOf(attempts);
+        } finally {
+            logLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the unsaved score of a user, if any.
+     * @param userId The ID of the user.
+     * @return The pending score, or null if the database is up to date.
+     */
+    public Integer getPendingScore(Long userId) {
+        return pendingScores.get(userId);
+    }
+
+    /**
+     * Drops the unsaved score of a user, e.g. because the user was deleted.
+     * @param userId The ID of the user.
+     */
+    public void discardPendingScore(Long userId) {
+        logLock.lock();
+        try {
+            pendingScores.remove(userId);  // The log entry is dropped by the next rewrite
+            pendingAttempts.remove(userId);
+        } finally {
+            logLock.unlock();
+        }
+    }
+
+    /**
+     * Writes all pending scores to the database. Runs periodically and on shutdown.
+     */
+    @Scheduled(fixedDelayString = "${scores.write-behind.flush-interval-ms:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Drains the buffer before the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() throws IOException {
+        flush();
+        logLock.lock();
+        try {
+            logWriter.close();
+        } finally {
+            logLock.unlock();
+        }
+    }
+
+    /**
+     * Flushes right away when the buffer reaches its size threshold, unless a flush is already running.
+     */
+    private void flushIfFull() {
+        if (pendingScores.size() >= maxPending && flushLock.tryLock()) {
+            try {
+                flushPending();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Writes the pending scores as one JDBC batch, and the pending attempts with their users' aggregates,
+     * in one transaction and removes the saved ones. Must hold the flush lock.
+     * A score that changed or an attempt that was recorded while the batch was running stays pending for the next flush.
+     */
+    private void flushPending() {
+        // Attempts are drained on their own: an attempt recorded during a flush without changing the score
+        // has its score entry removed with the saved one, and must not wait for an unrelated score to be saved
+        Map<Long, List<AttemptResult>> attemptBatch = new HashMap<>();
+        logLock.lock();
+        try {
+            pendingAttempts.forEach((userId, attempts) -> attemptBatch.put(userId, List.copyOf(attempts)));
+        } finally {
+            logLock.unlock();
+        }
+        List<Map.Entry<Long, Integer>> batch = new ArrayList<>(pendingScores.size());
+        for (Map.Entry<Long, Integer> entry : pendingScores.entrySet()) {
+            batch.add(Map.entry(entry.getKey(), entry.getValue()));  // Copy, the map entries are live
+        }
+        if (batch.isEmpty() && attemptBatch.isEmpty()) {
+            return;
+        }
+        try {
+            flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+                if (!batch.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPDATE_SCORE_SQL, batch, BATCH_SIZE, (statement, entry) -> {
+                        statement.setInt(1, entry.getValue());
+                        statement.setLong(2, entry.getKey());
+                    });
+                }
+                if (!attemptBatch.isEmpty()) {
+                    quizAttemptHistoryRepository.append(attemptBatch);
+                }
+            }));
+        } catch (RuntimeException e) {
+            logger.error("Could not save {} pending scores, retrying on the next flush", batch.size(), e);
+            return;
+        }
+        logLock.lock();
+        try {
+            for (Map.Entry<Long, Integer> entry : batch) {
+                pendingScores.remove(entry.getKey(), entry.getValue());  // Keeps scores updated during the batch
+            }
+            attemptBatch.forEach((userId, saved) -> {
+                List<AttemptResult> attempts = pendingAttempts.get(userId);
+                if (attempts != null) {
+                    attempts.subList(0, Math.min(saved.size(), attempts.size())).clear();  // Attempts recorded during the batch stay
+                    if (attempts.isEmpty()) {
+                        pendingAttempts.remove(userId);
+                    }
+                }
+            });
+            rewriteLog();
+        } finally {
+            logLock.unlock();
+        }
+    }
+
+    /**
+     * Appends one score to the log. Must hold the log lock.
+     */
+    private void appendToLog(Long userId, int score) {
+        try {
+            logWriter.write(userId.toString());
+            logWriter.write('\t');
+            logWriter.write(Integer.toString(score));
+            logWriter.newLine();
+            logWriter.flush();  // Hand the line to the operating system before acknowledging the score
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the score log", e);
+        }
+    }
+
+    /**
+     * Appends one finished attempt to the log. Must hold the log lock.
+     */
+    private void appendToLog(Long userId, AttemptResult result) {
+        try {
+            logWriter.write(attemptLogLine(userId, result));
+            logWriter.newLine();
+            logWriter.flush();  // Hand the line to the operating system before acknowledging the attempt
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the score log", e);
+        }
+    }
+
+    /**
+     * Formats a finished attempt as a log line; replaying it also restores the score it set.
+     */
+    private static String attemptLogLine(Long userId, AttemptResult result) {
+        return String.join("\t", userId.toString(), ATTEMPT_LOG_MARKER, Integer.toString(result.score()),
+                Integer.toString(result.correctAnswers()), Integer.toString(result.questionCount()),
+                Long.toString(result.durationMillis()), Long.toString(result.finishedAtMillis()));
+    }
+
+    /**
+     * Replaces the log with the attempts and scores that are still pending. Must hold the log lock.
+     */
+    private void rewriteLog() {
+        try {
+            Path temporary = logPath.resolveSibling(logPath.getFileName() + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                for (Map.Entry<Long, List<AttemptResult>> entry : pendingAttempts.entrySet()) {
+                    for (AttemptResult result : entry.getValue()) {
+                        writer.write(attemptLogLine(entry.getKey(), result));
+                        writer.newLine();
+                    }
+                }
+                // Scores come after the attempts, so a score set after an attempt wins on replay
+                for (Map.Entry<Long, Integer> entry : pendingScores.entrySet()) {
+                    writer.write(entry.getKey() + "\t" + entry.getValue());
+                    writer.newLine();
+                }
+            }
+            logWriter.close();
+            try {
+                Files.move(temporary, logPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                logWriter = Files.newBufferedWriter(logPath, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not rewrite the score log", e);  // The old log still holds every pending score
+        }
+    }
+}
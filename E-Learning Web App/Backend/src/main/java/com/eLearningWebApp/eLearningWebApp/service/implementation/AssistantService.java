@@ -0,0 +1,395 @@
+package com.eLearningWebApp.eLearningWebApp.service.implementation;
+
+import com.eLearningWebApp.eLearningWebApp.dto.AssistantAnswerDTO;
+import com.eLearningWebApp.eLearningWebApp.dto.AssistantAnswerResponse;
+import com.eLearningWebApp.eLearningWebApp.dto.AssistantSourceDTO;
+import com.eLearningWebApp.eLearningWebApp.dto.FaqEntryDTO;
+import com.eLearningWebApp.eLearningWebApp.dto.FaqEntryListResponse;
+import com.eLearningWebApp.eLearningWebApp.dto.FaqEntryResponse;
+import com.eLearningWebApp.eLearningWebApp.dto.QuizQuestionDTO;
+import com.eLearningWebApp.eLearningWebApp.dto.Response;
+import com.eLearningWebApp.eLearningWebApp.entity.FaqEntry;
+import com.eLearningWebApp.eLearningWebApp.exception.ExceptionsMessages;
+import com.eLearningWebApp.eLearningWebApp.repository.FaqEntryRepository;
+import com.eLearningWebApp.eLearningWebApp.service.ConversationStore;
+import com.eLearningWebApp.eLearningWebApp.service.interfac.IAssistantService;
+import com.eLearningWebApp.eLearningWebApp.service.interfac.IQuizQuestionIndex;
+import com.eLearningWebApp.eLearningWebApp.utilities.Bm25Index;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service implementation of the built-in digital assistant. Student questions are answered from an in-memory BM25
+ * index over the quiz questions (question text and answer options) and the admin-written FAQ entries.
+ * The quiz questions are fed in by QuizQuestionService through IQuizQuestionIndex, the FAQ entries are loaded on
+ * startup and updated by this service, so answering a question never touches the database.
+ * Short follow-up questions are searched together with the user's previous question, and every exchange is kept
+ * in the ConversationStore. Replies never reveal which answer option of a quiz question is correct.
+ */
+@Service
+public class AssistantService implements IAssistantService, IQuizQuestionIndex {
+
+    private static final String FAQ = "FAQ";
+    private static final String QUIZ_QUESTION = "QUIZ_QUESTION";
+    private static final int MAX_QUESTION_LENGTH = 500;  // Longest accepted question, in characters.
+    private static final int MAX_SOURCES = 5;  // Number of matching sources returned with an answer.
+    private static final int FOLLOW_UP_MAX_TERMS = 2;  // Questions with at most this many search terms are read as follow-ups.
+    private static final double FAQ_ANSWER_RATIO = 0.5;  // A FAQ answer is used if it scores at least half as well as the best match.
+    private static final String NO_MATCH_REPLY = "I could not find anything about that in the course material. "
+            + "Try asking with other words, or ask your teacher.";
+
+    /**
+     * Key of an indexed document.
+     * @param type Either FAQ or QUIZ_QUESTION.
+     * @param id The ID of the FAQ entry or quiz question.
+     */
+    private record SourceKey(String type, long id) {
+    }
+
+    @Autowired
+    private FaqEntryRepository faqEntryRepository;
+
+    @Autowired
+    private ConversationStore conversationStore;  // Recent questions and replies of each user.
+
+    @Autowired
+    private Validator validator;  // Checks FAQ entries against the constraints of the FaqEntry entity.
+
+    @Autowired
+    private MeterRegistry meterRegistry;  // Publishes the time taken to answer a question.
+
+    private final Bm25Index<SourceKey> index = new Bm25Index<>();  // Ranks FAQ entries and quiz questions together.
+    private final Map<Long, QuizQuestionDTO> quizQuestions = new ConcurrentHashMap<>();  // Indexed quiz questions by ID.
+    private final Map<Long, FaqEntryDTO> faqEntries = new ConcurrentHashMap<>();  // Indexed FAQ entries by ID.
+    private Timer answerTimer;
+
+    /**
+     * Registers the answer timer.
+     */
+    @PostConstruct
+    public void registerMetrics() {
+        answerTimer = Timer.builder("assistant.answer")
+                .description("Time taken by the digital assistant to answer a question")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the FAQ entries into the index once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadFaqEntries() {
+        Map<SourceKey, String> texts = new LinkedHashMap<>();
+        Map<Long, FaqEntryDTO> loaded = new LinkedHashMap<>();
+        for (FaqEntry faqEntry : faqEntryRepository.findAll()) {
+            FaqEntryDTO faqEntryDTO = mapFaqEntryToDTO(faqEntry);
+            loaded.put(faqEntryDTO.getId(), faqEntryDTO);
+            texts.put(new SourceKey(FAQ, faqEntryDTO.getId()), faqText(faqEntryDTO));
+        }
+        faqEntries.keySet().retainAll(loaded.keySet());
+        faqEntries.putAll(loaded);
+        index.replaceGroup(key -> key.type().equals(FAQ), texts);
+    }
+
+    /**
+     * Answers a student question from the indexed course content.
+     * @param userId The ID of the user asking, or null to answer without a conversation.
+     * @param question The question asked.
+     * @return Response containing the answer and status.
+     */
+    @Override
+    public AssistantAnswerResponse ask(Long userId, String question) {
+        AssistantAnswerResponse response = new AssistantAnswerResponse();
+        try {
+            if (question == null || question.isBlank()) {
+                throw new ExceptionsMessages("Question is empty");
+            }
+            if (question.length() > MAX_QUESTION_LENGTH) {
+                throw new ExceptionsMessages("Question must be at most " + MAX_QUESTION_LENGTH + " characters");
+            }
+            response.setAssistantAnswer(answerTimer.record(() -> answer(userId, question.trim())));
+            response.setStatusCode(200);
+            response.setMessage("successful");
+        } catch (ExceptionsMessages e) {
+            response.setStatusCode(400);
+            response.setMessage(e.getMessage());
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error answering the question: " + e.getMessage());
+        }
+        return response;
+    }
+
+    /**
+     * Retrieves all FAQ entries, ordered by ID.
+     * @return Response containing the FAQ entries and status.
+     */
+    @Override
+    public FaqEntryListResponse getAllFaqEntries() {
+        FaqEntryListResponse response = new FaqEntryListResponse();
+        try {
+            List<FaqEntryDTO> entries = new ArrayList<>(faqEntries.values());
+            entries.sort(Comparator.comparing(FaqEntryDTO::getId));
+            response.setFaqEntryList(entries);
+            response.setStatusCode(200);
+            response.setMessage("successful");
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error getting the FAQ entries: " + e.getMessage());
+        }
+        return response;
+    }
+
+    /**
+     * Adds a FAQ entry and makes it available to the assistant immediately.
+     * @param faqEntryDTO The question and answer.
+     * @return Response containing the saved FAQ entry and status.
+     */
+    @Override
+    public FaqEntryResponse addFaqEntry(FaqEntryDTO faqEntryDTO) {
+        FaqEntryResponse response = new FaqEntryResponse();
+        try {
+            FaqEntry faqEntry = new FaqEntry();
+            faqEntry.setQuestion(faqEntryDTO.getQuestion());
+            faqEntry.setAnswer(faqEntryDTO.getAnswer());
+            validate(faqEntry);
+            FaqEntryDTO saved = mapFaqEntryToDTO(faqEntryRepository.save(faqEntry));
+            publishFaqEntry(saved);
+            response.setFaqEntry(saved);
+            response.setStatusCode(200);
+            response.setMessage("FAQ entry added successfully.");
+        } catch (ExceptionsMessages e) {
+            response.setStatusCode(400);
+            response.setMessage(e.getMessage());
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error adding FAQ entry: " + e.getMessage());
+        }
+        return response;
+    }
+
+    /**
+     * Updates a FAQ entry and re-indexes it.
+     * @param faqEntryId The ID of the FAQ entry.
+     * @param faqEntryDTO The new question and answer.
+     * @return Response containing the updated FAQ entry and status.
+     */
+    @Override
+    public FaqEntryResponse updateFaqEntry(Long faqEntryId, FaqEntryDTO faqEntryDTO) {
+        FaqEntryResponse response = new FaqEntryResponse();
+        try {
+            FaqEntry faqEntry = faqEntryRepository.findById(faqEntryId)
+                    .orElseThrow(() -> new ExceptionsMessages("FAQ entry not found."));
+            faqEntry.setQuestion(faqEntryDTO.getQuestion());
+            faqEntry.setAnswer(faqEntryDTO.getAnswer());
+            validate(faqEntry);
+            FaqEntryDTO saved = mapFaqEntryToDTO(faqEntryRepository.save(faqEntry));
+            publishFaqEntry(saved);
+            response.setFaqEntry(saved);
+            response.setStatusCode(200);
+            response.setMessage("FAQ entry updated successfully.");
+        } catch (ExceptionsMessages e) {
+            response.setStatusCode(e.getMessage().endsWith("not found.") ? 404 : 400);
+            response.setMessage(e.getMessage());
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error updating FAQ entry: " + e.getMessage());
+        }
+        return response;
+    }
+
+    /**
+     * Deletes a FAQ entry and removes it from the index.
+     * @param faqEntryId The ID of the FAQ entry.
+     * @return Response containing status and message.
+     */
+    @Override
+    public Response deleteFaqEntry(Long faqEntryId) {
+        Response response = new Response();
+        try {
+            FaqEntry faqEntry = faqEntryRepository.findById(faqEntryId)
+                    .orElseThrow(() -> new ExceptionsMessages("FAQ entry not found."));
+            faqEntryRepository.delete(faqEntry);  // Commits on its own, so the index is only changed once the entry is gone
+            faqEntries.remove(faqEntryId);
+            index.remove(new SourceKey(FAQ, faqEntryId));
+            response.setStatusCode(200);
+            response.setMessage("FAQ entry deleted successfully.");
+        } catch (ExceptionsMessages e) {
+            response.setStatusCode(404);
+            response.setMessage(e.getMessage());
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error deleting FAQ entry: " + e.getMessage());
+        }
+        return response;
+    }
+
+    /**
+     * Replaces all indexed quiz questions with the freshly loaded catalog.
+     * @param questions All quiz questions.
+     */
+    @Override
+    public void replaceQuestions(Collection<QuizQuestionDTO> questions) {
+        Map<SourceKey, String> texts = new LinkedHashMap<>();
+        for (QuizQuestionDTO question : questions) {
+            texts.put(new SourceKey(QUIZ_QUESTION, question.getId()), quizQuestionText(question));
+            quizQuestions.put(question.getId(), question);
+        }
+        Set<SourceKey> loaded = texts.keySet();
+        quizQuestions.keySet().removeIf(id -> !loaded.contains(new SourceKey(QUIZ_QUESTION, id)));
+        index.replaceGroup(key -> key.type().equals(QUIZ_QUESTION), texts);
+    }
+
+    /**
+     * Adds or re-indexes added and updated quiz questions.
+     * @param questions The changed questions.
+     */
+    @Override
+    public void indexQuestions(Collection<QuizQuestionDTO> questions) {
+        for (QuizQuestionDTO question : questions) {
+            quizQuestions.put(question.getId(), question);
+            index.put(new SourceKey(QUIZ_QUESTION, question.getId()), quizQuestionText(question));
+        }
+    }
+
+    /**
+     * Removes a deleted quiz question from the index.
+     * @param questionId The ID of the deleted question.
+     */
+    @Override
+    public void removeQuestion(Long questionId) {
+        index.remove(new SourceKey(QUIZ_QUESTION, questionId));
+        quizQuestions.remove(questionId);
+    }
+
+    /**
+     * Ranks the indexed content for a question and builds the reply: the best FAQ answer, if one matches well,
+     * followed by the related quiz questions as practice material. The exchange is added to the user's conversation.
+     */
+    private AssistantAnswerDTO answer(Long userId, String question) {
+        String contextQuestion = null;
+        if (userId != null && Bm25Index.tokenize(question).size() <= FOLLOW_UP_MAX_TERMS) {
+            List<ConversationStore.Turn> turns = conversationStore.recentTurns(userId);
+            if (!turns.isEmpty()) {
+                contextQuestion = turns.get(turns.size() - 1).question();  // E.g. "and why?" is about the previous question
+            }
+        }
+        String query = contextQuestion == null ? question : question + "\n" + contextQuestion;
+
+        List<AssistantSourceDTO> sources = new ArrayList<>();
+        for (Bm25Index.Hit<SourceKey> hit : index.search(query, MAX_SOURCES)) {
+            AssistantSourceDTO source = mapHitToSource(hit);
+            if (source != null) {
+                sources.add(source);
+            }
+        }
+
+        StringBuilder reply = new StringBuilder();
+        if (sources.isEmpty()) {
+            reply.append(NO_MATCH_REPLY);
+        } else {
+            double bestScore = sources.get(0).getScore();
+            sources.stream()
+                    .filter(source -> source.getType().equals(FAQ) && source.getScore() >= bestScore * FAQ_ANSWER_RATIO)
+                    .findFirst()
+                    .ifPresent(source -> reply.append(source.getAnswer()));
+            List<AssistantSourceDTO> practiceQuestions = sources.stream()
+                    .filter(source -> source.getType().equals(QUIZ_QUESTION))
+                    .toList();
+            if (!practiceQuestions.isEmpty()) {
+                reply.append(reply.isEmpty() ? "" : "\n\n").append("These quiz questions are about the same topic:");
+                practiceQuestions.forEach(source -> reply.append("\n- ").append(source.getTitle()));
+            }
+            if (reply.isEmpty()) {
+                reply.append(sources.get(0).getAnswer());  // Only weakly matching FAQ entries, the best one is still the best guess
+            }
+        }
+
+        if (userId != null) {
+            conversationStore.append(userId, question, reply.toString());
+        }
+
+        AssistantAnswerDTO answer = new AssistantAnswerDTO();
+        answer.setQuestion(question);
+        answer.setContextQuestion(contextQuestion);
+        answer.setReply(reply.toString());
+        answer.setSources(sources);
+        return answer;
+    }
+
+    /**
+     * Maps a search hit to the returned source, or null if the content was removed after the search.
+     */
+    private AssistantSourceDTO mapHitToSource(Bm25Index.Hit<SourceKey> hit) {
+        AssistantSourceDTO source = new AssistantSourceDTO();
+        source.setType(hit.key().type());
+        source.setId(hit.key().id());
+        source.setScore(hit.score());
+        if (hit.key().type().equals(FAQ)) {
+            FaqEntryDTO faqEntry = faqEntries.get(hit.key().id());
+            if (faqEntry == null) {
+                return null;
+            }
+            source.setTitle(faqEntry.getQuestion());
+            source.setAnswer(faqEntry.getAnswer());
+        } else {
+            QuizQuestionDTO question = quizQuestions.get(hit.key().id());
+            if (question == null) {
+                return null;
+            }
+            source.setTitle(question.getQuestionText());  // The correct answer is never included
+        }
+        return source;
+    }
+
+    /**
+     * Stores and (re-)indexes a saved FAQ entry.
+     */
+    private void publishFaqEntry(FaqEntryDTO faqEntry) {
+        faqEntries.put(faqEntry.getId(), faqEntry);
+        index.put(new SourceKey(FAQ, faqEntry.getId()), faqText(faqEntry));
+    }
+
+    /**
+     * Checks a FAQ entry against its constraints.
+     * @throws ExceptionsMessages With the first violated constraint.
+     */
+    private void validate(FaqEntry faqEntry) throws ExceptionsMessages {
+        Set<ConstraintViolation<FaqEntry>> violations = validator.validate(faqEntry);
+        if (!violations.isEmpty()) {
+            throw new ExceptionsMessages(violations.iterator().next().getMessage());
+        }
+    }
+
+    private static String faqText(FaqEntryDTO faqEntry) {
+        return faqEntry.getQuestion() + "\n" + faqEntry.getAnswer();
+    }
+
+    private static String quizQuestionText(QuizQuestionDTO question) {
+        return String.join("\n", question.getQuestionText(), question.getAnswerOption1(), question.getAnswerOption2(),
+                question.getAnswerOption3(), question.getAnswerOption4());
+    }
+
+    private static FaqEntryDTO mapFaqEntryToDTO(FaqEntry faqEntry) {
+        FaqEntryDTO faqEntryDTO = new FaqEntryDTO();
+        faqEntryDTO.setId(faqEntry.getId());
+        faqEntryDTO.setQuestion(faqEntry.getQuestion());
+        faqEntryDTO.setAnswer(faqEntry.getAnswer());
+        return faqEntryDTO;
+    }
+}
@@ -0,0 +1,194 @@
+package com.eLearningWebApp.eLearningWebApp.service.implementation;
+
+import com.eLearningWebApp.eLearningWebApp.dto.AssistantAnswerDTO;
+import com.eLearningWebApp.eLearningWebApp.dto.AssistantAnswerResponse;
+import com.eLearningWebApp.eLearningWebApp.exception.ExceptionsMessages;
+import com.eLearningWebApp.eLearningWebApp.exception.TooManyRequestsException;
+import com.eLearningWebApp.eLearningWebApp.service.interfac.IAssistantService;
+import com.eLearningWebApp.eLearningWebApp.service.interfac.IAssistantStreamService;
+import com.eLearningWebApp.eLearningWebApp.utilities.AssistantStream;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service implementation that streams digital assistant replies as Server-Sent Events.
+ * The request thread only computes the answer and queues its events; the events are written by short tasks on a
+ * virtual-thread executor, so no platform thread is held per open stream. A scheduled sweep sends heartbeats to
+ * silent streams and closes streams whose client has stopped reading.
+ * Events: "chunk" (a piece of the reply text), "done" (the whole answer with its sources) and "error".
+ */
+@Service
+public class AssistantStreamService implements IAssistantStreamService {
+
+    @Autowired
+    private IAssistantService assistantService;  // Computes the answers.
+
+    @Autowired
+    private MeterRegistry meterRegistry;  // Publishes the open streams and why streams closed.
+
+    @Value("${assistant.stream.max-per-user:3}")
+    private int maxStreamsPerUser;  // Concurrent streams one user may hold open.
+
+    @Value("${assistant.stream.max-pending-events:256}")
+    private int maxPendingEvents;  // Events queued for a slow client before its stream is closed.
+
+    @Value("${assistant.stream.chunk-chars:48}")
+    private int chunkChars;  // Approximate length of one streamed piece of the reply.
+
+    @Value("${assistant.stream.heartbeat-interval-ms:15000}")
+    private long heartbeatIntervalMs;  // Silence after which a keep-alive comment is sent.
+
+    @Value("${assistant.stream.idle-timeout-ms:60000}")
+    private long idleTimeoutMs;  // Time without an accepted event after which a stream is closed.
+
+    private final Set<AssistantStream> openStreams = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Integer> openStreamsByUser = new ConcurrentHashMap<>();  // User ID -> open streams.
+    private final ExecutorService writer = Executors.newVirtualThreadPerTaskExecutor();  // Runs the write tasks.
+
+    /**
+     * Registers the stream metrics.
+     */
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("assistant.streams.open", openStreams, Set::size)
+                .description("Open assistant reply streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Closes the open streams and stops the writer.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        new ArrayList<>(openStreams).forEach(stream -> stream.close(AssistantStream.CloseReason.TIMEOUT));
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Answers a question and streams the reply to the client chunk by chunk.
+     * @param userId The ID of the logged-in user, used for the conversation and to cap their concurrent streams.
+     * @param question The question asked.
+     * @return The emitter the events are sent through.
+     */
+    @Override
+    public SseEmitter streamAnswer(long userId, String question) {
+        if (!acquireSlot(userId)) {
+            throw new TooManyRequestsException("Too many open assistant streams, at most " + maxStreamsPerUser + " allowed");
+        }
+
+        AssistantAnswerResponse response;
+        try {
+            response = assistantService.ask(userId, question);
+        } catch (RuntimeException e) {
+            releaseSlot(userId);
+            throw e;
+        }
+        if (response.getStatusCode() != 200) {
+            releaseSlot(userId);
+            if (response.getStatusCode() == 400) {
+                throw new ExceptionsMessages(response.getMessage());
+            }
+            throw new IllegalStateException(response.getMessage());
+        }
+
+        AssistantStream stream = new AssistantStream(userId, new SseEmitter(), writer, maxPendingEvents, (closedStream, reason) -> {
+            openStreams.remove(closedStream);
+            releaseSlot(userId);
+            meterRegistry.counter("assistant.streams.closed", "reason", reason.name().toLowerCase()).increment();
+        });
+        openStreams.add(stream);
+        if (stream.isClosed()) {
+            openStreams.remove(stream);  // Closed before it was registered
+        }
+
+        AssistantAnswerDTO answer = response.getAssistantAnswer();
+        for (String chunk : splitIntoChunks(answer.getReply(), chunkChars)) {
+            if (!stream.send(SseEmitter.event().name("chunk").data(chunk, MediaType.TEXT_PLAIN))) {
+                return stream.getEmitter();
+            }
+        }
+        stream.send(SseEmitter.event().name("done").data(answer, MediaType.APPLICATION_JSON));
+        stream.finish();
+        return stream.getEmitter();
+    }
+
+    /**
+     * Sends heartbeats to silent streams and closes streams whose client has stopped accepting events.
+     */
+    @Scheduled(fixedDelayString = "${assistant.stream.heartbeat-interval-ms:15000}")
+    public void sweepStreams() {
+        long now = System.nanoTime();
+        long heartbeatNanos = TimeUnit.MILLISECONDS.toNanos(heartbeatIntervalMs);
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        for (AssistantStream stream : openStreams) {
+            if (stream.isIdle(now, idleNanos)) {
+                stream.close(AssistantStream.CloseReason.IDLE);
+            } else {
+                stream.heartbeat(now, heartbeatNanos);
+            }
+        }
+    }
+
+    /**
+     * Splits a reply into pieces of about the given length, breaking after whitespace where possible.
+     * Joining the pieces gives back the reply.
+     */
+    static List<String> splitIntoChunks(String text, int chunkChars) {
+        List<String> chunks = new ArrayList<>();
+        int start = 0;
+        while (start < text.length()) {
+            int end = Math.min(text.length(), start + chunkChars);
+            if (end < text.length()) {
+                int lastSpace = Math.max(text.lastIndexOf(' ', end - 1), text.lastIndexOf('\n', end - 1));
+                if (lastSpace >= start) {
+                    end = lastSpace + 1;  // Keeps the whitespace with the earlier piece
+                }
+            }
+            chunks.add(text.substring(start, end));
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * Takes one of a user's stream slots.
+     * @return False if the user already holds the maximum number of streams.
+     */
+    private boolean acquireSlot(long userId) {
+        boolean[] acquired = {false};
+        openStreamsByUser.compute(userId, (key, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= maxStreamsPerUser) {
+                return count;
+            }
+            acquired[0] = true;
+            return current + 1;
+        });
+        return acquired[0];
+    }
+
+    /**
+     * Gives back one of a user's stream slots and forgets users without open streams.
+     */
+    private void releaseSlot(long userId) {
+        openStreamsByUser.computeIfPresent(userId, (key, count) -> count <= 1 ? null : count - 1);
+    }
+}
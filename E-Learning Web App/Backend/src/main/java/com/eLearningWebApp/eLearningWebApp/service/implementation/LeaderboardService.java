@@ -0,0 +1,174 @@
+package com.eLearningWebApp.eLearningWebApp.service.implementation;
+
+import com.eLearningWebApp.eLearningWebApp.dto.LeaderboardEntryDTO;
+import com.eLearningWebApp.eLearningWebApp.dto.LeaderboardResponse;
+import com.eLearningWebApp.eLearningWebApp.entity.User;
+import com.eLearningWebApp.eLearningWebApp.exception.ExceptionsMessages;
+import com.eLearningWebApp.eLearningWebApp.repository.UserRepository;
+import com.eLearningWebApp.eLearningWebApp.repository.UserView;
+import com.eLearningWebApp.eLearningWebApp.service.interfac.ILeaderboardService;
+import com.eLearningWebApp.eLearningWebApp.utilities.LeaderboardRanking;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Service implementation for the scoreboard. The ranking lives in memory and is rebuilt from the users table
+ * on startup; afterwards it is kept up to date by UserService, so rank queries never touch the database.
+ */
+@Service
+public class LeaderboardService implements ILeaderboardService {
+
+    private static final String ADMIN_ROLE = "ADMIN";  // Admins are never shown on the scoreboard.
+    private static final int MAX_PAGE_SIZE = 100;  // Upper bound for a single leaderboard page.
+    private static final int MAX_RADIUS = 50;  // Upper bound for the neighbours around a user.
+
+    @Autowired
+    private UserRepository userRepository;  // Repository used only to rebuild the ranking.
+
+    private final LeaderboardRanking ranking = new LeaderboardRanking();  // In-memory ordered ranking.
+
+    /**
+     * Rebuilds the ranking from the users table once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildRanking() {
+        List<LeaderboardEntryDTO> entries = userRepository.findViewsByRoleNot(ADMIN_ROLE).stream()
+                .map(LeaderboardService::mapUserToEntry)
+                .toList();
+        ranking.replaceAll(entries);
+    }
+
+    /**
+     * Retrieves a page of the leaderboard, ordered by score from highest to lowest.
+     * @param offset The zero-based position of the first entry to return.
+     * @param limit The maximum number of entries to return.
+     * @return Response containing the leaderboard page and status.
+     */
+    @Override
+    public LeaderboardResponse getTopPlayers(int offset, int limit) {
+        LeaderboardResponse response = new LeaderboardResponse();
+        try {
+            if (offset < 0 || limit < 1) {
+                throw new ExceptionsMessages("Offset must not be negative and limit must be positive");
+            }
+            response.setLeaderboard(ranking.page(offset, Math.min(limit, MAX_PAGE_SIZE)));
+            response.setTotalRankedUsers(ranking.size());
+            response.setStatusCode(200);
+            response.setMessage("successful");
+        } catch (ExceptionsMessages e) {
+            response.setStatusCode(400);
+            response.setMessage(e.getMessage());
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error getting the leaderboard: " + e.getMessage());
+        }
+        return response;
+    }
+
+    /**
+     * Retrieves the leaderboard position of a user.
+     * @param email The email of the user.
+     * @return Response containing the user's leaderboard entry and status.
+     */
+    @Override
+    public LeaderboardResponse getUserRank(String email) {
+        LeaderboardResponse response = new LeaderboardResponse();
+        try {
+            LeaderboardEntryDTO entry = ranking.findByEmail(email);
+            if (entry == null) {
+                throw new ExceptionsMessages("User is not ranked");
+            }
+            response.setLeaderboardEntry(entry);
+            response.setTotalRankedUsers(ranking.size());
+            response.setStatusCode(200);
+            response.setMessage("successful");
+        } catch (ExceptionsMessages e) {
+            response.setStatusCode(404);
+            response.setMessage(e.getMessage());
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error getting the user's rank: " + e.getMessage());
+        }
+        return response;
+    }
+
+    /**
+     * Retrieves the users ranked directly above and below a user, including the user.
+     * @param email The email of the user.
+     * @param radius How many places above and below the user to include.
+     * @return Response containing the neighbouring leaderboard entries and status.
+     */
+    @Override
+    public LeaderboardResponse getNeighbours(String email, int radius) {
+        LeaderboardResponse response = new LeaderboardResponse();
+        try {
+            List<LeaderboardEntryDTO> neighbours = ranking.around(email, Math.max(0, Math.min(radius, MAX_RADIUS)));
+            if (neighbours.isEmpty()) {
+                throw new ExceptionsMessages("User is not ranked");
+            }
+            response.setLeaderboard(neighbours);
+            response.setTotalRankedUsers(ranking.size());
+            response.setStatusCode(200);
+            response.setMessage("successful");
+        } catch (ExceptionsMessages e) {
+            response.setStatusCode(404);
+            response.setMessage(e.getMessage());
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error getting the leaderboard neighbours: " + e.getMessage());
+        }
+        return response;
+    }
+
+    /**
+     * Adds or moves a user in the ranking after their details or score changed. Admins are never ranked.
+     * @param user The saved user entity.
+     */
+    @Override
+    public void updateUser(User user) {
+        if (ADMIN_ROLE.equals(user.getRole())) {
+            ranking.remove(user.getId());
+            return;
+        }
+        ranking.upsert(user.getId(), user.getName(), user.getEmail(), user.getUserScore());
+    }
+
+    /**
+     * Moves a user in the ranking after their score changed, before the new score is saved. Admins are never ranked.
+     * @param user The user whose score changed; its stored score is ignored.
+     * @param score The new score.
+     */
+    @Override
+    public void updateScore(User user, int score) {
+        if (ADMIN_ROLE.equals(user.getRole())) {
+            ranking.remove(user.getId());
+            return;
+        }
+        ranking.upsert(user.getId(), user.getName(), user.getEmail(), score);
+    }
+
+    /**
+     * Removes a user from the ranking.
+     * @param userId The ID of the deleted user.
+     */
+    @Override
+    public void removeUser(long userId) {
+        ranking.remove(userId);
+    }
+
+    /**
+     * Maps a user projection to a leaderboard entry without a rank.
+     */
+    private static LeaderboardEntryDTO mapUserToEntry(UserView user) {
+        LeaderboardEntryDTO entry = new LeaderboardEntryDTO();
+        entry.setId(user.getId());
+        entry.setName(user.getName());
+        entry.setEmail(user.getEmail());
+        entry.setUserScore(user.getUserScore());
+        return entry;
+    }
+}
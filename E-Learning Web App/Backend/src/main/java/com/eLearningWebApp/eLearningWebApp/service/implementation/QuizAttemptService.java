@@ -0,0 +1,235 @@
+package com.eLearningWebApp.eLearningWebApp.service.implementation;
+
+import com.eLearningWebApp.eLearningWebApp.dto.QuizAnswerRequest;
+import com.eLearningWebApp.eLearningWebApp.dto.QuizAttemptDTO;
+import com.eLearningWebApp.eLearningWebApp.dto.QuizAttemptResponse;
+import com.eLearningWebApp.eLearningWebApp.dto.QuizQuestionDTO;
+import com.eLearningWebApp.eLearningWebApp.dto.Response;
+import com.eLearningWebApp.eLearningWebApp.entity.User;
+import com.eLearningWebApp.eLearningWebApp.exception.ExceptionsMessages;
+import com.eLearningWebApp.eLearningWebApp.service.AnswerStatsBuffer;
+import com.eLearningWebApp.eLearningWebApp.service.CustomUserDetailsService;
+import com.eLearningWebApp.eLearningWebApp.service.interfac.IQuizAttemptService;
+import com.eLearningWebApp.eLearningWebApp.service.interfac.IQuizQuestionService;
+import com.eLearningWebApp.eLearningWebApp.service.interfac.IUserService;
+import com.eLearningWebApp.eLearningWebApp.utilities.AttemptResult;
+import com.eLearningWebApp.eLearningWebApp.utilities.QuizAttempt;
+import com.eLearningWebApp.eLearningWebApp.utilities.QuizSampler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Service implementation for server-graded quiz attempts. Running attempts are kept in memory only;
+ * the database is written once, when an attempt is finished. Idle attempts are evicted periodically.
+ */
+@Service
+public class QuizAttemptService implements IQuizAttemptService {
+
+    private static final int MAX_QUESTIONS = 100;  // Upper bound for the number of questions in one attempt.
+
+    @Autowired
+    private IQuizQuestionService quizQuestionService;  // Provides the cached quiz catalog.
+
+    @Autowired
+    private IUserService userService;  // Saves the score of finished attempts.
+
+    @Autowired
+    private AnswerStatsBuffer answerStatsBuffer;  // Collects how every question is answered.
+
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;  // Resolves the ID of the student starting an attempt.
+
+    @Value("${quiz.attempts.adaptive:true}")
+    private boolean adaptive;  // Whether questions are picked by their difficulty for the student.
+
+    @Value("${quiz.attempts.ttl-minutes:60}")
+    private long ttlMinutes;  // How long an attempt may stay idle before it is discarded.
+
+    private final ConcurrentHashMap<String, QuizAttempt> attempts = new ConcurrentHashMap<>();  // Attempt ID -> running attempt.
+    private final ConcurrentHashMap<String, String> attemptIdsByEmail = new ConcurrentHashMap<>();  // Email -> the user's running attempt.
+
+    /**
+     * Starts a new quiz attempt with randomly picked questions from the cached catalog.
+     * Unless adaptive picking is turned off, questions whose difficulty suits the student are preferred.
+     * @param email The email of the user taking the quiz.
+     * @param count The number of questions in the attempt.
+     * @return Response containing the new attempt and status.
+     */
+    @Override
+    public QuizAttemptResponse startAttempt(String email, int count) {
+        QuizAttemptResponse response = new QuizAttemptResponse();
+        try {
+            if (count < 1 || count > MAX_QUESTIONS) {
+                throw new ExceptionsMessages("Question count must be between 1 and " + MAX_QUESTIONS);
+            }
+            List<QuizQuestionDTO> questions = quizQuestionService.getCatalogSnapshot().getQuestions();
+            if (questions.isEmpty()) {
+                throw new ExceptionsMessages("No quiz questions available");
+            }
+            Long userId = ((User) customUserDetailsService.loadUserByUsernameCached(email)).getId();  // Usually served from memory
+            long seed = ThreadLocalRandom.current().nextLong();
+            QuizAttempt attempt = new QuizAttempt(UUID.randomUUID().toString(), email, userId,
+                    pickQuestions(userId, questions, count, seed), seed);
+            attempts.put(attempt.getAttemptId(), attempt);
+            String previousAttemptId = attemptIdsByEmail.put(email, attempt.getAttemptId());
+            if (previousAttemptId != null) {
+                attempts.remove(previousAttemptId);  // A user has at most one running attempt
+            }
+
+            QuizAttemptDTO attemptDTO = mapAttemptToDTO(attempt);
+            attemptDTO.setQuestions(attempt.getQuestions());
+            response.setQuizAttempt(attemptDTO);
+            response.setStatusCode(200);
+            response.setMessage("Quiz attempt started successfully.");
+        } catch (ExceptionsMessages e) {
+            response.setStatusCode(400);
+            response.setMessage(e.getMessage());
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error starting quiz attempt: " + e.getMessage());
+        }
+        return response;
+    }
+
+    /**
+     * Grades the answer to one question against the answer key captured when the attempt started.
+     * @param email The email of the user who owns the attempt.
+     * @param attemptId The ID of the attempt.
+     * @param answerRequest The answered question and the selected option.
+     * @return Response containing the progress of the attempt and status.
+     */
+    @Override
+    public QuizAttemptResponse answerQuestion(String email, String attemptId, QuizAnswerRequest answerRequest) {
+        QuizAttemptResponse response = new QuizAttemptResponse();
+        try {
+            QuizAttempt attempt = findAttempt(email, attemptId);
+            if (answerRequest.getQuestionId() == null || answerRequest.getSelectedOption() == null) {
+                throw new IllegalArgumentException("Question ID and selected option are required");
+            }
+            long answerMillis = System.currentTimeMillis() - attempt.getLastActivityMillis();  // Since the start or the previous answer
+            boolean correct = attempt.answer(answerRequest.getQuestionId(), answerRequest.getSelectedOption());
+            answerStatsBuffer.recordAnswer(attempt.getUserId(), answerRequest.getQuestionId(), correct, answerMillis);
+
+            QuizAttemptDTO attemptDTO = mapAttemptToDTO(attempt);
+            attemptDTO.setAnswerCorrect(correct);
+            response.setQuizAttempt(attemptDTO);
+            response.setStatusCode(200);
+            response.setMessage("Answer submitted successfully.");
+        } catch (ExceptionsMessages e) {
+            response.setStatusCode(404);
+            response.setMessage(e.getMessage());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            response.setStatusCode(400);
+            response.setMessage(e.getMessage());
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error submitting answer: " + e.getMessage());
+        }
+        return response;
+    }
+
+    /**
+     * Finishes an attempt, saves its score and appends it to the user's attempt history.
+     * The attempt is removed from memory afterwards.
+     * @param email The email of the user who owns the attempt.
+     * @param attemptId The ID of the attempt.
+     * @return Response containing the final result and status.
+     */
+    @Override
+    public QuizAttemptResponse finishAttempt(String email, String attemptId) {
+        QuizAttemptResponse response = new QuizAttemptResponse();
+        try {
+            QuizAttempt attempt = findAttempt(email, attemptId);
+            if (!attempt.finish()) {
+                throw new ExceptionsMessages("Quiz attempt not found");  // A concurrent request already finished it
+            }
+            removeAttempt(attempt);
+
+            long finishedAtMillis = System.currentTimeMillis();
+            AttemptResult result = new AttemptResult(attempt.getScore(), attempt.getCorrectAnswers(), attempt.getTotalQuestions(),
+                    finishedAtMillis - attempt.getStartedAtMillis(), finishedAtMillis);
+            Response saved = userService.saveAttemptResult(email, result);  // The only database write of the attempt, batched with others
+            if (saved.getStatusCode() != 200) {
+                response.setStatusCode(saved.getStatusCode());
+                response.setMessage(saved.getMessage());
+                return response;
+            }
+            response.setQuizAttempt(mapAttemptToDTO(attempt));
+            response.setStatusCode(200);
+            response.setMessage("Quiz attempt finished successfully.");
+        } catch (ExceptionsMessages e) {
+            response.setStatusCode(404);
+            response.setMessage(e.getMessage());
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error finishing quiz attempt: " + e.getMessage());
+        }
+        return response;
+    }
+
+    /**
+     * Discards attempts that have been idle for longer than the configured time.
+     */
+    @Scheduled(fixedDelayString = "${quiz.attempts.sweep-interval-ms:60000}")
+    public void evictExpiredAttempts() {
+        long now = System.currentTimeMillis();
+        long ttlMillis = ttlMinutes * 60_000;
+        attempts.values().removeIf(attempt -> {
+            if (!attempt.isExpired(now, ttlMillis)) {
+                return false;
+            }
+            attemptIdsByEmail.remove(attempt.getEmail(), attempt.getAttemptId());
+            return true;
+        });
+    }
+
+    /**
+     * Picks the questions of a new attempt, by difficulty for the student or uniformly at random.
+     */
+    private List<QuizQuestionDTO> pickQuestions(Long userId, List<QuizQuestionDTO> questions, int count, long seed) {
+        if (!adaptive) {
+            return QuizSampler.sample(questions, count, seed);
+        }
+        return QuizSampler.sampleNear(questions, count, seed, answerStatsBuffer.difficultyDistance(userId));
+    }
+
+    /**
+     * Finds a running attempt of the given user. Attempts of other users are reported as not found.
+     */
+    private QuizAttempt findAttempt(String email, String attemptId) {
+        QuizAttempt attempt = attempts.get(attemptId);
+        if (attempt == null || !attempt.getEmail().equals(email)) {
+            throw new ExceptionsMessages("Quiz attempt not found");
+        }
+        return attempt;
+    }
+
+    /**
+     * Removes an attempt from the store.
+     */
+    private void removeAttempt(QuizAttempt attempt) {
+        attempts.remove(attempt.getAttemptId(), attempt);
+        attemptIdsByEmail.remove(attempt.getEmail(), attempt.getAttemptId());
+    }
+
+    /**
+     * Maps the progress of an attempt to a DTO, without its questions.
+     */
+    private static QuizAttemptDTO mapAttemptToDTO(QuizAttempt attempt) {
+        QuizAttemptDTO attemptDTO = new QuizAttemptDTO();
+        attemptDTO.setAttemptId(attempt.getAttemptId());
+        attemptDTO.setTotalQuestions(attempt.getTotalQuestions());
+        attemptDTO.setAnsweredQuestions(attempt.getAnsweredQuestions());
+        attemptDTO.setCorrectAnswers(attempt.getCorrectAnswers());
+        attemptDTO.setScore(attempt.getScore());
+        attemptDTO.setFinished(attempt.isFinished());
+        return attemptDTO;
+    }
+}
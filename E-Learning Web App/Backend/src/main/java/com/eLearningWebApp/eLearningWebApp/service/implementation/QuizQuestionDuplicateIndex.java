@@ -0,0 +1,131 @@
+package com.eLearningWebApp.eLearningWebApp.service.implementation;
+
+import com.eLearningWebApp.eLearningWebApp.dto.QuizQuestionDTO;
+import com.eLearningWebApp.eLearningWebApp.entity.QuizQuestion;
+import com.eLearningWebApp.eLearningWebApp.service.interfac.IQuizQuestionIndex;
+import com.eLearningWebApp.eLearningWebApp.utilities.MinHashIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * MinHash/LSH index over the question text and answer options of every quiz question, used to catch reworded
+ * copies before they are saved and to report the near-duplicates already in the bank.
+ * It receives the catalog changes from the quiz question service, so checks never touch the database.
+ */
+@Component
+public class QuizQuestionDuplicateIndex implements IQuizQuestionIndex {
+
+    private static final int MAX_REPORTED_DUPLICATES = 5;  // Similar questions listed when one is rejected.
+
+    @Autowired
+    private MeterRegistry meterRegistry;  // Publishes the time taken by a duplicate check.
+
+    @Value("${quiz.duplicates.threshold:0.7}")
+    private double threshold;  // Estimated similarity from which a question counts as a near-duplicate.
+
+    private final MinHashIndex index = new MinHashIndex();
+    private Timer checkTimer;
+
+    /**
+     * Registers the check timer.
+     */
+    @PostConstruct
+    public void registerMetrics() {
+        checkTimer = Timer.builder("quiz.duplicates.check")
+                .description("Time taken to check a quiz question for near-duplicates")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rebuilds the index from all quiz questions.
+     */
+    @Override
+    public void replaceQuestions(Collection<QuizQuestionDTO> quizQuestions) {
+        Map<Long, String> texts = new HashMap<>();
+        for (QuizQuestionDTO quizQuestion : quizQuestions) {
+            texts.put(quizQuestion.getId(), textOf(quizQuestion));
+        }
+        index.replaceAll(texts);
+    }
+
+    /**
+     * Adds or re-indexes changed quiz questions.
+     */
+    @Override
+    public void indexQuestions(Collection<QuizQuestionDTO> quizQuestions) {
+        for (QuizQuestionDTO quizQuestion : quizQuestions) {
+            index.put(quizQuestion.getId(), textOf(quizQuestion));
+        }
+    }
+
+    /**
+     * Removes a deleted quiz question.
+     */
+    @Override
+    public void removeQuestion(Long questionId) {
+        index.remove(questionId);
+    }
+
+    /**
+     * Finds the quiz questions in the bank that are near-duplicates of the given one.
+     * @param quizQuestion The question to check.
+     * @param excludeId The ID of the question itself when it is being updated, or null.
+     * @return The near-duplicates, most similar first.
+     */
+    public List<MinHashIndex.Match> findDuplicates(QuizQuestion quizQuestion, Long excludeId) {
+        String text = textOf(quizQuestion);
+        return checkTimer.record(() -> index.findSimilar(text, threshold, excludeId, MAX_REPORTED_DUPLICATES));
+    }
+
+    /**
+     * Groups the whole bank into clusters of near-duplicates.
+     * @return The question IDs of each cluster, largest clusters first.
+     */
+    public List<List<Long>> clusters() {
+        return index.clusters(threshold);
+    }
+
+    /**
+     * Estimates the similarity of two quiz questions in the bank.
+     */
+    public double similarity(long firstId, long secondId) {
+        return index.similarity(firstId, secondId);
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Builds the text compared for duplicates: the question followed by its options in alphabetical order,
+     * so a copy with reordered options still matches.
+     */
+    public static String textOf(QuizQuestion quizQuestion) {
+        return textOf(quizQuestion.getQuestionText(), quizQuestion.getAnswerOption1(), quizQuestion.getAnswerOption2(),
+                quizQuestion.getAnswerOption3(), quizQuestion.getAnswerOption4());
+    }
+
+    private static String textOf(QuizQuestionDTO quizQuestion) {
+        return textOf(quizQuestion.getQuestionText(), quizQuestion.getAnswerOption1(), quizQuestion.getAnswerOption2(),
+                quizQuestion.getAnswerOption3(), quizQuestion.getAnswerOption4());
+    }
+
+    private static String textOf(String questionText, String... answerOptions) {
+        String options = Stream.of(answerOptions)
+                .map(option -> option == null ? "" : option)
+                .sorted(String.CASE_INSENSITIVE_ORDER)
+                .collect(Collectors.joining("\n"));
+        return (questionText == null ? "" : questionText) + "\n" + options;
+    }
+}
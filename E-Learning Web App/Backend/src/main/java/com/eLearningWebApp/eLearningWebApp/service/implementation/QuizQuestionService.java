@@ -1,38 +1,158 @@
 package com.eLearningWebApp.eLearningWebApp.service.implementation;
 
+import com.eLearningWebApp.eLearningWebApp.dto.DuplicateClusterDTO;
+import com.eLearningWebApp.eLearningWebApp.dto.DuplicateClusterListResponse;
+import com.eLearningWebApp.eLearningWebApp.dto.DuplicateQuestionDTO;
+import com.eLearningWebApp.eLearningWebApp.dto.DuplicateQuestionResponse;
+import com.eLearningWebApp.eLearningWebApp.dto.QuizImportReportDTO;
+import com.eLearningWebApp.eLearningWebApp.dto.QuizImportReportResponse;
 import com.eLearningWebApp.eLearningWebApp.dto.QuizQuestionDTO;
+import com.eLearningWebApp.eLearningWebApp.dto.QuizSampleResponse;
 import com.eLearningWebApp.eLearningWebApp.dto.Response;
 import com.eLearningWebApp.eLearningWebApp.entity.QuizQuestion;
+import com.eLearningWebApp.eLearningWebApp.exception.DuplicateQuestionException;
 import com.eLearningWebApp.eLearningWebApp.exception.ExceptionsMessages;
+import com.eLearningWebApp.eLearningWebApp.repository.QuizQuestionBatchRepository;
 import com.eLearningWebApp.eLearningWebApp.repository.QuizQuestionRepository;
+import com.eLearningWebApp.eLearningWebApp.repository.QuizQuestionView;
+import com.eLearningWebApp.eLearningWebApp.service.AnswerStatsBuffer;
+import com.eLearningWebApp.eLearningWebApp.service.interfac.IQuizQuestionIndex;
 import com.eLearningWebApp.eLearningWebApp.service.interfac.IQuizQuestionService;
+import com.eLearningWebApp.eLearningWebApp.utilities.CsvReader;
+import com.eLearningWebApp.eLearningWebApp.utilities.CsvWriter;
+import com.eLearningWebApp.eLearningWebApp.utilities.MinHashIndex;
+import com.eLearningWebApp.eLearningWebApp.utilities.QuizCatalogSnapshot;
+import com.eLearningWebApp.eLearningWebApp.utilities.QuizSampler;
+import com.eLearningWebApp.eLearningWebApp.utilities.ResponseWriters;
+import com.eLearningWebApp.eLearningWebApp.utilities.TrigramIndex;
 import com.eLearningWebApp.eLearningWebApp.utilities.Utilities;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 /**
  * Service implementation for managing quiz questions. Handles
  * retrieving, adding, updating, and deleting quiz questions.
+ * Reads are served from an immutable in-memory snapshot of the catalog; every change atomically swaps in a new one.
  */
 @Service
 public class QuizQuestionService implements IQuizQuestionService {
 
+    private static final Logger logger = LoggerFactory.getLogger(QuizQuestionService.class);
+    private static final int MAX_SAMPLE_SIZE = 100;  // Upper bound for the number of questions in one quiz.
+    private static final int MAX_REPORTED_ERRORS = 1000;  // Upper bound for the row errors listed in an import report.
+    private static final int MAX_SEARCH_PAGE_SIZE = 200;  // Upper bound for a single page of search results.
+    private static final int MAX_DUPLICATE_CLUSTERS = 1000;  // Upper bound for the clusters listed in one duplicate report.
+    private static final int MAX_CLUSTER_QUESTIONS = 100;  // Upper bound for the questions listed per duplicate cluster.
+    private static final List<String> CSV_COLUMNS = List.of(
+            "questiontext", "answeroption1", "answeroption2", "answeroption3", "answeroption4", "correctanswer");
+
     @Autowired
     private QuizQuestionRepository quizQuestionRepository;
 
+    @Autowired
+    private QuizQuestionBatchRepository quizQuestionBatchRepository;  // Batched inserts for bulk imports.
+
+    @Autowired
+    private ObjectMapper objectMapper;  // Reads and writes the rows of JSON Lines imports and exports.
+
+    @Autowired
+    private ResponseWriters responseWriters;  // Serializes the catalog snapshot once per change.
+
+    @Autowired
+    private Validator validator;  // Checks imported rows against the constraints of the QuizQuestion entity.
+
+    @Autowired
+    private List<IQuizQuestionIndex> quizQuestionIndexes;  // Search indexes kept in step with the catalog.
+
+    @Autowired
+    private QuizQuestionTextIndex quizQuestionTextIndex;  // Substring and prefix index for the admin search.
+
+    @Autowired
+    private QuizQuestionDuplicateIndex quizQuestionDuplicateIndex;  // Near-duplicate check for new and changed questions.
+
+    @Autowired
+    private AnswerStatsBuffer answerStatsBuffer;  // Answer statistics of every question, dropped with the question.
+
+    @Value("${quiz.import.chunk-size:500}")
+    private int importChunkSize;  // Number of imported rows validated and inserted together.
+
+    private final AtomicReference<QuizCatalogSnapshot> catalog = new AtomicReference<>();  // Current catalog, null until loaded.
+    private final ReentrantLock catalogLock = new ReentrantLock();  // Orders catalog loads and swaps; readers never take it.
+
+    /**
+     * Loads the catalog snapshot from the database once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadCatalog() {
+        catalogLock.lock();
+        try {
+            List<QuizQuestion> quizQuestions = quizQuestionRepository.findAll(); // Fetch all quiz questions
+            QuizCatalogSnapshot snapshot = QuizCatalogSnapshot.of(Utilities.mapQuizQuestionListEntityToDTO(quizQuestions), responseWriters);
+            quizQuestionIndexes.forEach(index -> index.replaceQuestions(snapshot.getQuestions()));
+            catalog.set(snapshot);
+        } finally {
+            catalogLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current catalog snapshot, loading it from the database if it has not been loaded yet.
+     * @return The current snapshot.
+     */
+    @Override
+    public QuizCatalogSnapshot getCatalogSnapshot() {
+        QuizCatalogSnapshot snapshot = catalog.get();
+        if (snapshot == null) {
+            loadCatalog();
+            snapshot = catalog.get();
+        }
+        return snapshot;
+    }
+
     /**
-     * Retrieves all quiz questions from the database.
+     * Retrieves all quiz questions from the catalog snapshot.
      * @return Response containing a list of QuizQuestionDTO and status.
      */
     @Override
     public Response getAllQuestions() {
         Response response = new Response();
         try {
-            List<QuizQuestion> quizQuestions = quizQuestionRepository.findAll(); // Fetch all quiz questions
-            List<QuizQuestionDTO> quizQuestionDTOs = Utilities.mapQuizQuestionListEntityToDTO(quizQuestions); // Map entities to DTOs
+            List<QuizQuestionDTO> quizQuestionDTOs = getCatalogSnapshot().getQuestions(); // Questions of the current snapshot
             response.setQuizQuestionList(quizQuestionDTOs);
             response.setStatusCode(200);
             response.setMessage("All quiz questions retrieved successfully.");
@@ -43,6 +163,38 @@ public class QuizQuestionService implements IQuizQuestionService {
         return response;
     }
 
+    /**
+     * Picks random quiz questions from the catalog snapshot, with answer options shuffled for the attempt
+     * and without the correct answers.
+     * @param count The number of questions to pick.
+     * @param seed The seed of the attempt, or null to generate a new one.
+     * @return Response containing the picked questions, the seed and status.
+     */
+    @Override
+    public QuizSampleResponse getRandomQuestions(int count, Long seed) {
+        QuizSampleResponse response = new QuizSampleResponse();
+        try {
+            if (count < 1 || count > MAX_SAMPLE_SIZE) {
+                throw new ExceptionsMessages("Question count must be between 1 and " + MAX_SAMPLE_SIZE);
+            }
+            long attemptSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong(); // New attempts get a fresh seed
+            List<QuizQuestionDTO> picked = QuizSampler.sample(getCatalogSnapshot().getQuestions(), count, attemptSeed);
+            response.setQuizSample(picked.stream()
+                    .map(question -> QuizSampler.toSampleQuestion(question, attemptSeed)) // Shuffle options, drop the answer key
+                    .toList());
+            response.setSampleSeed(attemptSeed);
+            response.setStatusCode(200);
+            response.setMessage("Random quiz questions retrieved successfully.");
+        } catch (ExceptionsMessages e) {
+            response.setStatusCode(400);
+            response.setMessage(e.getMessage());
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error picking quiz questions: " + e.getMessage());
+        }
+        return response;
+    }
+
     /**
      * Retrieves a specific quiz question by its ID.
      * @param questionId ID of the quiz question.
@@ -52,9 +204,8 @@ public class QuizQuestionService implements IQuizQuestionService {
     public Response getQuestionById(Long questionId) {
         Response response = new Response();
         try {
-            Optional<QuizQuestion> quizQuestion = quizQuestionRepository.findById(questionId); // Fetch quiz question by ID
-            if (quizQuestion.isPresent()) {
-                QuizQuestionDTO quizQuestionDTO = Utilities.mapQuizQuestionEntityToDTO(quizQuestion.get()); // Map entity to DTO
+            QuizQuestionDTO quizQuestionDTO = getCatalogSnapshot().getQuestion(questionId); // Look up quiz question by ID
+            if (quizQuestionDTO != null) {
                 response.setQuizQuestion(quizQuestionDTO);
                 response.setStatusCode(200);
                 response.setMessage("Quiz question retrieved successfully.");
@@ -72,19 +223,79 @@ public class QuizQuestionService implements IQuizQuestionService {
     }
 
     /**
-     * Adds a new quiz question to the database.
+     * Searches the question texts and answer options for a substring, or for a word prefix if the query has two
+     * characters, using the in-memory trigram index. Results are ordered by question ID and paged with a cursor.
+     * @param query The text to find.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit The maximum number of questions to return.
+     * @return Response containing the page of matching questions and the cursor of the next page.
+     */
+    @Override
+    public Response searchQuestions(String query, String cursor, int limit) {
+        Response response = new Response();
+        try {
+            if (query == null || query.strip().length() < TrigramIndex.MIN_QUERY_LENGTH) {
+                throw new ExceptionsMessages("Search query must have at least " + TrigramIndex.MIN_QUERY_LENGTH + " characters");
+            }
+            if (limit < 1) {
+                throw new ExceptionsMessages("Limit must be positive");
+            }
+            long afterId = Long.MIN_VALUE;
+            if (cursor != null && !cursor.isBlank()) {
+                try {
+                    afterId = Long.parseLong(cursor); // The cursor is the ID of the last question of the previous page
+                } catch (NumberFormatException e) {
+                    throw new ExceptionsMessages("Invalid cursor");
+                }
+            }
+            int pageSize = Math.min(limit, MAX_SEARCH_PAGE_SIZE);
+            QuizCatalogSnapshot snapshot = getCatalogSnapshot();
+            List<Long> ids = quizQuestionTextIndex.search(query, afterId, pageSize + 1); // One extra row tells if there is a next page
+
+            List<QuizQuestionDTO> page = new ArrayList<>(Math.min(ids.size(), pageSize));
+            for (Long id : ids.subList(0, Math.min(ids.size(), pageSize))) {
+                QuizQuestionDTO quizQuestionDTO = snapshot.getQuestion(id);
+                if (quizQuestionDTO != null) {
+                    page.add(quizQuestionDTO); // Skip a question deleted between the search and the lookup
+                }
+            }
+            if (ids.size() > pageSize) {
+                response.setNextCursor(String.valueOf(ids.get(pageSize - 1)));
+            }
+            response.setQuizQuestionList(page);
+            response.setStatusCode(200);
+            response.setMessage("Quiz questions found successfully.");
+        } catch (ExceptionsMessages e) {
+            response.setStatusCode(400);
+            response.setMessage(e.getMessage());
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error searching quiz questions: " + e.getMessage());
+        }
+        return response;
+    }
+
+    /**
+     * Adds a new quiz question to the database, unless it is a near-duplicate of a question already in the bank.
      * @param quizQuestion QuizQuestion entity to be added.
-     * @return Response containing the added QuizQuestionDTO and status.
+     * @param allowDuplicate Whether to save the question even if it is a near-duplicate.
+     * @return Response containing the added QuizQuestionDTO and status, or the similar questions with status 409.
      */
     @Override
-    public Response addQuestion(QuizQuestion quizQuestion) {
+    public Response addQuestion(QuizQuestion quizQuestion, boolean allowDuplicate) {
         Response response = new Response();
         try {
+            if (!allowDuplicate) {
+                rejectDuplicates(quizQuestion, null); // Check the in-memory index before writing anything
+            }
             QuizQuestion savedQuestion = quizQuestionRepository.save(quizQuestion); // Save the new quiz question
             QuizQuestionDTO quizQuestionDTO = Utilities.mapQuizQuestionEntityToDTO(savedQuestion); // Map entity to DTO
+            publishQuestions(List.of(quizQuestionDTO)); // Swap in a catalog that contains the new question
             response.setQuizQuestion(quizQuestionDTO);
             response.setStatusCode(201);
             response.setMessage("Quiz question added successfully.");
+        } catch (DuplicateQuestionException e) {
+            response = duplicateConflict(e);
         } catch (Exception e) {
             response.setStatusCode(500);
             response.setMessage("Error adding quiz question: " + e.getMessage());
@@ -93,13 +304,14 @@ public class QuizQuestionService implements IQuizQuestionService {
     }
 
     /**
-     * Updates an existing quiz question.
+     * Updates an existing quiz question, unless the new text makes it a near-duplicate of another question.
      * @param questionId ID of the quiz question to update.
      * @param updatedQuizQuestion QuizQuestion entity containing updated data.
-     * @return Response containing the updated QuizQuestionDTO and status.
+     * @param allowDuplicate Whether to save the question even if it is a near-duplicate.
+     * @return Response containing the updated QuizQuestionDTO and status, or the similar questions with status 409.
      */
     @Override
-    public Response updateQuestion(Long questionId, QuizQuestion updatedQuizQuestion) {
+    public Response updateQuestion(Long questionId, QuizQuestion updatedQuizQuestion, boolean allowDuplicate) {
         Response response = new Response();
         try {
             QuizQuestion existingQuestion = quizQuestionRepository.findById(questionId)
@@ -112,13 +324,19 @@ public class QuizQuestionService implements IQuizQuestionService {
             existingQuestion.setAnswerOption3(updatedQuizQuestion.getAnswerOption3());
             existingQuestion.setAnswerOption4(updatedQuizQuestion.getAnswerOption4());
             existingQuestion.setCorrectAnswer(updatedQuizQuestion.getCorrectAnswer());
+            if (!allowDuplicate) {
+                rejectDuplicates(existingQuestion, questionId); // The question is never a duplicate of itself
+            }
 
             QuizQuestion savedQuestion = quizQuestionRepository.save(existingQuestion); // Save updated quiz question
             QuizQuestionDTO quizQuestionDTO = Utilities.mapQuizQuestionEntityToDTO(savedQuestion); // Map entity to DTO
+            publishQuestions(List.of(quizQuestionDTO)); // Swap in a catalog that contains the updated question
 
             response.setQuizQuestion(quizQuestionDTO);
             response.setStatusCode(200);
             response.setMessage("Quiz question updated successfully.");
+        } catch (DuplicateQuestionException e) {
+            response = duplicateConflict(e);
         } catch (ExceptionsMessages e) {
             response.setStatusCode(404);
             response.setMessage(e.getMessage());
@@ -140,7 +358,12 @@ public class QuizQuestionService implements IQuizQuestionService {
         try {
             QuizQuestion quizQuestion = quizQuestionRepository.findById(questionId)
                     .orElseThrow(() -> new ExceptionsMessages("Quiz question not found.")); // Find quiz question or throw error
-            quizQuestionRepository.deleteById(questionId); // Delete the quiz question
+            // Delete the loaded quiz question instead of loading it again by ID. It commits on its own,
+            // so the catalog below is only swapped once the question is really gone
+            quizQuestionRepository.delete(quizQuestion);
+            swapCatalog(snapshot -> snapshot.withoutQuestion(questionId, responseWriters),
+                    index -> index.removeQuestion(questionId)); // Swap in a catalog without it
+            answerStatsBuffer.forgetQuestion(questionId); // Drop its answer statistics
             response.setStatusCode(200);
             response.setMessage("Quiz question deleted successfully.");
         } catch (ExceptionsMessages e) {
@@ -152,4 +375,408 @@ public class QuizQuestionService implements IQuizQuestionService {
         }
         return response;
     }
-}
\ No newline at end of file
+
+    /**
+     * Groups the whole question bank into clusters of near-duplicate questions, using the in-memory MinHash index.
+     * @param limit The maximum number of clusters to list, largest first.
+     * @return Response containing the clusters and status.
+     */
+    @Override
+    public DuplicateClusterListResponse getDuplicateClusters(int limit) {
+        DuplicateClusterListResponse response = new DuplicateClusterListResponse();
+        try {
+            if (limit < 1) {
+                throw new ExceptionsMessages("Limit must be positive");
+            }
+            QuizCatalogSnapshot snapshot = getCatalogSnapshot();
+            List<List<Long>> clusters = quizQuestionDuplicateIndex.clusters();
+            List<DuplicateClusterDTO> clusterDTOs = new ArrayList<>();
+            for (List<Long> cluster : clusters.subList(0, Math.min(clusters.size(), Math.min(limit, MAX_DUPLICATE_CLUSTERS)))) {
+                List<DuplicateQuestionDTO> questions = new ArrayList<>();
+                for (Long questionId : cluster.subList(0, Math.min(cluster.size(), MAX_CLUSTER_QUESTIONS))) {
+                    QuizQuestionDTO quizQuestionDTO = snapshot.getQuestion(questionId);
+                    if (quizQuestionDTO != null) {
+                        questions.add(toDuplicateQuestionDTO(quizQuestionDTO,
+                                quizQuestionDuplicateIndex.similarity(cluster.get(0), questionId))); // Similarity to the first question
+                    }
+                }
+                DuplicateClusterDTO clusterDTO = new DuplicateClusterDTO();
+                clusterDTO.setSize(cluster.size());
+                clusterDTO.setQuestions(questions);
+                clusterDTOs.add(clusterDTO);
+            }
+            response.setDuplicateClusters(clusterDTOs);
+            response.setStatusCode(200);
+            response.setMessage(clusters.size() + " clusters of near-duplicate quiz questions found.");
+        } catch (ExceptionsMessages e) {
+            response.setStatusCode(400);
+            response.setMessage(e.getMessage());
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error finding duplicate quiz questions: " + e.getMessage());
+        }
+        return response;
+    }
+
+    /**
+     * Imports quiz questions from a CSV or JSON Lines stream. The stream is read row by row; rows are validated with
+     * the constraints of the QuizQuestion entity and inserted in batched chunks, each in its own transaction.
+     * Invalid rows are skipped and listed in the report, so one bad row does not reject the whole file. So are rows
+     * that are near-duplicates of a question in the bank or of an earlier row of the same file.
+     * @param input The uploaded file.
+     * @param format Either "csv" (with a header row) or "jsonl" (one JSON object per line).
+     * @param allowDuplicates Whether to import near-duplicate rows as well.
+     * @return Response containing the import report and status.
+     */
+    @Override
+    public QuizImportReportResponse importQuestions(InputStream input, String format, boolean allowDuplicates) {
+        QuizImportReportResponse response = new QuizImportReportResponse();
+        QuizImportReportDTO report = new QuizImportReportDTO();
+        List<QuizQuestionDTO> importedQuestions = new ArrayList<>();
+        MinHashIndex importedTexts = allowDuplicates ? null : new MinHashIndex();  // Rows of this file, until they are published
+        long started = System.nanoTime();
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            if ("csv".equalsIgnoreCase(format)) {
+                importCsv(reader, report, importedQuestions, importedTexts);
+            } else if ("jsonl".equalsIgnoreCase(format)) {
+                importJsonLines(reader, report, importedQuestions, importedTexts);
+            } else {
+                throw new ExceptionsMessages("Import format must be csv or jsonl");
+            }
+            response.setStatusCode(200);
+            response.setMessage("Imported " + report.getImportedRows() + " of " + report.getTotalRows() + " quiz questions.");
+        } catch (ExceptionsMessages e) {
+            response.setStatusCode(400);
+            response.setMessage(e.getMessage());
+        } catch (IOException e) {
+            response.setStatusCode(400);
+            response.setMessage("Error reading the import file: " + e.getMessage() + importedBeforeError(report));  // Rows before the broken one are kept
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error importing quiz questions: " + e.getMessage() + importedBeforeError(report));
+        } finally {
+            if (!importedQuestions.isEmpty()) {
+                publishQuestions(importedQuestions); // One catalog swap for the whole import
+            }
+            report.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+        }
+        response.setQuizImportReport(report);  // Only sent on success; a failure is answered with its message
+        return response;
+    }
+
+    /**
+     * Describes the rows an import kept before it failed, as the report is not sent with a failure.
+     */
+    private static String importedBeforeError(QuizImportReportDTO report) {
+        return report.getImportedRows() == 0 ? ""
+                : " (" + report.getImportedRows() + " of the first " + report.getTotalRows() + " rows were imported before the error)";
+    }
+
+    /**
+     * Builds the 409 Conflict answer to a near-duplicate question, listing the similar questions.
+     */
+    private static Response duplicateConflict(DuplicateQuestionException e) {
+        DuplicateQuestionResponse response = new DuplicateQuestionResponse();
+        response.setStatusCode(409);
+        response.setMessage(e.getMessage());
+        response.setDuplicateQuestions(e.getDuplicates());
+        return response;
+    }
+
+    /**
+     * Writes all quiz questions as CSV (in the column layout accepted by the import) or as JSON Lines, while the rows
+     * come off the database cursor. Rows are never collected into a list, so the export uses constant memory
+     * regardless of the size of the bank.
+     * @param outputStream The stream to write the questions to; it is not closed.
+     * @param format Either "csv" or "jsonl".
+     * @param gzip Whether to gzip-compress the output.
+     * @throws IOException If writing to the stream fails.
+     */
+    @Override
+    @Transactional(readOnly = true)  // The JDBC cursor only streams inside a transaction
+    public void exportQuestions(OutputStream outputStream, String format, boolean gzip) throws IOException {
+        GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(outputStream, 64 * 1024) : null;
+        OutputStream target = gzip ? gzipStream : outputStream;
+        try (Stream<QuizQuestionView> quizQuestions = quizQuestionRepository.streamAllViews()) {
+            if ("csv".equalsIgnoreCase(format)) {
+                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8));
+                CsvWriter csvWriter = new CsvWriter(writer);
+                csvWriter.writeRecord(List.of("id", "questionText", "answerOption1", "answerOption2",
+                        "answerOption3", "answerOption4", "correctAnswer"));
+                for (QuizQuestionView quizQuestion : (Iterable<QuizQuestionView>) quizQuestions::iterator) {
+                    csvWriter.writeRecord(List.of(String.valueOf(quizQuestion.getId()), quizQuestion.getQuestionText(),
+                            quizQuestion.getAnswerOption1(), quizQuestion.getAnswerOption2(), quizQuestion.getAnswerOption3(),
+                            quizQuestion.getAnswerOption4(), String.valueOf(quizQuestion.getCorrectAnswer())));
+                }
+                writer.flush();  // Flush without closing, the servlet container owns the response stream
+            } else {
+                try (SequenceWriter writer = objectMapper.writer()
+                        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)  // The servlet container owns the response stream
+                        .withRootValueSeparator("\n")
+                        .writeValues(target)) {
+                    boolean empty = true;
+                    for (QuizQuestionView quizQuestion : (Iterable<QuizQuestionView>) quizQuestions::iterator) {
+                        writer.write(mapQuizQuestionViewToDTO(quizQuestion));
+                        empty = false;
+                    }
+                    writer.flush();
+                    if (!empty) {
+                        target.write('\n');  // Terminates the last line
+                    }
+                }
+            }
+        }
+        if (gzipStream != null) {
+            gzipStream.finish();  // Writes the gzip trailer without closing the response stream
+        }
+    }
+
+    /**
+     * Reads a CSV file whose header names the columns (camelCase or snake_case, in any order).
+     */
+    private void importCsv(BufferedReader reader, QuizImportReportDTO report, List<QuizQuestionDTO> importedQuestions,
+                           MinHashIndex importedTexts) throws IOException {
+        CsvReader csvReader = new CsvReader(reader);
+        List<String> header = csvReader.readRecord();
+        if (header == null) {
+            throw new ExceptionsMessages("The import file is empty");
+        }
+        Map<String, Integer> columnIndexes = new HashMap<>();
+        for (int index = 0; index < header.size(); index++) {
+            columnIndexes.put(header.get(index).trim().replace("_", "").replace("\uFEFF", "").toLowerCase(Locale.ROOT), index);
+        }
+        for (String column : CSV_COLUMNS) {
+            if (!columnIndexes.containsKey(column)) {
+                throw new ExceptionsMessages("The CSV header is missing the column " + column);
+            }
+        }
+
+        List<ImportRow> chunk = new ArrayList<>(importChunkSize);
+        List<String> record;
+        while ((record = csvReader.readRecord()) != null) {
+            if (record.stream().allMatch(String::isBlank)) {
+                continue;  // Skip empty lines
+            }
+            int row = csvReader.getRecordStartLine();
+            report.setTotalRows(report.getTotalRows() + 1);
+            QuizQuestion quizQuestion = new QuizQuestion();
+            quizQuestion.setQuestionText(column(record, columnIndexes, "questiontext"));
+            quizQuestion.setAnswerOption1(column(record, columnIndexes, "answeroption1"));
+            quizQuestion.setAnswerOption2(column(record, columnIndexes, "answeroption2"));
+            quizQuestion.setAnswerOption3(column(record, columnIndexes, "answeroption3"));
+            quizQuestion.setAnswerOption4(column(record, columnIndexes, "answeroption4"));
+            try {
+                quizQuestion.setCorrectAnswer(Integer.parseInt(column(record, columnIndexes, "correctanswer").trim()));
+            } catch (NumberFormatException e) {
+                rejectRow(report, row, "Correct answer must be between 1 and 4");
+                continue;
+            }
+            addImportRow(new ImportRow(row, quizQuestion), chunk, report, importedQuestions, importedTexts);
+        }
+        insertChunk(chunk, report, importedQuestions);
+    }
+
+    /**
+     * Reads a JSON Lines file with one quiz question object per line.
+     */
+    private void importJsonLines(BufferedReader reader, QuizImportReportDTO report, List<QuizQuestionDTO> importedQuestions,
+                                 MinHashIndex importedTexts) throws IOException {
+        List<ImportRow> chunk = new ArrayList<>(importChunkSize);
+        String line;
+        int row = 0;
+        while ((line = reader.readLine()) != null) {
+            row++;
+            if (line.isBlank()) {
+                continue;  // Skip empty lines
+            }
+            report.setTotalRows(report.getTotalRows() + 1);
+            QuizQuestion quizQuestion;
+            try {
+                quizQuestion = objectMapper.readValue(line, QuizQuestion.class);
+            } catch (JsonProcessingException e) {
+                rejectRow(report, row, "Invalid JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            quizQuestion.setId(null);  // IDs are always allocated by the database
+            addImportRow(new ImportRow(row, quizQuestion), chunk, report, importedQuestions, importedTexts);
+        }
+        insertChunk(chunk, report, importedQuestions);
+    }
+
+    /**
+     * Validates a row and adds it to the current chunk, inserting the chunk once it is full.
+     * @param importedTexts The rows accepted so far, or null if near-duplicates are imported too.
+     */
+    private void addImportRow(ImportRow importRow, List<ImportRow> chunk, QuizImportReportDTO report,
+                              List<QuizQuestionDTO> importedQuestions, MinHashIndex importedTexts) {
+        Set<ConstraintViolation<QuizQuestion>> violations = validator.validate(importRow.quizQuestion());
+        if (!violations.isEmpty()) {
+            rejectRow(report, importRow.row(), violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return;
+        }
+        if (importedTexts != null && isDuplicateRow(importRow, report, importedTexts)) {
+            return;
+        }
+        chunk.add(importRow);
+        if (chunk.size() >= importChunkSize) {
+            insertChunk(chunk, report, importedQuestions);
+        }
+    }
+
+    /**
+     * Inserts the rows of a chunk as one batch. If the batch fails, the rows are inserted one by one,
+     * so only the offending rows are rejected.
+     */
+    private void insertChunk(List<ImportRow> chunk, QuizImportReportDTO report, List<QuizQuestionDTO> importedQuestions) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            quizQuestionBatchRepository.insertAll(chunk.stream().map(ImportRow::quizQuestion).toList());
+            for (ImportRow importRow : chunk) {
+                importedQuestions.add(Utilities.mapQuizQuestionEntityToDTO(importRow.quizQuestion()));
+            }
+            report.setImportedRows(report.getImportedRows() + chunk.size());
+        } catch (Exception batchError) {
+            for (ImportRow importRow : chunk) {
+                try {
+                    quizQuestionBatchRepository.insertAll(List.of(importRow.quizQuestion()));
+                    importedQuestions.add(Utilities.mapQuizQuestionEntityToDTO(importRow.quizQuestion()));
+                    report.setImportedRows(report.getImportedRows() + 1);
+                } catch (Exception rowError) {
+                    rejectRow(report, importRow.row(), "Could not be saved: " + rowError.getMessage());
+                }
+            }
+        }
+        report.setChunks(report.getChunks() + 1);
+        logger.info("Quiz import progress: {} rows read, {} imported, {} rejected",
+                report.getTotalRows(), report.getImportedRows(), report.getFailedRows());
+        chunk.clear();
+    }
+
+    /**
+     * Rejects a row that is a near-duplicate of a question in the bank or of an earlier row, and remembers it otherwise.
+     * @return True if the row was rejected.
+     */
+    private boolean isDuplicateRow(ImportRow importRow, QuizImportReportDTO report, MinHashIndex importedTexts) {
+        List<MinHashIndex.Match> inBank = quizQuestionDuplicateIndex.findDuplicates(importRow.quizQuestion(), null);
+        if (!inBank.isEmpty()) {
+            rejectRow(report, importRow.row(), "Near-duplicate of quiz question " + inBank.get(0).key());
+            return true;
+        }
+        String text = QuizQuestionDuplicateIndex.textOf(importRow.quizQuestion());
+        List<MinHashIndex.Match> inFile = importedTexts.findSimilar(text, quizQuestionDuplicateIndex.getThreshold(), null, 1);
+        if (!inFile.isEmpty()) {
+            rejectRow(report, importRow.row(), "Near-duplicate of row " + inFile.get(0).key());
+            return true;
+        }
+        importedTexts.put(importRow.row(), text);
+        return false;
+    }
+
+    /**
+     * Throws if a question is a near-duplicate of questions in the bank.
+     * @param quizQuestion The question to check.
+     * @param excludeId The ID of the question itself when it is being updated, or null.
+     * @throws DuplicateQuestionException Listing the similar questions.
+     */
+    private void rejectDuplicates(QuizQuestion quizQuestion, Long excludeId) {
+        List<MinHashIndex.Match> matches = quizQuestionDuplicateIndex.findDuplicates(quizQuestion, excludeId);
+        if (matches.isEmpty()) {
+            return;
+        }
+        QuizCatalogSnapshot snapshot = getCatalogSnapshot();
+        List<DuplicateQuestionDTO> duplicates = new ArrayList<>();
+        for (MinHashIndex.Match match : matches) {
+            QuizQuestionDTO quizQuestionDTO = snapshot.getQuestion(match.key());
+            if (quizQuestionDTO != null) {
+                duplicates.add(toDuplicateQuestionDTO(quizQuestionDTO, match.similarity()));
+            }
+        }
+        if (!duplicates.isEmpty()) {
+            throw new DuplicateQuestionException("Quiz question is a near-duplicate of quiz question " + duplicates.get(0).getId(), duplicates);
+        }
+    }
+
+    private static DuplicateQuestionDTO toDuplicateQuestionDTO(QuizQuestionDTO quizQuestion, double similarity) {
+        DuplicateQuestionDTO dto = new DuplicateQuestionDTO();
+        dto.setId(quizQuestion.getId());
+        dto.setQuestionText(quizQuestion.getQuestionText());
+        dto.setSimilarity(Math.round(similarity * 100) / 100.0);
+        return dto;
+    }
+
+    /**
+     * Records a rejected row in the import report.
+     */
+    private static void rejectRow(QuizImportReportDTO report, int row, String message) {
+        report.setFailedRows(report.getFailedRows() + 1);
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(new QuizImportReportDTO.RowError(row, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    /**
+     * Returns a column of a CSV record, or null if the record is too short.
+     */
+    private static String column(List<String> record, Map<String, Integer> columnIndexes, String column) {
+        int index = columnIndexes.get(column);
+        return index < record.size() ? record.get(index) : null;
+    }
+
+    /**
+     * Maps a streamed quiz question projection to a DTO.
+     */
+    private static QuizQuestionDTO mapQuizQuestionViewToDTO(QuizQuestionView quizQuestion) {
+        QuizQuestionDTO dto = new QuizQuestionDTO();
+        dto.setId(quizQuestion.getId());
+        dto.setQuestionText(quizQuestion.getQuestionText());
+        dto.setAnswerOption1(quizQuestion.getAnswerOption1());
+        dto.setAnswerOption2(quizQuestion.getAnswerOption2());
+        dto.setAnswerOption3(quizQuestion.getAnswerOption3());
+        dto.setAnswerOption4(quizQuestion.getAnswerOption4());
+        dto.setCorrectAnswer(quizQuestion.getCorrectAnswer());
+        return dto;
+    }
+
+    /**
+     * A quiz question read from an import file, together with its row number for error reporting.
+     */
+    private record ImportRow(int row, QuizQuestion quizQuestion) {
+    }
+
+    /**
+     * Atomically replaces the catalog snapshot with one that contains the given added or updated questions.
+     * @param changedQuestions The added or updated questions.
+     */
+    private void publishQuestions(List<QuizQuestionDTO> changedQuestions) {
+        swapCatalog(snapshot -> snapshot.withQuestions(changedQuestions, responseWriters),
+                index -> index.indexQuestions(changedQuestions));
+    }
+
+    /**
+     * Builds a new snapshot from the current one and swaps it in. Called after the change has been committed,
+     * so if the catalog has not been loaded yet, the change is simply picked up when it is loaded from the database.
+     * @param change Builds the new snapshot from the current one.
+     * @param indexChange Applies the same change to each search index.
+     */
+    private void swapCatalog(UnaryOperator<QuizCatalogSnapshot> change, Consumer<IQuizQuestionIndex> indexChange) {
+        catalogLock.lock();
+        try {
+            QuizCatalogSnapshot snapshot = catalog.get();
+            if (snapshot != null) {
+                QuizCatalogSnapshot changed = change.apply(snapshot);
+                quizQuestionIndexes.forEach(indexChange);
+                catalog.set(changed);
+            }
+        } finally {
+            catalogLock.unlock();
+        }
+    }
+}
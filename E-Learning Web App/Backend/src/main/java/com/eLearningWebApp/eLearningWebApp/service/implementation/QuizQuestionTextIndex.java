@@ -0,0 +1,68 @@
+package com.eLearningWebApp.eLearningWebApp.service.implementation;
+
+import com.eLearningWebApp.eLearningWebApp.dto.QuizQuestionDTO;
+import com.eLearningWebApp.eLearningWebApp.service.interfac.IQuizQuestionIndex;
+import com.eLearningWebApp.eLearningWebApp.utilities.TrigramIndex;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trigram index over the question text and answer options of every quiz question, used by the admin search.
+ * It receives the catalog changes from the quiz question service, so searches never touch the database.
+ */
+@Component
+public class QuizQuestionTextIndex implements IQuizQuestionIndex {
+
+    private final TrigramIndex index = new TrigramIndex();
+
+    /**
+     * Rebuilds the index from all quiz questions.
+     */
+    @Override
+    public void replaceQuestions(Collection<QuizQuestionDTO> quizQuestions) {
+        Map<Long, List<String>> documents = new HashMap<>();
+        for (QuizQuestionDTO quizQuestion : quizQuestions) {
+            documents.put(quizQuestion.getId(), searchableFields(quizQuestion));
+        }
+        index.replaceAll(documents);
+    }
+
+    /**
+     * Adds or re-indexes changed quiz questions.
+     */
+    @Override
+    public void indexQuestions(Collection<QuizQuestionDTO> quizQuestions) {
+        for (QuizQuestionDTO quizQuestion : quizQuestions) {
+            index.put(quizQuestion.getId(), searchableFields(quizQuestion));
+        }
+    }
+
+    /**
+     * Removes a deleted quiz question.
+     */
+    @Override
+    public void removeQuestion(Long questionId) {
+        index.remove(questionId);
+    }
+
+    /**
+     * Finds the quiz questions whose text or answer options contain the query.
+     * @param query The text to find, at least two characters; two characters match the start of a word.
+     * @param afterId Only IDs greater than this are returned.
+     * @param limit The maximum number of IDs to return.
+     * @return The matching question IDs in ascending order.
+     */
+    public List<Long> search(String query, long afterId, int limit) {
+        return index.search(query, afterId, limit);
+    }
+
+    private static List<String> searchableFields(QuizQuestionDTO quizQuestion) {
+        return Arrays.asList(quizQuestion.getQuestionText(), quizQuestion.getAnswerOption1(),
+                quizQuestion.getAnswerOption2(), quizQuestion.getAnswerOption3(), quizQuestion.getAnswerOption4());
+    }
+}
@@ -5,17 +5,40 @@ import com.eLearningWebApp.eLearningWebApp.dto.Response;
 import com.eLearningWebApp.eLearningWebApp.dto.UserDTO;
 import com.eLearningWebApp.eLearningWebApp.entity.User;
 import com.eLearningWebApp.eLearningWebApp.exception.ExceptionsMessages;
+import com.eLearningWebApp.eLearningWebApp.repository.QuizAttemptHistoryRepository;
 import com.eLearningWebApp.eLearningWebApp.repository.UserRepository;
+import com.eLearningWebApp.eLearningWebApp.repository.UserView;
+import com.eLearningWebApp.eLearningWebApp.security.PasswordVerifier;
+import com.eLearningWebApp.eLearningWebApp.security.VerifiedTokenCache;
+import com.eLearningWebApp.eLearningWebApp.service.AnswerStatsBuffer;
+import com.eLearningWebApp.eLearningWebApp.service.ConversationStore;
+import com.eLearningWebApp.eLearningWebApp.service.CustomUserDetailsService;
+import com.eLearningWebApp.eLearningWebApp.service.ScoreWriteBehindBuffer;
+import com.eLearningWebApp.eLearningWebApp.service.interfac.ILeaderboardService;
 import com.eLearningWebApp.eLearningWebApp.service.interfac.IUserService;
+import com.eLearningWebApp.eLearningWebApp.utilities.AttemptResult;
 import com.eLearningWebApp.eLearningWebApp.utilities.JWTUtilities;
+import com.eLearningWebApp.eLearningWebApp.utilities.UserPageCursor;
 import com.eLearningWebApp.eLearningWebApp.utilities.Utilities;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
 
 /**
  * Service implementation for managing user-related operations such as registration, login, profile management,
@@ -24,6 +47,8 @@ import java.util.List;
 @Service
 public class UserService implements IUserService {
 
+    private static final int MAX_PAGE_SIZE = 500;  // Upper bound for a single page of users.
+
     @Autowired
     private UserRepository userRepository;  // Repository for performing database operations on User entities.
 
@@ -34,7 +59,31 @@ public class UserService implements IUserService {
     private JWTUtilities jwtUtils;  // Utility for handling JWT token generation and validation.
 
     @Autowired
-    private AuthenticationManager authenticationManager;  // Handles user authentication using Spring Security.
+    private PasswordVerifier passwordVerifier;  // Checks login passwords on the bounded hashing pool.
+
+    @Autowired
+    private ILeaderboardService leaderboardService;  // Keeps the in-memory scoreboard in sync with user changes.
+
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;  // Holds the short-lived cache of loaded users.
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;  // Holds the cache of already verified JWT tokens.
+
+    @Autowired
+    private ObjectMapper objectMapper;  // Serializes users for the streaming export.
+
+    @Autowired
+    private ScoreWriteBehindBuffer scoreWriteBehindBuffer;  // Coalesces score updates into batched writes.
+
+    @Autowired
+    private ConversationStore conversationStore;  // Holds the users' recent assistant conversations.
+
+    @Autowired
+    private AnswerStatsBuffer answerStatsBuffer;  // Holds the users' answer statistics.
+
+    @Autowired
+    private QuizAttemptHistoryRepository quizAttemptHistoryRepository;  // Reads the users' attempt aggregates.
 
     /**
      * Registers a new user, hashes their password, and saves their details in the database.
@@ -59,6 +108,7 @@ public class UserService implements IUserService {
             // Hash the password before saving the user
             user.setPassword(passwordEncoder.encode(user.getPassword()));
             User savedUser = userRepository.save(user);  // Save the user to the database
+            leaderboardService.updateUser(savedUser);  // Add the new user to the scoreboard
             UserDTO userDTO = Utilities.mapUserEntityToUserDTO(savedUser);  // Convert User entity to DTO
 
             response.setStatusCode(200);
@@ -78,6 +128,8 @@ public class UserService implements IUserService {
 
     /**
      * Logs in a user by validating their credentials and generating a JWT token.
+     * The user is loaded once, and the password is checked on the bounded hashing pool; when the pool is saturated
+     * the login is rejected with 503 instead of waiting. A stored hash with an outdated cost factor is replaced.
      * @param loginRequest Contains the user's login credentials (email and password).
      * @return Response containing the JWT token, role, and status.
      */
@@ -86,22 +138,33 @@ public class UserService implements IUserService {
         Response response = new Response();
 
         try {
-            // Authenticate user using provided credentials
-            authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword()));
+            // Retrieve user from database (the only lookup of the login)
+            User user = userRepository.findByEmail(loginRequest.getEmail()).orElse(null);
+            if (user == null) {
+                passwordVerifier.verifyUnknownUser(loginRequest.getPassword());  // Take as long as a wrong password
+                throw new BadCredentialsException("Bad credentials");
+            }
+            new AccountStatusUserDetailsChecker().check(user);  // Same account checks as the authentication manager
 
-            // Retrieve user from database
-            var user = userRepository.findByEmail(loginRequest.getEmail()).orElseThrow(() -> new ExceptionsMessages("Cant find user"));
+            // Check the password off the request thread
+            PasswordVerifier.Result result = passwordVerifier.verify(loginRequest.getPassword(), user.getPassword());
+            if (!result.matches()) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            if (result.upgradedHash() != null) {
+                userRepository.updatePassword(user.getId(), result.upgradedHash());  // Re-hash with the current cost factor
+                customUserDetailsService.evictUser(user.getEmail());
+            }
             var token = jwtUtils.generateToken(user);  // Generate JWT token
 
             response.setToken(token);
-            response.setExpirationTime("7 days");
             response.setRole(user.getRole());
             response.setMessage("User's successful login");
             response.setStatusCode(200);
 
-        } catch (ExceptionsMessages e) {
-            response.setStatusCode(404);
-            response.setMessage(e.getMessage());  // Handle exceptions for missing users
+        } catch (RejectedExecutionException e) {
+            response.setStatusCode(503);
+            response.setMessage("Too many logins at the moment, please try again shortly");  // Hashing pool is saturated
 
         } catch (Exception e) {
             response.setStatusCode(500);
@@ -119,8 +182,8 @@ public class UserService implements IUserService {
         Response response = new Response();
 
         try {
-            List<User> userList = userRepository.findAll();  // Fetch all users
-            List<UserDTO> userDTOList = Utilities.mapUserListEntityToUserListDTO(userList);  // Convert entities to DTOs
+            List<UserView> userList = userRepository.findAllViews();  // Fetch all users without their passwords
+            List<UserDTO> userDTOList = Utilities.mapUserViewListToUserListDTO(userList);  // Convert projections to DTOs
 
             response.setUserList(userDTOList);  // Set the user list in the response
             response.setMessage("successful");
@@ -133,6 +196,79 @@ public class UserService implements IUserService {
         return response;
     }
 
+    /**
+     * Retrieves one page of users using keyset pagination, so every page costs the same regardless of its position.
+     * @param sort The sort order: "id", "name" or "score".
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit The maximum number of users to return.
+     * @return Response containing the page of users and the cursor of the next page.
+     */
+    @Override
+    public Response getUsersPage(String sort, String cursor, int limit) {
+        Response response = new Response();
+
+        try {
+            if (limit < 1) {
+                throw new ExceptionsMessages("Limit must be positive");
+            }
+            UserPageCursor pageCursor = (cursor == null || cursor.isBlank())
+                    ? UserPageCursor.first(sort)
+                    : UserPageCursor.decode(cursor, sort);
+            int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+            Pageable firstRows = PageRequest.ofSize(pageSize);
+
+            List<UserView> page = switch (pageCursor.sort()) {
+                case UserPageCursor.SORT_BY_NAME ->
+                        userRepository.findPageOrderByName(pageCursor.lastValue(), pageCursor.lastId(), firstRows);
+                case UserPageCursor.SORT_BY_SCORE ->
+                        userRepository.findPageOrderByScore(Integer.parseInt(pageCursor.lastValue()), pageCursor.lastId(), firstRows);
+                default -> userRepository.findPageOrderById(pageCursor.lastId(), firstRows);
+            };
+
+            response.setUserList(Utilities.mapUserViewListToUserListDTO(page));  // Convert projections to DTOs
+            if (page.size() == pageSize) {
+                response.setNextCursor(UserPageCursor.after(sort, page.get(page.size() - 1)).encode());
+            }
+            response.setMessage("successful");
+            response.setStatusCode(200);
+
+        } catch (ExceptionsMessages e) {
+            response.setStatusCode(400);
+            response.setMessage(e.getMessage());  // Handle invalid sort orders and cursors
+
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error getting users: " + e.getMessage());  // Handle exceptions
+        }
+        return response;
+    }
+
+    /**
+     * Writes all users as newline-delimited JSON while the rows come off the database cursor.
+     * Rows are never collected into a list, so the export uses constant memory regardless of the number of users.
+     * @param outputStream The stream to write the users to.
+     * @throws IOException If writing to the stream fails.
+     */
+    @Override
+    @Transactional(readOnly = true)  // The JDBC cursor only streams inside a transaction
+    public void exportUsers(OutputStream outputStream) throws IOException {
+        try (Stream<UserView> users = userRepository.streamAllViews();
+             SequenceWriter writer = objectMapper.writer()
+                     .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)  // The servlet container owns the response stream
+                     .withRootValueSeparator("\n")
+                     .writeValues(outputStream)) {
+            boolean empty = true;
+            for (UserView user : (Iterable<UserView>) users::iterator) {
+                writer.write(Utilities.mapUserViewToUserDTO(user));
+                empty = false;
+            }
+            writer.flush();
+            if (!empty) {
+                outputStream.write('\n');  // Terminates the last line
+            }
+        }
+    }
+
     /**
      * Deletes a user by their ID.
      * @param userId The ID of the user to delete.
@@ -144,8 +280,16 @@ public class UserService implements IUserService {
 
         try {
             // Check if user exists before deletion
-            userRepository.findById(Long.valueOf(userId)).orElseThrow(() -> new ExceptionsMessages("User Not Found"));
-            userRepository.deleteById(Long.valueOf(userId));  // Delete the user
+            User user = userRepository.findById(Long.valueOf(userId)).orElseThrow(() -> new ExceptionsMessages("User Not Found"));
+            // Deletes the already loaded user instead of loading it again by ID. It commits on its own, so the caches
+            // below are only updated once the user is really gone, and a failure is reported as a Response
+            userRepository.delete(user);
+            leaderboardService.removeUser(Long.parseLong(userId));  // Remove the user from the scoreboard
+            verifiedTokenCache.revokeUser(user.getEmail());  // Reject the deleted user's tokens from now on
+            customUserDetailsService.evictUser(user.getEmail());
+            scoreWriteBehindBuffer.discardPendingScore(user.getId());  // Nothing left to write the score to
+            conversationStore.forget(user.getId());  // Drop the user's assistant conversation
+            answerStatsBuffer.forgetStudent(user.getId());  // Drop the user's answer statistics
 
             response.setMessage("User has been deleted successfully");
             response.setStatusCode(200);
@@ -192,7 +336,18 @@ public class UserService implements IUserService {
                 user.setPassword(passwordEncoder.encode(updatedUser.getPassword()));
             }
 
+            // The whole user is saved, so include a score that is still waiting in the write-behind buffer
+            Integer pendingScore = scoreWriteBehindBuffer.getPendingScore(user.getId());
+            if (pendingScore != null) {
+                user.setUserScore(pendingScore);
+            }
+
             userRepository.save(user);  // Save updated user
+            leaderboardService.updateUser(user);  // Refresh the name shown on the scoreboard
+            evictCachedAuthentication(loggedInUserEmail);  // Make the changed credentials take effect immediately
+            if (!loggedInUserEmail.equals(user.getEmail())) {
+                verifiedTokenCache.revokeUser(loggedInUserEmail);  // Tokens issued for the old email are no longer valid
+            }
 
             UserDTO userDTO = Utilities.mapUserEntityToUserDTO(user);  // Convert entity to DTO
 
@@ -252,6 +407,12 @@ public class UserService implements IUserService {
         try {
             User user = userRepository.findByEmail(email).orElseThrow(() -> new ExceptionsMessages("User doesn't exist"));
             UserDTO userDTO = Utilities.mapUserEntityToUserDTO(user);  // Convert entity to DTO
+            Integer pendingScore = scoreWriteBehindBuffer.getPendingScore(user.getId());
+            if (pendingScore != null) {
+                userDTO.setUserScore(pendingScore);  // Show the latest score even if it is not saved yet
+            }
+            // One primary key lookup of the kept aggregates, including attempts that are not saved yet
+            userDTO.setAttemptStats(quizAttemptHistoryRepository.findStats(user.getId(), scoreWriteBehindBuffer.getPendingAttempts(user.getId())));
 
             response.setMessage("successful");
             response.setStatusCode(200);
@@ -269,30 +430,81 @@ public class UserService implements IUserService {
     }
 
     /**
-     * Updates the score of the user by their email.
-     * @param email The email of the user.
-     * @param score The new score to update.
+     * Corrects the score of a student by their user ID. The score is saved by the write-behind buffer,
+     * which coalesces bursts of updates into a single batched write. Admins are not ranked, so their score cannot be set.
+     * @param userId The ID of the student.
+     * @param score The corrected score.
      * @return Response with the updated score or error information.
      */
     @Override
-    public Response updateUserScore(String email, int score) {
+    public Response updateUserScore(String userId, Integer score) {
         Response response = new Response();
 
         try {
-            User user = userRepository.findByEmail(email).orElseThrow(() -> new ExceptionsMessages("User not found"));
+            if (score == null || score < 0) {
+                throw new ExceptionsMessages("user_score must be a number of at least 0");
+            }
+            User user = userRepository.findById(Long.valueOf(userId))
+                    .orElseThrow(() -> new UsernameNotFoundException("User Not Found"));
+            if (!"USER".equals(user.getRole())) {
+                throw new ExceptionsMessages("Only the scores of students can be corrected");
+            }
+            // Queue the score for the next batched write
+            return saveScore(user.getEmail(), score, id -> scoreWriteBehindBuffer.recordScore(id, score));
 
-            user.setUserScore(score);  // Update user score
-            userRepository.save(user);  // Save updated user
+        } catch (ExceptionsMessages | NumberFormatException e) {
+            response.setStatusCode(400);
+            response.setMessage(e.getMessage());  // Handle an invalid score, user ID or role
 
-            UserDTO userDTO = Utilities.mapUserEntityToUserDTO(user);  // Convert updated entity to DTO
+        } catch (UsernameNotFoundException e) {
+            response.setStatusCode(404);
+            response.setMessage(e.getMessage());  // Handle user not found
+
+        } catch (Exception e) {
+            response.setStatusCode(500);
+            response.setMessage("Error updating score: " + e.getMessage());  // Handle other exceptions
+        }
+        return response;
+    }
+
+    /**
+     * Saves a finished quiz attempt. The attempt and the new score are saved by the write-behind buffer,
+     * which appends the attempt to the history and updates the user's attempt aggregates in the same batched write.
+     * @param email The email of the user who finished the attempt.
+     * @param result The result of the attempt.
+     * @return Response with the updated score or error information.
+     */
+    @Override
+    public Response saveAttemptResult(String email, AttemptResult result) {
+        return saveScore(email, result.score(), userId -> scoreWriteBehindBuffer.recordAttempt(userId, result));
+    }
+
+    /**
+     * Queues a new score of the user and moves the user on the scoreboard.
+     * @param email The email of the user.
+     * @param score The new score.
+     * @param record Queues the score (and attempt) of the user with the given ID in the write-behind buffer.
+     * @return Response with the updated score or error information.
+     */
+    private Response saveScore(String email, int score, Consumer<Long> record) {
+        Response response = new Response();
+
+        try {
+            User user = (User) customUserDetailsService.loadUserByUsernameCached(email);  // Usually served from memory
+
+            record.accept(user.getId());  // Keyed by ID, so a later change of the email cannot orphan the score
+            leaderboardService.updateScore(user, score);  // Move the user to their new scoreboard position
+
+            UserDTO userDTO = Utilities.mapUserEntityToUserDTO(user);  // Convert entity to DTO
+            userDTO.setUserScore(score);  // The cached entity is shared and keeps its old score
 
             response.setStatusCode(200);
             response.setUser(userDTO);
             response.setMessage("Score updated successfully");
 
-        } catch (ExceptionsMessages e) {
+        } catch (UsernameNotFoundException e) {
             response.setStatusCode(404);
-            response.setMessage(e.getMessage());  // Handle user not found
+            response.setMessage("User not found");  // Handle user not found
 
         } catch (Exception e) {
             response.setStatusCode(500);
@@ -300,4 +512,13 @@ public class UserService implements IUserService {
         }
         return response;
     }
+
+    /**
+     * Drops the cached user details and verified tokens of a user, so the next request loads them again.
+     * @param email The email the user authenticated with.
+     */
+    private void evictCachedAuthentication(String email) {
+        customUserDetailsService.evictUser(email);
+        verifiedTokenCache.evictUser(email);
+    }
 }
@@ -0,0 +1,50 @@
+package com.eLearningWebApp.eLearningWebApp.service.interfac;
+
+import com.eLearningWebApp.eLearningWebApp.dto.AssistantAnswerResponse;
+import com.eLearningWebApp.eLearningWebApp.dto.FaqEntryDTO;
+import com.eLearningWebApp.eLearningWebApp.dto.FaqEntryListResponse;
+import com.eLearningWebApp.eLearningWebApp.dto.FaqEntryResponse;
+import com.eLearningWebApp.eLearningWebApp.dto.Response;
+
+/**
+ * IAssistantService defines the contract for the digital assistant, which answers student questions from the
+ * course content (quiz questions and FAQ entries), and for managing the FAQ entries.
+ */
+public interface IAssistantService {
+
+    /**
+     * Answers a student question from the course content, taking the user's recent questions into account.
+     * @param userId The ID of the user asking, or null to answer without a conversation.
+     * @param question The question asked.
+     * @return An AssistantAnswerResponse containing the assistant's answer.
+     */
+    AssistantAnswerResponse ask(Long userId, String question);
+
+    /**
+     * Retrieves all FAQ entries.
+     * @return A FaqEntryListResponse containing the FAQ entries.
+     */
+    FaqEntryListResponse getAllFaqEntries();
+
+    /**
+     * Adds a FAQ entry.
+     * @param faqEntry The FAQ entry details.
+     * @return A FaqEntryResponse containing the saved FAQ entry.
+     */
+    FaqEntryResponse addFaqEntry(FaqEntryDTO faqEntry);
+
+    /**
+     * Updates a FAQ entry.
+     * @param faqEntryId The ID of the FAQ entry.
+     * @param faqEntry The new question and answer.
+     * @return A FaqEntryResponse containing the updated FAQ entry.
+     */
+    FaqEntryResponse updateFaqEntry(Long faqEntryId, FaqEntryDTO faqEntry);
+
+    /**
+     * Deletes a FAQ entry.
+     * @param faqEntryId The ID of the FAQ entry.
+     * @return A Response object indicating the result.
+     */
+    Response deleteFaqEntry(Long faqEntryId);
+}
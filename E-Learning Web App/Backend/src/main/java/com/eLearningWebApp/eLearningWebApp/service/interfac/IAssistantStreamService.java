@@ -0,0 +1,19 @@
+package com.eLearningWebApp.eLearningWebApp.service.interfac;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * IAssistantStreamService defines the contract for streaming digital assistant replies as Server-Sent Events.
+ */
+public interface IAssistantStreamService {
+
+    /**
+     * Answers a question and streams the reply to the client chunk by chunk.
+     * @param userId The ID of the logged-in user, used for the conversation and to cap their concurrent streams.
+     * @param question The question asked.
+     * @return The emitter the events are sent through.
+     * @throws com.eLearningWebApp.eLearningWebApp.exception.TooManyRequestsException If the user has too many open streams.
+     * @throws com.eLearningWebApp.eLearningWebApp.exception.ExceptionsMessages If the question is invalid.
+     */
+    SseEmitter streamAnswer(long userId, String question);
+}
@@ -0,0 +1,53 @@
+package com.eLearningWebApp.eLearningWebApp.service.interfac;
+
+import com.eLearningWebApp.eLearningWebApp.dto.LeaderboardResponse;
+import com.eLearningWebApp.eLearningWebApp.entity.User;
+
+/**
+ * ILeaderboardService defines the contract for the server-side scoreboard, such as fetching the top players,
+ * the rank of the logged-in user and the users ranked around them, and keeping the ranking up to date.
+ */
+public interface ILeaderboardService {
+
+    /**
+     * Retrieves a page of the leaderboard, ordered by score from highest to lowest.
+     * @param offset The zero-based position of the first entry to return.
+     * @param limit The maximum number of entries to return.
+     * @return A LeaderboardResponse containing the leaderboard page and the number of ranked users.
+     */
+    LeaderboardResponse getTopPlayers(int offset, int limit);
+
+    /**
+     * Retrieves the leaderboard position of a user.
+     * @param email The email of the user.
+     * @return A LeaderboardResponse containing the user's leaderboard entry.
+     */
+    LeaderboardResponse getUserRank(String email);
+
+    /**
+     * Retrieves the users ranked directly above and below a user, including the user.
+     * @param email The email of the user.
+     * @param radius How many places above and below the user to include.
+     * @return A LeaderboardResponse containing the neighbouring leaderboard entries.
+     */
+    LeaderboardResponse getNeighbours(String email, int radius);
+
+    /**
+     * Adds or moves a user in the ranking after their details or score changed. Admins are never ranked.
+     * @param user The saved user entity.
+     */
+    void updateUser(User user);
+
+    /**
+     * Moves a user in the ranking after their score changed, before the new score is saved.
+     * @param user The user whose score changed; its stored score is ignored.
+     * @param score The new score.
+     */
+    void updateScore(User user, int score);
+
+    /**
+     * Removes a user from the ranking.
+     * @param userId The ID of the deleted user.
+     */
+    void removeUser(long userId);
+}
@@ -0,0 +1,37 @@
+package com.eLearningWebApp.eLearningWebApp.service.interfac;
+
+import com.eLearningWebApp.eLearningWebApp.dto.QuizAnswerRequest;
+import com.eLearningWebApp.eLearningWebApp.dto.QuizAttemptResponse;
+
+/**
+ * IQuizAttemptService defines the contract for server-graded quiz attempts: starting an attempt,
+ * answering its questions and finishing it, which saves the earned score.
+ */
+public interface IQuizAttemptService {
+
+    /**
+     * Starts a new quiz attempt for a user with randomly picked questions.
+     * An unfinished attempt the user started before is discarded.
+     * @param email The email of the user taking the quiz.
+     * @param count The number of questions in the attempt.
+     * @return A QuizAttemptResponse containing the new attempt and its questions without answers.
+     */
+    QuizAttemptResponse startAttempt(String email, int count);
+
+    /**
+     * Grades the answer to one question of an attempt.
+     * @param email The email of the user who owns the attempt.
+     * @param attemptId The ID of the attempt.
+     * @param answerRequest The answered question and the selected option.
+     * @return A QuizAttemptResponse containing the progress of the attempt and whether the answer was correct.
+     */
+    QuizAttemptResponse answerQuestion(String email, String attemptId, QuizAnswerRequest answerRequest);
+
+    /**
+     * Finishes an attempt and saves the earned score as the user's score.
+     * @param email The email of the user who owns the attempt.
+     * @param attemptId The ID of the attempt.
+     * @return A QuizAttemptResponse containing the final result of the attempt.
+     */
+    QuizAttemptResponse finishAttempt(String email, String attemptId);
+}
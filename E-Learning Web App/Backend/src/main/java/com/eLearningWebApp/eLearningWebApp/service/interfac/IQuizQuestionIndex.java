@@ -0,0 +1,30 @@
+package com.eLearningWebApp.eLearningWebApp.service.interfac;
+
+import com.eLearningWebApp.eLearningWebApp.dto.QuizQuestionDTO;
+
+import java.util.Collection;
+
+/**
+ * IQuizQuestionIndex receives every change of the quiz catalog from the quiz question service, so search structures
+ * built over the questions stay in step with the catalog without reloading it. Calls are made in catalog order.
+ */
+public interface IQuizQuestionIndex {
+
+    /**
+     * Replaces all indexed questions, called when the catalog is loaded from the database.
+     * @param quizQuestions All quiz questions.
+     */
+    void replaceQuestions(Collection<QuizQuestionDTO> quizQuestions);
+
+    /**
+     * Adds or updates questions.
+     * @param quizQuestions The added or updated questions.
+     */
+    void indexQuestions(Collection<QuizQuestionDTO> quizQuestions);
+
+    /**
+     * Removes a deleted question.
+     * @param questionId The ID of the deleted question.
+     */
+    void removeQuestion(Long questionId);
+}
@@ -1,7 +1,15 @@
 package com.eLearningWebApp.eLearningWebApp.service.interfac;
 
+import com.eLearningWebApp.eLearningWebApp.dto.DuplicateClusterListResponse;
+import com.eLearningWebApp.eLearningWebApp.dto.QuizImportReportResponse;
+import com.eLearningWebApp.eLearningWebApp.dto.QuizSampleResponse;
 import com.eLearningWebApp.eLearningWebApp.dto.Response;
 import com.eLearningWebApp.eLearningWebApp.entity.QuizQuestion;
+import com.eLearningWebApp.eLearningWebApp.utilities.QuizCatalogSnapshot;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 /**
  * IQuizQuestionService defines the contract for quiz question-related operations
@@ -10,11 +18,50 @@ import com.eLearningWebApp.eLearningWebApp.entity.QuizQuestion;
 public interface IQuizQuestionService {
 
     /**
-     * Retrieves all quiz questions from the database.
+     * Retrieves all quiz questions.
      * @return A Response object containing a list of all quiz questions.
      */
     Response getAllQuestions();
 
+    /**
+     * Retrieves the current immutable snapshot of the quiz catalog, including its serialized form and ETag.
+     * @return The current catalog snapshot.
+     */
+    QuizCatalogSnapshot getCatalogSnapshot();
+
+    /**
+     * Picks random quiz questions with shuffled answer options and without their correct answers.
+     * @param count The number of questions to pick.
+     * @param seed The seed of the attempt, or null to generate a new one.
+     * @return A QuizSampleResponse containing the picked questions and the seed that reproduces them.
+     */
+    QuizSampleResponse getRandomQuestions(int count, Long seed);
+
+    /**
+     * Imports quiz questions in bulk from a CSV or JSON Lines stream.
+     * @param input The uploaded file.
+     * @param format Either "csv" or "jsonl".
+     * @param allowDuplicates Whether to import rows that are near-duplicates of existing questions or earlier rows.
+     * @return A QuizImportReportResponse containing the import report with per-row errors.
+     */
+    QuizImportReportResponse importQuestions(InputStream input, String format, boolean allowDuplicates);
+
+    /**
+     * Groups the question bank into clusters of near-duplicate questions.
+     * @param limit The maximum number of clusters to list.
+     * @return A DuplicateClusterListResponse containing the clusters, largest first.
+     */
+    DuplicateClusterListResponse getDuplicateClusters(int limit);
+
+    /**
+     * Streams all quiz questions to the given output as CSV or JSON Lines.
+     * @param outputStream The stream to write the questions to; it is not closed.
+     * @param format Either "csv" or "jsonl".
+     * @param gzip Whether to gzip-compress the output.
+     * @throws IOException If writing to the stream fails.
+     */
+    void exportQuestions(OutputStream outputStream, String format, boolean gzip) throws IOException;
+
     /**
      * Retrieves a quiz question by its ID.
      * @param questionId The ID of the quiz question to retrieve.
@@ -22,20 +69,31 @@ public interface IQuizQuestionService {
      */
     Response getQuestionById(Long questionId);
 
+    /**
+     * Searches quiz questions by a substring of their text or answer options; two-character queries match word prefixes.
+     * @param query The text to find.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit The maximum number of questions to return.
+     * @return A Response object containing the page of matching questions and the cursor of the next page.
+     */
+    Response searchQuestions(String query, String cursor, int limit);
+
     /**
      * Adds a new quiz question to the database.
      * @param quizQuestion The QuizQuestion entity containing the question details.
+     * @param allowDuplicate Whether to add the question even if it is a near-duplicate of an existing one.
      * @return A Response object with the result of the add operation.
      */
-    Response addQuestion(QuizQuestion quizQuestion);
+    Response addQuestion(QuizQuestion quizQuestion, boolean allowDuplicate);
 
     /**
      * Updates an existing quiz question in the database.
      * @param questionId The ID of the quiz question to update.
      * @param updatedQuizQuestion Contains the updated quiz question information.
+     * @param allowDuplicate Whether to save the question even if it is a near-duplicate of another one.
      * @return A Response object containing the result of the update operation.
      */
-    Response updateQuestion(Long questionId, QuizQuestion updatedQuizQuestion);
+    Response updateQuestion(Long questionId, QuizQuestion updatedQuizQuestion, boolean allowDuplicate);
 
     /**
      * Deletes a quiz question from the database by its ID.
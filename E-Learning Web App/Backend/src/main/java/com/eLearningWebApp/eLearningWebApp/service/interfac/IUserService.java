@@ -3,6 +3,10 @@ package com.eLearningWebApp.eLearningWebApp.service.interfac;
 import com.eLearningWebApp.eLearningWebApp.dto.LoginRequest;
 import com.eLearningWebApp.eLearningWebApp.dto.Response;
 import com.eLearningWebApp.eLearningWebApp.entity.User;
+import com.eLearningWebApp.eLearningWebApp.utilities.AttemptResult;
+
+import java.io.IOException;
+import java.io.OutputStream;
 
 /**
  * IUserService defines the contract for user-related operations such as registration, login,
@@ -31,6 +35,22 @@ public interface IUserService {
      */
     Response getAllUsers();
 
+    /**
+     * Retrieves one page of users using keyset pagination.
+     * @param sort The sort order: "id", "name" or "score".
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit The maximum number of users to return.
+     * @return A Response object containing the page of users and the cursor of the next page.
+     */
+    Response getUsersPage(String sort, String cursor, int limit);
+
+    /**
+     * Writes all users as newline-delimited JSON, one user per line, as the rows come off the database cursor.
+     * @param outputStream The stream to write the users to.
+     * @throws IOException If writing to the stream fails.
+     */
+    void exportUsers(OutputStream outputStream) throws IOException;
+
     /**
      * Deletes a user from the database by their user ID.
      * @param userId The ID of the user to be deleted.
@@ -63,11 +83,19 @@ public interface IUserService {
     Response getUserByEmail(String email);
 
     /**
-     * Updates the score of the user based on their email.
-     * @param email The email of the user whose score needs to be updated.
-     * @param score The new score value to be updated for the user.
+     * Corrects the score of a student by their user ID.
+     * @param userId The ID of the student whose score needs to be corrected.
+     * @param score The corrected score, at least 0; null is rejected.
+     * @return Response containing the updated user details with the new score or error information.
+     */
+    Response updateUserScore(String userId, Integer score);  // Method to correct a student's score
+
+    /**
+     * Saves a finished quiz attempt to the user's attempt history and makes its score the user's score.
+     * @param email The email of the user who finished the attempt.
+     * @param result The result of the attempt.
      * @return Response containing the updated user details with the new score or error information.
      */
-    Response updateUserScore(String email, int score);  // Method to update user score
+    Response saveAttemptResult(String email, AttemptResult result);
 
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.eLearningWebApp.eLearningWebApp.utilities;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Answer counters of one quiz question or one student. Recording an answer only adds to striped counters
+ * (LongAdder), so students answering the same popular question at the same time never wait for each other.
+ * The counts not yet written to the database are taken out by the flush, which moves them to the flushed totals,
+ * so the totals stay exact while answers keep arriving.
+ */
+public class AnswerCounters {
+
+    private final LongAdder answers = new LongAdder();  // Answers not yet taken by a flush.
+    private final LongAdder correctAnswers = new LongAdder();
+    private final LongAdder answerMillis = new LongAdder();
+    private volatile long flushedAnswers;  // Answers loaded from or taken for the database; written by the flush only.
+    private volatile long flushedCorrectAnswers;
+    private volatile long flushedAnswerMillis;
+
+    /**
+     * The counts taken by one flush.
+     * @param answers The number of answers.
+     * @param correctAnswers The number of correct answers.
+     * @param answerMillis The total time taken to answer, in milliseconds.
+     */
+    public record Delta(long answers, long correctAnswers, long answerMillis) {
+
+        public boolean isEmpty() {
+            return answers == 0 && correctAnswers == 0 && answerMillis == 0;
+        }
+    }
+
+    /**
+     * Records one graded answer.
+     * @param correct Whether the answer was correct.
+     * @param millis The time taken to answer, in milliseconds.
+     */
+    public void record(boolean correct, long millis) {
+        answerMillis.add(millis);
+        if (correct) {
+            correctAnswers.increment();
+        }
+        answers.increment();  // Counted last, so a concurrent reader never sees more correct answers than answers
+    }
+
+    /**
+     * Adds counts that are already in the database, e.g. when the counters are loaded on startup.
+     */
+    public void addFlushed(Delta delta) {
+        flushedAnswers += delta.answers();
+        flushedCorrectAnswers += delta.correctAnswers();
+        flushedAnswerMillis += delta.answerMillis();
+    }
+
+    /**
+     * Takes the counts recorded since the previous flush. Answers recorded meanwhile are kept for the next one,
+     * as only the amounts that were read are subtracted. Must only be called by the flush.
+     * @return The counts to write to the database.
+     */
+    public Delta takeUnflushed() {
+        Delta delta = new Delta(answers.sum(), correctAnswers.sum(), answerMillis.sum());
+        if (!delta.isEmpty()) {
+            addFlushed(delta);  // Moved before subtracting, so the totals never drop below the truth
+            answers.add(-delta.answers());
+            correctAnswers.add(-delta.correctAnswers());
+            answerMillis.add(-delta.answerMillis());
+        }
+        return delta;
+    }
+
+    /**
+     * Gives back counts taken by a flush that could not write them, so the next flush retries them.
+     */
+    public void restoreUnflushed(Delta delta) {
+        answers.add(delta.answers());
+        correctAnswers.add(delta.correctAnswers());
+        answerMillis.add(delta.answerMillis());
+        addFlushed(new Delta(-delta.answers(), -delta.correctAnswers(), -delta.answerMillis()));
+    }
+
+    public long getAnswers() {
+        return flushedAnswers + answers.sum();
+    }
+
+    public long getCorrectAnswers() {
+        return flushedCorrectAnswers + correctAnswers.sum();
+    }
+
+    public long getAnswerMillis() {
+        return flushedAnswerMillis + answerMillis.sum();
+    }
+
+    /**
+     * Estimates the rate of correct answers, pulled towards a prior rate while there are only a few answers.
+     * @param priorRate The rate assumed without any answers.
+     * @param priorAnswers The number of answers the prior rate is worth.
+     * @return The smoothed rate of correct answers, from 0 to 1.
+     */
+    public double correctRate(double priorRate, double priorAnswers) {
+        long total = getAnswers();
+        long correct = Math.min(getCorrectAnswers(), total);
+        return (correct + priorRate * priorAnswers) / (total + priorAnswers);
+    }
+}
@@ -0,0 +1,184 @@
+package com.eLearningWebApp.eLearningWebApp.utilities;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * One open Server-Sent Events stream of the digital assistant.
+ * Events are queued and written one at a time by a task on the shared writer executor, which only runs while there
+ * is something to write, so an open stream holds no thread. At most one write per stream is in flight: a slow client
+ * blocks only its own writer task while its queue fills, and a stream whose queue overflows is closed instead of
+ * buffering without bound.
+ */
+public class AssistantStream {
+
+    /**
+     * Why a stream was closed.
+     */
+    public enum CloseReason { COMPLETED, CLIENT_GONE, IDLE, OVERFLOW, TIMEOUT }
+
+    private final long owner;  // ID of the user the stream belongs to.
+    private final SseEmitter emitter;
+    private final Executor writer;  // Runs the write tasks; virtual threads, so a blocked write parks cheaply.
+    private final int maxPendingEvents;  // Events that may wait for the client before the stream is closed.
+    private final BiConsumer<AssistantStream, CloseReason> onClose;  // Called once when the stream closes.
+
+    private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean writing = new AtomicBoolean();  // True while a write task is scheduled or running.
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile boolean finishing;  // Complete the stream once the queue is drained.
+    private volatile long lastWriteNanos = System.nanoTime();  // When the client last accepted an event.
+
+    /**
+     * Creates a stream around an emitter and closes it when the container reports completion, a timeout or an error.
+     * @param owner The ID of the user the stream belongs to.
+     * @param emitter The emitter returned to Spring MVC.
+     * @param writer The executor running the write tasks.
+     * @param maxPendingEvents The number of events that may be queued for a slow client.
+     * @param onClose Called once with the reason when the stream closes.
+     */
+    public AssistantStream(long owner, SseEmitter emitter, Executor writer, int maxPendingEvents,
+                           BiConsumer<AssistantStream, CloseReason> onClose) {
+        this.owner = owner;
+        this.emitter = emitter;
+        this.writer = writer;
+        this.maxPendingEvents = maxPendingEvents;
+        this.onClose = onClose;
+        emitter.onCompletion(() -> markClosed(CloseReason.COMPLETED));
+        emitter.onTimeout(() -> markClosed(CloseReason.TIMEOUT));
+        emitter.onError(error -> markClosed(CloseReason.CLIENT_GONE));
+    }
+
+    /**
+     * Queues an event for the client.
+     * @param event The event to send.
+     * @return False if the stream is closed or was closed because the client fell too far behind.
+     */
+    public boolean send(SseEmitter.SseEventBuilder event) {
+        if (closed.get()) {
+            return false;
+        }
+        if (pendingCount.incrementAndGet() > maxPendingEvents) {
+            pendingCount.decrementAndGet();
+            close(CloseReason.OVERFLOW);
+            return false;
+        }
+        pending.add(event);
+        scheduleWrite();
+        return true;
+    }
+
+    /**
+     * Completes the stream once all queued events have been written.
+     */
+    public void finish() {
+        finishing = true;
+        scheduleWrite();
+    }
+
+    /**
+     * Queues a comment line if nothing has been written for the given time, so proxies keep the connection open.
+     * @param now The current System.nanoTime().
+     * @param intervalNanos How long the stream may stay silent.
+     */
+    public void heartbeat(long now, long intervalNanos) {
+        if (!writing.get() && pending.isEmpty() && now - lastWriteNanos >= intervalNanos) {
+            send(SseEmitter.event().comment("keep-alive"));
+        }
+    }
+
+    /**
+     * Checks whether the client has not accepted any event, heartbeats included, for the given time.
+     * @param now The current System.nanoTime().
+     * @param idleTimeoutNanos The idle timeout.
+     * @return True if the stream should be closed.
+     */
+    public boolean isIdle(long now, long idleTimeoutNanos) {
+        return now - lastWriteNanos >= idleTimeoutNanos;
+    }
+
+    /**
+     * Closes the stream. The emitter is completed on the writer executor, because completing waits for a write that
+     * is still blocked on the client.
+     * @param reason Why the stream is closed.
+     */
+    public void close(CloseReason reason) {
+        if (markClosed(reason)) {
+            writer.execute(() -> {
+                if (reason == CloseReason.COMPLETED) {
+                    emitter.complete();
+                } else {
+                    emitter.completeWithError(new IOException("Assistant stream closed: " + reason));
+                }
+            });
+        }
+    }
+
+    public long getOwner() {
+        return owner;
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * Starts a write task unless one is already scheduled or running.
+     */
+    private void scheduleWrite() {
+        if (!closed.get() && writing.compareAndSet(false, true)) {
+            writer.execute(this::writePending);
+        }
+    }
+
+    /**
+     * Writes the queued events in order, then completes the stream if it is finishing.
+     */
+    private void writePending() {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!closed.get() && (event = pending.poll()) != null) {
+                pendingCount.decrementAndGet();
+                emitter.send(event);  // Blocks while the client's socket buffer is full
+                lastWriteNanos = System.nanoTime();
+            }
+        } catch (IOException | IllegalStateException e) {
+            close(CloseReason.CLIENT_GONE);  // The client disconnected or the request already ended
+        } finally {
+            writing.set(false);
+        }
+        if (closed.get()) {
+            return;
+        }
+        if (!pending.isEmpty()) {
+            scheduleWrite();  // An event was queued after the loop ended
+        } else if (finishing) {
+            close(CloseReason.COMPLETED);
+        }
+    }
+
+    /**
+     * Marks the stream as closed and reports it once.
+     * @return True if this call closed the stream.
+     */
+    private boolean markClosed(CloseReason reason) {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        pending.clear();
+        onClose.accept(this, reason);
+        return true;
+    }
+}
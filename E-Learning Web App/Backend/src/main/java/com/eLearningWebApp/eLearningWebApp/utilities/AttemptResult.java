@@ -0,0 +1,12 @@
+package com.eLearningWebApp.eLearningWebApp.utilities;
+
+/**
+ * The result of one finished quiz attempt, as appended to the attempt history.
+ * @param score The earned score.
+ * @param correctAnswers The number of correct answers.
+ * @param questionCount The number of questions in the attempt.
+ * @param durationMillis The time from the start to the end of the attempt, in milliseconds.
+ * @param finishedAtMillis When the attempt was finished, in epoch milliseconds.
+ */
+public record AttemptResult(int score, int correctAnswers, int questionCount, long durationMillis, long finishedAtMillis) {
+}
@@ -0,0 +1,221 @@
+package com.eLearningWebApp.eLearningWebApp.utilities;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory inverted index ranked with Okapi BM25. Documents can be added, replaced and removed one at a time,
+ * so the index is kept up to date incrementally instead of being rebuilt.
+ * Searches run concurrently under a read lock; changes take the write lock and only touch the postings of
+ * the changed document's terms.
+ * @param <K> The type of the document keys.
+ */
+public class Bm25Index<K> {
+
+    private static final double K1 = 1.2;  // Term frequency saturation.
+    private static final double B = 0.75;  // Document length normalization.
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "can", "do", "does", "for", "from", "how", "i", "in", "is",
+            "it", "its", "of", "on", "or", "that", "the", "this", "to", "was", "what", "when", "where", "which", "who",
+            "why", "with", "you", "your");
+
+    /**
+     * A search result.
+     * @param key The key of the matching document.
+     * @param score The BM25 score of the document for the query; higher is better.
+     */
+    public record Hit<K>(K key, double score) {
+    }
+
+    private final Map<String, Map<K, Integer>> postings = new HashMap<>();  // Term -> document -> term frequency.
+    private final Map<K, Map<String, Integer>> documents = new HashMap<>();  // Document -> its term frequencies.
+    private final Map<K, Integer> documentLengths = new HashMap<>();  // Document -> number of indexed terms.
+    private long totalLength;  // Sum of all document lengths.
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Adds a document, replacing an earlier version with the same key.
+     * @param key The key of the document.
+     * @param text The text to index.
+     */
+    public void put(K key, String text) {
+        lock.writeLock().lock();
+        try {
+            putLocked(key, text);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a document.
+     * @param key The key of the document; unknown keys are ignored.
+     */
+    public void remove(K key) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces a group of documents in one step, so searches never see the group half loaded.
+     * @param group Selects the documents to remove, e.g. all documents of one type.
+     * @param texts The new documents of the group, by key.
+     */
+    public void replaceGroup(Predicate<K> group, Map<K, String> texts) {
+        lock.writeLock().lock();
+        try {
+            for (K key : new ArrayList<>(documents.keySet())) {
+                if (group.test(key)) {
+                    removeLocked(key);
+                }
+            }
+            texts.forEach(this::putLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the documents that best match a query.
+     * @param query The free-text query.
+     * @param limit The maximum number of results.
+     * @return The matching documents, best first.
+     */
+    public List<Hit<K>> search(String query, int limit) {
+        List<String> queryTerms = tokenize(query).stream().distinct().toList();
+        Map<K, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            if (documentCount == 0) {
+                return List.of();
+            }
+            double averageLength = Math.max(1.0, (double) totalLength / documentCount);
+            for (String term : queryTerms) {
+                Map<K, Integer> termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                int documentFrequency = termPostings.size();
+                double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                termPostings.forEach((key, frequency) -> {
+                    double lengthNorm = K1 * (1 - B + B * documentLengths.get(key) / averageLength);
+                    scores.merge(key, idf * frequency * (K1 + 1) / (frequency + lengthNorm), Double::sum);
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        PriorityQueue<Hit<K>> best = new PriorityQueue<>((first, second) -> Double.compare(first.score(), second.score()));
+        scores.forEach((key, score) -> {
+            best.add(new Hit<>(key, score));
+            if (best.size() > limit) {
+                best.poll();  // Drops the weakest, so only the top "limit" hits are kept
+            }
+        });
+        List<Hit<K>> hits = new ArrayList<>(best);
+        hits.sort((first, second) -> Double.compare(second.score(), first.score()));
+        return hits;
+    }
+
+    /**
+     * Returns the number of indexed documents.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits a text into lower-case terms, dropping stop words and reducing simple plurals to their singular.
+     * @param text The text to split, may be null.
+     * @return The terms in text order.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        StringBuilder term = new StringBuilder();
+        String lowerCase = text.toLowerCase(Locale.ROOT);
+        for (int index = 0; index <= lowerCase.length(); index++) {
+            char character = index < lowerCase.length() ? lowerCase.charAt(index) : ' ';
+            if (Character.isLetterOrDigit(character)) {
+                term.append(character);
+            } else if (!term.isEmpty()) {
+                String word = term.toString();
+                term.setLength(0);
+                if (!STOP_WORDS.contains(word)) {
+                    terms.add(stem(word));
+                }
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Reduces the most common English plural forms to the singular ("queries" -> "query", "classes" -> "class").
+     */
+    private static String stem(String word) {
+        if (word.length() > 4 && word.endsWith("ies")) {
+            return word.substring(0, word.length() - 3) + "y";
+        }
+        if (word.length() > 4 && (word.endsWith("sses") || word.endsWith("xes") || word.endsWith("ches") || word.endsWith("shes"))) {
+            return word.substring(0, word.length() - 2);
+        }
+        if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us") && !word.endsWith("is")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+
+    /**
+     * Adds or replaces a document; the caller holds the write lock.
+     */
+    private void putLocked(K key, String text) {
+        removeLocked(key);
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        List<String> terms = tokenize(text);
+        for (String term : terms) {
+            termFrequencies.merge(term, 1, Integer::sum);
+        }
+        documents.put(key, termFrequencies);
+        documentLengths.put(key, terms.size());
+        totalLength += terms.size();
+        termFrequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(key, frequency));
+    }
+
+    /**
+     * Removes a document; the caller holds the write lock.
+     */
+    private void removeLocked(K key) {
+        Map<String, Integer> termFrequencies = documents.remove(key);
+        if (termFrequencies == null) {
+            return;
+        }
+        totalLength -= documentLengths.remove(key);
+        for (String term : termFrequencies.keySet()) {
+            Map<K, Integer> termPostings = postings.get(term);
+            termPostings.remove(key);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+}
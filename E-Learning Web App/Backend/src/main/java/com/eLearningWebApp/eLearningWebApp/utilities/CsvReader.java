@@ -0,0 +1,78 @@
+package com.eLearningWebApp.eLearningWebApp.utilities;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming CSV reader (RFC 4180): comma-separated fields, optionally enclosed in double quotes,
+ * with doubled quotes as escapes and line breaks allowed inside quoted fields.
+ * Records are read one at a time, so arbitrarily large files can be processed with constant memory.
+ */
+public class CsvReader {
+
+    private final Reader reader;  // Source of the CSV text; should be buffered.
+    private int lineNumber = 1;  // Line on which the next record starts.
+    private int recordStartLine = 1;  // Line on which the last returned record started.
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next record.
+     * @return The fields of the record, or null at the end of the input.
+     * @throws IOException If the input cannot be read or a quoted field is not closed.
+     */
+    public List<String> readRecord() throws IOException {
+        int next = reader.read();
+        if (next == -1) {
+            return null;
+        }
+        recordStartLine = lineNumber;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;  // Inside a quoted field
+        while (true) {
+            if (quoted) {
+                if (next == -1) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordStartLine);
+                }
+                if (next == '"') {
+                    next = reader.read();
+                    if (next != '"') {
+                        quoted = false;  // Closing quote; the character after it is handled below
+                        continue;
+                    }
+                }
+                if (next == '\n') {
+                    lineNumber++;
+                }
+                field.append((char) next);
+            } else if (next == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (next == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (next == '\n' || next == -1) {
+                if (next == '\n') {
+                    lineNumber++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (next != '\r') {  // Windows line endings
+                field.append((char) next);
+            }
+            next = reader.read();
+        }
+    }
+
+    /**
+     * Returns the line on which the last returned record started, for error reporting.
+     * @return The 1-based line number.
+     */
+    public int getRecordStartLine() {
+        return recordStartLine;
+    }
+}
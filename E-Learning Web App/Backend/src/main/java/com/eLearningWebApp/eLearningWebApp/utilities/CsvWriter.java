@@ -0,0 +1,52 @@
+package com.eLearningWebApp.eLearningWebApp.utilities;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Minimal CSV writer (RFC 4180), the counterpart of CsvReader. Fields containing commas, quotes or line breaks
+ * are enclosed in double quotes with inner quotes doubled. Records are written straight to the target,
+ * so large exports need constant memory.
+ */
+public class CsvWriter {
+
+    private final Writer writer;  // Target of the CSV text; should be buffered.
+
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Writes one record, terminated by CRLF.
+     * @param fields The fields of the record; null is written as an empty field.
+     * @throws IOException If writing fails.
+     */
+    public void writeRecord(List<String> fields) throws IOException {
+        for (int index = 0; index < fields.size(); index++) {
+            if (index > 0) {
+                writer.write(',');
+            }
+            writeField(fields.get(index));
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(String field) throws IOException {
+        if (field == null) {
+            return;
+        }
+        boolean needsQuotes = false;
+        for (int index = 0; index < field.length() && !needsQuotes; index++) {
+            char character = field.charAt(index);
+            needsQuotes = character == ',' || character == '"' || character == '\n' || character == '\r';
+        }
+        if (!needsQuotes) {
+            writer.write(field);
+            return;
+        }
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
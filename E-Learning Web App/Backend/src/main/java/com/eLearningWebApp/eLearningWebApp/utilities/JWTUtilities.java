@@ -1,6 +1,9 @@
 package com.eLearningWebApp.eLearningWebApp.utilities;
 
+import com.eLearningWebApp.eLearningWebApp.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -19,7 +22,10 @@ import java.util.function.Function;
 public class JWTUtilities {
 
     private static final long EXPIRATION_TIME = 1000 * 600 * 7 * 24; // Token expiration time (7 days in milliseconds).
+    public static final String ROLE_CLAIM = "role";  // Claim that carries the user's role.
+    public static final String USER_ID_CLAIM = "uid";  // Claim that carries the user's ID.
     private final SecretKey key;  // Secret key for signing and verifying JWT tokens.
+    private final JwtParser jwtParser;  // Thread-safe parser built once and reused for every token.
 
     /**
      * Constructor initializes the secret key for signing JWT tokens.
@@ -29,20 +35,35 @@ public class JWTUtilities {
         String secretString = "974683758347635798234785673492Y8365T349857G23876T4738476987238476928364837659346875934786593784T593475T823";  // Example secret key.
         byte[] keyBytes = Base64.getDecoder().decode(secretString.getBytes(StandardCharsets.UTF_8));  // Decodes the Base64 secret string.
         this.key = new SecretKeySpec(keyBytes, "HmacSHA256");  // Creates the secret key using HmacSHA256 algorithm.
+        this.jwtParser = Jwts.parser().verifyWith(key).build();  // Builds the verifying parser once instead of per call.
+    }
+
+    /**
+     * Returns the lifetime of generated tokens.
+     * @return The token lifetime in milliseconds.
+     */
+    public static long getExpirationTime() {
+        return EXPIRATION_TIME;
     }
 
     /**
      * Generates a JWT token for the provided UserDetails.
      * The token includes the username, issue date, expiration date, and is signed with the secret key.
+     * For application users it also carries the role and user ID as signed claims, so the JWT filter can
+     * build the principal without loading the user from the database.
      * @param userDetails The UserDetails object containing user information.
      * @return The generated JWT token as a String.
      */
     public String generateToken(UserDetails userDetails) {
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .subject(userDetails.getUsername())  // Sets the username as the subject of the token.
                 .issuedAt(new Date(System.currentTimeMillis()))  // Sets the issue date to the current time.
-                .expiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))  // Sets the expiration date.
-                .signWith(key)  // Signs the token with the secret key.
+                .expiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME));  // Sets the expiration date.
+        if (userDetails instanceof User user) {
+            builder.claim(ROLE_CLAIM, user.getRole())  // Sets the role used for authorization.
+                    .claim(USER_ID_CLAIM, user.getId());  // Sets the ID of the user.
+        }
+        return builder.signWith(key)  // Signs the token with the secret key.
                 .compact();  // Builds the token and returns it as a String.
     }
 
@@ -55,6 +76,16 @@ public class JWTUtilities {
         return extractClaims(token, Claims::getSubject);  // Extracts the "subject" (username) claim from the token.
     }
 
+    /**
+     * Verifies the signature of the JWT token and returns all of its claims in a single parse.
+     * Expired or tampered tokens are rejected by the parser with a JwtException.
+     * @param token The JWT token to verify.
+     * @return The verified claims of the token.
+     */
+    public Claims extractAllClaims(String token) {
+        return jwtParser.parseSignedClaims(token).getPayload();  // Parses and verifies the token once.
+    }
+
     /**
      * Extracts a specific claim from the JWT token using a function.
      * @param token The JWT token from which to extract claims.
@@ -63,7 +94,7 @@ public class JWTUtilities {
      * @return The extracted claim.
      */
     private <T> T extractClaims(String token, Function<Claims, T> claimsTFunction) {
-        return claimsTFunction.apply(Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload());  // Parses the token and extracts the desired claim.
+        return claimsTFunction.apply(extractAllClaims(token));  // Parses the token and extracts the desired claim.
     }
 
     /**
@@ -73,17 +104,17 @@ public class JWTUtilities {
      * @return True if the token is valid, false otherwise.
      */
     public boolean isValidToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);  // Extracts the username from the token.
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));  // Checks if the username matches and if the token is not expired.
+        final Claims claims = extractAllClaims(token);  // Verifies the signature once and reads every claim from the same parse.
+        return (claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims));  // Checks if the username matches and if the token is not expired.
     }
 
     /**
-     * Checks if the JWT token has expired.
-     * @param token The JWT token to check.
+     * Checks if the verified claims of a JWT token have expired.
+     * @param claims The verified claims of the token.
      * @return True if the token has expired, false otherwise.
      */
-    private boolean isTokenExpired(String token) {
-        return extractClaims(token, Claims::getExpiration).before(new Date());  // Checks if the expiration date is before the current time.
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());  // Checks if the expiration date is before the current time.
     }
 
 }
@@ -0,0 +1,309 @@
+package com.eLearningWebApp.eLearningWebApp.utilities;
+
+import com.eLearningWebApp.eLearningWebApp.dto.LeaderboardEntryDTO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory ordered ranking of users by score.
+ * Users are kept in a treap (randomized balanced binary search tree) ordered by score descending and id ascending,
+ * where every node also knows the size of its subtree. That makes score updates, rank lookups and
+ * "k-th place" lookups O(log n) without ever sorting the whole user table.
+ */
+public class LeaderboardRanking {
+
+    /**
+     * A single ranked user. The score is part of the tree key, so a score change is a remove followed by an insert.
+     */
+    private static final class Node {
+        private final long userId;
+        private final int score;
+        private final int priority;  // Random heap priority that keeps the tree balanced on average.
+        private String name;
+        private String email;
+        private Node left;
+        private Node right;
+        private int size = 1;  // Number of nodes in the subtree rooted at this node.
+
+        private Node(long userId, String name, String email, int score) {
+            this.userId = userId;
+            this.name = name;
+            this.email = email;
+            this.score = score;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();  // Many concurrent readers, one writer.
+    private final Map<Long, Node> nodesByUserId = new HashMap<>();
+    private final Map<String, Node> nodesByEmail = new HashMap<>();
+    private Node root;
+
+    /**
+     * Adds a user to the ranking or moves an already ranked user to their new position.
+     * @param userId The ID of the user.
+     * @param name The display name of the user.
+     * @param email The email of the user, used for "my rank" lookups.
+     * @param score The current score of the user.
+     */
+    public void upsert(long userId, String name, String email, int score) {
+        lock.writeLock().lock();
+        try {
+            Node existing = nodesByUserId.get(userId);
+            if (existing != null && existing.score == score) {
+                // Same position in the tree, only the descriptive fields may have changed
+                nodesByEmail.remove(existing.email);
+                existing.name = name;
+                existing.email = email;
+                nodesByEmail.put(email, existing);
+                return;
+            }
+            if (existing != null) {
+                detach(existing);
+            }
+            Node node = new Node(userId, name, email, score);
+            Node[] parts = split(root, score, userId);
+            root = merge(merge(parts[0], node), parts[1]);
+            nodesByUserId.put(userId, node);
+            nodesByEmail.put(email, node);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a user from the ranking. Does nothing if the user is not ranked.
+     * @param userId The ID of the user to remove.
+     */
+    public void remove(long userId) {
+        lock.writeLock().lock();
+        try {
+            Node existing = nodesByUserId.get(userId);
+            if (existing != null) {
+                detach(existing);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole ranking with the given entries. Used when the ranking is rebuilt from the database.
+     * @param entries The ranked users; their rank field is ignored.
+     */
+    public void replaceAll(List<LeaderboardEntryDTO> entries) {
+        lock.writeLock().lock();
+        try {
+            root = null;
+            nodesByUserId.clear();
+            nodesByEmail.clear();
+            for (LeaderboardEntryDTO entry : entries) {
+                Node node = new Node(entry.getId(), entry.getName(), entry.getEmail(), entry.getUserScore());
+                Node[] parts = split(root, node.score, node.userId);
+                root = merge(merge(parts[0], node), parts[1]);
+                nodesByUserId.put(node.userId, node);
+                nodesByEmail.put(node.email, node);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of ranked users.
+     * @return The size of the ranking.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns a page of the ranking starting at the given zero-based position.
+     * @param offset The zero-based position of the first entry.
+     * @param limit The maximum number of entries to return.
+     * @return The entries in rank order, with 1-based ranks filled in.
+     */
+    public List<LeaderboardEntryDTO> page(int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            int total = size(root);
+            if (offset < 0 || offset >= total || limit <= 0) {
+                return Collections.emptyList();
+            }
+            int end = Math.min(total, offset + limit);
+            List<LeaderboardEntryDTO> entries = new ArrayList<>(end - offset);
+            for (int position = offset; position < end; position++) {
+                entries.add(toEntry(select(position), position + 1));
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the ranking entry of a user by their email.
+     * @param email The email of the user.
+     * @return The entry with its 1-based rank, or null if the user is not ranked.
+     */
+    public LeaderboardEntryDTO findByEmail(String email) {
+        lock.readLock().lock();
+        try {
+            Node node = nodesByEmail.get(email);
+            return node == null ? null : toEntry(node, rankOf(node));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the entries ranked directly above and below a user, including the user.
+     * @param email The email of the user.
+     * @param radius How many places above and below the user to include.
+     * @return The entries in rank order, or an empty list if the user is not ranked.
+     */
+    public List<LeaderboardEntryDTO> around(String email, int radius) {
+        lock.readLock().lock();
+        try {
+            Node node = nodesByEmail.get(email);
+            if (node == null) {
+                return Collections.emptyList();
+            }
+            int position = rankOf(node) - 1;
+            int from = Math.max(0, position - radius);
+            return page(from, position - from + radius + 1);  // Read lock is reentrant.
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Compares two tree keys: higher score first, then lower user ID first.
+     */
+    private static int compare(int scoreA, long userIdA, int scoreB, long userIdB) {
+        if (scoreA != scoreB) {
+            return scoreA > scoreB ? -1 : 1;
+        }
+        return Long.compare(userIdA, userIdB);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    /**
+     * Splits a subtree into the nodes ordered before the given key and the nodes ordered at or after it.
+     */
+    private static Node[] split(Node node, int score, long userId) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (compare(node.score, node.userId, score, userId) < 0) {
+            Node[] parts = split(node.right, score, userId);
+            node.right = parts[0];
+            update(node);
+            return new Node[]{node, parts[1]};
+        }
+        Node[] parts = split(node.left, score, userId);
+        node.left = parts[1];
+        update(node);
+        return new Node[]{parts[0], node};
+    }
+
+    /**
+     * Merges two subtrees where every node of the left one is ordered before every node of the right one.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    /**
+     * Removes a node from the tree and from the lookup maps.
+     */
+    private void detach(Node node) {
+        Node[] parts = split(root, node.score, node.userId);
+        Node[] rest = split(parts[1], node.score, node.userId + 1);  // The only node in rest[0] is the detached node.
+        root = merge(parts[0], rest[1]);
+        nodesByUserId.remove(node.userId);
+        nodesByEmail.remove(node.email);
+    }
+
+    /**
+     * Returns the node at the given zero-based position in rank order.
+     */
+    private Node select(int position) {
+        Node node = root;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (position < leftSize) {
+                node = node.left;
+            } else if (position == leftSize) {
+                return node;
+            } else {
+                position -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        throw new IndexOutOfBoundsException("Leaderboard position out of range");
+    }
+
+    /**
+     * Returns the 1-based rank of a node that is present in the tree.
+     */
+    private int rankOf(Node target) {
+        int before = 0;
+        Node node = root;
+        while (node != null) {
+            int comparison = compare(target.score, target.userId, node.score, node.userId);
+            if (comparison < 0) {
+                node = node.left;
+            } else {
+                before += size(node.left);
+                if (comparison == 0) {
+                    return before + 1;
+                }
+                before += 1;
+                node = node.right;
+            }
+        }
+        throw new IllegalStateException("Ranked user is missing from the leaderboard tree");
+    }
+
+    private static LeaderboardEntryDTO toEntry(Node node, int rank) {
+        LeaderboardEntryDTO entry = new LeaderboardEntryDTO();
+        entry.setRank(rank);
+        entry.setId(node.userId);
+        entry.setName(node.name);
+        entry.setEmail(node.email);
+        entry.setUserScore(node.score);
+        return entry;
+    }
+}
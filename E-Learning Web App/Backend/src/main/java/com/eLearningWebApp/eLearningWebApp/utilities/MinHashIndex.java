@@ -0,0 +1,406 @@
+package com.eLearningWebApp.eLearningWebApp.utilities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory MinHash/LSH index that finds near-duplicate texts, keyed by long IDs.
+ * A text is reduced to its set of character shingles and summarized by a MinHash signature, whose agreement with
+ * another signature estimates the Jaccard similarity of the two shingle sets. The signature is cut into bands; texts
+ * sharing one band are candidates, and only candidates are compared. A lookup therefore costs one signature and a
+ * few table probes, independent of the number of indexed texts.
+ * Signatures live in one flat int array and the band tables are open-addressing int arrays, so an entry costs a few
+ * hundred bytes. Removed texts are only marked as deleted until a quarter of the index is deleted and it is rebuilt.
+ */
+public class MinHashIndex {
+
+    /**
+     * A similar text.
+     * @param key The key of the text.
+     * @param similarity The estimated Jaccard similarity of the shingle sets, between 0 and 1.
+     */
+    public record Match(long key, double similarity) {
+    }
+
+    private static final int SHINGLE_LENGTH = 4;  // Characters per shingle; reworded copies keep most of them.
+    private static final int BANDS = 16;
+    private static final int ROWS = 4;  // Signature values per band; 16 x 4 finds 99% of the pairs at 0.7.
+    private static final int HASHES = BANDS * ROWS;
+    private static final int MAX_BUCKET_SIZE = 32;  // Texts kept per band bucket, so huge clusters stay cheap.
+    private static final int MIN_DELETED_FOR_COMPACTION = 1024;  // Small indexes are never compacted.
+    private static final long[] SEEDS = new long[HASHES];
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int index = 0; index < HASHES; index++) {
+            seed = mix(seed + index);
+            SEEDS[index] = seed;
+        }
+    }
+
+    private final Map<Long, Integer> documentsByKey = new HashMap<>();  // Key -> current document number.
+    private long[] keys = new long[1024];  // Document number -> key.
+    private boolean[] live = new boolean[1024];  // Document number -> not deleted.
+    private int[] signatures = new int[1024 * HASHES];  // Document number * HASHES -> signature.
+    private int[] bandTable = new int[4096];  // Document number + 1 per band bucket entry, 0 when empty.
+    private int bandEntries;  // Used slots of the band table.
+    private int documentCount;  // Document numbers handed out so far.
+    private int deletedCount;  // Documents marked as deleted since the last rebuild.
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Adds a text, replacing an earlier version with the same key.
+     * @param key The key of the text.
+     * @param text The text.
+     */
+    public void put(long key, String text) {
+        int[] signature = signature(text);
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            addLocked(key, signature);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a text.
+     * @param key The key of the text; unknown keys are ignored.
+     */
+    public void remove(long key) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces all texts in one step.
+     * @param texts The texts by key.
+     */
+    public void replaceAll(Map<Long, String> texts) {
+        Map<Long, int[]> computed = new HashMap<>();
+        texts.forEach((key, text) -> computed.put(key, signature(text)));
+        lock.writeLock().lock();
+        try {
+            rebuildLocked(computed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the indexed texts that are at least as similar to the given text as the threshold.
+     * @param text The text to check.
+     * @param threshold The lowest estimated similarity reported, between 0 and 1.
+     * @param excludeKey A key to leave out, e.g. the text being updated, or null.
+     * @param limit The maximum number of matches.
+     * @return The matches, most similar first.
+     */
+    public List<Match> findSimilar(String text, double threshold, Long excludeKey, int limit) {
+        int[] signature = signature(text);
+        lock.readLock().lock();
+        try {
+            Map<Integer, Double> candidates = new HashMap<>();
+            for (int band = 0; band < BANDS; band++) {
+                int mask = bandTable.length - 1;
+                for (int slot = bandHash(signature, 0, band) & mask; bandTable[slot] != 0; slot = (slot + 1) & mask) {
+                    int document = bandTable[slot] - 1;
+                    if (live[document] && !candidates.containsKey(document) && bandEquals(signature, 0, document, band)
+                            && (excludeKey == null || keys[document] != excludeKey)) {
+                        candidates.put(document, similarity(signature, 0, document));
+                    }
+                }
+            }
+            List<Match> matches = new ArrayList<>();
+            candidates.forEach((document, similarity) -> {
+                if (similarity >= threshold) {
+                    matches.add(new Match(keys[document], similarity));
+                }
+            });
+            matches.sort(Comparator.comparingDouble(Match::similarity).reversed().thenComparingLong(Match::key));
+            return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Groups all indexed texts into clusters of near-duplicates. Two texts end up in one cluster if a chain of pairs,
+     * each at least as similar as the threshold, connects them.
+     * @param threshold The lowest estimated similarity of a linked pair, between 0 and 1.
+     * @return The clusters with at least two texts, each sorted by key, largest clusters first.
+     */
+    public List<List<Long>> clusters(double threshold) {
+        lock.readLock().lock();
+        try {
+            int[] parents = new int[documentCount];
+            for (int document = 0; document < documentCount; document++) {
+                parents[document] = document;
+            }
+            int mask = bandTable.length - 1;
+            for (int document = 0; document < documentCount; document++) {
+                if (!live[document]) {
+                    continue;
+                }
+                int offset = document * HASHES;
+                for (int band = 0; band < BANDS; band++) {
+                    for (int slot = bandHash(signatures, offset, band) & mask; bandTable[slot] != 0; slot = (slot + 1) & mask) {
+                        int other = bandTable[slot] - 1;
+                        if (other < document && live[other] && find(parents, other) != find(parents, document)
+                                && bandEquals(signatures, offset, other, band)
+                                && similarity(signatures, offset, other) >= threshold) {
+                            parents[find(parents, other)] = find(parents, document);
+                        }
+                    }
+                }
+            }
+
+            Map<Integer, List<Long>> clusters = new HashMap<>();
+            for (int document = 0; document < documentCount; document++) {
+                if (live[document]) {
+                    clusters.computeIfAbsent(find(parents, document), root -> new ArrayList<>()).add(keys[document]);
+                }
+            }
+            List<List<Long>> result = new ArrayList<>();
+            for (List<Long> cluster : clusters.values()) {
+                if (cluster.size() > 1) {
+                    cluster.sort(null);
+                    result.add(cluster);
+                }
+            }
+            result.sort(Comparator.<List<Long>>comparingInt(List::size).reversed().thenComparing(cluster -> cluster.get(0)));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estimates the similarity of two indexed texts.
+     * @return The estimated Jaccard similarity, or 0 if either key is unknown.
+     */
+    public double similarity(long firstKey, long secondKey) {
+        lock.readLock().lock();
+        try {
+            Integer first = documentsByKey.get(firstKey);
+            Integer second = documentsByKey.get(secondKey);
+            if (first == null || second == null) {
+                return 0;
+            }
+            return similarity(signatures, first * HASHES, second);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed texts.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentsByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Computes the MinHash signature of the character shingles of a text, ignoring case, punctuation and spacing.
+     */
+    static int[] signature(String text) {
+        StringBuilder normalized = new StringBuilder(text.length() + 2).append(' ');
+        for (int index = 0; index < text.length(); index++) {
+            char character = text.charAt(index);
+            if (Character.isLetterOrDigit(character)) {
+                normalized.append(Character.toLowerCase(character));
+            } else if (normalized.charAt(normalized.length() - 1) != ' ') {
+                normalized.append(' ');
+            }
+        }
+        if (normalized.charAt(normalized.length() - 1) != ' ') {
+            normalized.append(' ');
+        }
+
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, normalized.length() - SHINGLE_LENGTH + 1);  // A very short text is one shingle
+        for (int start = 0; start < shingles; start++) {
+            long shingle = 0xCBF29CE484222325L;  // FNV-1a over the characters of the shingle
+            for (int index = start; index < Math.min(normalized.length(), start + SHINGLE_LENGTH); index++) {
+                shingle = (shingle ^ normalized.charAt(index)) * 0x100000001B3L;
+            }
+            for (int hash = 0; hash < HASHES; hash++) {
+                int value = (int) (mix(shingle ^ SEEDS[hash]) >>> 33);  // Non-negative, so MAX_VALUE is the identity
+                if (value < signature[hash]) {
+                    signature[hash] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * The finalizer of SplitMix64, a cheap hash with good avalanche behaviour.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Hashes one band of a signature together with the band number.
+     */
+    private static int bandHash(int[] signature, int offset, int band) {
+        long hash = band;
+        for (int row = 0; row < ROWS; row++) {
+            hash = mix(hash * 31 + signature[offset + band * ROWS + row]);
+        }
+        return (int) hash;
+    }
+
+    /**
+     * Checks whether a band of a signature equals the same band of an indexed document.
+     */
+    private boolean bandEquals(int[] signature, int offset, int document, int band) {
+        int documentOffset = document * HASHES + band * ROWS;
+        for (int row = 0; row < ROWS; row++) {
+            if (signature[offset + band * ROWS + row] != signatures[documentOffset + row]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the share of signature values a signature has in common with an indexed document.
+     */
+    private double similarity(int[] signature, int offset, int document) {
+        int documentOffset = document * HASHES;
+        int equal = 0;
+        for (int hash = 0; hash < HASHES; hash++) {
+            if (signature[offset + hash] == signatures[documentOffset + hash]) {
+                equal++;
+            }
+        }
+        return (double) equal / HASHES;
+    }
+
+    private static int find(int[] parents, int document) {
+        while (parents[document] != document) {
+            parents[document] = parents[parents[document]];  // Path halving
+            document = parents[document];
+        }
+        return document;
+    }
+
+    /**
+     * Adds a signature under a new document number; the caller holds the write lock.
+     */
+    private void addLocked(long key, int[] signature) {
+        if (documentCount == keys.length) {
+            keys = Arrays.copyOf(keys, documentCount * 2);
+            live = Arrays.copyOf(live, documentCount * 2);
+            signatures = Arrays.copyOf(signatures, documentCount * 2 * HASHES);
+        }
+        if ((bandEntries + BANDS) * 2 > bandTable.length) {
+            growBandTable();
+        }
+        int document = documentCount++;
+        keys[document] = key;
+        live[document] = true;
+        System.arraycopy(signature, 0, signatures, document * HASHES, HASHES);
+        documentsByKey.put(key, document);
+        insertBands(document);
+    }
+
+    /**
+     * Adds the bands of a document to the band table, skipping buckets that are already full.
+     */
+    private void insertBands(int document) {
+        int mask = bandTable.length - 1;
+        int offset = document * HASHES;
+        for (int band = 0; band < BANDS; band++) {
+            int bucketSize = 0;
+            int slot = bandHash(signatures, offset, band) & mask;
+            for (; bandTable[slot] != 0; slot = (slot + 1) & mask) {
+                int other = bandTable[slot] - 1;
+                if (live[other] && bandEquals(signatures, offset, other, band)) {
+                    bucketSize++;
+                }
+            }
+            if (bucketSize < MAX_BUCKET_SIZE) {
+                bandTable[slot] = document + 1;
+                bandEntries++;
+            }
+        }
+    }
+
+    /**
+     * Doubles the band table and re-inserts the live documents.
+     */
+    private void growBandTable() {
+        bandTable = new int[bandTable.length * 2];
+        bandEntries = 0;
+        for (int document = 0; document < documentCount; document++) {
+            if (live[document]) {
+                insertBands(document);
+            }
+        }
+    }
+
+    /**
+     * Marks a document as deleted; the caller holds the write lock.
+     */
+    private void removeLocked(long key) {
+        Integer document = documentsByKey.remove(key);
+        if (document != null) {
+            live[document] = false;
+            deletedCount++;
+        }
+    }
+
+    /**
+     * Rebuilds the index without the deleted documents once they make up a quarter of it.
+     */
+    private void compactIfNeeded() {
+        if (deletedCount >= MIN_DELETED_FOR_COMPACTION && deletedCount * 4 >= documentCount) {
+            Map<Long, int[]> remaining = new HashMap<>();
+            documentsByKey.forEach((key, document) ->
+                    remaining.put(key, Arrays.copyOfRange(signatures, document * HASHES, (document + 1) * HASHES)));
+            rebuildLocked(remaining);
+        }
+    }
+
+    /**
+     * Rebuilds the whole index from signatures; the caller holds the write lock.
+     */
+    private void rebuildLocked(Map<Long, int[]> signaturesByKey) {
+        int capacity = Math.max(1024, Integer.highestOneBit(Math.max(1, signaturesByKey.size())) * 2);
+        documentsByKey.clear();
+        keys = new long[capacity];
+        live = new boolean[capacity];
+        signatures = new int[capacity * HASHES];
+        bandTable = new int[Math.max(4096, Integer.highestOneBit(Math.max(1, signaturesByKey.size() * BANDS)) * 4)];  // At most half full
+        bandEntries = 0;
+        documentCount = 0;
+        deletedCount = 0;
+        List<Long> sortedKeys = new ArrayList<>(signaturesByKey.keySet());
+        sortedKeys.sort(null);
+        for (Long key : sortedKeys) {
+            addLocked(key, signaturesByKey.get(key));
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.eLearningWebApp.eLearningWebApp.utilities;
+
+import com.eLearningWebApp.eLearningWebApp.dto.QuizQuestionDTO;
+import com.eLearningWebApp.eLearningWebApp.dto.QuizSampleQuestionDTO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * In-memory state of one quiz attempt. The answer key is captured when the attempt starts, so grading an answer
+ * is a constant-time lookup that never touches the database or the catalog, and later edits of a question
+ * do not change an attempt that is already running.
+ * Answers may arrive concurrently (e.g. a double click), so every question can be answered only once.
+ */
+public class QuizAttempt {
+
+    public static final int POINTS_PER_CORRECT_ANSWER = 50;  // Points awarded for each correct answer.
+
+    private static final int UNANSWERED = 0;
+    private static final int ANSWERED_CORRECTLY = 1;
+    private static final int ANSWERED_WRONGLY = 2;
+
+    private final String attemptId;
+    private final String email;  // Owner of the attempt.
+    private final Long userId;  // ID of the owner, which keys their answer statistics.
+    private final List<QuizSampleQuestionDTO> questions;  // Questions as shown to the student.
+    private final Map<Long, Integer> positionsById;  // Question ID -> position in the attempt.
+    private final int[] correctOptions;  // Correct shown option (1 to 4) per position.
+    private final AtomicIntegerArray answers;  // Answer state per position.
+    private final AtomicInteger answeredCount = new AtomicInteger();
+    private final AtomicInteger correctCount = new AtomicInteger();
+    private final AtomicBoolean finished = new AtomicBoolean();
+    private final long startedAtMillis;
+    private volatile long lastActivityMillis;
+
+    /**
+     * Starts an attempt over the given questions, with answer options shuffled by the attempt seed.
+     * @param attemptId The unique ID of the attempt.
+     * @param email The email of the student taking the attempt.
+     * @param userId The ID of the student taking the attempt.
+     * @param picked The picked quiz questions, including their correct answers.
+     * @param seed The seed used to shuffle the answer options.
+     */
+    public QuizAttempt(String attemptId, String email, Long userId, List<QuizQuestionDTO> picked, long seed) {
+        this.attemptId = attemptId;
+        this.email = email;
+        this.userId = userId;
+        List<QuizSampleQuestionDTO> shown = new ArrayList<>(picked.size());
+        Map<Long, Integer> positions = new HashMap<>(picked.size() * 2);
+        this.correctOptions = new int[picked.size()];
+        for (int position = 0; position < picked.size(); position++) {
+            QuizQuestionDTO question = picked.get(position);
+            shown.add(QuizSampler.toSampleQuestion(question, seed));
+            positions.put(question.getId(), position);
+            int[] order = QuizSampler.optionOrder(seed, question.getId());
+            for (int shownOption = 0; shownOption < order.length; shownOption++) {
+                if (order[shownOption] == question.getCorrectAnswer()) {
+                    correctOptions[position] = shownOption + 1;  // Remember where the correct answer is shown
+                }
+            }
+        }
+        this.questions = Collections.unmodifiableList(shown);
+        this.positionsById = positions;
+        this.answers = new AtomicIntegerArray(picked.size());
+        this.startedAtMillis = System.currentTimeMillis();
+        this.lastActivityMillis = startedAtMillis;
+    }
+
+    /**
+     * Grades an answer.
+     * @param questionId The ID of the answered question.
+     * @param selectedOption The selected option as shown to the student, from 1 to 4.
+     * @return True if the answer is correct, false otherwise.
+     * @throws IllegalArgumentException If the question is not part of the attempt or the option is out of range.
+     * @throws IllegalStateException If the attempt is finished or the question was already answered.
+     */
+    public boolean answer(Long questionId, int selectedOption) {
+        Integer position = positionsById.get(questionId);
+        if (position == null) {
+            throw new IllegalArgumentException("Question is not part of this attempt");
+        }
+        if (selectedOption < 1 || selectedOption > QuizSampler.OPTION_COUNT) {
+            throw new IllegalArgumentException("Selected option must be between 1 and " + QuizSampler.OPTION_COUNT);
+        }
+        if (finished.get()) {
+            throw new IllegalStateException("Quiz attempt is already finished");
+        }
+        boolean correct = correctOptions[position] == selectedOption;
+        if (!answers.compareAndSet(position, UNANSWERED, correct ? ANSWERED_CORRECTLY : ANSWERED_WRONGLY)) {
+            throw new IllegalStateException("Question was already answered");
+        }
+        answeredCount.incrementAndGet();
+        if (correct) {
+            correctCount.incrementAndGet();
+        }
+        lastActivityMillis = System.currentTimeMillis();
+        return correct;
+    }
+
+    /**
+     * Marks the attempt as finished. Unanswered questions count as wrong.
+     * @return True if this call finished the attempt, false if it was already finished.
+     */
+    public boolean finish() {
+        lastActivityMillis = System.currentTimeMillis();
+        return finished.compareAndSet(false, true);
+    }
+
+    /**
+     * Checks if the attempt has been idle for longer than the given time.
+     * @param nowMillis The current time in epoch milliseconds.
+     * @param ttlMillis The allowed idle time in milliseconds.
+     * @return True if the attempt should be evicted.
+     */
+    public boolean isExpired(long nowMillis, long ttlMillis) {
+        return nowMillis - lastActivityMillis > ttlMillis;
+    }
+
+    public String getAttemptId() {
+        return attemptId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public List<QuizSampleQuestionDTO> getQuestions() {
+        return questions;
+    }
+
+    public int getTotalQuestions() {
+        return questions.size();
+    }
+
+    public int getAnsweredQuestions() {
+        return answeredCount.get();
+    }
+
+    public int getCorrectAnswers() {
+        return correctCount.get();
+    }
+
+    public int getScore() {
+        return correctCount.get() * POINTS_PER_CORRECT_ANSWER;
+    }
+
+    public long getStartedAtMillis() {
+        return startedAtMillis;
+    }
+
+    public long getLastActivityMillis() {
+        return lastActivityMillis;
+    }
+
+    public boolean isFinished() {
+        return finished.get();
+    }
+}
@@ -0,0 +1,191 @@
+package com.eLearningWebApp.eLearningWebApp.utilities;
+
+import com.eLearningWebApp.eLearningWebApp.dto.QuizQuestionDTO;
+import com.eLearningWebApp.eLearningWebApp.dto.QuizQuestionListResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Immutable, versioned snapshot of the whole quiz catalog.
+ * It holds the questions ordered by ID together with the already serialized "getAllQuizzes" response,
+ * its gzip-compressed form, its Smile form and an ETag per form derived from the content. A new snapshot is built for every change,
+ * so readers can share one instance without any locking.
+ * The contained DTOs are shared between all readers and must not be modified.
+ */
+public final class QuizCatalogSnapshot {
+
+    private final List<QuizQuestionDTO> questions;  // Questions ordered by ID.
+    private final Map<Long, QuizQuestionDTO> questionsById;  // The same questions, keyed by ID.
+    private final byte[] json;  // Serialized "getAllQuizzes" response.
+    private final byte[] gzippedJson;  // The serialized response, gzip-compressed.
+    private final byte[] smile;  // The response serialized as Smile.
+    private final String eTag;  // Strong ETag of the serialized response, including the quotes.
+    private final String gzipETag;  // Strong ETag of the gzip-compressed response; another representation needs another tag.
+    private final String smileETag;  // Strong ETag of the Smile response.
+
+    private QuizCatalogSnapshot(Map<Long, QuizQuestionDTO> questionsById, ResponseWriters responseWriters) {
+        this.questionsById = Collections.unmodifiableMap(questionsById);
+        this.questions = List.copyOf(questionsById.values());
+
+        QuizQuestionListResponse response = new QuizQuestionListResponse();
+        response.setQuizQuestionList(questions);
+        this.json = responseWriters.write(response, false);
+        this.smile = responseWriters.write(response, true);
+        try {
+            this.gzippedJson = gzip(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not compress the quiz catalog", e);
+        }
+        String hash = hash(json);
+        this.eTag = "\"" + hash + "\"";
+        this.gzipETag = "\"" + hash + "-gz\"";
+        this.smileETag = "\"" + hash + "-smile\"";
+    }
+
+    /**
+     * Builds a snapshot from the given questions.
+     * @param questions The questions of the catalog, in any order.
+     * @param responseWriters The writers used to serialize the catalog.
+     * @return The new snapshot.
+     */
+    public static QuizCatalogSnapshot of(Collection<QuizQuestionDTO> questions, ResponseWriters responseWriters) {
+        List<QuizQuestionDTO> sorted = new ArrayList<>(questions);
+        sorted.sort((first, second) -> Long.compare(first.getId(), second.getId()));
+        Map<Long, QuizQuestionDTO> byId = new LinkedHashMap<>();
+        for (QuizQuestionDTO question : sorted) {
+            byId.put(question.getId(), question);
+        }
+        return new QuizCatalogSnapshot(byId, responseWriters);
+    }
+
+    /**
+     * Returns a new snapshot in which the given questions are added or replace the ones with the same ID.
+     * @param changedQuestions The added or updated questions.
+     * @param responseWriters The writers used to serialize the catalog.
+     * @return The new snapshot; this snapshot is left unchanged.
+     */
+    public QuizCatalogSnapshot withQuestions(Collection<QuizQuestionDTO> changedQuestions, ResponseWriters responseWriters) {
+        List<QuizQuestionDTO> merged = new ArrayList<>(questionsById.size() + changedQuestions.size());
+        Map<Long, QuizQuestionDTO> changedById = new LinkedHashMap<>();
+        for (QuizQuestionDTO question : changedQuestions) {
+            changedById.put(question.getId(), question);
+        }
+        for (QuizQuestionDTO question : questions) {
+            if (!changedById.containsKey(question.getId())) {
+                merged.add(question);
+            }
+        }
+        merged.addAll(changedById.values());
+        return of(merged, responseWriters);
+    }
+
+    /**
+     * Returns a new snapshot without the question with the given ID.
+     * @param questionId The ID of the deleted question.
+     * @param responseWriters The writers used to serialize the catalog.
+     * @return The new snapshot; this snapshot is left unchanged.
+     */
+    public QuizCatalogSnapshot withoutQuestion(Long questionId, ResponseWriters responseWriters) {
+        Map<Long, QuizQuestionDTO> remaining = new LinkedHashMap<>(questionsById);
+        remaining.remove(questionId);
+        return new QuizCatalogSnapshot(remaining, responseWriters);
+    }
+
+    /**
+     * Checks an If-None-Match request header against this snapshot's ETags of one format.
+     * The JSON and the gzip-compressed JSON tags both match, as they carry the same content.
+     * @param ifNoneMatch The header value, possibly a comma-separated list of (weak) ETags or "*".
+     * @param smile Whether the client asks for the Smile representation.
+     * @return True if the client already holds this version of the catalog.
+     */
+    public boolean matches(String ifNoneMatch, boolean smile) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);  // Weak comparison is enough for GET revalidation
+            }
+            if (tag.equals("*") || (smile ? tag.equals(smileETag) : tag.equals(eTag) || tag.equals(gzipETag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<QuizQuestionDTO> getQuestions() {
+        return questions;
+    }
+
+    public QuizQuestionDTO getQuestion(Long questionId) {
+        return questionsById.get(questionId);
+    }
+
+    public int size() {
+        return questions.size();
+    }
+
+    /**
+     * Returns the serialized response. The array is shared and must not be modified.
+     * @return The JSON bytes of the "getAllQuizzes" response.
+     */
+    public byte[] getJson() {
+        return json;
+    }
+
+    /**
+     * Returns the gzip-compressed serialized response. The array is shared and must not be modified.
+     * @return The gzip bytes of the "getAllQuizzes" response.
+     */
+    public byte[] getGzippedJson() {
+        return gzippedJson;
+    }
+
+    /**
+     * Returns the response serialized as Smile. The array is shared and must not be modified.
+     * @return The Smile bytes of the "getAllQuizzes" response.
+     */
+    public byte[] getSmile() {
+        return smile;
+    }
+
+    /**
+     * Returns the strong ETag of one representation of the response, including the quotes.
+     * @param smile Whether the representation is Smile.
+     * @param gzip Whether the representation is gzip-compressed JSON; ignored for Smile, which is never compressed.
+     * @return The ETag.
+     */
+    public String getETag(boolean smile, boolean gzip) {
+        return smile ? smileETag : gzip ? gzipETag : eTag;
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, content.length / 4));
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(buffer)) {
+            gzipStream.write(content);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest, 0, 16);  // 128 bits are plenty to tell versions apart
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
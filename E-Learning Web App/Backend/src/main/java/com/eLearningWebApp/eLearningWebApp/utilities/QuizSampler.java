@@ -0,0 +1,149 @@
+package com.eLearningWebApp.eLearningWebApp.utilities;
+
+import com.eLearningWebApp.eLearningWebApp.dto.QuizQuestionDTO;
+import com.eLearningWebApp.eLearningWebApp.dto.QuizSampleQuestionDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Utility class for picking random quiz questions and shuffling their answer options.
+ * Everything is derived from a seed, so the same seed always yields the same questions in the same order
+ * with the same option order, which lets the server map a chosen option back without storing anything.
+ */
+public class QuizSampler {
+
+    public static final int OPTION_COUNT = 4;  // Every quiz question has four answer options.
+
+    private static final int CANDIDATES_PER_PICK = 8;  // Random candidates drawn per question picked by sampleNear.
+
+    /**
+     * Picks distinct random questions. Only the picked positions are visited, so the cost depends on
+     * the number of requested questions and not on the size of the bank (Floyd's sampling algorithm).
+     * @param questions All questions of the bank.
+     * @param count The number of questions to pick; the whole bank is returned if it is smaller.
+     * @param seed The seed of the attempt.
+     * @return The picked questions in random order.
+     */
+    public static List<QuizQuestionDTO> sample(List<QuizQuestionDTO> questions, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int size = questions.size();
+        int picks = Math.min(count, size);
+        Set<Integer> chosen = new HashSet<>(picks * 2);
+        List<QuizQuestionDTO> sample = new ArrayList<>(picks);
+        for (int bound = size - picks; bound < size; bound++) {
+            int index = random.nextInt(bound + 1);
+            if (!chosen.add(index)) {
+                index = bound;  // The index was taken, so the current bound is guaranteed to be free
+                chosen.add(index);
+            }
+            sample.add(questions.get(index));
+        }
+        // Floyd's algorithm yields a random set but not a random order, so shuffle the picks (Fisher-Yates)
+        for (int position = sample.size() - 1; position > 0; position--) {
+            int other = random.nextInt(position + 1);
+            QuizQuestionDTO swapped = sample.get(position);
+            sample.set(position, sample.get(other));
+            sample.set(other, swapped);
+        }
+        return sample;
+    }
+
+    /**
+     * Picks distinct random questions that lie close to a target, e.g. questions of a suitable difficulty.
+     * A few random candidates are drawn per requested question and the closest of them are kept, so the cost
+     * still depends on the number of requested questions and not on the size of the bank. Candidates at the same
+     * distance, e.g. questions nobody has answered yet, are picked uniformly at random.
+     * @param questions All questions of the bank.
+     * @param count The number of questions to pick; the whole bank is returned if it is smaller.
+     * @param seed The seed of the attempt.
+     * @param distance The distance of a question from the target.
+     * @return The picked questions in random order.
+     */
+    public static List<QuizQuestionDTO> sampleNear(List<QuizQuestionDTO> questions, int count, long seed,
+                                                   ToDoubleFunction<QuizQuestionDTO> distance) {
+        List<QuizQuestionDTO> candidates = sample(questions, count * CANDIDATES_PER_PICK, seed);
+        int picks = Math.min(count, candidates.size());
+        double[] distances = new double[candidates.size()];
+        Integer[] order = new Integer[candidates.size()];
+        for (int position = 0; position < candidates.size(); position++) {
+            distances[position] = distance.applyAsDouble(candidates.get(position));
+            order[position] = position;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(position -> distances[position]));  // Stable, ties keep their random order
+        List<QuizQuestionDTO> sample = new ArrayList<>(picks);
+        for (int position = 0; position < picks; position++) {
+            sample.add(candidates.get(order[position]));
+        }
+        SplittableRandom random = new SplittableRandom(~seed);
+        for (int position = sample.size() - 1; position > 0; position--) {  // Hide the difficulty order (Fisher-Yates)
+            int other = random.nextInt(position + 1);
+            QuizQuestionDTO swapped = sample.get(position);
+            sample.set(position, sample.get(other));
+            sample.set(other, swapped);
+        }
+        return sample;
+    }
+
+    /**
+     * Returns the order in which the answer options of a question are shown for an attempt.
+     * @param seed The seed of the attempt.
+     * @param questionId The ID of the question.
+     * @return The original option numbers (1 to 4) in the order they are shown.
+     */
+    public static int[] optionOrder(long seed, long questionId) {
+        SplittableRandom random = new SplittableRandom(seed ^ (questionId * 0x9E3779B97F4A7C15L));  // Distinct stream per question
+        int[] order = new int[OPTION_COUNT];
+        for (int position = 0; position < OPTION_COUNT; position++) {
+            order[position] = position + 1;
+        }
+        for (int position = OPTION_COUNT - 1; position > 0; position--) {
+            int other = random.nextInt(position + 1);
+            int swapped = order[position];
+            order[position] = order[other];
+            order[other] = swapped;
+        }
+        return order;
+    }
+
+    /**
+     * Maps a quiz question to the form handed to students: options shuffled for the attempt and no correct answer.
+     * @param question The quiz question.
+     * @param seed The seed of the attempt.
+     * @return The question without its answer key.
+     */
+    public static QuizSampleQuestionDTO toSampleQuestion(QuizQuestionDTO question, long seed) {
+        int[] order = optionOrder(seed, question.getId());
+        List<String> options = new ArrayList<>(OPTION_COUNT);
+        for (int optionNumber : order) {
+            options.add(answerOption(question, optionNumber));
+        }
+        QuizSampleQuestionDTO sampleQuestion = new QuizSampleQuestionDTO();
+        sampleQuestion.setId(question.getId());
+        sampleQuestion.setQuestionText(question.getQuestionText());
+        sampleQuestion.setAnswerOptions(options);
+        return sampleQuestion;
+    }
+
+    /**
+     * Returns the text of an answer option by its original number.
+     * @param question The quiz question.
+     * @param optionNumber The original option number, from 1 to 4.
+     * @return The text of the option.
+     */
+    public static String answerOption(QuizQuestionDTO question, int optionNumber) {
+        return switch (optionNumber) {
+            case 1 -> question.getAnswerOption1();
+            case 2 -> question.getAnswerOption2();
+            case 3 -> question.getAnswerOption3();
+            case 4 -> question.getAnswerOption4();
+            default -> throw new IllegalArgumentException("Answer option must be between 1 and 4");
+        };
+    }
+}
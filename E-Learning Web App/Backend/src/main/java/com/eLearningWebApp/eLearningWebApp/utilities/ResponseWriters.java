@@ -0,0 +1,169 @@
+package com.eLearningWebApp.eLearningWebApp.utilities;
+
+import com.eLearningWebApp.eLearningWebApp.dto.Response;
+import com.eLearningWebApp.eLearningWebApp.dto.ServiceResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serializes response bodies as JSON or as Smile, Jackson's binary JSON, which names every repeated field only once
+ * and writes numbers in binary. Large lists shrink to well under their JSON size and are cheaper to write.
+ * The ObjectWriter of every body type is resolved once per format and reused, so no request looks up serializers.
+ * The Smile mapper is a copy of the application's ObjectMapper, so both formats carry the same fields.
+ */
+@Component  // Marks this class as a Spring-managed component (bean).
+public class ResponseWriters {
+
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper smileMapper;
+    private final ConcurrentHashMap<Class<?>, ObjectWriter> jsonWriters = new ConcurrentHashMap<>();  // Body type -> writer.
+    private final ConcurrentHashMap<Class<?>, ObjectWriter> smileWriters = new ConcurrentHashMap<>();  // Body type -> writer.
+
+    /**
+     * Creates the writers.
+     * @param objectMapper The application's mapper, whose configuration both formats use.
+     */
+    public ResponseWriters(ObjectMapper objectMapper) {
+        this.jsonMapper = objectMapper;
+        this.smileMapper = objectMapper.copyWith(new SmileFactory());
+    }
+
+    /**
+     * Returns the reused writer of a body type.
+     * @param type The class of the body.
+     * @param smile Whether to write Smile instead of JSON.
+     * @return The writer.
+     */
+    public ObjectWriter writer(Class<?> type, boolean smile) {
+        return smile ? smileWriters.computeIfAbsent(type, smileMapper::writerFor)
+                : jsonWriters.computeIfAbsent(type, jsonMapper::writerFor);
+    }
+
+    /**
+     * Serializes a body.
+     * @param body The body to serialize.
+     * @param smile Whether to write Smile instead of JSON.
+     * @return The serialized body.
+     */
+    public byte[] write(Object body, boolean smile) {
+        try {
+            return writer(body.getClass(), smile).writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Could not serialize " + body.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Builds a 200 OK response with the body in the format the client prefers.
+     * @param body The body to send.
+     * @param accept The client's Accept header, or null.
+     * @return The response with the serialized body and its content type.
+     */
+    public ResponseEntity<byte[]> ok(Object body, String accept) {
+        boolean smile = prefersSmile(accept);
+        return ResponseEntity.ok()
+                .contentType(smile ? SMILE : MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .body(write(body, smile));
+    }
+
+    /**
+     * Builds the response of a typed service outcome: the body in the format the client prefers if the outcome is
+     * successful, otherwise a generic Response with its status code and message.
+     * @param outcome The typed body returned by the service.
+     * @param accept The client's Accept header, or null.
+     * @return The response with the serialized body, or the failure.
+     */
+    public ResponseEntity<?> respond(ServiceResponse outcome, String accept) {
+        if (outcome.getStatusCode() != HttpStatus.OK.value()) {
+            Response response = new Response();
+            response.setStatusCode(outcome.getStatusCode());
+            response.setMessage(outcome.getMessage());
+            return ResponseEntity.status(response.getStatusCode()).body(response);
+        }
+        return ok(outcome, accept);
+    }
+
+    /**
+     * Tells whether a client prefers Smile over JSON, i.e. it lists application/x-jackson-smile with a higher quality
+     * than, or before, any media type that JSON matches. Clients that do not ask for Smile get JSON.
+     * @param accept The client's Accept header, or null.
+     * @return True if the response should be written as Smile.
+     */
+    public static boolean prefersSmile(String accept) {
+        if (accept == null || !accept.contains(SMILE.getSubtype())) {
+            return false;  // Browsers and most clients, without parsing the header
+        }
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        mediaTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());  // Stable, so ties keep their order
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.getQualityValue() == 0) {
+                return false;
+            }
+            if (mediaType.equalsTypeAndSubtype(SMILE)) {
+                return true;
+            }
+            if (mediaType.includes(MediaType.APPLICATION_JSON)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tells whether a client accepts a gzip-compressed body, i.e. its Accept-Encoding header lists gzip (or x-gzip),
+     * or else "*", with a quality above 0. "gzip;q=0" refuses gzip.
+     * @param acceptEncoding The client's Accept-Encoding header, or null.
+     * @return True if the response may be gzip-compressed.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || !acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip") && !acceptEncoding.contains("*")) {
+            return false;  // Without parsing the header
+        }
+        Double gzipQuality = null;
+        Double anyQuality = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] parameters = part.split(";");
+            String coding = parameters[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int index = 1; index < parameters.length; index++) {
+                String parameter = parameters[index].trim();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;  // An invalid weight is not taken as consent
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = quality;
+            } else if (coding.equals("*")) {
+                anyQuality = quality;
+            }
+        }
+        return gzipQuality != null ? gzipQuality > 0 : anyQuality != null && anyQuality > 0;
+    }
+}
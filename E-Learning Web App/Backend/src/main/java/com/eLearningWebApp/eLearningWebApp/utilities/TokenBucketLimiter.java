@@ -0,0 +1,105 @@
+package com.eLearningWebApp.eLearningWebApp.utilities;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per key (e.g. client IP or user), each holding up to a capacity of tokens that refill at a steady rate.
+ * A bucket is a single AtomicLong holding the time at which it will be full again (the "theoretical arrival time" of
+ * the generic cell rate algorithm), so taking a token is one compare-and-set with no lock and no allocation.
+ * A full bucket carries no information, so idle keys are dropped by evictIdle(). When the number of keys still
+ * reaches the bound, new keys share one overflow bucket until room is made, so a flood of new keys cannot
+ * grow the map or reset anybody's bucket.
+ */
+public class TokenBucketLimiter {
+
+    private static final long MIN_SWEEP_INTERVAL_NANOS = 1_000_000_000L;  // A full map is swept at most once per second.
+
+    private final long nanosPerToken;  // Time it takes to refill one token.
+    private final long burstNanos;  // Time it takes to refill a whole bucket.
+    private final int maxKeys;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();  // Key -> time the bucket is full again.
+    private final AtomicLong overflowBucket = new AtomicLong(Long.MIN_VALUE);  // Shared by new keys while the map is full.
+    private final AtomicBoolean evicting = new AtomicBoolean();  // Only one thread sweeps a full map at a time.
+    private volatile long lastSweepNanos = Long.MIN_VALUE;  // When a full map was last swept.
+
+    /**
+     * Creates a limiter.
+     * @param capacity The number of requests a key may make in a burst.
+     * @param refillPerSecond The number of tokens added to a bucket per second.
+     * @param maxKeys The maximum number of keys with their own bucket.
+     */
+    public TokenBucketLimiter(int capacity, double refillPerSecond, int maxKeys) {
+        if (capacity < 1 || refillPerSecond <= 0 || maxKeys < 1) {
+            throw new IllegalArgumentException("Capacity, refill rate and key limit must be positive");
+        }
+        this.nanosPerToken = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = nanosPerToken * capacity;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Takes one token from the bucket of a key.
+     * @param key The key, e.g. the client IP.
+     * @param nowNanos The current System.nanoTime().
+     * @return 0 if the request may proceed, otherwise the number of nanoseconds until a token is available.
+     */
+    public long tryAcquire(String key, long nowNanos) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = newBucket(key, nowNanos);
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long nextFullAt = Math.max(fullAt, nowNanos) + nanosPerToken;
+            long waitNanos = nextFullAt - nowNanos - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;  // Not enough tokens; the bucket is left unchanged
+            }
+            if (bucket.compareAndSet(fullAt, nextFullAt)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Removes the buckets that are full again, i.e. of keys that have been idle long enough.
+     * @param nowNanos The current System.nanoTime().
+     * @return The number of removed buckets.
+     */
+    public int evictIdle(long nowNanos) {
+        int removed = 0;
+        for (var entry : buckets.entrySet()) {
+            if (entry.getValue().get() <= nowNanos && buckets.remove(entry.getKey(), entry.getValue())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Creates the bucket of a new key, or returns the overflow bucket if there is no room for it.
+     */
+    private AtomicLong newBucket(String key, long nowNanos) {
+        if (buckets.size() >= maxKeys) {
+            boolean sweepDue = lastSweepNanos == Long.MIN_VALUE || nowNanos - lastSweepNanos >= MIN_SWEEP_INTERVAL_NANOS;
+            if (sweepDue && evicting.compareAndSet(false, true)) {
+                try {
+                    lastSweepNanos = nowNanos;
+                    evictIdle(nowNanos);
+                } finally {
+                    evicting.set(false);
+                }
+            }
+            if (buckets.size() >= maxKeys) {
+                return overflowBucket;
+            }
+        }
+        return buckets.computeIfAbsent(key, ignored -> new AtomicLong(Long.MIN_VALUE));  // Starts full
+    }
+}
@@ -0,0 +1,299 @@
+package com.eLearningWebApp.eLearningWebApp.utilities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index for case-insensitive substring and word-prefix search over short texts, keyed by long IDs.
+ * Every document gets a dense number; each trigram maps to the sorted numbers of the documents containing it.
+ * A query is answered by intersecting the postings of its trigrams, shortest first, and checking the remaining
+ * candidates with a plain substring test. Two-character queries match word prefixes.
+ * Removed documents are only marked as deleted and the postings are compacted once a quarter of them are deleted,
+ * so changes stay cheap. Searches run concurrently under a read lock; changes take the write lock.
+ */
+public class TrigramIndex {
+
+    public static final int MIN_QUERY_LENGTH = 2;  // Shorter queries would match nearly everything.
+    private static final int MIN_DELETED_FOR_COMPACTION = 1024;  // Small indexes are never compacted.
+
+    /**
+     * Growable, sorted list of document numbers.
+     */
+    private static final class Postings {
+        private int[] documents = new int[4];
+        private int size;
+
+        private void add(int document) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            documents[size++] = document;  // Documents are added in increasing order, so the list stays sorted
+        }
+    }
+
+    private final Map<Long, Postings> postings = new HashMap<>();  // Trigram -> documents containing it.
+    private final Map<Long, Integer> documentsByKey = new HashMap<>();  // Key -> current document number.
+    private long[] keys = new long[1024];  // Document number -> key.
+    private String[] texts = new String[1024];  // Document number -> normalized text, null once deleted.
+    private int documentCount;  // Document numbers handed out so far.
+    private int deletedCount;  // Documents marked as deleted since the last compaction.
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Adds a document, replacing an earlier version with the same key.
+     * @param key The key of the document.
+     * @param fields The texts to search, e.g. a question and its answer options. A match never spans two fields.
+     */
+    public void put(long key, List<String> fields) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            addLocked(key, normalizeFields(fields));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a document.
+     * @param key The key of the document; unknown keys are ignored.
+     */
+    public void remove(long key) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces all documents in one step.
+     * @param documents The fields of each document, by key.
+     */
+    public void replaceAll(Map<Long, List<String>> documents) {
+        Map<Long, String> normalized = new HashMap<>();
+        documents.forEach((key, fields) -> normalized.put(key, normalizeFields(fields)));
+        lock.writeLock().lock();
+        try {
+            rebuildLocked(normalized);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the documents containing the query, ordered by key.
+     * @param query The text to find; at least two characters. Two-character queries match the start of a word.
+     * @param afterKey Only keys greater than this are returned, for paging; use Long.MIN_VALUE for the first page.
+     * @param limit The maximum number of keys to return.
+     * @return The matching keys in ascending order.
+     */
+    public List<Long> search(String query, long afterKey, int limit) {
+        String normalizedQuery = normalize(query).trim();
+        if (normalizedQuery.length() < MIN_QUERY_LENGTH || limit < 1) {
+            return List.of();
+        }
+        if (normalizedQuery.length() == MIN_QUERY_LENGTH) {
+            normalizedQuery = " " + normalizedQuery;  // Every word is preceded by a space in the normalized text
+        }
+        long[] queryTrigrams = trigrams(normalizedQuery);
+
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[queryTrigrams.length];
+            for (int index = 0; index < queryTrigrams.length; index++) {
+                lists[index] = postings.get(queryTrigrams[index]);
+                if (lists[index] == null) {
+                    return List.of();  // Some trigram occurs nowhere
+                }
+            }
+            Arrays.sort(lists, (first, second) -> Integer.compare(first.size, second.size));
+
+            int[] candidates = Arrays.copyOf(lists[0].documents, lists[0].size);
+            int candidateCount = candidates.length;
+            for (int index = 1; index < lists.length && candidateCount > 0; index++) {
+                candidateCount = intersect(candidates, candidateCount, lists[index]);
+            }
+
+            boolean verify = queryTrigrams.length > 1;  // One trigram is matched exactly by its postings
+            PriorityQueue<Long> best = new PriorityQueue<>(Collections.reverseOrder());  // Largest kept key on top
+            for (int index = 0; index < candidateCount; index++) {
+                int document = candidates[index];
+                String text = texts[document];
+                long key = keys[document];
+                if (text == null || key <= afterKey || (best.size() == limit && key >= best.peek())) {
+                    continue;
+                }
+                if (verify && !text.contains(normalizedQuery)) {
+                    continue;
+                }
+                best.add(key);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            List<Long> result = new ArrayList<>(best);
+            Collections.sort(result);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed documents.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentsByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-cases a text and collapses runs of whitespace into single spaces.
+     * @param text The text to normalize.
+     * @return The normalized text.
+     */
+    static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = false;
+        for (int index = 0; index < text.length(); index++) {
+            char character = text.charAt(index);
+            if (Character.isWhitespace(character)) {
+                space = true;
+                continue;
+            }
+            if (space && !normalized.isEmpty()) {
+                normalized.append(' ');
+            }
+            space = false;
+            normalized.append(Character.toLowerCase(character));
+        }
+        if (space) {
+            normalized.append(' ');
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Joins the normalized fields so each starts a new word and no trigram spans two fields.
+     */
+    private static String normalizeFields(List<String> fields) {
+        StringBuilder joined = new StringBuilder();
+        for (String field : fields) {
+            if (field != null) {
+                joined.append("\n ").append(normalize(field).trim());
+            }
+        }
+        return joined.append('\n').toString();
+    }
+
+    /**
+     * Returns the distinct trigrams of a text, each packed into a long.
+     */
+    private static long[] trigrams(String text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+        long[] trigrams = new long[text.length() - 2];
+        for (int index = 0; index < trigrams.length; index++) {
+            trigrams[index] = ((long) text.charAt(index) << 32) | ((long) text.charAt(index + 1) << 16) | text.charAt(index + 2);
+        }
+        Arrays.sort(trigrams);
+        int distinct = 0;
+        for (int index = 0; index < trigrams.length; index++) {
+            if (index == 0 || trigrams[index] != trigrams[index - 1]) {
+                trigrams[distinct++] = trigrams[index];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    /**
+     * Keeps the candidates that also occur in the postings; both are sorted.
+     * @return The number of remaining candidates, which are moved to the front of the array.
+     */
+    private static int intersect(int[] candidates, int candidateCount, Postings other) {
+        int kept = 0;
+        int position = 0;
+        for (int index = 0; index < candidateCount && position < other.size; index++) {
+            int document = candidates[index];
+            while (position < other.size && other.documents[position] < document) {
+                position++;
+            }
+            if (position < other.size && other.documents[position] == document) {
+                candidates[kept++] = document;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Adds a normalized document under a new document number; the caller holds the write lock.
+     */
+    private void addLocked(long key, String normalizedText) {
+        if (documentCount == keys.length) {
+            keys = Arrays.copyOf(keys, documentCount * 2);
+            texts = Arrays.copyOf(texts, documentCount * 2);
+        }
+        int document = documentCount++;
+        keys[document] = key;
+        texts[document] = normalizedText;
+        documentsByKey.put(key, document);
+        for (long trigram : trigrams(normalizedText)) {
+            postings.computeIfAbsent(trigram, t -> new Postings()).add(document);
+        }
+    }
+
+    /**
+     * Marks a document as deleted; the caller holds the write lock.
+     */
+    private void removeLocked(long key) {
+        Integer document = documentsByKey.remove(key);
+        if (document != null) {
+            texts[document] = null;
+            deletedCount++;
+        }
+    }
+
+    /**
+     * Rebuilds the postings without the deleted documents once they make up a quarter of the index.
+     */
+    private void compactIfNeeded() {
+        if (deletedCount >= MIN_DELETED_FOR_COMPACTION && deletedCount * 4 >= documentCount) {
+            Map<Long, String> live = new HashMap<>();
+            documentsByKey.forEach((key, document) -> live.put(key, texts[document]));
+            rebuildLocked(live);
+        }
+    }
+
+    /**
+     * Rebuilds the whole index, numbering the documents in key order; the caller holds the write lock.
+     */
+    private void rebuildLocked(Map<Long, String> normalizedTexts) {
+        postings.clear();
+        documentsByKey.clear();
+        int capacity = Math.max(1024, Integer.highestOneBit(Math.max(1, normalizedTexts.size())) * 2);
+        keys = new long[capacity];
+        texts = new String[capacity];
+        documentCount = 0;
+        deletedCount = 0;
+        List<Long> sortedKeys = new ArrayList<>(normalizedTexts.keySet());
+        Collections.sort(sortedKeys);
+        for (Long key : sortedKeys) {
+            addLocked(key, normalizedTexts.get(key));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.eLearningWebApp.eLearningWebApp.utilities;
+
+import com.eLearningWebApp.eLearningWebApp.exception.ExceptionsMessages;
+import com.eLearningWebApp.eLearningWebApp.repository.UserView;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursor for keyset pagination over users.
+ * It stores the sort order together with the sort key and ID of the last user of a page,
+ * so the next page continues right after that user regardless of inserts or deletes in between.
+ * @param sort The sort order the cursor belongs to ("id", "name" or "score").
+ * @param lastId The ID of the last user of the previous page.
+ * @param lastValue The sort key of the last user of the previous page (name or score), null when sorting by ID.
+ */
+public record UserPageCursor(String sort, long lastId, String lastValue) {
+
+    public static final String SORT_BY_ID = "id";
+    public static final String SORT_BY_NAME = "name";
+    public static final String SORT_BY_SCORE = "score";
+
+    /**
+     * Returns the cursor that starts at the first page of the given sort order.
+     * @param sort The sort order ("id", "name" or "score").
+     * @return The cursor of the first page.
+     */
+    public static UserPageCursor first(String sort) {
+        return switch (sort) {
+            case SORT_BY_ID -> new UserPageCursor(sort, Long.MIN_VALUE, null);
+            case SORT_BY_NAME -> new UserPageCursor(sort, Long.MIN_VALUE, "");  // Names are never blank.
+            case SORT_BY_SCORE -> new UserPageCursor(sort, Long.MIN_VALUE, String.valueOf(Integer.MAX_VALUE));
+            default -> throw new ExceptionsMessages("Sort must be one of id, name or score");
+        };
+    }
+
+    /**
+     * Returns the cursor that continues after the given user.
+     * @param sort The sort order ("id", "name" or "score").
+     * @param lastUser The last user of the current page.
+     * @return The cursor of the next page.
+     */
+    public static UserPageCursor after(String sort, UserView lastUser) {
+        return switch (sort) {
+            case SORT_BY_NAME -> new UserPageCursor(sort, lastUser.getId(), lastUser.getName());
+            case SORT_BY_SCORE -> new UserPageCursor(sort, lastUser.getId(), String.valueOf(lastUser.getUserScore()));
+            default -> new UserPageCursor(sort, lastUser.getId(), null);
+        };
+    }
+
+    /**
+     * Decodes a cursor previously returned to the client.
+     * @param encoded The encoded cursor.
+     * @param sort The sort order requested by the client, which must match the cursor's.
+     * @return The decoded cursor.
+     */
+    public static UserPageCursor decode(String encoded, String sort) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\|", 3);  // The sort key comes last, so names may contain '|'.
+            UserPageCursor cursor = new UserPageCursor(parts[0], Long.parseLong(parts[1]), parts.length > 2 ? parts[2] : null);
+            if (!cursor.sort().equals(sort)) {
+                throw new ExceptionsMessages("Cursor does not belong to sort order " + sort);
+            }
+            if (SORT_BY_SCORE.equals(sort)) {
+                Integer.parseInt(cursor.lastValue());  // Rejects tampered score cursors early.
+            }
+            return cursor;
+        } catch (ExceptionsMessages e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ExceptionsMessages("Invalid cursor");
+        }
+    }
+
+    /**
+     * Encodes the cursor into an opaque URL-safe string.
+     * @return The encoded cursor.
+     */
+    public String encode() {
+        String raw = sort + "|" + lastId + (lastValue == null ? "" : "|" + lastValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
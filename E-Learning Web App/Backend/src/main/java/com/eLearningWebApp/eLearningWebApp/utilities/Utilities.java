@@ -5,6 +5,9 @@ import com.eLearningWebApp.eLearningWebApp.dto.QuizQuestionDTO;
 import com.eLearningWebApp.eLearningWebApp.dto.UserDTO;
 import com.eLearningWebApp.eLearningWebApp.entity.QuizQuestion;
 import com.eLearningWebApp.eLearningWebApp.entity.User;
+import com.eLearningWebApp.eLearningWebApp.repository.UserView;
+import com.eLearningWebApp.eLearningWebApp.security.ClaimsPrincipal;
+import org.springframework.security.core.Authentication;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -45,6 +48,32 @@ public class Utilities {
                 .collect(Collectors.toList());  // Collects the results into a list.
     }
 
+    /**
+     * Maps a user projection to a UserDTO object. Projections never contain the password.
+     * @param userView The user projection to be mapped to a UserDTO.
+     * @return The UserDTO containing user information.
+     */
+    public static UserDTO mapUserViewToUserDTO(UserView userView) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setId(userView.getId());  // Sets the ID from the projection.
+        userDTO.setName(userView.getName());  // Sets the name from the projection.
+        userDTO.setEmail(userView.getEmail());  // Sets the email from the projection.
+        userDTO.setRole(userView.getRole());  // Sets the role from the projection.
+        userDTO.setUserScore(userView.getUserScore());  // Set the score
+        return userDTO;  // Returns the mapped UserDTO.
+    }
+
+    /**
+     * Maps a list of user projections to a list of UserDTO objects.
+     * @param userViews The list of user projections to be mapped.
+     * @return A list of UserDTO objects containing user details.
+     */
+    public static List<UserDTO> mapUserViewListToUserListDTO(List<UserView> userViews) {
+        return userViews.stream()
+                .map(Utilities::mapUserViewToUserDTO)  // Maps each projection to a UserDTO.
+                .collect(Collectors.toList());  // Collects the results into a list.
+    }
+
     // ------------------------------------
     // QuizQuestion Entity to DTO Mapping Methods
     // ------------------------------------
@@ -77,5 +106,24 @@ public class Utilities {
                 .map(Utilities::mapQuizQuestionEntityToDTO)  // Maps each QuizQuestion entity to a QuizQuestionDTO.
                 .collect(Collectors.toList());  // Collects the results into a list.
     }
+
+    // ------------------------------------
+    // Authentication Helper Methods
+    // ------------------------------------
+
+    /**
+     * Returns the ID of the logged-in user, whichever principal the JWT filter built.
+     * @param authentication The authentication of the current request.
+     * @return The user's ID, or null if the principal carries none.
+     */
+    public static Long getUserId(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof User user) {
+            return user.getId();  // Principal loaded from the users table.
+        }
+        if (authentication.getPrincipal() instanceof ClaimsPrincipal principal) {
+            return principal.id();  // Principal built from the token claims in stateless mode.
+        }
+        return null;
+    }
 }
 
@@ -0,0 +1,226 @@
+package com.eLearningWebApp.eLearningWebApp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end capacity test: boots the whole application on the seeded embedded database of the "loadtest" profile
+ * and runs closed-loop virtual users against the real controllers. Excluded from the normal build.
+ * Run with: mvn test -Ploadtest [-Dloadtest.virtual-users=64 -Dloadtest.seconds=60 -Dloadtest.users=10000 ...]
+ * The report is printed and written to target/loadtest-report.txt.
+ */
+@Tag("loadtest")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class EndToEndLoadTests {
+
+	private static final int QUESTIONS_PER_ATTEMPT = 3;  // Short, so every virtual user finishes attempts within a short run
+	private static final List<String> ATTEMPT_OPERATIONS = List.of("quiz-start", "quiz-answer", "quiz-finish");
+
+	@LocalServerPort
+	private int port;
+
+	@Value("${loadtest.users}")
+	private int users;
+
+	@Value("${loadtest.virtual-users}")
+	private int virtualUsers;
+
+	@Value("${loadtest.warmup-seconds}")
+	private int warmupSeconds;
+
+	@Value("${loadtest.seconds}")
+	private int seconds;
+
+	@Value("${loadtest.mix}")
+	private String mix;
+
+	private final AtomicInteger registrations = new AtomicInteger();  // Numbers the registered accounts, so their emails never collide.
+
+	@Test
+	void mixedScenario() throws Exception {
+		LoadTestClient client = new LoadTestClient("http://localhost:" + port);
+		Map<String, Integer> weights = parseMix(mix);
+		List<VirtualUser> virtualUserList = new ArrayList<>();
+		for (int index = 0; index < virtualUsers; index++) {
+			String email = LoadTestDataSeeder.studentEmail(index % users);
+			virtualUserList.add(new VirtualUser(client, weights, email, client.login(email, LoadTestDataSeeder.PASSWORD)));
+		}
+
+		run(virtualUserList, warmupSeconds);
+		LatencyReport report = run(virtualUserList, seconds);
+
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		PrintStream out = new PrintStream(buffer, true, StandardCharsets.UTF_8);
+		out.printf("%d virtual users, %d s, %d seeded users, mix %s%n", virtualUsers, seconds, users, mix);
+		report.print(out, seconds);
+		String text = buffer.toString(StandardCharsets.UTF_8);
+		System.out.print(text);
+		Files.writeString(Files.createDirectories(Path.of("target")).resolve("loadtest-report.txt"), text);
+
+		List<String> operations = new ArrayList<>();
+		for (String step : weights.keySet()) {
+			operations.addAll(step.equals("quiz-attempt") ? ATTEMPT_OPERATIONS : List.of(step));  // Measured per request
+		}
+		for (String operation : operations) {
+			assertTrue(report.requests(operation) > 0, operation + " was never measured");
+			if (!operation.equals("login")) {  // Logins may be shed with 503 when the hashing pool is saturated
+				assertEquals(0, report.errors(operation), operation + " failed");
+			}
+		}
+		assertEquals(0, report.errors("transport"), "requests did not complete");
+	}
+
+	/**
+	 * Runs all virtual users for the given time and returns their merged measurements.
+	 */
+	private LatencyReport run(List<VirtualUser> virtualUserList, int runSeconds) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(runSeconds);
+		List<Thread> threads = new ArrayList<>();
+		List<LatencyReport> reports = new ArrayList<>();
+		for (VirtualUser virtualUser : virtualUserList) {
+			LatencyReport report = new LatencyReport();
+			reports.add(report);
+			threads.add(Thread.ofVirtual().start(() -> virtualUser.loop(deadline, report)));
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		LatencyReport merged = new LatencyReport();
+		reports.forEach(merged::add);
+		return merged;
+	}
+
+	/**
+	 * Parses "step:weight,step:weight" into the weights per step, in the given order.
+	 */
+	private static Map<String, Integer> parseMix(String mix) {
+		Map<String, Integer> weights = new LinkedHashMap<>();
+		for (String entry : mix.split(",")) {
+			String[] parts = entry.trim().split(":");
+			int weight = Integer.parseInt(parts[1].trim());
+			if (weight > 0) {
+				weights.put(parts[0].trim(), weight);
+			}
+		}
+		return weights;
+	}
+
+	/**
+	 * One simulated client picking weighted scenario steps until the deadline. Every request is sent with the token of
+	 * the virtual user's own student. The quiz-attempt step sends the next request of the student's running attempt:
+	 * start it, answer its questions one by one, then finish it, which saves the score.
+	 */
+	private final class VirtualUser {
+
+		private final LoadTestClient client;
+		private final Map<String, Integer> weights;
+		private final int totalWeight;
+		private final String email;
+		private final String token;
+		private String attemptId;  // Running quiz attempt, if any.
+		private final List<Long> remainingQuestions = new ArrayList<>();
+
+		private VirtualUser(LoadTestClient client, Map<String, Integer> weights, String email, String token) {
+			this.client = client;
+			this.weights = weights;
+			this.totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+			this.email = email;
+			this.token = token;
+		}
+
+		private void loop(long deadline, LatencyReport report) {
+			while (System.nanoTime() < deadline) {
+				String step = pickStep();
+				try {
+					if (step.equals("quiz-attempt")) {
+						attemptStep(report);
+					} else {
+						measure(report, step, () -> send(step));
+					}
+				} catch (Exception e) {
+					report.recordFailure("transport");  // Timeouts, refused connections
+				}
+			}
+		}
+
+		private String pickStep() {
+			int choice = ThreadLocalRandom.current().nextInt(totalWeight);
+			for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+				choice -= entry.getValue();
+				if (choice < 0) {
+					return entry.getKey();
+				}
+			}
+			throw new IllegalStateException("Empty scenario mix");
+		}
+
+		private HttpResponse<String> send(String step) throws Exception {
+			return switch (step) {
+				case "register" -> {
+					String newEmail = "load-test-new-" + registrations.incrementAndGet() + "@example.test";
+					yield client.send("POST", "/auth/register", null,
+							"{\"name\":\"New User\",\"email\":\"" + newEmail + "\",\"password\":\"" + LoadTestDataSeeder.PASSWORD + "\"}");
+				}
+				case "login" -> client.sendLogin(email, LoadTestDataSeeder.PASSWORD);
+				case "random-quizzes" -> client.send("GET", "/api/quiz-questions/random", token, null);
+				case "users" -> client.send("GET", "/users/all", token, null);
+				default -> throw new IllegalArgumentException("Unknown scenario step: " + step);
+			};
+		}
+
+		private void attemptStep(LatencyReport report) throws Exception {
+			if (attemptId == null) {
+				HttpResponse<String> response = measure(report, "quiz-start", () ->
+						client.send("POST", "/api/quiz-attempts/start?count=" + QUESTIONS_PER_ATTEMPT, token, null));
+				if (response.statusCode() == 200) {
+					JsonNode attempt = LoadTestClient.objectMapper.readTree(response.body()).path("quizAttempt");
+					attemptId = attempt.path("attemptId").asText();
+					attempt.path("questions").forEach(question -> remainingQuestions.add(question.path("id").asLong()));
+				}
+			} else if (!remainingQuestions.isEmpty()) {
+				long questionId = remainingQuestions.remove(remainingQuestions.size() - 1);
+				int option = ThreadLocalRandom.current().nextInt(1, 5);
+				measure(report, "quiz-answer", () -> client.send("POST", "/api/quiz-attempts/" + attemptId + "/answer", token,
+						"{\"questionId\":" + questionId + ",\"selectedOption\":" + option + "}"));
+			} else {
+				measure(report, "quiz-finish", () -> client.send("POST", "/api/quiz-attempts/" + attemptId + "/finish", token, null));  // Saves the score
+				attemptId = null;
+			}
+		}
+
+		private HttpResponse<String> measure(LatencyReport report, String operation, Request request) throws Exception {
+			long started = System.nanoTime();
+			HttpResponse<String> response = request.send();
+			report.record(operation, System.nanoTime() - started, response.statusCode() >= 400);
+			return response;
+		}
+	}
+
+	@FunctionalInterface
+	private interface Request {
+		HttpResponse<String> send() throws Exception;
+	}
+}
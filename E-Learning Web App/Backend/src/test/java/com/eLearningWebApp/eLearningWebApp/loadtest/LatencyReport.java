@@ -0,0 +1,101 @@
+package com.eLearningWebApp.eLearningWebApp.loadtest;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies and errors per operation of a load test run. Not thread-safe: every worker records into its own report,
+ * and the reports are merged once the workers have stopped.
+ */
+final class LatencyReport {
+
+    private final Map<String, Measurements> measurements = new TreeMap<>();  // Operation -> its measurements.
+
+    /**
+     * Records one completed request.
+     * @param operation The name of the operation.
+     * @param latencyNanos The time from sending the request to receiving the whole response.
+     * @param error True if the request failed (e.g. a 4xx/5xx status).
+     */
+    void record(String operation, long latencyNanos, boolean error) {
+        Measurements operationMeasurements = measurements.computeIfAbsent(operation, name -> new Measurements());
+        operationMeasurements.latencies.add(latencyNanos);
+        if (error) {
+            operationMeasurements.errors++;
+        }
+    }
+
+    /**
+     * Records a request that did not complete at all (timeout, refused connection).
+     */
+    void recordFailure(String operation) {
+        measurements.computeIfAbsent(operation, name -> new Measurements()).errors++;
+    }
+
+    /**
+     * Adds all measurements of another report to this one.
+     */
+    void add(LatencyReport other) {
+        other.measurements.forEach((operation, otherMeasurements) ->
+                measurements.computeIfAbsent(operation, name -> new Measurements()).add(otherMeasurements));
+    }
+
+    long requests(String operation) {
+        Measurements operationMeasurements = measurements.get(operation);
+        return operationMeasurements == null ? 0 : operationMeasurements.latencies.size();
+    }
+
+    long errors(String operation) {
+        Measurements operationMeasurements = measurements.get(operation);
+        return operationMeasurements == null ? 0 : operationMeasurements.errors;
+    }
+
+    /**
+     * Prints throughput and p50/p95/p99/max latency per operation and in total.
+     * @param out The stream to print to.
+     * @param seconds The measured duration, used for the throughput.
+     */
+    void print(PrintStream out, double seconds) {
+        out.printf("%-16s %10s %8s %10s %9s %9s %9s %9s%n", "operation", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        Measurements total = new Measurements();
+        measurements.forEach((operation, operationMeasurements) -> {
+            printRow(out, operation, operationMeasurements, seconds);
+            total.add(operationMeasurements);
+        });
+        printRow(out, "total", total, seconds);
+    }
+
+    private static void printRow(PrintStream out, String operation, Measurements measurements, double seconds) {
+        List<Long> latencies = measurements.latencies;
+        Collections.sort(latencies);
+        out.printf("%-16s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n", operation, latencies.size(), measurements.errors,
+                latencies.size() / seconds, percentile(latencies, 0.50), percentile(latencies, 0.95), percentile(latencies, 0.99),
+                percentile(latencies, 1.0));
+    }
+
+    private static double percentile(List<Long> sortedNanos, double quantile) {
+        if (sortedNanos.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sortedNanos.size()) - 1;
+        return sortedNanos.get(Math.max(0, index)) / 1_000_000.0;
+    }
+
+    /**
+     * Latencies and errors of one operation.
+     */
+    private static final class Measurements {
+
+        private final List<Long> latencies = new ArrayList<>();  // Latencies in nanoseconds.
+        private int errors;  // Failed requests.
+
+        private void add(Measurements other) {
+            latencies.addAll(other.latencies);
+            errors += other.errors;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.eLearningWebApp.eLearningWebApp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Minimal JSON client for the backend's REST API, shared by the load generators. Thread-safe.
+ */
+final class LoadTestClient {
+
+    static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final String baseUrl;
+
+    LoadTestClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Sends one request with a JSON body.
+     * @param method The HTTP method.
+     * @param path The path below the base URL, including the query string.
+     * @param token The JWT token to send as bearer token, or null.
+     * @param body The JSON body, or null.
+     * @return The response; error statuses are returned, not thrown.
+     */
+    HttpResponse<String> send(String method, String path, String token, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Sends a login request.
+     */
+    HttpResponse<String> sendLogin(String email, String password) throws Exception {
+        return send("POST", "/auth/login", null, "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}");
+    }
+
+    /**
+     * Logs a user in.
+     * @return The JWT token of the user.
+     * @throws IllegalStateException If the login is not successful.
+     */
+    String login(String email, String password) throws Exception {
+        HttpResponse<String> response = sendLogin(email, password);
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login of " + email + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body()).path("token").asText();
+    }
+}
@@ -0,0 +1,79 @@
+package com.eLearningWebApp.eLearningWebApp.loadtest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds the embedded database of the "loadtest" profile with students, one admin and a question bank.
+ * Runs before ApplicationReadyEvent, so the scoreboard and the quiz catalog are built from the seeded rows.
+ * All seeded accounts share one password, which is hashed only once.
+ */
+@Component
+@Profile("loadtest")
+public class LoadTestDataSeeder implements ApplicationRunner {
+
+    public static final String PASSWORD = "load-test-password";
+    public static final String ADMIN_EMAIL = "load-test-admin@example.test";
+
+    private static final String INSERT_USER_SQL = "INSERT INTO users (name, email, password, role, user_score) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_QUESTION_SQL = "INSERT INTO quiz_questions (question_text, answer_option_1, answer_option_2, "
+            + "answer_option_3, answer_option_4, correct_answer) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Value("${loadtest.users:1000}")
+    private int users;  // Number of seeded students.
+
+    @Value("${loadtest.questions:500}")
+    private int questions;  // Number of seeded quiz questions.
+
+    /**
+     * Returns the email of a seeded student.
+     * @param index The zero-based number of the student, below loadtest.users.
+     */
+    public static String studentEmail(int index) {
+        return "load-test-" + index + "@example.test";
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        List<Object[]> userRows = new ArrayList<>(users + 1);
+        userRows.add(new Object[]{"Load Test Admin", ADMIN_EMAIL, passwordHash, "ADMIN", 0});
+        for (int index = 0; index < users; index++) {
+            userRows.add(new Object[]{"Load Test " + index, studentEmail(index), passwordHash, "USER", index * 37 % 1000});
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER_SQL, userRows, BATCH_SIZE, (statement, row) -> {
+            for (int column = 0; column < row.length; column++) {
+                statement.setObject(column + 1, row[column]);
+            }
+        });
+
+        List<Integer> questionNumbers = new ArrayList<>(questions);
+        for (int index = 0; index < questions; index++) {
+            questionNumbers.add(index);
+        }
+        jdbcTemplate.batchUpdate(INSERT_QUESTION_SQL, questionNumbers, BATCH_SIZE, (statement, index) -> {
+            statement.setString(1, "Question " + index + ": which of the following statements about topic " + index % 97 + " is correct?");
+            statement.setString(2, "The first possible answer to question " + index);
+            statement.setString(3, "The second possible answer to question " + index);
+            statement.setString(4, "The third possible answer to question " + index);
+            statement.setString(5, "The fourth possible answer to question " + index);
+            statement.setInt(6, index % 4 + 1);
+        });
+    }
+}
@@ -0,0 +1,155 @@
+package com.eLearningWebApp.eLearningWebApp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop load generator for a running backend, used to compare the default thread pool with the
+ * "virtual" profile. Every worker owns one user and loops over a login / quiz / scoreboard mix until the time is up:
+ * 10% logins, 30% scoreboard reads and 60% quiz steps (start an attempt, answer its questions one by one, finish it,
+ * which saves the score). Throughput and latency percentiles are printed per operation.
+ * The question bank must not be empty (import one through /api/quiz-questions/import first).
+ * Run with: mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * "-Dexec.args=-cp %classpath com.eLearningWebApp.eLearningWebApp.loadtest.MixedWorkloadRunner baseUrl=http://localhost:8080 workers=200 seconds=60"
+ */
+public class MixedWorkloadRunner {
+
+    private static final String PASSWORD = "load-test-password";
+    private static final int QUESTIONS_PER_ATTEMPT = 10;
+
+    private final LoadTestClient client;
+
+    private MixedWorkloadRunner(String baseUrl) {
+        this.client = new LoadTestClient(baseUrl);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator > 0) {
+                options.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+        }
+        String baseUrl = options.getOrDefault("baseUrl", "http://localhost:8080");
+        int workers = Integer.parseInt(options.getOrDefault("workers", "200"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "15"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "60"));
+
+        MixedWorkloadRunner runner = new MixedWorkloadRunner(baseUrl);
+        List<String> tokens = runner.prepareUsers(workers);
+        System.out.printf("Warming up %d workers for %d s%n", workers, warmupSeconds);
+        runner.run(tokens, warmupSeconds);
+        System.out.printf("Measuring %d workers for %d s against %s%n", workers, seconds, baseUrl);
+        runner.run(tokens, seconds).print(System.out, seconds);
+    }
+
+    /**
+     * Registers (if needed) and logs in one user per worker.
+     */
+    private List<String> prepareUsers(int count) throws Exception {
+        List<String> tokens = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            String email = "load-test-" + index + "@example.test";
+            client.send("POST", "/auth/register", null,
+                    "{\"name\":\"Load Test " + index + "\",\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}");  // Fails harmlessly if the user exists
+            tokens.add(client.login(email, PASSWORD));
+        }
+        return tokens;
+    }
+
+    /**
+     * Runs all workers for the given time and returns their merged measurements.
+     */
+    private LatencyReport run(List<String> tokens, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Worker> workers = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int index = 0; index < tokens.size(); index++) {
+            Worker worker = new Worker("load-test-" + index + "@example.test", tokens.get(index));
+            workers.add(worker);
+            threads.add(Thread.ofVirtual().start(() -> worker.loop(deadline)));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        LatencyReport merged = new LatencyReport();
+        for (Worker worker : workers) {
+            merged.add(worker.report);
+        }
+        return merged;
+    }
+
+    /**
+     * One simulated student. Not thread-safe; each worker runs on its own thread.
+     */
+    private final class Worker {
+
+        private final String email;
+        private final String token;
+        private final LatencyReport report = new LatencyReport();  // This worker's measurements.
+        private String attemptId;  // Running quiz attempt, if any.
+        private final List<Long> remainingQuestions = new ArrayList<>();
+
+        private Worker(String email, String token) {
+            this.email = email;
+            this.token = token;
+        }
+
+        private void loop(long deadline) {
+            while (System.nanoTime() < deadline) {
+                double choice = ThreadLocalRandom.current().nextDouble();
+                try {
+                    if (choice < 0.10) {
+                        measure("login", () -> client.sendLogin(email, PASSWORD));
+                    } else if (choice < 0.40) {
+                        measure("leaderboard", () -> client.send("GET", "/leaderboard/top?limit=20", token, null));
+                    } else {
+                        quizStep();
+                    }
+                } catch (Exception e) {
+                    report.recordFailure("transport");  // Timeouts, refused connections
+                }
+            }
+        }
+
+        private void quizStep() throws Exception {
+            if (attemptId == null) {
+                HttpResponse<String> response = measure("quiz-start", () ->
+                        client.send("POST", "/api/quiz-attempts/start?count=" + QUESTIONS_PER_ATTEMPT, token, null));
+                if (response.statusCode() == 200) {
+                    JsonNode attempt = LoadTestClient.objectMapper.readTree(response.body()).path("quizAttempt");
+                    attemptId = attempt.path("attemptId").asText();
+                    attempt.path("questions").forEach(question -> remainingQuestions.add(question.path("id").asLong()));
+                }
+            } else if (!remainingQuestions.isEmpty()) {
+                long questionId = remainingQuestions.remove(remainingQuestions.size() - 1);
+                int option = ThreadLocalRandom.current().nextInt(1, 5);
+                measure("quiz-answer", () -> client.send("POST", "/api/quiz-attempts/" + attemptId + "/answer", token,
+                        "{\"questionId\":" + questionId + ",\"selectedOption\":" + option + "}"));
+            } else {
+                measure("quiz-finish", () -> client.send("POST", "/api/quiz-attempts/" + attemptId + "/finish", token, null));  // Saves the score
+                attemptId = null;
+            }
+        }
+
+        private HttpResponse<String> measure(String operation, Request request) throws Exception {
+            long started = System.nanoTime();
+            HttpResponse<String> response = request.send();
+            report.record(operation, System.nanoTime() - started, response.statusCode() >= 400);
+            return response;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        HttpResponse<String> send() throws Exception;
+    }
+}
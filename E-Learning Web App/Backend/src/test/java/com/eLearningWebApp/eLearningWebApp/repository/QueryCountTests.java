@@ -0,0 +1,76 @@
+package com.eLearningWebApp.eLearningWebApp.repository;
+
+import com.eLearningWebApp.eLearningWebApp.loadtest.LoadTestDataSeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements of the main endpoints, on the seeded embedded database of the "loadtest" profile.
+ * The principal is built from the token claims, so the JWT filter adds no user lookup.
+ */
+@ActiveProfiles("loadtest")
+@SpringBootTest(properties = {"loadtest.users=3", "loadtest.questions=5", "security.jwt.stateless-principal=true"})
+@AutoConfigureMockMvc
+class QueryCountTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private QueryInspector queryInspector;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private QuizQuestionRepository quizQuestionRepository;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void endpointsStayWithinTheirQueryCounts() throws Exception {
+		try (QueryInspector.Capture capture = queryInspector.startCapture()) {
+			String adminToken = login(LoadTestDataSeeder.ADMIN_EMAIL);
+			assertEquals(1, capture.queryCount("POST /auth/login"));  // One user lookup, no re-authentication
+
+			mockMvc.perform(get("/api/quiz-questions/getAllQuizzes").header("Authorization", "Bearer " + adminToken))
+					.andExpect(status().isOk());
+			assertEquals(0, capture.queryCount("GET /api/quiz-questions/getAllQuizzes"));  // Served from the catalog snapshot
+
+			mockMvc.perform(get("/users/all").header("Authorization", "Bearer " + adminToken))
+					.andExpect(status().isOk());
+			assertEquals(1, capture.queryCount("GET /users/all"));
+
+			long userId = userRepository.findByEmail(LoadTestDataSeeder.studentEmail(0)).orElseThrow().getId();
+			mockMvc.perform(delete("/users/delete-user-by-id/" + userId).header("Authorization", "Bearer " + adminToken))
+					.andExpect(status().isOk());
+			assertEquals(2, capture.queryCount("DELETE /users/delete-user-by-id/" + userId));  // SELECT and DELETE
+
+			long questionId = quizQuestionRepository.findAll().get(0).getId();
+			mockMvc.perform(delete("/api/quiz-questions/deleteQuiz/" + questionId).header("Authorization", "Bearer " + adminToken))
+					.andExpect(status().isOk());
+			assertEquals(2, capture.queryCount("DELETE /api/quiz-questions/deleteQuiz/" + questionId));  // SELECT and DELETE
+		}
+	}
+
+	private String login(String email) throws Exception {
+		String body = mockMvc.perform(post("/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"email\":\"" + email + "\",\"password\":\"" + LoadTestDataSeeder.PASSWORD + "\"}"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body).path("token").asText();
+	}
+}
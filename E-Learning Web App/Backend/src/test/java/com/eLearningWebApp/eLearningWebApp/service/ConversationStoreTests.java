@@ -0,0 +1,65 @@
+package com.eLearningWebApp.eLearningWebApp.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConversationStoreTests {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void capsTurnsAndBytesPerUser() throws Exception {
+		ConversationStore store = newStore(3, 200);
+		for (int turn = 1; turn <= 5; turn++) {
+			store.append(1, "question " + turn, "reply " + turn);
+		}
+		assertEquals(List.of("question 3", "question 4", "question 5"),
+				store.recentTurns(1).stream().map(ConversationStore.Turn::question).toList());
+
+		store.append(1, "long question", "x".repeat(150));  // Only fits together with at most one older turn
+		List<ConversationStore.Turn> turns = store.recentTurns(1);
+		assertEquals("long question", turns.get(turns.size() - 1).question());
+		assertTrue(turns.size() <= 2);
+		assertTrue(store.memoryBytes() <= 200 + 96);
+	}
+
+	@Test
+	void spillsIdleConversationsAndLoadsThemBack() throws Exception {
+		ConversationStore store = newStore(8, 8192);
+		store.append(7, "what is a primary key?", "A column that identifies a row.");
+		ReflectionTestUtils.setField(store, "idleMinutes", -1L);  // Everything counts as idle
+		store.sweep();
+
+		assertEquals(0, store.memoryBytes());
+		assertTrue(Files.exists(tempDir.resolve("7.turns")));
+		assertEquals("A column that identifies a row.", store.recentTurns(7).get(0).reply());
+		assertFalse(Files.exists(tempDir.resolve("7.turns")));
+
+		store.forget(7);
+		assertTrue(store.recentTurns(7).isEmpty());
+	}
+
+	private ConversationStore newStore(int maxTurns, int maxBytes) throws Exception {
+		ConversationStore store = new ConversationStore();
+		ReflectionTestUtils.setField(store, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(store, "maxTurns", maxTurns);
+		ReflectionTestUtils.setField(store, "maxBytes", maxBytes);
+		ReflectionTestUtils.setField(store, "maxUsers", 100);
+		ReflectionTestUtils.setField(store, "idleMinutes", 30L);
+		ReflectionTestUtils.setField(store, "retentionHours", 24L);
+		ReflectionTestUtils.setField(store, "spillDir", tempDir.toString());
+		store.start();
+		return store;
+	}
+}
@@ -0,0 +1,141 @@
+package com.eLearningWebApp.eLearningWebApp.service;
+
+import com.eLearningWebApp.eLearningWebApp.repository.QuizAttemptHistoryRepository;
+import com.eLearningWebApp.eLearningWebApp.utilities.AttemptResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+
+class ScoreWriteBehindBufferTests {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void coalescesUpdatesIntoOneBatch() throws Exception {
+		JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+		ScoreWriteBehindBuffer buffer = newBuffer(jdbcTemplate);
+
+		buffer.recordScore(1L, 10);
+		buffer.recordScore(2L, 5);
+		buffer.recordScore(1L, 20);
+		buffer.flush();
+
+		assertEquals(Map.of(1L, 20, 2L, 5), capturedBatches(jdbcTemplate, 1).get(0));
+		assertNull(buffer.getPendingScore(1L));
+		buffer.shutdown();
+	}
+
+	@Test
+	void replaysUnsavedScoresAfterACrash() throws Exception {
+		JdbcTemplate failingTemplate = Mockito.mock(JdbcTemplate.class);
+		Mockito.when(failingTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+				.thenThrow(new RuntimeException("database down"));
+		ScoreWriteBehindBuffer crashed = newBuffer(failingTemplate);
+		crashed.recordScore(1L, 10);
+		crashed.recordScore(1L, 30);
+		crashed.flush();  // Fails, the scores stay pending and the process "crashes" without shutting down
+		assertEquals(30, crashed.getPendingScore(1L));
+
+		JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+		ScoreWriteBehindBuffer restarted = newBuffer(jdbcTemplate);
+
+		assertEquals(Map.of(1L, 30), capturedBatches(jdbcTemplate, 1).get(0));
+		assertNull(restarted.getPendingScore(1L));
+		restarted.shutdown();
+	}
+
+	private ScoreWriteBehindBuffer newBuffer(JdbcTemplate jdbcTemplate) throws Exception {
+		return newBuffer(jdbcTemplate, Mockito.mock(QuizAttemptHistoryRepository.class));
+	}
+
+	private ScoreWriteBehindBuffer newBuffer(JdbcTemplate jdbcTemplate, QuizAttemptHistoryRepository historyRepository) throws Exception {
+		ScoreWriteBehindBuffer buffer = new ScoreWriteBehindBuffer();
+		ReflectionTestUtils.setField(buffer, "jdbcTemplate", jdbcTemplate);
+		ReflectionTestUtils.setField(buffer, "transactionTemplate", new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)));
+		ReflectionTestUtils.setField(buffer, "quizAttemptHistoryRepository", historyRepository);
+		ReflectionTestUtils.setField(buffer, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(buffer, "maxPending", 1000);
+		ReflectionTestUtils.setField(buffer, "logFile", tempDir.resolve("score-buffer.log").toString());
+		buffer.start();
+		return buffer;
+	}
+
+	@Test
+	void replaysUnsavedAttemptsAfterACrash() throws Exception {
+		JdbcTemplate failingTemplate = Mockito.mock(JdbcTemplate.class);
+		Mockito.when(failingTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+				.thenThrow(new RuntimeException("database down"));
+		ScoreWriteBehindBuffer crashed = newBuffer(failingTemplate);
+		AttemptResult first = new AttemptResult(100, 2, 4, 30_000, 1_000_000);
+		AttemptResult second = new AttemptResult(150, 3, 4, 20_000, 2_000_000);
+		crashed.recordAttempt(1L, first);
+		crashed.recordAttempt(1L, second);
+		crashed.recordScore(1L, 40);  // Set by an admin after the attempts
+		crashed.flush();
+		assertEquals(List.of(first, second), crashed.getPendingAttempts(1L));
+
+		JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+		QuizAttemptHistoryRepository historyRepository = Mockito.mock(QuizAttemptHistoryRepository.class);
+		ScoreWriteBehindBuffer restarted = newBuffer(jdbcTemplate, historyRepository);
+
+		assertEquals(Map.of(1L, 40), capturedBatches(jdbcTemplate, 1).get(0));
+		Mockito.verify(historyRepository).append(Map.of(1L, List.of(first, second)));
+		assertTrue(restarted.getPendingAttempts(1L).isEmpty());
+		restarted.shutdown();
+	}
+
+	@Test
+	void savesAnAttemptRecordedDuringAFlushWithAnUnchangedScore() throws Exception {
+		JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+		QuizAttemptHistoryRepository historyRepository = Mockito.mock(QuizAttemptHistoryRepository.class);
+		ScoreWriteBehindBuffer buffer = newBuffer(jdbcTemplate, historyRepository);
+		AttemptResult first = new AttemptResult(50, 2, 4, 30_000, 1_000_000);
+		AttemptResult second = new AttemptResult(50, 0, 4, 10_000, 2_000_000);  // Earns no points, the score stays 50
+		buffer.recordAttempt(1L, first);
+		Mockito.doAnswer(invocation -> {
+			buffer.recordAttempt(1L, second);  // Finished while the first flush is running
+			return null;
+		}).doNothing().when(historyRepository).append(Mockito.anyMap());
+
+		buffer.flush();
+		assertNull(buffer.getPendingScore(1L));  // Removed with the saved score, as the values are equal
+		assertEquals(List.of(second), buffer.getPendingAttempts(1L));
+
+		buffer.flush();
+		Mockito.verify(historyRepository).append(Map.of(1L, List.of(second)));
+		assertTrue(buffer.getPendingAttempts(1L).isEmpty());
+		buffer.shutdown();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Map<Long, Integer>> capturedBatches(JdbcTemplate jdbcTemplate, int times) {
+		ArgumentCaptor<Collection<Map.Entry<Long, Integer>>> captor = ArgumentCaptor.forClass(Collection.class);
+		Mockito.verify(jdbcTemplate, Mockito.times(times)).batchUpdate(anyString(), captor.capture(), anyInt(), any());
+		List<Map<Long, Integer>> batches = new ArrayList<>();
+		for (Collection<Map.Entry<Long, Integer>> batch : captor.getAllValues()) {
+			batches.add(Map.ofEntries(batch.toArray(Map.Entry[]::new)));
+		}
+		return batches;
+	}
+}
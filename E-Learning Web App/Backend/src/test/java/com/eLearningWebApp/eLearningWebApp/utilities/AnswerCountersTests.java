@@ -0,0 +1,65 @@
+package com.eLearningWebApp.eLearningWebApp.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AnswerCountersTests {
+
+	@Test
+	void flushesEveryConcurrentAnswerExactlyOnce() throws Exception {
+		AnswerCounters counters = new AnswerCounters();
+		counters.addFlushed(new AnswerCounters.Delta(10, 4, 1000));
+		int threads = 8;
+		int answersPerThread = 50_000;
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> students = new ArrayList<>();
+		for (int thread = 0; thread < threads; thread++) {
+			Thread student = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int answer = 0; answer < answersPerThread; answer++) {
+					counters.record(answer % 4 == 0, 3);
+				}
+			});
+			student.start();
+			students.add(student);
+		}
+
+		long flushedAnswers = 0;
+		long flushedCorrect = 0;
+		long flushedMillis = 0;
+		start.countDown();
+		boolean failNext = true;
+		while (students.stream().anyMatch(Thread::isAlive)) {
+			AnswerCounters.Delta delta = counters.takeUnflushed();
+			if (failNext) {
+				counters.restoreUnflushed(delta);  // A failed flush gives its counts back
+			} else {
+				flushedAnswers += delta.answers();
+				flushedCorrect += delta.correctAnswers();
+				flushedMillis += delta.answerMillis();
+			}
+			failNext = !failNext;
+		}
+		for (Thread student : students) {
+			student.join();
+		}
+		AnswerCounters.Delta last = counters.takeUnflushed();
+
+		long total = (long) threads * answersPerThread;
+		assertEquals(total, flushedAnswers + last.answers());
+		assertEquals(total / 4, flushedCorrect + last.correctAnswers());
+		assertEquals(total * 3, flushedMillis + last.answerMillis());
+		assertEquals(total + 10, counters.getAnswers());
+		assertEquals(total / 4 + 4, counters.getCorrectAnswers());
+		assertEquals(0.25, counters.correctRate(0.5, 0), 0.001);
+	}
+}
@@ -0,0 +1,44 @@
+package com.eLearningWebApp.eLearningWebApp.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Bm25IndexTests {
+
+	@Test
+	void ranksRareTermsAndShortDocumentsFirst() {
+		Bm25Index<Integer> index = new Bm25Index<>();
+		index.put(1, "What is a primary key in a relational database?");
+		index.put(2, "Which SQL statement removes rows from a table in the database?");
+		index.put(3, "A foreign key references the primary key of another table, which keeps the database consistent");
+
+		List<Bm25Index.Hit<Integer>> hits = index.search("primary keys", 10);
+		assertEquals(List.of(1, 3), hits.stream().map(Bm25Index.Hit::key).toList());
+		assertTrue(hits.get(0).score() > hits.get(1).score());
+		assertTrue(index.search("the of which", 10).isEmpty());
+	}
+
+	@Test
+	void updatesIncrementally() {
+		Bm25Index<String> index = new Bm25Index<>();
+		index.put("q1", "binary search tree");
+		index.put("q2", "hash table");
+		index.put("q1", "linked list");
+
+		assertTrue(index.search("tree", 10).isEmpty());
+		assertEquals("q1", index.search("list", 10).get(0).key());
+
+		index.remove("q2");
+		assertTrue(index.search("hash", 10).isEmpty());
+
+		index.put("f1", "hash map");
+		index.replaceGroup(key -> key.startsWith("q"), Map.of("q3", "hash set"));
+		assertEquals(List.of("f1", "q3"), index.search("hash", 10).stream().map(Bm25Index.Hit::key).sorted().toList());
+		assertEquals(2, index.size());
+	}
+}
@@ -0,0 +1,33 @@
+package com.eLearningWebApp.eLearningWebApp.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvReaderTests {
+
+	@Test
+	void readsQuotedFieldsAcrossLines() throws IOException {
+		CsvReader reader = new CsvReader(new StringReader(
+				"questionText,correctAnswer\r\n\"What is \"\"2, plus 2\"\"?\nPick one\",4\nplain,1"));
+
+		assertEquals(List.of("questionText", "correctAnswer"), reader.readRecord());
+		assertEquals(List.of("What is \"2, plus 2\"?\nPick one", "4"), reader.readRecord());
+		assertEquals(2, reader.getRecordStartLine());
+		assertEquals(List.of("plain", "1"), reader.readRecord());
+		assertEquals(4, reader.getRecordStartLine());
+		assertNull(reader.readRecord());
+	}
+
+	@Test
+	void rejectsUnterminatedQuotes() {
+		CsvReader reader = new CsvReader(new StringReader("\"open,1\n"));
+		assertThrows(IOException.class, reader::readRecord);
+	}
+}
@@ -0,0 +1,61 @@
+package com.eLearningWebApp.eLearningWebApp.utilities;
+
+import com.eLearningWebApp.eLearningWebApp.dto.LeaderboardEntryDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LeaderboardRankingTests {
+
+	@Test
+	void ranksByScoreThenId() {
+		LeaderboardRanking ranking = new LeaderboardRanking();
+		ranking.upsert(1, "a", "a@test", 100);
+		ranking.upsert(2, "b", "b@test", 250);
+		ranking.upsert(3, "c", "c@test", 100);
+
+		List<LeaderboardEntryDTO> page = ranking.page(0, 10);
+		assertEquals(List.of(2L, 1L, 3L), page.stream().map(LeaderboardEntryDTO::getId).toList());
+		assertEquals(3, ranking.findByEmail("c@test").getRank());
+
+		ranking.upsert(3, "c", "c@test", 300);
+		assertEquals(1, ranking.findByEmail("c@test").getRank());
+
+		ranking.remove(2);
+		assertNull(ranking.findByEmail("b@test"));
+		assertEquals(2, ranking.size());
+	}
+
+	@Test
+	void matchesFullSortAfterRandomUpdates() {
+		LeaderboardRanking ranking = new LeaderboardRanking();
+		Random random = new Random(42);
+		int[] scores = new int[500];
+		for (int round = 0; round < 5000; round++) {
+			int userId = random.nextInt(scores.length);
+			scores[userId] = random.nextInt(40) * 50;
+			ranking.upsert(userId, "user" + userId, userId + "@test", scores[userId]);
+		}
+
+		List<Integer> expected = new ArrayList<>();
+		for (int userId = 0; userId < scores.length; userId++) {
+			expected.add(userId);
+		}
+		expected.sort(Comparator.<Integer>comparingInt(userId -> -scores[userId]).thenComparingInt(userId -> userId));
+
+		List<LeaderboardEntryDTO> page = ranking.page(0, scores.length);
+		for (int position = 0; position < expected.size(); position++) {
+			assertEquals(expected.get(position).longValue(), page.get(position).getId());
+			assertEquals(position + 1, ranking.findByEmail(expected.get(position) + "@test").getRank());
+		}
+		assertEquals(List.of(expected.get(9).longValue(), expected.get(10).longValue(), expected.get(11).longValue()),
+				ranking.around(expected.get(10) + "@test", 1).stream().map(LeaderboardEntryDTO::getId).toList());
+	}
+
+}
@@ -0,0 +1,60 @@
+package com.eLearningWebApp.eLearningWebApp.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MinHashIndexTests {
+
+	@Test
+	void findsRewordedCopiesButNotRelatedQuestions() {
+		MinHashIndex index = new MinHashIndex();
+		index.put(1, "Which data structure uses first-in, first-out ordering?\nArray\nQueue\nStack\nTree");
+		index.put(2, "Which data structure uses last-in, first-out ordering?\nGraph\nHeap\nStack\nTrie");
+		index.put(3, "What is the time complexity of binary search on a sorted array?\nO(1)\nO(log n)\nO(n)\nO(n log n)");
+
+		List<MinHashIndex.Match> matches = index.findSimilar(
+				"Which data structure has FIRST in, first out ordering ?\nArray\nQueue\nStack\nTree", 0.7, null, 5);
+		assertEquals(1, matches.size());
+		assertEquals(1L, matches.get(0).key());
+		assertTrue(matches.get(0).similarity() >= 0.7);
+
+		assertTrue(index.findSimilar("Which data structure uses first-in, first-out ordering?\nArray\nQueue\nStack\nTree", 0.7, 1L, 5).isEmpty());
+		index.remove(1);
+		assertTrue(index.findSimilar("Which data structure uses first-in, first-out ordering?\nArray\nQueue\nStack\nTree", 0.7, null, 5).isEmpty());
+		assertEquals(2, index.size());
+	}
+
+	@Test
+	void clustersNearDuplicatesAcrossTheBank() {
+		Random random = new Random(7);
+		Map<Long, String> texts = new HashMap<>();
+		for (long key = 1; key <= 3000; key++) {
+			StringBuilder text = new StringBuilder("Explain");
+			for (int word = 0; word < 8; word++) {
+				text.append(' ');
+				for (int letter = 0; letter < 6; letter++) {
+					text.append((char) ('a' + random.nextInt(26)));
+				}
+			}
+			texts.put(key, text.toString());
+		}
+		texts.put(5001L, "What does the HTTP status code 404 mean for the requested resource?");
+		texts.put(5002L, "What does HTTP status code 404 mean for a requested resource?");
+		texts.put(5003L, "What does the HTTP status code 404 mean for the requested resource ?");
+		texts.put(6001L, "Explain the difference between a process and a thread in an operating system");
+		texts.put(6002L, "Explain the difference between a thread and a process in an operating system");
+		MinHashIndex index = new MinHashIndex();
+		index.replaceAll(texts);
+
+		List<List<Long>> clusters = index.clusters(0.7);
+		assertEquals(List.of(List.of(5001L, 5002L, 5003L), List.of(6001L, 6002L)), clusters);
+		assertTrue(index.similarity(5001, 5003) > index.similarity(5001, 6001));
+	}
+}
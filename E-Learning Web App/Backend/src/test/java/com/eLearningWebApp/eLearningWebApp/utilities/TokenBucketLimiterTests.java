@@ -0,0 +1,66 @@
+package com.eLearningWebApp.eLearningWebApp.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketLimiterTests {
+
+	private static final long SECOND = 1_000_000_000L;
+
+	@Test
+	void allowsABurstThenRefillsAndEvictsIdleKeys() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter(3, 2, 2);
+		long now = 5 * SECOND;
+		for (int request = 0; request < 3; request++) {
+			assertEquals(0, limiter.tryAcquire("ip:a", now));
+		}
+		assertEquals(SECOND / 2, limiter.tryAcquire("ip:a", now));  // Next token in half a second
+		assertEquals(0, limiter.tryAcquire("ip:b", now));  // Other keys have their own bucket
+		assertEquals(0, limiter.tryAcquire("ip:a", now + SECOND / 2));
+
+		assertEquals(0, limiter.tryAcquire("ip:c", now));  // Map is full: new keys share the overflow bucket
+		assertEquals(2, limiter.size());
+		assertEquals(1, limiter.evictIdle(now + SECOND));  // b is full again, a is not
+		assertEquals(0, limiter.tryAcquire("ip:c", now + SECOND));  // Now c gets its own bucket
+		assertEquals(2, limiter.size());
+		assertEquals(2, limiter.evictIdle(now + 2 * SECOND));  // a and c are both full again
+	}
+
+	@Test
+	void grantsExactlyTheCapacityToConcurrentRequests() throws Exception {
+		TokenBucketLimiter limiter = new TokenBucketLimiter(1000, 1, 10);
+		long now = System.nanoTime();
+		AtomicInteger granted = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> clients = new ArrayList<>();
+		for (int thread = 0; thread < 8; thread++) {
+			Thread client = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int request = 0; request < 500; request++) {
+					if (limiter.tryAcquire("user:a@test", now) == 0) {
+						granted.incrementAndGet();
+					}
+				}
+			});
+			client.start();
+			clients.add(client);
+		}
+		start.countDown();
+		for (Thread client : clients) {
+			client.join();
+		}
+		assertEquals(1000, granted.get());
+		assertTrue(limiter.tryAcquire("user:a@test", now) > 0);
+	}
+}
@@ -0,0 +1,68 @@
+package com.eLearningWebApp.eLearningWebApp.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTests {
+
+	@Test
+	void findsSubstringsAndWordPrefixesWithPaging() {
+		TrigramIndex index = new TrigramIndex();
+		index.put(1, List.of("What is a Primary  Key?", "A unique column", "An index", "A view", "A trigger"));
+		index.put(2, List.of("Which SQL statement removes rows?", "DELETE", "DROP", "TRUNCATE", "ALTER"));
+		index.put(3, List.of("What does a foreign key reference?", "A primary key", "A view", "A sequence", "A schema"));
+
+		assertEquals(List.of(1, 3), index.search("primary key", Long.MIN_VALUE, 10).stream().map(Long::intValue).toList());
+		assertEquals(List.of(2), index.search("runc", Long.MIN_VALUE, 10).stream().map(Long::intValue).toList());
+		assertEquals(List.of(1, 3), index.search("vi", Long.MIN_VALUE, 10).stream().map(Long::intValue).toList());
+		assertTrue(index.search("ew", Long.MIN_VALUE, 10).isEmpty());  // Two characters only match the start of a word
+		assertTrue(index.search("column an", Long.MIN_VALUE, 10).isEmpty());  // Matches never span two fields
+		assertEquals(List.of(3L), index.search("a view", 1, 1));
+
+		index.put(1, List.of("What is a candidate key?"));
+		index.remove(3);
+		assertTrue(index.search("primary", Long.MIN_VALUE, 10).isEmpty());
+		assertEquals(List.of(1L), index.search("KEY", Long.MIN_VALUE, 10));
+		assertEquals(2, index.size());
+	}
+
+	@Test
+	void agreesWithPlainSubstringSearchAcrossCompactions() {
+		Random random = new Random(42);
+		String[] words = {"array", "tree", "graph", "heap", "hash", "stack", "queue", "sort", "search", "list"};
+		TrigramIndex index = new TrigramIndex();
+		Map<Long, String> texts = new TreeMap<>();
+		for (int step = 0; step < 20000; step++) {
+			long key = random.nextInt(2000);
+			if (random.nextInt(4) == 0) {
+				index.remove(key);
+				texts.remove(key);
+			} else {
+				String text = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)] + " " + random.nextInt(100);
+				index.put(key, List.of(text));
+				texts.put(key, text.toLowerCase(Locale.ROOT));
+			}
+		}
+
+		for (String query : List.of("ee gr", "sort", "hash 4", "eue", "he", "st")) {
+			List<Long> expected = new ArrayList<>();
+			texts.forEach((key, text) -> {
+				boolean match = query.length() == 2 ? (" " + text).contains(" " + query) : text.contains(query);
+				if (match && key > 500 && expected.size() < 25) {
+					expected.add(key);
+				}
+			});
+			assertEquals(expected, index.search(query, 500, 25), query);
+		}
+		assertEquals(texts.size(), index.size());
+	}
+}
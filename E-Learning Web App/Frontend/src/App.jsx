@@ -12,6 +12,7 @@ import { ProtectedRoute, AdminRoute } from './service/AuthRoute';
 import Questions from '../src/component/quiz/Questions'; 
 import ManageUsersPage from '../src/component/admin/ManageUsersPage';
 import ManageQuiz from '../src/component/admin/ManageQuiz';
+import ManageFaq from '../src/component/admin/ManageFaq';
 import Scoreboard from '../src/component/quiz/Scoreboard';
 
 function App() {
@@ -34,6 +35,7 @@ function App() {
             <Route path="/admin" element={<AdminRoute element={<AdminPage />} />} />
             <Route path="/manage-users" element={<AdminRoute element={<ManageUsersPage />} />} />
             <Route path="/manage-quiz" element={<AdminRoute element={<ManageQuiz />} />} />
+            <Route path="/manage-faq" element={<AdminRoute element={<ManageFaq />} />} />
 
 
             <Route path="*" element={<Navigate to="/home" />} />
@@ -32,6 +32,11 @@ const AdminPage = () => {
                 <button className="admin-button" onClick={() => navigate('/manage-quiz')}>
                     Manage Quiz
                 </button>
+
+                {/* Button to navigate to manage assistant FAQ page */}
+                <button className="admin-button" onClick={() => navigate('/manage-faq')}>
+                    Manage FAQ
+                </button>
             </div>
             <br />
             {/* Back button to return to the home page */}
@@ -0,0 +1,152 @@
+import React, { useState, useEffect } from 'react';
+import { useNavigate } from 'react-router-dom';
+import ApiService from '../../service/ApiService';
+
+// Admin page for the FAQ entries the digital assistant answers from
+const ManageFaq = () => {
+    const [faqEntries, setFaqEntries] = useState([]);
+    const [newEntry, setNewEntry] = useState({ question: '', answer: '' });
+    const [alertMessage, setAlertMessage] = useState('');
+    const [alertType, setAlertType] = useState('success');
+    const [loading, setLoading] = useState(true);
+    const navigate = useNavigate();
+
+    // Fetching the FAQ entries from the API
+    const fetchFaqEntries = async () => {
+        try {
+            const response = await ApiService.getFaqEntries();
+            setFaqEntries(response.faqEntryList || []);
+        } catch (error) {
+            console.error('Error fetching FAQ entries:', error);
+        } finally {
+            setLoading(false);
+        }
+    };
+
+    useEffect(() => {
+        fetchFaqEntries();
+    }, []);
+
+    // Showing a success or error message for a few seconds
+    const showAlert = (message, type) => {
+        setAlertMessage(message);
+        setAlertType(type);
+        setTimeout(() => setAlertMessage(''), 3000);
+    };
+
+    // Adding a new FAQ entry
+    const handleAddEntry = async () => {
+        if (!newEntry.question || !newEntry.answer) {
+            showAlert('Please fill in the question and the answer.', 'error');
+            return;
+        }
+        try {
+            await ApiService.addFaqEntry(newEntry);
+            setNewEntry({ question: '', answer: '' });
+            showAlert('FAQ entry added successfully!', 'success');
+            fetchFaqEntries();
+        } catch (error) {
+            showAlert(error.response?.data?.message || 'Error adding FAQ entry.', 'error');
+        }
+    };
+
+    // Editing an entry in the table before saving it
+    const handleEntryChange = (index, field, value) => {
+        const updatedEntries = [...faqEntries];
+        updatedEntries[index] = { ...updatedEntries[index], [field]: value };
+        setFaqEntries(updatedEntries);
+    };
+
+    // Saving an edited FAQ entry
+    const handleUpdateEntry = async (entry) => {
+        try {
+            await ApiService.updateFaqEntry(entry.id, entry);
+            showAlert('FAQ entry updated successfully!', 'success');
+        } catch (error) {
+            showAlert(error.response?.data?.message || 'Error updating FAQ entry.', 'error');
+        }
+    };
+
+    // Deleting a FAQ entry
+    const handleDeleteEntry = async (faqEntryId) => {
+        try {
+            await ApiService.deleteFaqEntry(faqEntryId);
+            setFaqEntries(faqEntries.filter(entry => entry.id !== faqEntryId));
+            showAlert('FAQ entry deleted successfully!', 'success');
+        } catch (error) {
+            showAlert(error.response?.data?.message || 'Error deleting FAQ entry.', 'error');
+        }
+    };
+
+    if (loading) {
+        return <div className="manage-quiz-page">Loading FAQ entries...</div>;
+    }
+
+    return (
+        <div className="manage-quiz-page">
+            <h1>Manage Assistant FAQ</h1>
+            {alertMessage && (
+                <div className={`custom-alert custom-alert-${alertType}`}>{alertMessage}</div>
+            )}
+            <div className="add-question-section">
+                <input
+                    type="text"
+                    placeholder="Question"
+                    value={newEntry.question}
+                    onChange={(e) => setNewEntry({ ...newEntry, question: e.target.value })}
+                />
+                <input
+                    type="text"
+                    placeholder="Answer"
+                    value={newEntry.answer}
+                    onChange={(e) => setNewEntry({ ...newEntry, answer: e.target.value })}
+                />
+                <div className="centered-button">
+                    <button onClick={handleAddEntry}>Add FAQ entry</button>
+                </div>
+            </div>
+            <div className="update-question-section">
+                <div className="scrollable-table">
+                    <table>
+                        <thead>
+                            <tr>
+                                <th>Question</th>
+                                <th>Answer</th>
+                                <th>Actions</th>
+                            </tr>
+                        </thead>
+                        <tbody>
+                            {faqEntries.map((entry, index) => (
+                                <tr key={entry.id}>
+                                    <td>
+                                        <input
+                                            type="text"
+                                            value={entry.question}
+                                            onChange={(e) => handleEntryChange(index, 'question', e.target.value)}
+                                        />
+                                    </td>
+                                    <td>
+                                        <input
+                                            type="text"
+                                            value={entry.answer}
+                                            onChange={(e) => handleEntryChange(index, 'answer', e.target.value)}
+                                        />
+                                    </td>
+                                    <td>
+                                        <button className="update-button" onClick={() => handleUpdateEntry(entry)}>Update</button>
+                                        <button className="delete-button" onClick={() => handleDeleteEntry(entry.id)}>Delete</button>
+                                    </td>
+                                </tr>
+                            ))}
+                        </tbody>
+                    </table>
+                </div>
+            </div>
+            <div className="centered-button">
+                <button className="back-button" onClick={() => navigate('/admin')}>Back</button>
+            </div>
+        </div>
+    );
+};
+
+export default ManageFaq;
@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { useNavigate } from 'react-router-dom';
 import ApiService from '../../service/ApiService';
 
@@ -26,6 +26,12 @@ const ManageQuiz = () => {
 
     const [deleteConfirmation, setDeleteConfirmation] = useState({ show: false, questionId: null });
 
+    const [searchQuery, setSearchQuery] = useState(''); // Text searched in the questions and answer options
+    const [nextCursor, setNextCursor] = useState(null); // Cursor of the next page of search results, null on the last page
+    const showingSearchResults = useRef(false); // Whether the table holds search results instead of all questions
+    const [confirmedDuplicateId, setConfirmedDuplicateId] = useState(null); // Question to save despite a near-duplicate warning, 'new' for the add form
+    const [duplicateClusters, setDuplicateClusters] = useState(null); // Groups of near-duplicate questions, null while the report is closed
+
     const navigate = useNavigate();
 
     // Fetching quiz questions from the API 
@@ -40,14 +46,42 @@ const ManageQuiz = () => {
         }
     };
 
+    // Searching the question bank on the server, one page at a time
+    const searchQuizQuestions = async (query, cursor = null) => {
+        try {
+            const response = await ApiService.searchQuizQuestions(query, cursor);
+            setQuizQuestions(previousQuestions => cursor ? [...previousQuestions, ...response.quizQuestionList] : response.quizQuestionList);
+            setNextCursor(response.nextCursor || null);
+        } catch (error) {
+            console.error('Error searching quiz questions:', error);
+        }
+    };
+
     useEffect(() => {
         fetchQuizQuestions();
     }, []);
 
+    // Searching once the admin stops typing; queries shorter than two characters show all questions again
+    useEffect(() => {
+        const query = searchQuery.trim();
+        const timer = setTimeout(() => {
+            if (query.length >= 2) {
+                showingSearchResults.current = true;
+                searchQuizQuestions(query);
+            } else if (showingSearchResults.current) {
+                showingSearchResults.current = false;
+                setNextCursor(null);
+                fetchQuizQuestions();
+            }
+        }, 300);
+        return () => clearTimeout(timer);
+    }, [searchQuery]);
+
     // Handling input changes for adding a new question
     const handleInputChange = (e, field) => {
         setNewQuestion({ ...newQuestion, [field]: e.target.value });
         setIsFormModified(true);
+        setConfirmedDuplicateId(null); // A changed question is checked for duplicates again
     };
 
     // Adding new question 
@@ -84,7 +118,8 @@ const ManageQuiz = () => {
                 correctAnswer: newQuestion.correct_answer,
             };
 
-            await ApiService.addQuizQuestion(questionPayload);
+            await ApiService.addQuizQuestion(questionPayload, confirmedDuplicateId === 'new');
+            setConfirmedDuplicateId(null);
 
             setNewQuestion({
                 question_text: '',
@@ -103,6 +138,13 @@ const ManageQuiz = () => {
 
             setTimeout(() => setAddQuizAlertMessage(''), 5000);
         } catch (error) {
+            if (error.response?.status === 409) {
+                // Near-duplicate of an existing question: a second click on Add saves it anyway
+                setConfirmedDuplicateId('new');
+                setAddQuizAlertMessage(`${error.response.data.message}: "${error.response.data.duplicateQuestions[0].questionText}". Click Add again to save it anyway.`);
+                setAddQuizAlertType('error');
+                return;
+            }
             console.error('Error adding quiz question:', error);
             setAddQuizAlertMessage('Failed to add the question. Please try again.');
             setAddQuizAlertType('error');
@@ -136,6 +178,7 @@ const ManageQuiz = () => {
         const updatedQuestions = [...quizQuestions];
         updatedQuestions[index][field] = e.target.value;
         setQuizQuestions(updatedQuestions);
+        setConfirmedDuplicateId(null); // A changed question is checked for duplicates again
     };
 
     // Updating quiz question logic
@@ -168,7 +211,8 @@ const ManageQuiz = () => {
                 correctAnswer: updatedQuestion.correctAnswer,
             };
 
-            await ApiService.updateQuizQuestion(updatePayload.id, updatePayload);
+            await ApiService.updateQuizQuestion(updatePayload.id, updatePayload, confirmedDuplicateId === updatePayload.id);
+            setConfirmedDuplicateId(null);
 
             // Displaying success message if question is updated successfully
             setUpdateQuizAlertMessage('Question updated successfully!');
@@ -176,6 +220,13 @@ const ManageQuiz = () => {
             setTimeout(() => setUpdateQuizAlertMessage(''), 5000);
 
         } catch (error) {  // Displaying error message if question isn't updated successfully
+            if (error.response?.status === 409) {
+                // Near-duplicate of another question: a second click on Update saves it anyway
+                setConfirmedDuplicateId(updatedQuestion.id);
+                setUpdateQuizAlertMessage(`${error.response.data.message}. Click Update again to save it anyway.`);
+                setUpdateQuizAlertType('error');
+                return;
+            }
 
             console.error('Error updating question:', error);
             setUpdateQuizAlertMessage('Failed to update the question. Please try again.');
@@ -184,6 +235,16 @@ const ManageQuiz = () => {
         }
     };
 
+    // Fetching the report of near-duplicate questions in the bank
+    const handleShowDuplicates = async () => {
+        try {
+            const response = await ApiService.getDuplicateQuizQuestions();
+            setDuplicateClusters(response.duplicateClusters);
+        } catch (error) {
+            console.error('Error fetching duplicate quiz questions:', error);
+        }
+    };
+
     // Handling confirmation for deleting a question
     const handleDeleteConfirmation = (questionId) => {
         setDeleteConfirmation({ show: true, questionId });
@@ -218,7 +279,7 @@ const ManageQuiz = () => {
 
     return (
         <div className="manage-quiz-page">
-            {!showAddForm && !showUpdateForm && (
+            {!showAddForm && !showUpdateForm && !duplicateClusters && (
                 <div className="manage-quiz-container">
                     <h1>Manage Quiz</h1>
 
@@ -236,6 +297,53 @@ const ManageQuiz = () => {
                             Update/Delete Quiz
                         </button>
                     </div>
+                    {/* Button to list near-duplicate questions */}
+                    <div className="centered-button">
+                        <button className="update-quiz-button" onClick={handleShowDuplicates}>
+                            Find Duplicates
+                        </button>
+                    </div>
+                </div>
+            )}
+
+            {duplicateClusters && (
+                <div className="update-question-section">
+                    <h2>Near-Duplicate Quiz Questions</h2>
+                    <div className="table-container">
+                        <div className="scrollable-table">
+                            <table>
+                                <thead>
+                                    <tr>
+                                        <th>Cluster</th>
+                                        <th>ID</th>
+                                        <th>Question Text</th>
+                                        <th>Similarity</th>
+                                    </tr>
+                                </thead>
+                                <tbody>
+                                    {duplicateClusters.length > 0 ? (
+                                        duplicateClusters.flatMap((cluster, clusterIndex) =>
+                                            cluster.questions.map((question) => (
+                                                <tr key={question.id}>
+                                                    <td>{clusterIndex + 1} ({cluster.size})</td>
+                                                    <td>{question.id}</td>
+                                                    <td>{question.questionText}</td>
+                                                    <td>{Math.round(question.similarity * 100)}%</td>
+                                                </tr>
+                                            ))
+                                        )
+                                    ) : (
+                                        <tr>
+                                            <td colSpan="4">No near-duplicate questions found</td>
+                                        </tr>
+                                    )}
+                                </tbody>
+                            </table>
+                        </div>
+                    </div>
+                    <div className="centered-button">
+                        <button className="back-button" onClick={() => setDuplicateClusters(null)}>Back</button>
+                    </div>
                 </div>
             )}
 
@@ -319,6 +427,15 @@ const ManageQuiz = () => {
                         </div>
                     )}
 
+                    {/* Searching the question text and answer options */}
+                    <input
+                        type="text"
+                        className="quiz-search-input"
+                        placeholder="Search questions and answers..."
+                        value={searchQuery}
+                        onChange={(e) => setSearchQuery(e.target.value)}
+                    />
+
                     {/* Table to display quiz questions for update/delete */}
                     <div className="table-container">
                         <div className="scrollable-table">
@@ -400,6 +517,15 @@ const ManageQuiz = () => {
                         </div>
                     </div>
 
+                    {/* Loading the next page of search results */}
+                    {nextCursor && (
+                        <div className="centered-button">
+                            <button className="back-button" onClick={() => searchQuizQuestions(searchQuery.trim(), nextCursor)}>
+                                Load more
+                            </button>
+                        </div>
+                    )}
+
                     {/* Delete confirmation modal */}
                     {deleteConfirmation.show && (
                         <div className="delete-confirmation-modal">
@@ -10,23 +10,25 @@ const ManageUsersPage = () => {
     const [confirmDelete, setConfirmDelete] = useState(false);
     const [userToDelete, setUserToDelete] = useState(null);
     const [alertClass, setAlertClass] = useState(''); 
+    const [nextCursor, setNextCursor] = useState(null); // Cursor of the next page of users, null on the last page
 
     const navigate = useNavigate(); // Hook for navigation
 
-    // Fetching the list of users with the role != admin role 
-    useEffect(() => {
-        const fetchUsers = async () => {
-            try {
-                const response = await ApiService.getAllUsers();
-                const filteredUsers = response.userList.filter(user => user.role !== 'ADMIN');
-                setUsers(filteredUsers); // Setting users without admins
-                setLoading(false);
-            } catch (error) {
-                console.error('Error fetching users:', error);
-                setLoading(false);
-            }
-        };
+    // Fetching a page of users with the role != admin role 
+    const fetchUsers = async (cursor = null) => {
+        try {
+            const response = await ApiService.getUsersPage('name', cursor);
+            const filteredUsers = response.userList.filter(user => user.role !== 'ADMIN');
+            setUsers(previousUsers => cursor ? [...previousUsers, ...filteredUsers] : filteredUsers); // Appending the page without admins
+            setNextCursor(response.nextCursor || null);
+            setLoading(false);
+        } catch (error) {
+            console.error('Error fetching users:', error);
+            setLoading(false);
+        }
+    };
 
+    useEffect(() => {
         fetchUsers();
     }, []);
 
@@ -121,6 +123,15 @@ const ManageUsersPage = () => {
                 </table>
             </div>
 
+            {/* Loading the next page of users */}
+            {nextCursor && (
+                <div className="centered-button">
+                    <button className="back-button" onClick={() => fetchUsers(nextCursor)}>
+                        Load more
+                    </button>
+                </div>
+            )}
+
             {/* Delete confirmation modal */}
             {confirmDelete && (
                 <div className="delete-confirmation-modal">
@@ -26,7 +26,7 @@ function LoginPage() {
         // Attempting login with the API
         try {
             const response = await ApiService.loginUser({ email, password });
-            if (response.statusCode === 200) {
+            if (response.token) {
                 // Saving token and role in localStorage on successful login
                 localStorage.setItem('token', response.token);
                 localStorage.setItem('role', response.role);
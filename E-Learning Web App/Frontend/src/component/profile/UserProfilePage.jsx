@@ -43,6 +43,18 @@ const UserProfilePage = () => {
                     </div>
                 </div>
             )}
+            {/* Displays the summary of the user's finished quiz attempts, if any */}
+            {user && user.attemptStats && (
+                <div className="profile-details">
+                    <h3>My Quiz Results</h3>
+                    <p><strong>Quizzes taken:</strong> {user.attemptStats.attempts}</p>
+                    <p><strong>Best score:</strong> {user.attemptStats.bestScore}</p>
+                    <p><strong>Last score:</strong> {user.attemptStats.lastScore}</p>
+                    <p><strong>Average score:</strong> {user.attemptStats.averageScore.toFixed(1)}</p>
+                    <p><strong>Average time:</strong> {Math.round(user.attemptStats.averageDurationMillis / 1000)} s</p>
+                    <p><strong>Last quiz:</strong> {new Date(user.attemptStats.lastAttemptAt).toLocaleString()}</p>
+                </div>
+            )}
         </div>
     );
 };
@@ -0,0 +1,69 @@
+import React, { useState } from 'react';
+import ApiService from '../../service/ApiService';
+
+// Digital assistant shown next to the quiz, answering questions from the course content
+const AssistantPanel = () => {
+    const [open, setOpen] = useState(false); // Whether the chat panel is expanded
+    const [question, setQuestion] = useState(''); // The question being typed
+    const [messages, setMessages] = useState([]); // The conversation so far
+    const [asking, setAsking] = useState(false); // True while waiting for a reply
+
+    // Sending the question to the assistant and showing its reply while it is streamed
+    const handleAsk = async (e) => {
+        e.preventDefault();
+        const text = question.trim();
+        if (!text || asking) {
+            return;
+        }
+        setMessages(previous => [...previous, { from: 'user', text }, { from: 'assistant', text: '' }]);
+        setQuestion('');
+        setAsking(true);
+
+        // Appending text to the assistant message that is being streamed, which is always the last one
+        const appendToReply = (piece, replace = false) => setMessages(previous => {
+            const last = previous[previous.length - 1];
+            return [...previous.slice(0, -1), { ...last, text: replace ? piece : last.text + piece }];
+        });
+        try {
+            await ApiService.streamAssistantAnswer(text, (chunk) => appendToReply(chunk));
+        } catch (error) {
+            appendToReply(error.message || 'The assistant is not available right now.', true);
+        } finally {
+            setAsking(false);
+        }
+    };
+
+    if (!open) {
+        return <button className="assistant-toggle" onClick={() => setOpen(true)}>Ask the assistant</button>;
+    }
+
+    return (
+        <div className="assistant-panel">
+            <div className="assistant-header">
+                <span>Digital assistant</span>
+                <button className="assistant-close" onClick={() => setOpen(false)}>×</button>
+            </div>
+            <div className="assistant-messages">
+                {messages.length === 0 && (
+                    <p className="assistant-hint">Ask about a topic of the quiz. I will not tell you the answers!</p>
+                )}
+                {messages.filter(message => message.text !== '').map((message, index) => (
+                    <p key={index} className={`assistant-message assistant-message-${message.from}`}>{message.text}</p>
+                ))}
+                {asking && messages[messages.length - 1]?.text === '' && <p className="assistant-hint">Thinking...</p>}
+            </div>
+            <form className="assistant-form" onSubmit={handleAsk}>
+                <input
+                    type="text"
+                    value={question}
+                    maxLength={500}
+                    placeholder="Type your question"
+                    onChange={(e) => setQuestion(e.target.value)}
+                />
+                <button type="submit" disabled={asking}>Ask</button>
+            </form>
+        </div>
+    );
+};
+
+export default AssistantPanel;
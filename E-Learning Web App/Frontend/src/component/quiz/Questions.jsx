@@ -1,6 +1,9 @@
 import React, { useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
 import ApiService from '../../service/ApiService'; 
+import AssistantPanel from './AssistantPanel';
+
+const QUESTIONS_PER_QUIZ = 10; // Number of questions picked for each quiz attempt
 
 const Questions = () => {
     const [currentQuestion, setCurrentQuestion] = useState(0); // Tracking the current question index
@@ -9,6 +12,7 @@ const Questions = () => {
     const [timeLeft, setTimeLeft] = useState(300); // Setting timer for each question (5 minutes)
     const [questions, setQuestions] = useState([]); // Storing the list of quiz questions
     const [loading, setLoading] = useState(true); // Tracking loading state while fetching questions
+    const [attemptId, setAttemptId] = useState(null); // Tracking the server-side quiz attempt
     const navigate = useNavigate(); // Hook for navigation
 
     // Setting quiz progress flag 
@@ -17,45 +21,40 @@ const Questions = () => {
         return () => localStorage.removeItem('quizInProgress'); // Clear the flag when component unmounts
     }, []);
 
-    // Saving the user's score after the quiz ends
-    const saveUserScore = async () => {
+    // Finishing the attempt after the quiz ends, the server saves the graded score
+    const finishAttempt = async () => {
         try {
-            const response = await ApiService.saveUserScore(score); // Saving the total score to the database
-            console.log('Score saved:', response);
+            const response = await ApiService.finishQuizAttempt(attemptId); // Saving the graded score to the database
+            setScore(response.quizAttempt.score); // Showing the score graded by the server
             localStorage.removeItem('quizInProgress'); // Clearing quiz progress flag after saving score
         } catch (error) {
             console.error('Error saving the score:', error);
         }
     };
 
-    // Triggering saving user score when the quiz ends
+    // Triggering finishing the attempt when the quiz ends
     useEffect(() => {
-        if (showScore) {
-            saveUserScore(); // Saving user score if quiz is complete
+        if (showScore && attemptId) {
+            finishAttempt(); // Finishing the attempt if quiz is complete
         }
     }, [showScore]);
 
+    // Starting a quiz attempt, the server picks the questions and keeps the answers
+    const startAttempt = async () => {
+        try {
+            setLoading(true);
+            const response = await ApiService.startQuizAttempt(QUESTIONS_PER_QUIZ);
+            setAttemptId(response.quizAttempt.attemptId); // Remembering the attempt for answers and finishing
+            setQuestions(response.quizAttempt.questions); // Setting the quiz questions
+            setLoading(false); // Turning off the loading state
+        } catch (error) {
+            console.error('Error fetching questions:', error);
+        }
+    };
+
     // Fetching quiz questions from the API 
     useEffect(() => {
-        const fetchQuestions = async () => {
-            try {
-                const response = await ApiService.getAllQuizQuestions(); 
-                const formattedQuestions = response.quizQuestionList.map(q => ({
-                    questionText: q.questionText,
-                    answerOptions: [
-                        { answerText: q.answerOption1, isCorrect: q.correctAnswer === 1 },
-                        { answerText: q.answerOption2, isCorrect: q.correctAnswer === 2 },
-                        { answerText: q.answerOption3, isCorrect: q.correctAnswer === 3 },
-                        { answerText: q.answerOption4, isCorrect: q.correctAnswer === 4 },
-                    ]
-                }));
-                setQuestions(formattedQuestions); // Setting the quiz questions
-                setLoading(false); // Turning off the loading state
-            } catch (error) {
-                console.error('Error fetching questions:', error);
-            }
-        };
-        fetchQuestions();
+        startAttempt();
     }, []);
 
     // Handling the quiz timer
@@ -77,9 +76,12 @@ const Questions = () => {
     }, [timeLeft, showScore]);
 
     // Handling answer selection and move to the next question
-    const handleAnswerOptionClick = (isCorrect) => {
-        if (isCorrect) {
-            setScore(prevScore => prevScore + 50); // Add 50 points for each correct user answer
+    const handleAnswerOptionClick = async (selectedOption) => {
+        try {
+            const response = await ApiService.answerQuizQuestion(attemptId, questions[currentQuestion].id, selectedOption);
+            setScore(response.quizAttempt.score); // The server adds 50 points for each correct user answer
+        } catch (error) {
+            console.error('Error submitting the answer:', error);
         }
         const nextQuestion = currentQuestion + 1;
         if (nextQuestion < questions.length) {
@@ -96,6 +98,8 @@ const Questions = () => {
         setScore(0); // Reseting quiz score
         setShowScore(false); // Hiding quiz score
         setTimeLeft(300); // Reseting quiz timer
+        localStorage.setItem('quizInProgress', 'true');
+        startAttempt(); // Starting a new attempt with new questions
     };
 
     // Formating the quiz time left in minutes and seconds
@@ -105,24 +109,6 @@ const Questions = () => {
         return `${minutes}:${seconds < 10 ? '0' : ''}${seconds}`;
     };
 
-    // Setting Botpress AI Assistant (I have deleted my AI Assistant because i didn't use anymore the Botpress platform)
-    useEffect(() => {
-        const script1 = document.createElement('script');
-        script1.src = ""; // link for AI Assistant 
-        script1.async = true;
-        document.body.appendChild(script1);
-
-        const script2 = document.createElement('script');
-        script2.src = ""; // link for AI Assistant 
-        script2.async = true;
-        document.body.appendChild(script2);
-
-        return () => {
-            document.body.removeChild(script1);
-            document.body.removeChild(script2);
-        };
-    }, []);
-
     if (loading) {
         return <div className="questions-page-container">Loading questions...</div>; // Displaying loading while fetching quiz questions
     }
@@ -155,14 +141,15 @@ const Questions = () => {
                         </div>
                         <div className="answer-section">
                             {questions[currentQuestion].answerOptions.map((answerOption, index) => (
-                                <button key={index} onClick={() => handleAnswerOptionClick(answerOption.isCorrect)}>
-                                    {answerOption.answerText}
+                                <button key={index} onClick={() => handleAnswerOptionClick(index + 1)}>
+                                    {answerOption}
                                 </button>
                             ))}
                         </div>
                     </>
                 )}
             </div>
+            <AssistantPanel />
         </div>
     );
 };
@@ -6,17 +6,16 @@ const Scoreboard = () => {
     const [loading, setLoading] = useState(true); // State to track loading status
     const [error, setError] = useState(false); // State to track if there was an error fetching data
 
-    // Fetching users and their quiz scores 
+    // Fetching the ranked users and their quiz scores 
     useEffect(() => {
         const fetchUsers = async () => {
             try {
-                const response = await ApiService.getAllUsers(); // Fetching all users from the API
-                if (response && Array.isArray(response.userList) && response.userList.length > 0) {
-                    const filteredUsers = response.userList
-                        .filter(user => user.role !== 'ADMIN' && user.userScore > 0) // Filter out admins and users with 0 score in order not to display 
-                        .sort((a, b) => b.userScore - a.userScore); // Sort users by score in descending order
+                const response = await ApiService.getLeaderboard(); // Fetching the top players, already ranked and without admins
+                if (response && Array.isArray(response.leaderboard) && response.leaderboard.length > 0) {
+                    const rankedUsers = response.leaderboard
+                        .filter(user => user.userScore > 0); // Filter out users with 0 score in order not to display
 
-                    setScoreboard(filteredUsers); // Setting the filtered and sorted users in the scoreboard state
+                    setScoreboard(rankedUsers); // Setting the ranked users in the scoreboard state
                 } else {
                     setScoreboard([]); // In case there is no user, scoreboard will be an empty array
                 }
@@ -55,8 +54,8 @@ const Scoreboard = () => {
                             </tr>
                         ) : (
                             // Mapping over the scoreboard and display each user's name and score
-                            scoreboard.map((user, index) => (
-                                <tr key={index}>
+                            scoreboard.map((user) => (
+                                <tr key={user.id}>
                                     <td>{user.name}</td>
                                     <td>{user.userScore}</td>
                                 </tr>
@@ -38,6 +38,15 @@ export default class ApiService {
         return response.data; // Return the API response data
     }
 
+    // Retrieves one page of users, pass the nextCursor of the previous page to continue after it
+    static async getUsersPage(sort = 'name', cursor = null, limit = 50) {
+        const response = await axios.get(`${this.BASE_URL}/users/page`, {
+            params: cursor ? { sort, cursor, limit } : { sort, limit },
+            headers: this.getHeader() // Pass authorization headers
+        });
+        return response.data; // Return the API response data
+    }
+
     // Retrieving a specific user's details by their user ID
     static async getUser(userId) {
         const response = await axios.get(`${this.BASE_URL}/users/get-user-by-id/${userId}`, {
@@ -70,6 +79,117 @@ export default class ApiService {
         return response.data;
     }
 
+    /** LEADERBOARD METHODS **/
+
+    // Retrieves a page of the scoreboard, ranked by score on the server
+    static async getLeaderboard(offset = 0, limit = 50) {
+        const response = await axios.get(`${this.BASE_URL}/leaderboard/top`, {
+            params: { offset, limit },
+            headers: this.getHeader() // Pass authorization headers
+        });
+        return response.data; // Return the API response data
+    }
+
+    // Retrieves the logged-in user's position on the scoreboard
+    static async getMyRank() {
+        const response = await axios.get(`${this.BASE_URL}/leaderboard/my-rank`, {
+            headers: this.getHeader() // Pass authorization headers
+        });
+        return response.data; // Return the API response data
+    }
+
+    /** DIGITAL ASSISTANT METHODS **/
+
+    // Asking the digital assistant a question about the course content
+    static async askAssistant(question) {
+        const response = await axios.post(`${this.BASE_URL}/api/assistant/ask`, { question }, {
+            headers: this.getHeader() // Pass authorization headers
+        });
+        return response.data; // Return the assistant's answer and its sources
+    }
+
+    // Asking the digital assistant a question and receiving the reply piece by piece as it is streamed.
+    // Uses fetch instead of axios, because axios cannot read a response body while it is still arriving.
+    static async streamAssistantAnswer(question, onChunk) {
+        const response = await fetch(`${this.BASE_URL}/api/assistant/ask/stream`, {
+            method: 'POST',
+            headers: { ...this.getHeader(), Accept: 'text/event-stream' },
+            body: JSON.stringify({ question })
+        });
+        if (!response.ok) {
+            const error = await response.json().catch(() => ({}));
+            throw new Error(error.message || `Request failed with status ${response.status}`);
+        }
+
+        const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+        let buffer = '';
+        let answer = null;
+        for (;;) {
+            const { value, done } = await reader.read();
+            if (done) {
+                break;
+            }
+            buffer += value;
+            let end;
+            while ((end = buffer.indexOf('\n\n')) >= 0) { // Events are separated by an empty line
+                const event = this.parseServerSentEvent(buffer.slice(0, end));
+                buffer = buffer.slice(end + 2);
+                if (event.name === 'chunk') {
+                    onChunk(event.data);
+                } else if (event.name === 'done') {
+                    answer = JSON.parse(event.data);
+                }
+            }
+        }
+        return answer; // Return the whole answer with its sources
+    }
+
+    // Parsing one Server-Sent Event into its name and data; comment lines (heartbeats) are skipped
+    static parseServerSentEvent(text) {
+        let name = 'message';
+        const data = [];
+        for (const line of text.split('\n')) {
+            if (line.startsWith('event:')) {
+                name = line.slice(6).trim();
+            } else if (line.startsWith('data:')) {
+                data.push(line.slice(line.startsWith('data: ') ? 6 : 5));
+            }
+        }
+        return { name, data: data.join('\n') }; // Multi-line data arrives as several data lines
+    }
+
+    // Retrieving all FAQ entries the assistant answers from
+    static async getFaqEntries() {
+        const response = await axios.get(`${this.BASE_URL}/api/assistant/faq`, {
+            headers: this.getHeader() // Pass authorization headers
+        });
+        return response.data; // Return the list of FAQ entries
+    }
+
+    // Adding a FAQ entry, requires ADMIN authority
+    static async addFaqEntry(faqEntry) {
+        const response = await axios.post(`${this.BASE_URL}/api/assistant/faq`, faqEntry, {
+            headers: this.getHeader() // Pass authorization headers
+        });
+        return response.data; // Return the added FAQ entry
+    }
+
+    // Updating a FAQ entry by its ID, requires ADMIN authority
+    static async updateFaqEntry(faqEntryId, faqEntry) {
+        const response = await axios.put(`${this.BASE_URL}/api/assistant/faq/${faqEntryId}`, faqEntry, {
+            headers: this.getHeader() // Pass authorization headers
+        });
+        return response.data; // Return the updated FAQ entry
+    }
+
+    // Deleting a FAQ entry by its ID, requires ADMIN authority
+    static async deleteFaqEntry(faqEntryId) {
+        const response = await axios.delete(`${this.BASE_URL}/api/assistant/faq/${faqEntryId}`, {
+            headers: this.getHeader() // Pass authorization headers
+        });
+        return response.data; // Return the response after deleting the entry
+    }
+
     /** AUTHENTICATION STATUS METHODS **/
 
     // Logs out the user by clearing the token and role from local storage
@@ -98,7 +218,7 @@ export default class ApiService {
    
     /** QUIZ QUESTION METHODS **/
 
-    // Fetching all quiz questions
+    // Fetching all quiz questions with their correct answers, admin only
     static async getAllQuizQuestions() {
         const response = await axios.get(`${this.BASE_URL}/api/quiz-questions/getAllQuizzes`, {
             headers: this.getHeader() // Pass authorization headers
@@ -106,22 +226,71 @@ export default class ApiService {
         return response.data; // Return the list of quiz questions
     }
 
+    // Searching quiz questions by a part of their text or answer options, admin only
+    static async searchQuizQuestions(query, cursor = null, limit = 50) {
+        const response = await axios.get(`${this.BASE_URL}/api/quiz-questions/search`, {
+            params: cursor ? { q: query, cursor, limit } : { q: query, limit },
+            headers: this.getHeader() // Pass authorization headers
+        });
+        return response.data; // Return the page of matching quiz questions and the next cursor
+    }
+
+    // Fetching randomly picked quiz questions, with shuffled answers and without the answer key
+    static async getRandomQuizQuestions(count = 10) {
+        const response = await axios.get(`${this.BASE_URL}/api/quiz-questions/random`, {
+            params: { count },
+            headers: this.getHeader() // Pass authorization headers
+        });
+        return response.data; // Return the picked quiz questions
+    }
+
     // Adding a new quiz question
-    static async addQuizQuestion(newQuestion) {
+    static async addQuizQuestion(newQuestion, allowDuplicate = false) {
         const response = await axios.post(`${this.BASE_URL}/api/quiz-questions/addQuiz`, newQuestion, {
+            params: { allowDuplicate }, // A near-duplicate of an existing question is refused with 409 unless allowed
             headers: this.getHeader() // Pass authorization headers
         });
         return response.data; // Return the added quiz question
     }
 
+    // Importing quiz questions in bulk from a CSV or JSON Lines file
+    static async importQuizQuestions(file) {
+        const format = file.name.toLowerCase().endsWith('.csv') ? 'csv' : 'jsonl';
+        const response = await axios.post(`${this.BASE_URL}/api/quiz-questions/import`, file, {
+            params: { format },
+            headers: { ...this.getHeader(), "Content-Type": format === 'csv' ? 'text/csv' : 'application/x-ndjson' }
+        });
+        return response.data; // Return the import report with the rejected rows
+    }
+
+    // Exporting all quiz questions as a CSV or JSON Lines file, optionally gzip-compressed
+    static async exportQuizQuestions(format = 'jsonl', gzip = false) {
+        const response = await axios.get(`${this.BASE_URL}/api/quiz-questions/export`, {
+            params: { format, gzip },
+            headers: this.getHeader(), // Pass authorization headers
+            responseType: 'blob'
+        });
+        return response.data; // Return the exported file
+    }
+
     // Updating an existing quiz question by its ID
-    static async updateQuizQuestion(questionId, updatedQuestion) {
+    static async updateQuizQuestion(questionId, updatedQuestion, allowDuplicate = false) {
         const response = await axios.put(`${this.BASE_URL}/api/quiz-questions/updateQuiz/${questionId}`, updatedQuestion, {
+            params: { allowDuplicate }, // A change that makes it a near-duplicate is refused with 409 unless allowed
             headers: this.getHeader() // Pass authorization headers
         });
         return response.data; // Return the updated quiz question
     }
 
+    // Fetching the clusters of near-duplicate quiz questions, admin only
+    static async getDuplicateQuizQuestions(limit = 100) {
+        const response = await axios.get(`${this.BASE_URL}/api/quiz-questions/duplicates`, {
+            params: { limit },
+            headers: this.getHeader() // Pass authorization headers
+        });
+        return response.data; // Return the duplicate clusters, largest first
+    }
+
     // Delete a quiz question by its ID
     static async deleteQuizQuestion(questionId) {
         const response = await axios.delete(`${this.BASE_URL}/api/quiz-questions/deleteQuiz/${questionId}`, {
@@ -130,11 +299,28 @@ export default class ApiService {
         return response.data; // Return the response after deleting the question
     }
 
-    // Saving users quiz score
-    static async saveUserScore(score) {
-        const response = await axios.put(`${this.BASE_URL}/users/save-score`, { user_score: score }, {
+    // Starting a server-graded quiz attempt
+    static async startQuizAttempt(count = 10) {
+        const response = await axios.post(`${this.BASE_URL}/api/quiz-attempts/start`, null, {
+            params: { count },
             headers: this.getHeader(), // Pass authorization headers
         });
-        return response.data;
+        return response.data; // Return the attempt with its questions
+    }
+
+    // Submitting the answer to one question of a quiz attempt
+    static async answerQuizQuestion(attemptId, questionId, selectedOption) {
+        const response = await axios.post(`${this.BASE_URL}/api/quiz-attempts/${attemptId}/answer`, { questionId, selectedOption }, {
+            headers: this.getHeader(), // Pass authorization headers
+        });
+        return response.data; // Return the progress of the attempt
+    }
+
+    // Finishing a quiz attempt, which saves the users quiz score
+    static async finishQuizAttempt(attemptId) {
+        const response = await axios.post(`${this.BASE_URL}/api/quiz-attempts/${attemptId}/finish`, null, {
+            headers: this.getHeader(), // Pass authorization headers
+        });
+        return response.data; // Return the final result of the attempt
     }
 }
\ No newline at end of file